@@ -0,0 +1,45 @@
+package com.quickbite.api_gateway.accesslog;
+
+import com.quickbite.api_gateway.config.RouteConfig;
+import lombok.Getter;
+import org.springframework.http.HttpMethod;
+
+/**
+ * One reusable slot of the {@link AccessLogRingBuffer}. Fields are written by
+ * the request thread before {@link #publish} and read by the writer thread
+ * after it sees the sequence, so they need no synchronisation of their own.
+ */
+@Getter
+public final class AccessLogEntry {
+
+    private volatile long sequence = -1;
+
+    private HttpMethod method;
+    private String path;
+    private RouteConfig.Service service;
+    private int status;
+    private long durationNanos;
+    private Throwable error;
+
+    void set(HttpMethod method, String path, RouteConfig.Service service, int status, long durationNanos, Throwable error) {
+        this.method = method;
+        this.path = path;
+        this.service = service;
+        this.status = status;
+        this.durationNanos = durationNanos;
+        this.error = error;
+    }
+
+    void publish(long sequence) {
+        this.sequence = sequence;
+    }
+
+    void clear() {
+        path = null;
+        error = null;
+    }
+
+    public boolean isFailure() {
+        return error != null || status >= 400;
+    }
+}
@@ -0,0 +1,97 @@
+package com.quickbite.api_gateway.accesslog;
+
+import com.quickbite.api_gateway.config.RouteConfig;
+import org.springframework.http.HttpMethod;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, single-consumer ring of pre-allocated
+ * {@link AccessLogEntry} slots. Producers claim a sequence with a CAS and
+ * never wait: when the writer is a full lap behind, {@link #offer} refuses
+ * the entry instead of blocking the event loop. The last {@code reserved}
+ * slots only take failures, so a burst of successes cannot crowd them out.
+ */
+public final class AccessLogRingBuffer {
+
+    private final AccessLogEntry[] slots;
+    private final int mask;
+    private final int reserved;
+    private final AtomicLong tail = new AtomicLong();
+
+    private volatile long head;
+
+    public AccessLogRingBuffer(int capacity) {
+        this(capacity, 0);
+    }
+
+    public AccessLogRingBuffer(int capacity, int reserved) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacidade do buffer deve ser potência de 2: " + capacity);
+        }
+        if (reserved < 0 || reserved >= capacity) {
+            throw new IllegalArgumentException("Reserva de falhas deve ser menor que a capacidade: " + reserved);
+        }
+
+        this.slots = new AccessLogEntry[capacity];
+        this.mask = capacity - 1;
+        this.reserved = reserved;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new AccessLogEntry();
+        }
+    }
+
+    public boolean offer(HttpMethod method, String path, RouteConfig.Service service, int status, long durationNanos, Throwable error) {
+        boolean failure = error != null || status >= 400;
+        int limit = failure ? slots.length : slots.length - reserved;
+
+        long claim;
+        do {
+            claim = tail.get();
+            if (claim - head >= limit) {
+                return false;
+            }
+        } while (!tail.compareAndSet(claim, claim + 1));
+
+        AccessLogEntry entry = slots[(int) claim & mask];
+        entry.set(method, path, service, status, durationNanos, error);
+        entry.publish(claim);
+        return true;
+    }
+
+    /**
+     * Hands up to {@code max} published entries to {@code consumer}, in order.
+     * Only the writer thread may call this; the entry must not be kept after
+     * {@code accept} returns.
+     */
+    public int drain(Consumer<AccessLogEntry> consumer, int max) {
+        long next = head;
+        int drained = 0;
+
+        while (drained < max) {
+            AccessLogEntry entry = slots[(int) next & mask];
+            if (entry.getSequence() != next) {
+                break;
+            }
+            try {
+                consumer.accept(entry);
+            } finally {
+                entry.clear();
+            }
+            next++;
+            drained++;
+        }
+
+        head = next;
+        return drained;
+    }
+
+    public int size() {
+        return (int) (tail.get() - head);
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,204 @@
+package com.quickbite.api_gateway.accesslog;
+
+import com.quickbite.api_gateway.config.RouteConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Access log off the event loop: the request thread only copies the outcome
+ * into a slot of an {@link AccessLogRingBuffer} and one background thread
+ * formats and writes it. Failures (exceptions and 4xx/5xx) are always
+ * recorded; successes are sampled with {@code gateway.access-log.sample-rate}.
+ * The last {@code gateway.access-log.failure-reserve} slots only take
+ * failures. A success that finds the buffer full is counted and dropped; a
+ * failure that still finds it full is written on the calling thread. The
+ * writer parks while the buffer is empty and the next record unparks it.
+ */
+@Slf4j
+@Service
+public class AccessLogger implements SmartLifecycle {
+
+    private static final String PREFIX = "gateway.access-log.";
+    private static final int DRAIN_BATCH = 256;
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(5);
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final AccessLogRingBuffer buffer;
+    private final Consumer<AccessLogEntry> writer;
+    private final DoubleSupplier random;
+    private final Counter written;
+    private final Counter sampledOut;
+    private final Counter dropped;
+    private final Counter overflowWritten;
+
+    private volatile boolean running;
+    private volatile boolean writerParked;
+    private volatile Thread writerThread;
+
+    @Autowired
+    public AccessLogger(MeterRegistry meterRegistry, Environment environment) {
+        this(meterRegistry, environment, AccessLogger::write, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    AccessLogger(MeterRegistry meterRegistry, Environment environment, Consumer<AccessLogEntry> writer, DoubleSupplier random) {
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, true);
+        this.sampleRate = environment.getProperty(PREFIX + "sample-rate", Double.class, 1.0);
+        int bufferSize = environment.getProperty(PREFIX + "buffer-size", Integer.class, 8192);
+        this.buffer = new AccessLogRingBuffer(
+            bufferSize,
+            environment.getProperty(PREFIX + "failure-reserve", Integer.class, bufferSize / 8)
+        );
+        this.writer = writer;
+        this.random = random;
+
+        this.written = entries(meterRegistry, "written");
+        this.sampledOut = entries(meterRegistry, "sampled-out");
+        this.dropped = entries(meterRegistry, "dropped");
+        this.overflowWritten = entries(meterRegistry, "overflow-written");
+        Gauge.builder("gateway.access-log.backlog", buffer, AccessLogRingBuffer::size)
+            .register(meterRegistry);
+    }
+
+    public void record(
+        HttpMethod method,
+        String path,
+        RouteConfig.Service service,
+        HttpStatusCode status,
+        long durationNanos,
+        Throwable error
+    ) {
+        if (!enabled) {
+            return;
+        }
+
+        int statusCode = status == null ? 0 : status.value();
+        boolean failure = error != null || statusCode >= 400;
+
+        if (!failure && sampleRate < 1.0 && random.getAsDouble() >= sampleRate) {
+            sampledOut.increment();
+            return;
+        }
+
+        if (buffer.offer(method, path, service, statusCode, durationNanos, error)) {
+            if (writerParked) {
+                LockSupport.unpark(writerThread);
+            }
+        } else if (failure) {
+            AccessLogEntry entry = new AccessLogEntry();
+            entry.set(method, path, service, statusCode, durationNanos, error);
+            writeEntry(entry);
+            overflowWritten.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Writes everything published so far on the calling thread. Used by the
+     * writer loop and by tests.
+     */
+    int drain() {
+        int drained = buffer.drain(this::writeEntry, DRAIN_BATCH);
+        if (drained > 0) {
+            written.increment(drained);
+        }
+        return drained;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+
+        running = true;
+        writerThread = Thread.ofPlatform()
+            .name("access-log-writer")
+            .daemon(true)
+            .unstarted(this::runWriter);
+        writerThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(STOP_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runWriter() {
+        while (running) {
+            if (drain() > 0) {
+                continue;
+            }
+
+            writerParked = true;
+            if (drain() == 0 && running) {
+                LockSupport.park(this);
+            }
+            writerParked = false;
+        }
+
+        while (drain() > 0) {
+            // esvazia o que ficou no buffer antes de encerrar
+        }
+    }
+
+    private void writeEntry(AccessLogEntry entry) {
+        try {
+            writer.accept(entry);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao escrever access log: {}", e.getMessage());
+        }
+    }
+
+    private static void write(AccessLogEntry entry) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(entry.getDurationNanos());
+
+        if (entry.getError() != null) {
+            log.error("{} {} -> {} falhou em {} ms: {}",
+                entry.getMethod(), entry.getPath(), entry.getService(), millis, entry.getError().getMessage());
+        } else if (entry.isFailure()) {
+            log.warn("{} {} -> {} {} em {} ms",
+                entry.getMethod(), entry.getPath(), entry.getService(), entry.getStatus(), millis);
+        } else {
+            log.info("{} {} -> {} {} em {} ms",
+                entry.getMethod(), entry.getPath(), entry.getService(), entry.getStatus(), millis);
+        }
+    }
+
+    private static Counter entries(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.access-log.entries")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
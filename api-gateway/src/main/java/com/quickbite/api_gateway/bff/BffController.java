@@ -0,0 +1,74 @@
+package com.quickbite.api_gateway.bff;
+
+import com.quickbite.api_gateway.accesslog.AccessLogger;
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.deadline.DeadlinePolicy;
+import com.quickbite.api_gateway.ratelimit.RateLimiter;
+import com.quickbite.api_gateway.security.EdgeAuthenticator;
+import com.quickbite.api_gateway.service.ProxyService;
+import com.quickbite.api_gateway.service.RoutingService;
+import com.quickbite.api_gateway.timing.LatencyRecorder;
+import com.quickbite.api_gateway.timing.RequestTiming;
+import com.quickbite.core.exception.InvalidTokenException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Aggregated endpoints for the mobile and web clients. Each one goes through
+ * the same edge authentication, rate limit, latency histograms and access log
+ * as a proxied request, charged to the route of its main resource.
+ */
+@RestController
+@RequestMapping("/api/v1/bff")
+@RequiredArgsConstructor
+public class BffController {
+
+    private final RestaurantPageService restaurantPageService;
+    private final RoutingService routingService;
+    private final ProxyService proxyService;
+    private final EdgeAuthenticator edgeAuthenticator;
+    private final RateLimiter rateLimiter;
+    private final AccessLogger accessLogger;
+    private final LatencyRecorder latencyRecorder;
+    private final DeadlinePolicy deadlinePolicy;
+
+    @GetMapping("/restaurants/{id}/page")
+    public Mono<Void> restaurantPage(@PathVariable("id") long id, ServerWebExchange original) {
+        RequestTiming timing = latencyRecorder.start(original.getResponse());
+        ResolvedRoute route = routingService.resolveRoute(RestaurantPageService.RESTAURANTS_PATH + id);
+        String requestPath = original.getRequest().getPath().pathWithinApplication().value();
+
+        return Mono.defer(() -> {
+                ServerWebExchange exchange = authenticate(route, original);
+                rateLimiter.check(route, exchange);
+
+                return deadlinePolicy.bound(route, exchange.getRequest(), restaurantPageService.load(id, exchange))
+                    .flatMap(page -> proxyService.write(exchange, page));
+            })
+            .doOnSuccess(result -> completed(route, requestPath, timing, original.getResponse().getStatusCode(), null))
+            .doOnError(error -> completed(route, requestPath, timing, null, error))
+            .contextWrite(context -> RequestTiming.with(context, timing));
+    }
+
+    // Token rejeitado conta no bucket do IP, como no proxy
+    private ServerWebExchange authenticate(ResolvedRoute route, ServerWebExchange original) {
+        try {
+            return edgeAuthenticator.authenticate(original);
+        } catch (InvalidTokenException e) {
+            rateLimiter.check(route, original);
+            throw e;
+        }
+    }
+
+    private void completed(ResolvedRoute route, String requestPath, RequestTiming timing, HttpStatusCode status, Throwable error) {
+        latencyRecorder.record(route.service(), HttpMethod.GET, timing);
+        accessLogger.record(HttpMethod.GET, requestPath, route.service(), status, timing.totalNanos(System.nanoTime()), error);
+    }
+}
@@ -0,0 +1,187 @@
+package com.quickbite.api_gateway.bff;
+
+import com.quickbite.api_gateway.concurrency.Priority;
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.exception.ServiceUnavailableException;
+import com.quickbite.api_gateway.service.ProxyService;
+import com.quickbite.api_gateway.service.RoutingService;
+import com.quickbite.api_gateway.service.UpstreamExecutor;
+import com.quickbite.api_gateway.service.UpstreamResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Restaurant page in one round trip: the restaurant, its products, the
+ * categories and the product count are fetched from product-service in
+ * parallel and combined into one JSON object. The restaurant decides the
+ * outcome (its 404 is returned as is, and the page fails with 503 when it
+ * cannot be fetched); any other section that fails or takes longer than
+ * {@code gateway.bff.section-timeout} comes back as {@code null} and is listed
+ * under {@code unavailable}.
+ */
+@Slf4j
+@Service
+public class RestaurantPageService {
+
+    enum Section {
+        PRODUCTS("products"),
+        CATEGORIES("categories"),
+        PRODUCT_COUNT("productCount");
+
+        private final String field;
+
+        Section(String field) {
+            this.field = field;
+        }
+    }
+
+    static final String RESTAURANTS_PATH = "/api/v1/restaurants/";
+    private static final String PRODUCTS_PATH = "/api/v1/products";
+    private static final String CATEGORIES_PATH = "/api/v1/categories";
+    private static final Set<String> PRODUCT_PAGE_PARAMS = Set.of("page", "size", "sort");
+
+    private static final HttpHeaders JSON_HEADERS = HttpHeaders.readOnlyHttpHeaders(jsonHeaders());
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+
+    private final RoutingService routingService;
+    private final UpstreamExecutor upstreamExecutor;
+    private final ProxyService proxyService;
+    private final Duration sectionTimeout;
+    private final Map<Section, Counter> failures = new EnumMap<>(Section.class);
+
+    public RestaurantPageService(
+        RoutingService routingService,
+        UpstreamExecutor upstreamExecutor,
+        ProxyService proxyService,
+        MeterRegistry meterRegistry,
+        @Value("${gateway.bff.section-timeout:2s}") Duration sectionTimeout
+    ) {
+        this.routingService = routingService;
+        this.upstreamExecutor = upstreamExecutor;
+        this.proxyService = proxyService;
+        this.sectionTimeout = sectionTimeout;
+
+        for (Section section : Section.values()) {
+            failures.put(section, Counter.builder("gateway.bff.section-failures")
+                .tag("page", "restaurant")
+                .tag("section", section.field)
+                .register(meterRegistry));
+        }
+    }
+
+    public Mono<UpstreamResponse> load(long restaurantId, ServerWebExchange exchange) {
+        String restaurantPath = RESTAURANTS_PATH + restaurantId;
+
+        Mono<UpstreamResponse> restaurant = get(exchange, restaurantPath, null)
+            .onErrorMap(error -> !(error instanceof ServiceUnavailableException),
+                error -> new ServiceUnavailableException(
+                    routingService.resolveRoute(restaurantPath).service(), "Restaurante indisponível", null));
+
+        Mono<Optional<byte[]>> products = section(Section.PRODUCTS,
+            get(exchange, PRODUCTS_PATH, productsQuery(restaurantId, exchange.getRequest().getQueryParams())));
+        Mono<Optional<byte[]>> categories = section(Section.CATEGORIES,
+            get(exchange, CATEGORIES_PATH, null));
+        Mono<Optional<byte[]>> productCount = section(Section.PRODUCT_COUNT,
+            get(exchange, PRODUCTS_PATH + "/by-restaurant/" + restaurantId + "/count", null));
+
+        return Mono.zip(restaurant, products, categories, productCount)
+            .map(parts -> {
+                UpstreamResponse restaurantResponse = parts.getT1();
+                if (!restaurantResponse.status().is2xxSuccessful()) {
+                    return restaurantResponse;
+                }
+
+                Map<Section, Optional<byte[]>> sections = new EnumMap<>(Section.class);
+                sections.put(Section.PRODUCTS, parts.getT2());
+                sections.put(Section.CATEGORIES, parts.getT3());
+                sections.put(Section.PRODUCT_COUNT, parts.getT4());
+
+                return new UpstreamResponse(HttpStatus.OK, JSON_HEADERS, combine(restaurantResponse.body(), sections));
+            });
+    }
+
+    private Mono<UpstreamResponse> get(ServerWebExchange exchange, String path, String rawQuery) {
+        ResolvedRoute route = routingService.resolveRoute(path);
+
+        return upstreamExecutor.execute(
+            route,
+            Priority.of(route, exchange),
+            instance -> proxyService.get(instance, path, rawQuery, exchange.getRequest().getHeaders()),
+            UpstreamResponse::status
+        );
+    }
+
+    private Mono<Optional<byte[]>> section(Section section, Mono<UpstreamResponse> call) {
+        return call
+            .timeout(sectionTimeout)
+            .map(response -> {
+                if (response.status().is2xxSuccessful() && response.body().length > 0) {
+                    return Optional.of(response.body());
+                }
+                log.debug("Seção {} da página do restaurante respondeu {}", section.field, response.status());
+                failures.get(section).increment();
+                return Optional.<byte[]>empty();
+            })
+            .onErrorResume(error -> {
+                log.debug("Seção {} da página do restaurante falhou: {}", section.field, error.toString());
+                failures.get(section).increment();
+                return Mono.just(Optional.empty());
+            });
+    }
+
+    static String productsQuery(long restaurantId, MultiValueMap<String, String> clientParams) {
+        UriComponentsBuilder query = UriComponentsBuilder.newInstance().queryParam("restaurantId", restaurantId);
+        clientParams.forEach((name, values) -> {
+            if (PRODUCT_PAGE_PARAMS.contains(name)) {
+                query.queryParam(name, values.toArray());
+            }
+        });
+        return query.encode().build().getQuery();
+    }
+
+    private static byte[] combine(byte[] restaurant, Map<Section, Optional<byte[]>> sections) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+            restaurant.length + sections.values().stream().mapToInt(part -> part.map(body -> body.length).orElse(4)).sum() + 128);
+        List<String> unavailable = new ArrayList<>();
+
+        out.writeBytes("{\"restaurant\":".getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(restaurant);
+
+        sections.forEach((section, body) -> {
+            out.writeBytes((",\"" + section.field + "\":").getBytes(StandardCharsets.UTF_8));
+            out.writeBytes(body.orElse(NULL));
+            if (body.isEmpty()) {
+                unavailable.add("\"" + section.field + "\"");
+            }
+        });
+
+        out.writeBytes((",\"unavailable\":[" + String.join(",", unavailable) + "]}").getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    private static HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+}
@@ -0,0 +1,80 @@
+package com.quickbite.api_gateway.cache;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The {@code Cache-Control} directives a shared cache cares about. Ages are in
+ * seconds, {@code -1} when absent.
+ */
+public record CacheControlDirectives(
+    boolean noStore,
+    boolean noCache,
+    boolean privateResponse,
+    boolean mustRevalidate,
+    long maxAge,
+    long sharedMaxAge,
+    long staleWhileRevalidate,
+    long staleIfError
+) {
+
+    public static final CacheControlDirectives NONE =
+        new CacheControlDirectives(false, false, false, false, -1, -1, -1, -1);
+
+    public static CacheControlDirectives parse(List<String> headerValues) {
+        if (headerValues == null || headerValues.isEmpty()) {
+            return NONE;
+        }
+
+        boolean noStore = false;
+        boolean noCache = false;
+        boolean privateResponse = false;
+        boolean mustRevalidate = false;
+        long maxAge = -1;
+        long sharedMaxAge = -1;
+        long staleWhileRevalidate = -1;
+        long staleIfError = -1;
+
+        for (String headerValue : headerValues) {
+            for (String directive : headerValue.split(",")) {
+                String[] parts = directive.trim().split("=", 2);
+                String name = parts[0].trim().toLowerCase(Locale.ROOT);
+                long seconds = parts.length == 2 ? parseSeconds(parts[1]) : -1;
+
+                switch (name) {
+                    case "no-store" -> noStore = true;
+                    case "no-cache" -> noCache = true;
+                    case "private" -> privateResponse = true;
+                    case "must-revalidate", "proxy-revalidate" -> mustRevalidate = true;
+                    case "max-age" -> maxAge = seconds;
+                    case "s-maxage" -> sharedMaxAge = seconds;
+                    case "stale-while-revalidate" -> staleWhileRevalidate = seconds;
+                    case "stale-if-error" -> staleIfError = seconds;
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        return new CacheControlDirectives(
+            noStore, noCache, privateResponse, mustRevalidate,
+            maxAge, sharedMaxAge, staleWhileRevalidate, staleIfError
+        );
+    }
+
+    /**
+     * Freshness lifetime for a shared cache: {@code s-maxage} wins over
+     * {@code max-age}.
+     */
+    public long freshnessSeconds() {
+        return sharedMaxAge >= 0 ? sharedMaxAge : maxAge;
+    }
+
+    private static long parseSeconds(String value) {
+        try {
+            return Long.parseLong(value.trim().replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.quickbite.api_gateway.cache;
+
+import com.quickbite.api_gateway.service.UpstreamResponse;
+
+/**
+ * A stored response with its freshness windows as epoch millis.
+ */
+public record CachedResponse(
+    UpstreamResponse response,
+    String etag,
+    long storedAt,
+    long freshUntil,
+    long staleWhileRevalidateUntil,
+    long staleIfErrorUntil
+) {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+
+    public static CachedResponse of(UpstreamResponse response, CacheControlDirectives directives, long now) {
+        long freshness = directives.noCache() ? 0 : Math.max(0, directives.freshnessSeconds());
+        long freshUntil = now + freshness * 1000;
+        boolean revalidateFirst = directives.noCache() || directives.mustRevalidate();
+
+        return new CachedResponse(
+            response,
+            response.headers().getETag(),
+            now,
+            freshUntil,
+            revalidateFirst ? freshUntil : freshUntil + Math.max(0, directives.staleWhileRevalidate()) * 1000,
+            directives.mustRevalidate() ? freshUntil : freshUntil + Math.max(0, directives.staleIfError()) * 1000
+        );
+    }
+
+    public boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    public boolean canServeWhileRevalidating(long now) {
+        return now < staleWhileRevalidateUntil;
+    }
+
+    public boolean canServeOnError(long now) {
+        return now < staleIfErrorUntil;
+    }
+
+    public long ageSeconds(long now) {
+        return Math.max(0, (now - storedAt) / 1000);
+    }
+
+    public long expiresAt() {
+        return Math.max(staleWhileRevalidateUntil, staleIfErrorUntil);
+    }
+
+    public long weight() {
+        return response.body().length + ENTRY_OVERHEAD_BYTES;
+    }
+}
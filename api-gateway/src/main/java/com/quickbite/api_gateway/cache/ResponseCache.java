@@ -0,0 +1,77 @@
+package com.quickbite.api_gateway.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU store bounded by the total body size of its entries.
+ */
+public class ResponseCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    private long currentBytes;
+    private long evictions;
+
+    public ResponseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, CachedResponse response) {
+        if (response.weight() > maxBytes) {
+            return;
+        }
+
+        CachedResponse previous = entries.put(key, response);
+        if (previous != null) {
+            currentBytes -= previous.weight();
+        }
+        currentBytes += response.weight();
+
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            currentBytes -= eldest.next().getValue().weight();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void remove(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            currentBytes -= removed.weight();
+        }
+    }
+
+    /**
+     * Drops entries that can no longer be served, not even as stale.
+     */
+    public synchronized void purgeExpired(long now) {
+        Iterator<CachedResponse> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            CachedResponse entry = iterator.next();
+            if (entry.expiresAt() <= now) {
+                currentBytes -= entry.weight();
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long bytes() {
+        return currentBytes;
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+}
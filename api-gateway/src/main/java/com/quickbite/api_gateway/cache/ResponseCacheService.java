@@ -0,0 +1,266 @@
+package com.quickbite.api_gateway.cache;
+
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.service.ProxyService;
+import com.quickbite.api_gateway.service.RequestKeys;
+import com.quickbite.api_gateway.service.UpstreamFetcher;
+import com.quickbite.api_gateway.service.UpstreamResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Shared response cache for GET routes whose {@link com.quickbite.api_gateway.config.RoutePolicy}
+ * is cacheable. Freshness comes from the backend's {@code Cache-Control};
+ * expired entries are revalidated with {@code If-None-Match}, served stale
+ * while a background refresh runs ({@code stale-while-revalidate}) and served
+ * stale when the backend fails ({@code stale-if-error}).
+ */
+@Slf4j
+@Service
+public class ResponseCacheService {
+
+    enum Result {
+        HIT, MISS, STALE, REVALIDATED, STALE_IF_ERROR, BYPASS;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private static final Set<String> IGNORED_VARY_HEADERS = Set.of(
+        "accept-encoding",
+        "origin",
+        "access-control-request-method",
+        "access-control-request-headers"
+    );
+
+    private final ProxyService proxyService;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final boolean enabled;
+    private final ResponseCache cache;
+
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final Map<String, Map<Result, Counter>> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResponseCacheService(
+        ProxyService proxyService,
+        MeterRegistry meterRegistry,
+        @Value("${gateway.cache.enabled:true}") boolean enabled,
+        @Value("${gateway.cache.max-size:64MB}") DataSize maxSize
+    ) {
+        this(proxyService, meterRegistry, enabled, maxSize, System::currentTimeMillis);
+    }
+
+    ResponseCacheService(
+        ProxyService proxyService,
+        MeterRegistry meterRegistry,
+        boolean enabled,
+        DataSize maxSize,
+        LongSupplier clock
+    ) {
+        this.proxyService = proxyService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.clock = clock;
+        this.cache = new ResponseCache(maxSize.toBytes());
+
+        Gauge.builder("gateway.cache.entries", cache, ResponseCache::size).register(meterRegistry);
+        Gauge.builder("gateway.cache.size", cache, ResponseCache::bytes).baseUnit("bytes").register(meterRegistry);
+        FunctionCounter.builder("gateway.cache.evictions", cache, ResponseCache::evictions).register(meterRegistry);
+    }
+
+    public boolean isCacheable(ResolvedRoute route, ServerHttpRequest request) {
+        if (!enabled || !route.policy().cacheable() || request.getMethod() != HttpMethod.GET) {
+            return false;
+        }
+
+        if (!route.policy().allowsSharedResponse(request.getHeaders())) {
+            count(route, Result.BYPASS);
+            return false;
+        }
+
+        return true;
+    }
+
+    public Mono<Void> handle(ResolvedRoute route, ServerWebExchange exchange, UpstreamFetcher fetcher) {
+        ServerHttpRequest request = exchange.getRequest();
+        String key = RequestKeys.of(request);
+        CachedResponse cached = cache.get(key);
+        long now = clock.getAsLong();
+
+        boolean forceRevalidation = CacheControlDirectives
+            .parse(request.getHeaders().get(HttpHeaders.CACHE_CONTROL))
+            .noCache();
+
+        if (cached != null && !forceRevalidation) {
+            if (cached.isFresh(now)) {
+                return serve(route, exchange, cached, now, Result.HIT);
+            }
+            if (cached.canServeWhileRevalidating(now)) {
+                revalidateInBackground(key, cached, fetcher);
+                return serve(route, exchange, cached, now, Result.STALE);
+            }
+        }
+
+        return fetcher.fetch(cached != null ? cached.etag() : null)
+            .flatMap(upstream -> {
+                long receivedAt = clock.getAsLong();
+
+                if (cached != null && upstream.status().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                    CachedResponse refreshed = refresh(cached, upstream, receivedAt);
+                    cache.put(key, refreshed);
+                    return serve(route, exchange, refreshed, receivedAt, Result.REVALIDATED);
+                }
+                if (cached != null && upstream.status().is5xxServerError() && cached.canServeOnError(receivedAt)) {
+                    return serve(route, exchange, cached, receivedAt, Result.STALE_IF_ERROR);
+                }
+
+                store(key, upstream, receivedAt);
+                count(route, Result.MISS);
+                exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+
+                return proxyService.write(exchange, upstream);
+            })
+            .onErrorResume(
+                error -> !(error instanceof DataBufferLimitException)
+                    && cached != null
+                    && cached.canServeOnError(clock.getAsLong()),
+                error -> {
+                    log.warn("Servindo resposta em cache após erro do serviço: {}", error.getMessage());
+                    return serve(route, exchange, cached, clock.getAsLong(), Result.STALE_IF_ERROR);
+                }
+            );
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.cache.purge-interval:60s}")
+    public void purgeExpired() {
+        cache.purgeExpired(clock.getAsLong());
+    }
+
+    private Mono<Void> serve(
+        ResolvedRoute route,
+        ServerWebExchange exchange,
+        CachedResponse cached,
+        long now,
+        Result result
+    ) {
+        count(route, result);
+
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.set(CACHE_STATUS_HEADER, result.name());
+        headers.set(HttpHeaders.AGE, Long.toString(cached.ageSeconds(now)));
+
+        if (cached.etag() != null && exchange.getRequest().getHeaders().getIfNoneMatch().contains(cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.setETag(cached.etag());
+            headers.addAll(HttpHeaders.CACHE_CONTROL, cached.response().headers().getOrEmpty(HttpHeaders.CACHE_CONTROL));
+            return response.setComplete();
+        }
+
+        return proxyService.write(exchange, cached.response());
+    }
+
+    private void revalidateInBackground(String key, CachedResponse cached, UpstreamFetcher fetcher) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+
+        fetcher.fetch(cached.etag())
+            .doFinally(signal -> revalidating.remove(key))
+            .subscribe(
+                upstream -> {
+                    long now = clock.getAsLong();
+
+                    if (upstream.status().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        cache.put(key, refresh(cached, upstream, now));
+                    } else if (!upstream.status().is5xxServerError() && !store(key, upstream, now)) {
+                        cache.remove(key);
+                    }
+                },
+                error -> log.debug("Falha ao revalidar {}: {}", key, error.getMessage())
+            );
+    }
+
+    private boolean store(String key, UpstreamResponse upstream, long now) {
+        HttpHeaders headers = upstream.headers();
+        CacheControlDirectives directives = CacheControlDirectives.parse(headers.get(HttpHeaders.CACHE_CONTROL));
+
+        boolean storable = upstream.status().isSameCodeAs(HttpStatus.OK)
+            && !directives.noStore()
+            && !directives.privateResponse()
+            && !headers.containsHeader(HttpHeaders.SET_COOKIE)
+            && varyAllowsSharing(headers.get(HttpHeaders.VARY))
+            && (directives.freshnessSeconds() > 0 || (directives.noCache() && headers.getETag() != null));
+
+        if (storable) {
+            cache.put(key, CachedResponse.of(upstream, directives, now));
+        }
+
+        return storable;
+    }
+
+    private static CachedResponse refresh(CachedResponse cached, UpstreamResponse notModified, long now) {
+        List<String> cacheControl = notModified.headers().get(HttpHeaders.CACHE_CONTROL);
+        if (cacheControl == null) {
+            cacheControl = cached.response().headers().get(HttpHeaders.CACHE_CONTROL);
+        }
+
+        return CachedResponse.of(cached.response(), CacheControlDirectives.parse(cacheControl), now);
+    }
+
+    private static boolean varyAllowsSharing(List<String> vary) {
+        if (vary == null) {
+            return true;
+        }
+
+        for (String value : vary) {
+            for (String header : value.split(",")) {
+                if (!IGNORED_VARY_HEADERS.contains(header.trim().toLowerCase(Locale.ROOT))) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private void count(ResolvedRoute route, Result result) {
+        counters.computeIfAbsent(route.pathPrefix(), prefix -> {
+            Map<Result, Counter> byResult = new EnumMap<>(Result.class);
+            for (Result value : Result.values()) {
+                byResult.put(value, Counter.builder("gateway.cache.requests")
+                    .tag("route", prefix)
+                    .tag("result", value.tag)
+                    .register(meterRegistry));
+            }
+            return byResult;
+        }).get(result).increment();
+    }
+}
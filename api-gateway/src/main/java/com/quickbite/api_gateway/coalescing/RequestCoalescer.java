@@ -0,0 +1,122 @@
+package com.quickbite.api_gateway.coalescing;
+
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.service.RequestKeys;
+import com.quickbite.api_gateway.service.UpstreamFetcher;
+import com.quickbite.api_gateway.service.UpstreamResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single-flight for identical GETs: while one request for a key is in flight,
+ * the others subscribe to the same upstream Mono instead of calling the
+ * backend again. Followers wait at most {@code gateway.coalescing.max-wait}
+ * before falling back to a call of their own. The key holds the caller's
+ * {@code Authorization} and {@code Cookie}, so requests that carry different
+ * credentials never share a flight, even if a route lets them through.
+ */
+@Service
+public class RequestCoalescer {
+
+    enum Result {
+        LEADER, JOINED, TIMEOUT;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration maxWait;
+
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Map<Result, Counter>> counters = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(
+        MeterRegistry meterRegistry,
+        @Value("${gateway.coalescing.enabled:true}") boolean enabled,
+        @Value("${gateway.coalescing.max-wait:2s}") Duration maxWait
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxWait = maxWait;
+
+        Gauge.builder("gateway.coalescing.in-flight", inFlight, Map::size).register(meterRegistry);
+    }
+
+    public boolean isCoalescable(ResolvedRoute route, ServerHttpRequest request) {
+        return enabled
+            && route.policy().coalesce()
+            && request.getMethod() == HttpMethod.GET
+            && route.policy().allowsSharedResponse(request.getHeaders());
+    }
+
+    public UpstreamFetcher coalesce(ResolvedRoute route, ServerHttpRequest request, UpstreamFetcher fetcher) {
+        String requestKey = RequestKeys.of(request) + credentials(request.getHeaders());
+
+        return ifNoneMatch -> Mono.defer(() -> {
+            String key = ifNoneMatch == null ? requestKey : requestKey + '|' + ifNoneMatch;
+
+            Flight flight = new Flight();
+            flight.response = Mono.defer(() -> fetcher.fetch(ifNoneMatch))
+                .doFinally(signal -> inFlight.remove(key, flight))
+                .cache();
+
+            Flight existing = inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                count(route, Result.LEADER);
+                return flight.response;
+            }
+
+            count(route, Result.JOINED);
+            return existing.response
+                .timeout(maxWait)
+                .onErrorResume(TimeoutException.class, timeout -> {
+                    count(route, Result.TIMEOUT);
+                    return fetcher.fetch(ifNoneMatch);
+                });
+        });
+    }
+
+    private static String credentials(HttpHeaders headers) {
+        String authorization = headers.getFirst(HttpHeaders.AUTHORIZATION);
+        List<String> cookies = headers.getOrEmpty(HttpHeaders.COOKIE);
+
+        if (authorization == null && cookies.isEmpty()) {
+            return "";
+        }
+
+        return "|" + authorization + "|" + String.join("; ", cookies);
+    }
+
+    private void count(ResolvedRoute route, Result result) {
+        counters.computeIfAbsent(route.pathPrefix(), prefix -> {
+            Map<Result, Counter> byResult = new EnumMap<>(Result.class);
+            for (Result value : Result.values()) {
+                byResult.put(value, Counter.builder("gateway.coalescing.requests")
+                    .tag("route", prefix)
+                    .tag("result", value.tag)
+                    .register(meterRegistry));
+            }
+            return byResult;
+        }).get(result).increment();
+    }
+
+    private static final class Flight {
+        private Mono<UpstreamResponse> response;
+    }
+}
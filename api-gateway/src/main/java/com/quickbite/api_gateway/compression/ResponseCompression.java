@@ -0,0 +1,205 @@
+package com.quickbite.api_gateway.compression;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.Zstd;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.reactor.netty.NettyServerCustomizer;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.unit.DataSize;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.http.server.compression.GzipOption;
+import reactor.netty.http.server.compression.HttpCompressionOption;
+import reactor.netty.http.server.compression.ZstdOption;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compresses responses on the gateway's Netty server. The encoding is
+ * negotiated with the client's {@code Accept-Encoding}: gzip and deflate
+ * always, zstd (zstd-jni) and brotli (brotli4j) when their native libraries
+ * are on the classpath. Levels of gzip and zstd are configurable; brotli
+ * uses Netty's default quality. A response is only
+ * compressed when its type is in {@code gateway.compression.mime-types} and it
+ * is at least {@code gateway.compression.min-size}; responses of unknown
+ * length (streamed) are compressed. Responses that already have a
+ * {@code Content-Encoding}, i.e. compressed by the backend on the streaming
+ * path, are passed through untouched. Every response that reaches the
+ * check gets {@code Vary: Accept-Encoding}, so a shared cache in front of
+ * the gateway keeps the plain and the compressed variants apart. A client
+ * that only accepts {@code identity}, or gives every encoding we offer a
+ * {@code q} of zero, gets the plain response.
+ */
+@Slf4j
+@Component
+public class ResponseCompression implements NettyServerCustomizer {
+
+    enum Result {
+        ELIGIBLE, PASSTHROUGH, BELOW_MIN_SIZE, EXCLUDED_TYPE, NOT_ACCEPTED;
+
+        private final String tag = name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    private static final String PREFIX = "gateway.compression.";
+    private static final String DEFAULT_MIME_TYPES =
+        "application/json,application/*+json,application/xml,text/html,text/plain,text/css,text/javascript,application/javascript";
+
+    private final boolean enabled;
+    private final long minSize;
+    private final List<MimeType> mimeTypes;
+    private final HttpCompressionOption[] options;
+    private final List<String> encodings;
+    private final Map<Result, Counter> counters = new EnumMap<>(Result.class);
+
+    public ResponseCompression(MeterRegistry meterRegistry, Environment environment) {
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, true);
+        this.minSize = DataSize.parse(environment.getProperty(PREFIX + "min-size", "1KB")).toBytes();
+        this.mimeTypes = MimeTypeUtils.parseMimeTypes(environment.getProperty(PREFIX + "mime-types", DEFAULT_MIME_TYPES));
+
+        List<String> offered = new ArrayList<>(List.of("gzip", "deflate"));
+        List<HttpCompressionOption> available = new ArrayList<>();
+        available.add(GzipOption.builder()
+            .compressionLevel(environment.getProperty(PREFIX + "gzip-level", Integer.class, 6))
+            .build());
+        if (Zstd.isAvailable()) {
+            available.add(ZstdOption.builder()
+                .compressionLevel(environment.getProperty(PREFIX + "zstd-level", Integer.class, 3))
+                .build());
+            offered.add("zstd");
+        }
+        if (Brotli.isAvailable()) {
+            offered.add("br");
+        }
+        this.options = available.toArray(HttpCompressionOption[]::new);
+        this.encodings = List.copyOf(offered);
+
+        for (Result result : Result.values()) {
+            counters.put(result, Counter.builder("gateway.compression.responses")
+                .tag("result", result.tag)
+                .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public HttpServer apply(HttpServer server) {
+        if (!enabled) {
+            return server;
+        }
+
+        log.info("Compressão de respostas habilitada: {}", encodings);
+        return server.compress(this::shouldCompress).compressOptions(options);
+    }
+
+    List<String> encodings() {
+        return encodings;
+    }
+
+    boolean shouldCompress(HttpServerRequest request, HttpServerResponse response) {
+        addVaryAcceptEncoding(response.responseHeaders());
+
+        Result result = classify(
+            request.requestHeaders().get(HttpHeaders.ACCEPT_ENCODING),
+            response.responseHeaders().get(HttpHeaders.CONTENT_ENCODING),
+            response.responseHeaders().get(HttpHeaders.CONTENT_TYPE),
+            response.responseHeaders().get(HttpHeaders.CONTENT_LENGTH)
+        );
+
+        counters.get(result).increment();
+        return result == Result.ELIGIBLE;
+    }
+
+    Result classify(String acceptEncoding, String contentEncoding, String contentType, String contentLength) {
+        if (contentEncoding != null && !contentEncoding.isBlank() && !"identity".equalsIgnoreCase(contentEncoding.trim())) {
+            return Result.PASSTHROUGH;
+        }
+
+        if (!acceptsCompression(acceptEncoding)) {
+            return Result.NOT_ACCEPTED;
+        }
+
+        if (contentType == null || !isCompressible(contentType)) {
+            return Result.EXCLUDED_TYPE;
+        }
+
+        if (contentLength != null && parseLength(contentLength) < minSize) {
+            return Result.BELOW_MIN_SIZE;
+        }
+
+        return Result.ELIGIBLE;
+    }
+
+    private boolean acceptsCompression(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+
+            if ((coding.equals("*") || encodings.contains(coding)) && quality(parts) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static void addVaryAcceptEncoding(io.netty.handler.codec.http.HttpHeaders headers) {
+        for (String vary : headers.getAll(HttpHeaders.VARY)) {
+            for (String field : vary.split(",")) {
+                String name = field.trim();
+                if (name.equals("*") || name.equalsIgnoreCase(HttpHeaders.ACCEPT_ENCODING)) {
+                    return;
+                }
+            }
+        }
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private static long parseLength(String contentLength) {
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private boolean isCompressible(String contentType) {
+        try {
+            MimeType mimeType = MimeTypeUtils.parseMimeType(contentType);
+            for (MimeType candidate : mimeTypes) {
+                if (candidate.includes(mimeType)) {
+                    return true;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,137 @@
+package com.quickbite.api_gateway.concurrency;
+
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.exception.ServiceUnavailableException;
+import com.quickbite.api_gateway.service.UpstreamResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * One {@link GradientLimit} per {@link RouteConfig.Service}. Calls over the
+ * limit for their {@link Priority} are shed at once with 503 instead of
+ * queueing at the backend. Calls refused by the circuit breaker or bulkhead
+ * never reached the backend and are not used as latency samples.
+ */
+@Service
+public class AdaptiveConcurrencyLimiter {
+
+    private static final String PREFIX = "gateway.concurrency.";
+    private static final Duration SHED_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final boolean enabled;
+    private final LongSupplier clock;
+    private final Map<RouteConfig.Service, GradientLimit> limits;
+    private final Map<RouteConfig.Service, Map<Priority, Counter>> rejections;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry, Environment environment) {
+        this(meterRegistry, environment, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry, Environment environment, LongSupplier clock) {
+        this.clock = clock;
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, true);
+
+        GradientLimitProperties properties = new GradientLimitProperties(
+            environment.getProperty(PREFIX + "initial-limit", Integer.class, 50),
+            environment.getProperty(PREFIX + "min-limit", Integer.class, 10),
+            environment.getProperty(PREFIX + "max-limit", Integer.class, 500),
+            environment.getProperty(PREFIX + "smoothing", Double.class, 0.2),
+            environment.getProperty(PREFIX + "rtt-tolerance", Double.class, 1.5),
+            environment.getProperty(PREFIX + "long-window", Integer.class, 600)
+        );
+
+        Map<RouteConfig.Service, GradientLimit> limitsByService = new EnumMap<>(RouteConfig.Service.class);
+        Map<RouteConfig.Service, Map<Priority, Counter>> rejectionsByService = new EnumMap<>(RouteConfig.Service.class);
+
+        for (RouteConfig.Service service : RouteConfig.Service.values()) {
+            GradientLimit limit = new GradientLimit(properties);
+            limitsByService.put(service, limit);
+
+            Gauge.builder("gateway.concurrency.limit", limit, GradientLimit::getLimit)
+                .tag("service", service.name())
+                .register(meterRegistry);
+            Gauge.builder("gateway.concurrency.in-flight", limit, GradientLimit::getInFlight)
+                .tag("service", service.name())
+                .register(meterRegistry);
+
+            Map<Priority, Counter> counters = new EnumMap<>(Priority.class);
+            for (Priority priority : Priority.values()) {
+                counters.put(priority, Counter.builder("gateway.concurrency.rejections")
+                    .tag("service", service.name())
+                    .tag("priority", priority.tag())
+                    .register(meterRegistry));
+            }
+            rejectionsByService.put(service, counters);
+        }
+
+        this.limits = Collections.unmodifiableMap(limitsByService);
+        this.rejections = Collections.unmodifiableMap(rejectionsByService);
+    }
+
+    public <T> Mono<T> execute(
+        RouteConfig.Service service,
+        Priority priority,
+        Mono<T> call,
+        Function<T, HttpStatusCode> statusOf
+    ) {
+        if (!enabled) {
+            return call;
+        }
+
+        return Mono.defer(() -> {
+            GradientLimit limit = limits.get(service);
+
+            if (!limit.tryAcquire(priority)) {
+                rejections.get(service).get(priority).increment();
+                return Mono.error(new ServiceUnavailableException(service, "Serviço sobrecarregado", SHED_RETRY_AFTER));
+            }
+
+            int inFlightAtStart = limit.getInFlight();
+            long start = clock.getAsLong();
+            AtomicBoolean released = new AtomicBoolean();
+
+            return call
+                .doOnSuccess(result -> {
+                    if (released.compareAndSet(false, true)) {
+                        HttpStatusCode status = result == null ? null : statusOf.apply(result);
+                        limit.onSample(clock.getAsLong() - start, inFlightAtStart, UpstreamResponse.isUpstreamFailure(status));
+                    }
+                })
+                .doOnError(error -> {
+                    if (!released.compareAndSet(false, true)) {
+                        return;
+                    }
+                    if (error instanceof ServiceUnavailableException || error instanceof DataBufferLimitException) {
+                        limit.release();
+                    } else {
+                        limit.onSample(clock.getAsLong() - start, inFlightAtStart, true);
+                    }
+                })
+                .doFinally(signal -> {
+                    if (released.compareAndSet(false, true)) {
+                        limit.release();
+                    }
+                });
+        });
+    }
+
+    public GradientLimit getLimit(RouteConfig.Service service) {
+        return limits.get(service);
+    }
+}
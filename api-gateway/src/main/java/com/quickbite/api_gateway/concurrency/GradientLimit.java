@@ -0,0 +1,103 @@
+package com.quickbite.api_gateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit of one backend, adjusted from observed latency in the
+ * style of Netflix's Gradient2: a long-term average RTT is the baseline and
+ * the gradient {@code tolerance * longRtt / rtt} shrinks the limit as soon as
+ * requests get slower than the baseline, before queues build up. While
+ * latency is flat the limit grows by a queue allowance of {@code sqrt(limit)}.
+ */
+public class GradientLimit {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DROP_BACKOFF = 0.9;
+    private static final double DRIFT_RECOVERY = 0.95;
+
+    private final GradientLimitProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double longRtt;
+    private long samples;
+
+    public GradientLimit(GradientLimitProperties properties) {
+        this.properties = properties;
+        this.limit = properties.initialLimit();
+    }
+
+    /**
+     * Takes a slot when fewer than {@code priority.share() * limit} requests
+     * are in flight.
+     */
+    public boolean tryAcquire(Priority priority) {
+        double allowed = Math.max(1, limit * priority.share());
+
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot without touching the limit, for calls that never
+     * reached the backend.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Releases a slot and feeds the call's round trip time into the limit.
+     * {@code dropped} marks errors and gateway statuses, which back off the
+     * limit regardless of latency.
+     */
+    public void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+        inFlight.decrementAndGet();
+        update(Math.max(1, rttNanos), inFlightAtStart, dropped);
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    private synchronized void update(long rtt, int inFlightAtStart, boolean dropped) {
+        double current = limit;
+
+        if (dropped) {
+            limit = clamp(current * DROP_BACKOFF);
+            return;
+        }
+
+        samples++;
+        double factor = 2.0 / (Math.min(samples, properties.longWindow()) + 1);
+        longRtt = samples == 1 ? rtt : longRtt + (rtt - longRtt) * factor;
+
+        if (longRtt / rtt > 2) {
+            longRtt *= DRIFT_RECOVERY;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, properties.rttTolerance() * longRtt / rtt));
+
+        if (gradient >= 1.0 && inFlightAtStart < current / 2) {
+            return;
+        }
+
+        double target = current * gradient + Math.sqrt(current);
+        limit = clamp(current * (1 - properties.smoothing()) + target * properties.smoothing());
+    }
+
+    private double clamp(double value) {
+        return Math.max(properties.minLimit(), Math.min(properties.maxLimit(), value));
+    }
+}
@@ -0,0 +1,11 @@
+package com.quickbite.api_gateway.concurrency;
+
+public record GradientLimitProperties(
+    int initialLimit,
+    int minLimit,
+    int maxLimit,
+    double smoothing,
+    double rttTolerance,
+    int longWindow
+) {
+}
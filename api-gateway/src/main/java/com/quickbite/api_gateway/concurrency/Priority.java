@@ -0,0 +1,55 @@
+package com.quickbite.api_gateway.concurrency;
+
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.security.EdgeAuthenticator;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Locale;
+
+/**
+ * Shedding order when a backend is at its concurrency limit. Each class may
+ * only use {@code share} of the limit, so lower classes are refused first and
+ * the last slots stay free for order placement and status updates.
+ */
+public enum Priority {
+    CRITICAL(1.0),
+    NORMAL(0.9),
+    SHEDDABLE(0.7);
+
+    private final double share;
+    private final String tag = name().toLowerCase(Locale.ROOT);
+
+    Priority(double share) {
+        this.share = share;
+    }
+
+    public double share() {
+        return share;
+    }
+
+    String tag() {
+        return tag;
+    }
+
+    /**
+     * Writes to the order service are {@link #CRITICAL}; anonymous GETs on
+     * public routes (catalogue browsing) are {@link #SHEDDABLE}.
+     */
+    public static Priority of(ResolvedRoute route, ServerWebExchange exchange) {
+        HttpMethod method = exchange.getRequest().getMethod();
+
+        if (route.service() == RouteConfig.Service.ORDERS && method != HttpMethod.GET) {
+            return CRITICAL;
+        }
+
+        if (method == HttpMethod.GET
+            && route.policy().publicRoute()
+            && exchange.getAttribute(EdgeAuthenticator.IDENTITY_ATTRIBUTE) == null) {
+            return SHEDDABLE;
+        }
+
+        return NORMAL;
+    }
+}
@@ -0,0 +1,15 @@
+package com.quickbite.api_gateway.config;
+
+import java.util.List;
+
+public record ResolvedRoute(
+    String pathPrefix,
+    RouteConfig.Service service,
+    List<String> instanceUrls,
+    RoutePolicy policy
+) {
+
+    public ResolvedRoute(String pathPrefix, RouteConfig.Service service, List<String> instanceUrls) {
+        this(pathPrefix, service, instanceUrls, RoutePolicy.DEFAULT);
+    }
+}
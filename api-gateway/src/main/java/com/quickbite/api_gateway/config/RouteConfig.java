@@ -2,11 +2,41 @@ package com.quickbite.api_gateway.config;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
 
+/**
+ * Route table of the gateway. Defaults map {@code /api/v1/<prefix>} to the
+ * local service ports. Instances of a service can be set statically with
+ * {@code gateway.routes.service.<SERVICE>.instances}; {@code gateway.routes.file}
+ * may point to a properties file with the same keys (without the
+ * {@code gateway.routes.} prefix) plus extra routes, re-read whenever its
+ * modification time changes:
+ *
+ * <pre>
+ * route./api/v1/products=PRODUCT
+ * route./api/v1/products.cache=true
+ * service.PRODUCT.instances=http://product-1:8083,http://product-2:8083
+ * </pre>
+ */
+@Slf4j
 @Component
 public class RouteConfig {
 
@@ -21,8 +51,20 @@ public class RouteConfig {
 
         private final String pathPrefix;
         private final String port;
+
+        public String defaultBaseUrl() {
+            return "http://localhost:" + port;
+        }
     }
 
+    private static final String API_PREFIX = "/api/v1/";
+    private static final String ROUTE_KEY_PREFIX = "route.";
+    private static final String SERVICE_KEY_PREFIX = "service.";
+    private static final String SERVICE_URL_SUFFIX = ".url";
+    private static final String SERVICE_INSTANCES_SUFFIX = ".instances";
+    private static final String STATIC_KEY_PREFIX = "gateway.routes.";
+    private static final Service FALLBACK_SERVICE = Service.AUTH;
+
     private static final Map<String, Service> PATH_TO_SERVICE = Map.of(
         "auth", Service.AUTH,
         "products", Service.PRODUCT,
@@ -33,10 +75,167 @@ public class RouteConfig {
         "notification", Service.NOTIFICATION
     );
 
+    private static final Map<String, RoutePolicy> PATH_TO_POLICY = Map.of(
+        "products", RoutePolicy.PUBLIC_CATALOGUE,
+        "restaurants", RoutePolicy.PUBLIC_CATALOGUE,
+        "categories", RoutePolicy.PUBLIC_CATALOGUE
+    );
+
+    private final Path routesFile;
+    private final Properties staticRoutes;
+
+    private volatile RouteTable routeTable;
+    private volatile ResolvedRoute defaultRoute;
+    private volatile Map<Service, List<String>> serviceInstances;
+    private volatile FileTime routesFileModifiedAt;
+
+    public RouteConfig(@Value("${gateway.routes.file:}") String routesFile, Environment environment) {
+        this.routesFile = routesFile.isBlank() ? null : Path.of(routesFile);
+        this.staticRoutes = readStaticRoutes(environment);
+        applyRoutes(new Properties());
+        reloadIfChanged();
+    }
+
+    public Optional<ResolvedRoute> findRouteByPath(String requestPath) {
+        return routeTable.match(requestPath);
+    }
+
     public Optional<Service> findServiceByPath(String requestPath) {
-        return PATH_TO_SERVICE.entrySet().stream()
-            .filter(entry -> requestPath.startsWith("/api/v1/" + entry.getKey()))
-            .map(Map.Entry::getValue)
-            .findFirst();
+        return findRouteByPath(requestPath).map(ResolvedRoute::service);
+    }
+
+    public ResolvedRoute resolve(String requestPath) {
+        return findRouteByPath(requestPath).orElse(defaultRoute);
+    }
+
+    public RouteTable getRouteTable() {
+        return routeTable;
+    }
+
+    public List<String> instanceUrls(Service service) {
+        return serviceInstances.get(service);
+    }
+
+    @Scheduled(
+        initialDelayString = "${gateway.routes.reload-interval:5s}",
+        fixedDelayString = "${gateway.routes.reload-interval:5s}"
+    )
+    public void reloadIfChanged() {
+        if (routesFile == null || !Files.isRegularFile(routesFile)) {
+            return;
+        }
+
+        try {
+            FileTime modifiedAt = Files.getLastModifiedTime(routesFile);
+            if (modifiedAt.equals(routesFileModifiedAt)) {
+                return;
+            }
+
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(routesFile)) {
+                properties.load(reader);
+            }
+
+            applyRoutes(properties);
+            routesFileModifiedAt = modifiedAt;
+
+            log.info("Rotas recarregadas de {}: {} rotas", routesFile, routeTable.routes().size());
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Falha ao recarregar rotas de {}, mantendo tabela atual: {}", routesFile, e.getMessage());
+        }
+    }
+
+    private void applyRoutes(Properties fileRoutes) {
+        Map<Service, List<String>> instanceUrls = new EnumMap<>(Service.class);
+        Map<String, Service> routes = new LinkedHashMap<>();
+        Map<String, RoutePolicy> policies = new HashMap<>();
+
+        for (Service service : Service.values()) {
+            instanceUrls.put(service, List.of(service.defaultBaseUrl()));
+        }
+        PATH_TO_SERVICE.forEach((prefix, service) -> routes.put(API_PREFIX + prefix, service));
+        PATH_TO_POLICY.forEach((prefix, policy) -> policies.put(API_PREFIX + prefix, policy));
+
+        applyProperties(staticRoutes, routes, instanceUrls, policies);
+        applyProperties(fileRoutes, routes, instanceUrls, policies);
+
+        this.routeTable = RouteTable.of(routes.entrySet().stream()
+            .map(entry -> new ResolvedRoute(
+                entry.getKey(),
+                entry.getValue(),
+                instanceUrls.get(entry.getValue()),
+                policies.getOrDefault(entry.getKey(), RoutePolicy.DEFAULT)
+            ))
+            .toList());
+        this.defaultRoute = new ResolvedRoute("/", FALLBACK_SERVICE, instanceUrls.get(FALLBACK_SERVICE));
+        this.serviceInstances = instanceUrls;
+    }
+
+    private static void applyProperties(
+        Properties properties,
+        Map<String, Service> routes,
+        Map<Service, List<String>> instanceUrls,
+        Map<String, RoutePolicy> policies
+    ) {
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key).trim();
+
+            if (key.startsWith(ROUTE_KEY_PREFIX)) {
+                String route = key.substring(ROUTE_KEY_PREFIX.length());
+                int optionStart = route.lastIndexOf('.');
+
+                if (optionStart > 0 && RoutePolicy.isOption(route.substring(optionStart + 1))) {
+                    String prefix = route.substring(0, optionStart);
+                    policies.put(prefix, policies.getOrDefault(prefix, RoutePolicy.DEFAULT)
+                        .withOption(route.substring(optionStart + 1), value));
+                } else {
+                    routes.put(route, Service.valueOf(value));
+                }
+            } else if (key.startsWith(SERVICE_KEY_PREFIX) && key.endsWith(SERVICE_URL_SUFFIX)) {
+                instanceUrls.put(serviceOf(key, SERVICE_URL_SUFFIX), List.of(stripTrailingSlash(value)));
+            } else if (key.startsWith(SERVICE_KEY_PREFIX) && key.endsWith(SERVICE_INSTANCES_SUFFIX)) {
+                instanceUrls.put(serviceOf(key, SERVICE_INSTANCES_SUFFIX), parseInstances(value));
+            }
+        }
+    }
+
+    private static Properties readStaticRoutes(Environment environment) {
+        Properties properties = new Properties();
+
+        for (Service service : Service.values()) {
+            for (String suffix : List.of(SERVICE_URL_SUFFIX, SERVICE_INSTANCES_SUFFIX)) {
+                String key = SERVICE_KEY_PREFIX + service.name() + suffix;
+                String value = environment.getProperty(STATIC_KEY_PREFIX + key);
+
+                if (value != null && !value.isBlank()) {
+                    properties.setProperty(key, value);
+                }
+            }
+        }
+
+        return properties;
+    }
+
+    private static Service serviceOf(String key, String suffix) {
+        return Service.valueOf(key.substring(SERVICE_KEY_PREFIX.length(), key.length() - suffix.length()));
+    }
+
+    private static List<String> parseInstances(String value) {
+        List<String> urls = Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(url -> !url.isEmpty())
+            .map(RouteConfig::stripTrailingSlash)
+            .distinct()
+            .toList();
+
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("Lista de instâncias vazia");
+        }
+
+        return urls;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
     }
 }
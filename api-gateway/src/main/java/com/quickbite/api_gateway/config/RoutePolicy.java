@@ -0,0 +1,52 @@
+package com.quickbite.api_gateway.config;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Per-route behaviour, set in code for the built-in routes and overridable in
+ * the routes file with {@code route.<prefix>.<option>=<value>}.
+ */
+public record RoutePolicy(
+    boolean cacheable,
+    boolean publicRoute,
+    boolean coalesce,
+    boolean hedge
+) {
+
+    public static final RoutePolicy DEFAULT = new RoutePolicy(false, false, false, false);
+    public static final RoutePolicy PUBLIC_CATALOGUE = new RoutePolicy(true, true, true, true);
+
+    public RoutePolicy(boolean cacheable, boolean publicRoute, boolean coalesce) {
+        this(cacheable, publicRoute, coalesce, false);
+    }
+
+    public static boolean isOption(String name) {
+        return switch (name) {
+            case "cache", "public", "coalesce", "hedge" -> true;
+            default -> false;
+        };
+    }
+
+    public RoutePolicy withOption(String name, String value) {
+        boolean enabled = Boolean.parseBoolean(value);
+
+        return switch (name) {
+            case "cache" -> new RoutePolicy(enabled, publicRoute, coalesce, hedge);
+            case "public" -> new RoutePolicy(cacheable, enabled, coalesce, hedge);
+            case "coalesce" -> new RoutePolicy(cacheable, publicRoute, enabled, hedge);
+            case "hedge" -> new RoutePolicy(cacheable, publicRoute, coalesce, enabled);
+            default -> throw new IllegalArgumentException("Opção de rota desconhecida: " + name);
+        };
+    }
+
+    /**
+     * Whether one backend response may be handed to other callers. Credentials
+     * always make a request personal, even on a public route: the public
+     * prefixes also hold owner and admin endpoints, and the answer to a
+     * credentialed read may depend on who asked.
+     */
+    public boolean allowsSharedResponse(HttpHeaders requestHeaders) {
+        return !(requestHeaders.containsHeader(HttpHeaders.AUTHORIZATION)
+            || requestHeaders.containsHeader(HttpHeaders.COOKIE));
+    }
+}
@@ -0,0 +1,85 @@
+package com.quickbite.api_gateway.config;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable segment trie over route path prefixes. Matching walks the request
+ * path one segment at a time and keeps the deepest route seen, so
+ * {@code /api/v1/orders/restaurant} wins over {@code /api/v1/orders} no matter
+ * the order the routes were declared in.
+ */
+public final class RouteTable {
+
+    private final Node root;
+    private final List<ResolvedRoute> routes;
+
+    private RouteTable(Node root, List<ResolvedRoute> routes) {
+        this.root = root;
+        this.routes = routes;
+    }
+
+    public static RouteTable of(Collection<ResolvedRoute> routes) {
+        Node root = new Node();
+
+        for (ResolvedRoute route : routes) {
+            Node node = root;
+
+            for (String segment : route.pathPrefix().split("/")) {
+                if (!segment.isEmpty()) {
+                    node = node.children.computeIfAbsent(segment, key -> new Node());
+                }
+            }
+
+            node.route = route;
+        }
+
+        return new RouteTable(root, Collections.unmodifiableList(new ArrayList<>(routes)));
+    }
+
+    public Optional<ResolvedRoute> match(String requestPath) {
+        Node node = root;
+        ResolvedRoute best = root.route;
+        int length = requestPath.length();
+        int start = 0;
+
+        while (start < length) {
+            if (requestPath.charAt(start) == '/') {
+                start++;
+                continue;
+            }
+
+            int end = requestPath.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+
+            node = node.children.get(requestPath.substring(start, end));
+            if (node == null) {
+                break;
+            }
+
+            if (node.route != null) {
+                best = node.route;
+            }
+
+            start = end;
+        }
+
+        return Optional.ofNullable(best);
+    }
+
+    public List<ResolvedRoute> routes() {
+        return routes;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>(4);
+        private ResolvedRoute route;
+    }
+}
@@ -0,0 +1,54 @@
+package com.quickbite.api_gateway.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One {@link WebClient} per {@link RouteConfig.Service}, each on its own
+ * connection pool, so a slow backend can only exhaust its own connections.
+ */
+public class UpstreamClients implements DisposableBean {
+
+    private final Map<RouteConfig.Service, WebClient> clients;
+    private final Map<RouteConfig.Service, UpstreamPoolProperties> properties;
+    private final List<ConnectionProvider> providers;
+
+    UpstreamClients(
+        Map<RouteConfig.Service, WebClient> clients,
+        Map<RouteConfig.Service, UpstreamPoolProperties> properties,
+        List<ConnectionProvider> providers
+    ) {
+        this.clients = Map.copyOf(clients);
+        this.properties = Map.copyOf(properties);
+        this.providers = List.copyOf(providers);
+    }
+
+    /**
+     * Same client for every service; for tests and tools.
+     */
+    public static UpstreamClients of(WebClient webClient) {
+        Map<RouteConfig.Service, WebClient> clients = new EnumMap<>(RouteConfig.Service.class);
+        for (RouteConfig.Service service : RouteConfig.Service.values()) {
+            clients.put(service, webClient);
+        }
+        return new UpstreamClients(clients, Map.of(), List.of());
+    }
+
+    public WebClient get(RouteConfig.Service service) {
+        return clients.get(service);
+    }
+
+    public UpstreamPoolProperties getProperties(RouteConfig.Service service) {
+        return properties.get(service);
+    }
+
+    @Override
+    public void destroy() {
+        providers.forEach(ConnectionProvider::dispose);
+    }
+}
@@ -0,0 +1,66 @@
+package com.quickbite.api_gateway.config;
+
+import org.springframework.core.env.Environment;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Connection pool and client settings of one upstream service. Each key is
+ * read from {@code gateway.upstream.service.<SERVICE>.<key>} first, then from
+ * {@code gateway.upstream.<key>}.
+ */
+public record UpstreamPoolProperties(
+    int maxConnections,
+    int pendingAcquireMaxCount,
+    Duration pendingAcquireTimeout,
+    Duration maxIdleTime,
+    Duration maxLifeTime,
+    Duration evictInterval,
+    Duration connectTimeout,
+    Duration responseTimeout,
+    HttpProtocol[] protocols,
+    int warmupConnections
+) {
+
+    private static final String PREFIX = "gateway.upstream.";
+
+    public static UpstreamPoolProperties of(Environment environment, RouteConfig.Service service) {
+        Reader reader = new Reader(environment, PREFIX + "service." + service.name() + ".");
+
+        return new UpstreamPoolProperties(
+            reader.get("max-connections", Integer.class, 200),
+            reader.get("pending-acquire-max-count", Integer.class, 500),
+            reader.get("pending-acquire-timeout", Duration.class, Duration.ofSeconds(2)),
+            reader.get("max-idle-time", Duration.class, Duration.ofSeconds(30)),
+            reader.get("max-life-time", Duration.class, Duration.ofMinutes(5)),
+            reader.get("evict-interval", Duration.class, Duration.ofSeconds(30)),
+            reader.get("connect-timeout", Duration.class, Duration.ofSeconds(2)),
+            reader.get("response-timeout", Duration.class, Duration.ofSeconds(30)),
+            parseProtocols(reader.get("protocols", String.class, "http11")),
+            reader.get("warmup-connections", Integer.class, 2)
+        );
+    }
+
+    /**
+     * {@code http11}, {@code h2c} (HTTP/2 with prior knowledge) or
+     * {@code http11,h2c} (HTTP/1.1 with upgrade to HTTP/2).
+     */
+    static HttpProtocol[] parseProtocols(String value) {
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(protocol -> !protocol.isEmpty())
+            .map(protocol -> HttpProtocol.valueOf(protocol.toUpperCase(Locale.ROOT)))
+            .toArray(HttpProtocol[]::new);
+    }
+
+    private record Reader(Environment environment, String servicePrefix) {
+
+        <T> T get(String key, Class<T> type, T defaultValue) {
+            T value = environment.getProperty(servicePrefix + key, type);
+            return value != null ? value : environment.getProperty(PREFIX + key, type, defaultValue);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.quickbite.api_gateway.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Opens {@code warmup-connections} pooled connections to every configured
+ * instance once the gateway is ready, so the first requests after a deploy do
+ * not pay for TCP handshakes. Any response, even a 404, leaves a reusable
+ * connection in the pool; failures are only logged.
+ */
+@Slf4j
+@Component
+public class UpstreamWarmup {
+
+    private final RouteConfig routeConfig;
+    private final UpstreamClients upstreamClients;
+    private final boolean enabled;
+    private final String path;
+    private final Duration timeout;
+
+    public UpstreamWarmup(
+        RouteConfig routeConfig,
+        UpstreamClients upstreamClients,
+        @Value("${gateway.upstream.warmup.enabled:true}") boolean enabled,
+        @Value("${gateway.upstream.warmup.path:/actuator/health}") String path,
+        @Value("${gateway.upstream.warmup.timeout:5s}") Duration timeout
+    ) {
+        this.routeConfig = routeConfig;
+        this.upstreamClients = upstreamClients;
+        this.enabled = enabled;
+        this.path = path;
+        this.timeout = timeout;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            warmUp().subscribe();
+        }
+    }
+
+    /**
+     * @return number of connections opened
+     */
+    public Mono<Integer> warmUp() {
+        return Flux.fromArray(RouteConfig.Service.values())
+            .flatMap(service -> Flux.fromIterable(routeConfig.instanceUrls(service))
+                .flatMap(url -> warmUp(service, url)))
+            .reduce(0, Integer::sum);
+    }
+
+    private Mono<Integer> warmUp(RouteConfig.Service service, String baseUrl) {
+        int connections = upstreamClients.getProperties(service).warmupConnections();
+
+        return Flux.range(0, connections)
+            .flatMap(attempt -> upstreamClients.get(service)
+                .get()
+                .uri(baseUrl + path)
+                .exchangeToMono(ClientResponse::releaseBody)
+                .thenReturn(1)
+                .timeout(timeout)
+                .onErrorResume(error -> {
+                    log.debug("Falha ao pré-aquecer conexão com {}: {}", baseUrl, error.getMessage());
+                    return Mono.just(0);
+                }))
+            .reduce(0, Integer::sum)
+            .doOnNext(opened -> log.info("Conexões pré-aquecidas com {} ({}): {}/{}", baseUrl, service, opened, connections));
+    }
+}
@@ -1,21 +1,106 @@
 package com.quickbite.api_gateway.config;
 
-import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import com.quickbite.api_gateway.deadline.DeadlinePolicy;
+import com.quickbite.api_gateway.timing.RequestTiming;
+import com.quickbite.core.deadline.RequestDeadline;
+import io.netty.channel.ChannelOption;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
 
 @Configuration
 public class WebClientConfig {
 
+    /**
+     * Base builder shared by the upstream clients: marks the dispatch of the
+     * calling request's {@link RequestTiming} and forwards what is left of its
+     * {@link RequestDeadline}, when they are in the Reactor context. A
+     * deadline header sent by the client is never passed through as is.
+     */
     @Bean
-    @LoadBalanced
     public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+        return WebClient.builder()
+            .filter((request, next) -> Mono.deferContextual(context -> {
+                long now = System.nanoTime();
+                RequestTiming.from(context).ifPresent(timing -> timing.markDispatched(now));
+
+                Optional<RequestDeadline> deadline = DeadlinePolicy.from(context);
+                if (deadline.isPresent() && deadline.get().isExpired(now)) {
+                    return Mono.error(new TimeoutException("Request deadline exceeded"));
+                }
+
+                return next.exchange(ClientRequest.from(request)
+                    .headers(headers -> {
+                        headers.remove(RequestDeadline.HEADER);
+                        deadline.ifPresent(value -> headers.set(RequestDeadline.HEADER, Long.toString(value.remainingMillis(now))));
+                    })
+                    .build());
+            }));
     }
 
+    /**
+     * A pooled client per service, configured by {@link UpstreamPoolProperties}.
+     * Pool gauges ({@code reactor.netty.connection.provider.*}, tag
+     * {@code name=upstream-<service>}) go to the global Micrometer registry.
+     */
     @Bean
-    public WebClient webClient(WebClient.Builder builder) {
-        return builder.build();
+    public UpstreamClients upstreamClients(WebClient.Builder webClientBuilder, Environment environment) {
+        Map<RouteConfig.Service, WebClient> clients = new EnumMap<>(RouteConfig.Service.class);
+        Map<RouteConfig.Service, UpstreamPoolProperties> properties = new EnumMap<>(RouteConfig.Service.class);
+        List<ConnectionProvider> providers = new ArrayList<>();
+
+        for (RouteConfig.Service service : RouteConfig.Service.values()) {
+            UpstreamPoolProperties pool = UpstreamPoolProperties.of(environment, service);
+            ConnectionProvider provider = connectionProvider(service, pool);
+
+            providers.add(provider);
+            properties.put(service, pool);
+            clients.put(service, webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient(provider, pool)))
+                .build());
+        }
+
+        return new UpstreamClients(clients, properties, providers);
+    }
+
+    private static ConnectionProvider connectionProvider(RouteConfig.Service service, UpstreamPoolProperties pool) {
+        return ConnectionProvider.builder("upstream-" + service.name().toLowerCase(Locale.ROOT))
+            .maxConnections(pool.maxConnections())
+            .pendingAcquireMaxCount(pool.pendingAcquireMaxCount())
+            .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+            .maxIdleTime(pool.maxIdleTime())
+            .maxLifeTime(pool.maxLifeTime())
+            .evictInBackground(pool.evictInterval())
+            .metrics(true)
+            .build();
+    }
+
+    /**
+     * Also marks request written (connection acquired) and response headers
+     * received on the calling request's {@link RequestTiming}.
+     */
+    private static HttpClient httpClient(ConnectionProvider provider, UpstreamPoolProperties pool) {
+        return HttpClient.create(provider)
+            .protocol(pool.protocols())
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.connectTimeout().toMillis())
+            .responseTimeout(pool.responseTimeout())
+            .doOnRequest((request, connection) -> RequestTiming.from(request.currentContextView())
+                .ifPresent(timing -> timing.markConnected(System.nanoTime())))
+            .doOnResponse((response, connection) -> RequestTiming.from(response.currentContextView())
+                .ifPresent(timing -> timing.markFirstByte(System.nanoTime())));
     }
 }
@@ -1,26 +1,49 @@
 package com.quickbite.api_gateway.controller;
 
+import com.quickbite.api_gateway.accesslog.AccessLogger;
+import com.quickbite.api_gateway.cache.ResponseCacheService;
+import com.quickbite.api_gateway.coalescing.RequestCoalescer;
+import com.quickbite.api_gateway.concurrency.Priority;
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.deadline.DeadlinePolicy;
+import com.quickbite.api_gateway.hedging.HedgingService;
+import com.quickbite.api_gateway.mirror.TrafficMirror;
+import com.quickbite.api_gateway.ratelimit.RateLimiter;
+import com.quickbite.api_gateway.security.EdgeAuthenticator;
+import com.quickbite.api_gateway.service.ProxyService;
 import com.quickbite.api_gateway.service.RoutingService;
+import com.quickbite.api_gateway.service.UpstreamExecutor;
+import com.quickbite.api_gateway.service.UpstreamFetcher;
+import com.quickbite.api_gateway.service.UpstreamResponse;
+import com.quickbite.api_gateway.timing.LatencyRecorder;
+import com.quickbite.api_gateway.timing.RequestTiming;
+import com.quickbite.core.exception.InvalidTokenException;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ServerWebExchange;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
-
-@Slf4j
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
 public class ApiGatewayController {
 
     private final RoutingService routingService;
-    private final WebClient webClient;
+    private final ProxyService proxyService;
+    private final UpstreamExecutor upstreamExecutor;
+    private final ResponseCacheService responseCacheService;
+    private final RequestCoalescer requestCoalescer;
+    private final HedgingService hedgingService;
+    private final EdgeAuthenticator edgeAuthenticator;
+    private final RateLimiter rateLimiter;
+    private final AccessLogger accessLogger;
+    private final LatencyRecorder latencyRecorder;
+    private final DeadlinePolicy deadlinePolicy;
+    private final TrafficMirror trafficMirror;
 
     @RequestMapping(
         value = "/**",
@@ -31,51 +54,80 @@ public class ApiGatewayController {
             RequestMethod.DELETE
         }
     )
-    public Mono<ResponseEntity<String>> routeAllRequests(
-        ServerWebExchange exchange,
-        @RequestBody(required = false) String body
+    public Mono<Void> routeAllRequests(ServerWebExchange original) {
+        RequestTiming timing = latencyRecorder.start(original.getResponse());
+        String requestPath = original.getRequest().getPath().pathWithinApplication().value();
+        ResolvedRoute route = routingService.resolveRoute(requestPath);
+        HttpMethod method = original.getRequest().getMethod();
+
+        // 401 e 429 saem como erro do Mono, então também são medidos e logados
+        return Mono.defer(() -> {
+                ServerWebExchange exchange = authenticate(route, original);
+                rateLimiter.check(route, exchange);
+
+                TrafficMirror.Mirror mirror = trafficMirror.start(route, exchange);
+                return deadlinePolicy.bound(route, exchange.getRequest(), proxy(route, exchange))
+                    .doOnSuccess(result -> mirror.primaryCompleted(exchange.getResponse().getStatusCode(), timing))
+                    .doOnError(error -> mirror.primaryCompleted(null, timing));
+            })
+            .doOnSuccess(result -> completed(route, method, requestPath, timing, original.getResponse().getStatusCode(), null))
+            .doOnError(error -> completed(route, method, requestPath, timing, null, error))
+            .contextWrite(context -> RequestTiming.with(context, timing));
+    }
+
+    /**
+     * A rejected token is charged to the caller's IP bucket before the 401,
+     * so guessing tokens is throttled like any other anonymous traffic.
+     */
+    private ServerWebExchange authenticate(ResolvedRoute route, ServerWebExchange original) {
+        try {
+            return edgeAuthenticator.authenticate(original);
+        } catch (InvalidTokenException e) {
+            rateLimiter.check(route, original);
+            throw e;
+        }
+    }
+
+    private void completed(
+        ResolvedRoute route,
+        HttpMethod method,
+        String requestPath,
+        RequestTiming timing,
+        HttpStatusCode status,
+        Throwable error
     ) {
-        String requestPath = exchange.getRequest().getPath().pathWithinApplication().value();
-        String targetUrl = routingService.determineTargetUrl(requestPath);
+        latencyRecorder.record(route.service(), method, timing);
+        accessLogger.record(method, requestPath, route.service(), status, timing.totalNanos(System.nanoTime()), error);
+    }
 
-        HttpMethod method = exchange.getRequest().getMethod();
-        log.info("Gateway roteando: {} {} -> {}", method, requestPath, targetUrl);
+    private Mono<Void> proxy(ResolvedRoute route, ServerWebExchange exchange) {
+        Priority priority = Priority.of(route, exchange);
+        Mono<Void> streamed = upstreamExecutor.forward(route, priority, exchange, instance -> proxyService.forward(exchange, instance));
+
+        ServerHttpRequest request = exchange.getRequest();
+        boolean cacheable = responseCacheService.isCacheable(route, request);
+        boolean coalescable = requestCoalescer.isCoalescable(route, request);
+        boolean hedged = hedgingService.isHedged(route, request);
+
+        if (!cacheable && !coalescable && !hedged) {
+            return streamed;
+        }
 
-        WebClient.RequestBodySpec requestSpec = webClient
-            .method(method)
-            .uri(targetUrl)
-                .headers(headers -> exchange.getRequest().getHeaders()
-                    .forEach(headers::addAll)
-                );
+        UpstreamFetcher fetcher = etag -> upstreamExecutor.execute(
+            route,
+            priority,
+            instance -> proxyService.fetch(exchange, instance, etag),
+            UpstreamResponse::status
+        );
 
-        if (body != null && !body.isEmpty() &&
-            (exchange.getRequest().getMethod() == HttpMethod.POST ||
-                exchange.getRequest().getMethod() == HttpMethod.PUT)) {
-            requestSpec.bodyValue(body);
+        if (coalescable) {
+            fetcher = requestCoalescer.coalesce(route, request, fetcher);
         }
 
-        return requestSpec.retrieve()
-            .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), response ->
-                response.bodyToMono(String.class)
-                    .defaultIfEmpty("")
-                    .flatMap(errorBody -> {
-                        log.warn("Erro {} do serviço backend: {}", response.statusCode(), errorBody);
+        Mono<Void> buffered = cacheable
+            ? responseCacheService.handle(route, exchange, fetcher)
+            : fetcher.fetch(null).flatMap(response -> proxyService.write(exchange, response));
 
-                        return Mono.error(WebClientResponseException.create(
-                            response.statusCode().value(),
-                            "HTTP Error" + response.statusCode().value(),
-                            response.headers().asHttpHeaders(),
-                            errorBody.getBytes(StandardCharsets.UTF_8),
-                            StandardCharsets.UTF_8
-                        ));
-                    })
-            )
-            .toEntity(String.class)
-            .doOnSuccess(result ->
-                log.info("Resposta do serviço: {}", result.getStatusCode())
-            )
-            .doOnError(error ->
-                log.error("Erro ao chamar serviço: {}", error.getMessage())
-            );
+        return buffered.onErrorResume(DataBufferLimitException.class, error -> streamed);
     }
-}
\ No newline at end of file
+}
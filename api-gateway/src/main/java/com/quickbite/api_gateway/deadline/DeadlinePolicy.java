@@ -0,0 +1,97 @@
+package com.quickbite.api_gateway.deadline;
+
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.exception.GatewayTimeoutException;
+import com.quickbite.core.deadline.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+/**
+ * Gives every proxied request an end-to-end {@link RequestDeadline}:
+ * {@code gateway.deadline.timeout}, or the service's own
+ * {@code gateway.deadline.service.<SERVICE>.timeout}. A client may ask for
+ * less with {@link RequestDeadline#HEADER}, never for more. The deadline is
+ * carried in the Reactor context so the upstream clients forward what is left
+ * of it; once it passes the request fails with a 504 and the upstream call is
+ * cancelled.
+ */
+@Service
+public class DeadlinePolicy {
+
+    private static final String PREFIX = "gateway.deadline.";
+    private static final Object CONTEXT_KEY = RequestDeadline.class;
+
+    private final boolean enabled;
+    private final LongSupplier clock;
+    private final Map<RouteConfig.Service, Long> budgets = new EnumMap<>(RouteConfig.Service.class);
+    private final Map<RouteConfig.Service, Counter> exceeded = new EnumMap<>(RouteConfig.Service.class);
+
+    @Autowired
+    public DeadlinePolicy(MeterRegistry meterRegistry, Environment environment) {
+        this(meterRegistry, environment, System::nanoTime);
+    }
+
+    DeadlinePolicy(MeterRegistry meterRegistry, Environment environment, LongSupplier clock) {
+        this.clock = clock;
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, true);
+
+        Duration timeout = environment.getProperty(PREFIX + "timeout", Duration.class, Duration.ofSeconds(10));
+
+        for (RouteConfig.Service service : RouteConfig.Service.values()) {
+            budgets.put(service, environment.getProperty(
+                PREFIX + "service." + service.name() + ".timeout", Duration.class, timeout).toMillis());
+            exceeded.put(service, Counter.builder("gateway.deadline.exceeded")
+                .tag("service", service.name())
+                .register(meterRegistry));
+        }
+    }
+
+    public static Context with(Context context, RequestDeadline deadline) {
+        return context.put(CONTEXT_KEY, deadline);
+    }
+
+    public static Optional<RequestDeadline> from(ContextView context) {
+        return context.getOrEmpty(CONTEXT_KEY);
+    }
+
+    /**
+     * Runs {@code call} under the request's deadline, which starts when the
+     * call is subscribed.
+     */
+    public <T> Mono<T> bound(ResolvedRoute route, ServerHttpRequest request, Mono<T> call) {
+        if (!enabled) {
+            return call;
+        }
+
+        return Mono.defer(() -> {
+            long now = clock.getAsLong();
+            long budgetMillis = budgets.get(route.service());
+            long requested = RequestDeadline.parseBudget(request.getHeaders().getFirst(RequestDeadline.HEADER))
+                .orElse(budgetMillis);
+            RequestDeadline deadline = RequestDeadline.after(Math.min(requested, budgetMillis), now);
+
+            return call
+                .timeout(Duration.ofMillis(deadline.remainingMillis(now)))
+                .onErrorMap(TimeoutException.class, error -> {
+                    exceeded.get(route.service()).increment();
+                    return new GatewayTimeoutException(route.service(), "Prazo da requisição esgotado");
+                })
+                .contextWrite(context -> with(context, deadline));
+        });
+    }
+}
@@ -0,0 +1,15 @@
+package com.quickbite.api_gateway.exception;
+
+import com.quickbite.api_gateway.config.RouteConfig;
+import lombok.Getter;
+
+@Getter
+public class GatewayTimeoutException extends RuntimeException {
+
+    private final RouteConfig.Service service;
+
+    public GatewayTimeoutException(RouteConfig.Service service, String message) {
+        super(message, null, false, false);
+        this.service = service;
+    }
+}
@@ -0,0 +1,19 @@
+package com.quickbite.api_gateway.exception;
+
+import com.quickbite.api_gateway.config.RouteConfig;
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final RouteConfig.Service service;
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(RouteConfig.Service service, String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.service = service;
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,190 @@
+package com.quickbite.api_gateway.hedging;
+
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.loadbalancer.LoadBalancerService;
+import com.quickbite.api_gateway.loadbalancer.UpstreamInstance;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Hedged GETs for routes with the {@code hedge} option: when the first
+ * instance has not answered after the route's p95, the same request goes to
+ * another instance and the first response wins; the other call is cancelled.
+ * A failed first attempt is retried at once the same way. Every hedge or
+ * retry spends a token of the service's {@link RetryBudget}, so extra load
+ * stays under {@code gateway.hedging.budget-percent}.
+ */
+@Service
+public class HedgingService {
+
+    enum Result {
+        FIRED, WON, DENIED;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final String PREFIX = "gateway.hedging.";
+
+    private final LoadBalancerService loadBalancerService;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final boolean enabled;
+    private final long minDelayNanos;
+    private final int window;
+    private final int minSamples;
+    private final Map<RouteConfig.Service, RetryBudget> budgets;
+
+    private final Map<String, LatencyTracker> trackers = new ConcurrentHashMap<>();
+    private final Map<String, Map<Result, Counter>> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public HedgingService(LoadBalancerService loadBalancerService, MeterRegistry meterRegistry, Environment environment) {
+        this(loadBalancerService, meterRegistry, environment, System::nanoTime);
+    }
+
+    HedgingService(
+        LoadBalancerService loadBalancerService,
+        MeterRegistry meterRegistry,
+        Environment environment,
+        LongSupplier clock
+    ) {
+        this.loadBalancerService = loadBalancerService;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, true);
+        this.minDelayNanos = environment.getProperty(PREFIX + "min-delay", Duration.class, Duration.ofMillis(5)).toNanos();
+        this.window = environment.getProperty(PREFIX + "window", Integer.class, 512);
+        this.minSamples = environment.getProperty(PREFIX + "min-samples", Integer.class, 50);
+
+        double budgetPercent = environment.getProperty(PREFIX + "budget-percent", Double.class, 10.0);
+        int budgetMaxTokens = environment.getProperty(PREFIX + "budget-max-tokens", Integer.class, 10);
+
+        Map<RouteConfig.Service, RetryBudget> budgetsByService = new EnumMap<>(RouteConfig.Service.class);
+        for (RouteConfig.Service service : RouteConfig.Service.values()) {
+            RetryBudget budget = new RetryBudget(budgetPercent, budgetMaxTokens);
+            budgetsByService.put(service, budget);
+            Gauge.builder("gateway.hedging.budget", budget, RetryBudget::getBalance)
+                .tag("service", service.name())
+                .register(meterRegistry);
+        }
+        this.budgets = Collections.unmodifiableMap(budgetsByService);
+    }
+
+    public boolean isHedged(ResolvedRoute route, ServerHttpRequest request) {
+        return enabled
+            && route.policy().hedge()
+            && request.getMethod() == HttpMethod.GET
+            && route.instanceUrls().size() > 1;
+    }
+
+    /**
+     * Runs {@code call} through the load balancer, hedging it when the route
+     * allows it. Only for idempotent calls whose result is fully buffered.
+     */
+    public <T> Mono<T> execute(
+        ResolvedRoute route,
+        Function<UpstreamInstance, Mono<T>> call,
+        Function<T, HttpStatusCode> statusOf
+    ) {
+        if (!enabled || !route.policy().hedge() || route.instanceUrls().size() < 2) {
+            return loadBalancerService.execute(route, call, statusOf);
+        }
+
+        return Mono.defer(() -> {
+            RetryBudget budget = budgets.get(route.service());
+            LatencyTracker tracker = trackers.computeIfAbsent(route.pathPrefix(), key -> new LatencyTracker(window, minSamples));
+            budget.deposit();
+
+            AtomicReference<UpstreamInstance> firstInstance = new AtomicReference<>();
+            AtomicReference<Throwable> firstError = new AtomicReference<>();
+            Sinks.Empty<Void> firstFailed = Sinks.empty();
+
+            Mono<Attempt<T>> first = timed(tracker, loadBalancerService.execute(
+                route,
+                instance -> {
+                    firstInstance.set(instance);
+                    return call.apply(instance);
+                },
+                statusOf
+            ))
+                .map(value -> new Attempt<>(value, false))
+                .onErrorResume(error -> !(error instanceof DataBufferLimitException), error -> {
+                    firstError.set(error);
+                    firstFailed.tryEmitEmpty();
+                    return Mono.empty();
+                });
+
+            long p95 = tracker.p95Nanos();
+            Mono<Void> trigger = p95 < 0
+                ? firstFailed.asMono()
+                : Mono.firstWithSignal(Mono.delay(Duration.ofNanos(Math.max(minDelayNanos, p95))).then(), firstFailed.asMono());
+
+            Mono<Attempt<T>> hedge = trigger.then(Mono.defer(() -> {
+                if (!budget.tryWithdraw()) {
+                    count(route, Result.DENIED);
+                    return Mono.empty();
+                }
+
+                count(route, Result.FIRED);
+                return timed(tracker, loadBalancerService.execute(route, firstInstance.get(), call, statusOf))
+                    .map(value -> new Attempt<>(value, true))
+                    .onErrorResume(error -> !(error instanceof DataBufferLimitException), error -> Mono.empty());
+            }));
+
+            return Flux.merge(first, hedge)
+                .next()
+                .doOnNext(attempt -> {
+                    if (attempt.hedge()) {
+                        count(route, Result.WON);
+                    }
+                })
+                .map(Attempt::value)
+                .switchIfEmpty(Mono.defer(() -> firstError.get() == null ? Mono.empty() : Mono.error(firstError.get())));
+        });
+    }
+
+    private <T> Mono<T> timed(LatencyTracker tracker, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = clock.getAsLong();
+            return call.doOnSuccess(value -> tracker.record(clock.getAsLong() - start));
+        });
+    }
+
+    private void count(ResolvedRoute route, Result result) {
+        counters.computeIfAbsent(route.pathPrefix(), prefix -> {
+            Map<Result, Counter> byResult = new EnumMap<>(Result.class);
+            for (Result value : Result.values()) {
+                byResult.put(value, Counter.builder("gateway.hedging.requests")
+                    .tag("route", prefix)
+                    .tag("result", value.tag)
+                    .register(meterRegistry));
+            }
+            return byResult;
+        }).get(result).increment();
+    }
+
+    private record Attempt<T>(T value, boolean hedge) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.quickbite.api_gateway.hedging;
+
+import java.util.Arrays;
+
+/**
+ * Latency of the last {@code capacity} responses of one route. The p95 is
+ * recomputed every {@code capacity / 16} samples instead of on every read.
+ */
+public class LatencyTracker {
+
+    private static final double PERCENTILE = 0.95;
+
+    private final long[] samples;
+    private final int minSamples;
+    private final int recomputeEvery;
+
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long p95Nanos = -1;
+
+    public LatencyTracker(int capacity, int minSamples) {
+        this.samples = new long[capacity];
+        this.minSamples = Math.min(minSamples, capacity);
+        this.recomputeEvery = Math.max(1, capacity / 16);
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+
+        if (count >= minSamples && ++sinceRecompute >= recomputeEvery) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            p95Nanos = sorted[(int) Math.ceil(PERCENTILE * count) - 1];
+        }
+    }
+
+    /**
+     * @return the p95 in nanoseconds, or {@code -1} until enough samples
+     */
+    public long p95Nanos() {
+        return p95Nanos;
+    }
+}
@@ -0,0 +1,43 @@
+package com.quickbite.api_gateway.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token budget for extra requests: every original request deposits
+ * {@code percent / 100} of a token and every hedge or retry spends a whole
+ * one, so extra load stays under {@code percent} of the traffic. The balance
+ * is capped so a quiet period cannot save up a burst of retries.
+ */
+public class RetryBudget {
+
+    private static final long TOKEN = 1000;
+
+    private final long deposit;
+    private final long maxBalance;
+    private final AtomicLong balance = new AtomicLong();
+
+    public RetryBudget(double percent, int maxTokens) {
+        this.deposit = Math.round(percent * TOKEN / 100);
+        this.maxBalance = maxTokens * TOKEN;
+    }
+
+    public void deposit() {
+        balance.getAndUpdate(current -> Math.min(maxBalance, current + deposit));
+    }
+
+    public boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    public double getBalance() {
+        return (double) balance.get() / TOKEN;
+    }
+}
@@ -0,0 +1,10 @@
+package com.quickbite.api_gateway.loadbalancer;
+
+import java.time.Duration;
+
+public record LoadBalancerProperties(
+    int failureThreshold,
+    Duration ejectionDuration,
+    Duration slowStart
+) {
+}
@@ -0,0 +1,112 @@
+package com.quickbite.api_gateway.loadbalancer;
+
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.service.UpstreamResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+@Slf4j
+@Service
+public class LoadBalancerService {
+
+    private final LoadBalancerProperties properties;
+    private final LongSupplier nanoClock;
+    private final Map<RouteConfig.Service, UpstreamPool> pools;
+
+    @Autowired
+    public LoadBalancerService(
+        @Value("${gateway.lb.failure-threshold:3}") int failureThreshold,
+        @Value("${gateway.lb.ejection-duration:30s}") Duration ejectionDuration,
+        @Value("${gateway.lb.slow-start:30s}") Duration slowStart
+    ) {
+        this(new LoadBalancerProperties(failureThreshold, ejectionDuration, slowStart), System::nanoTime);
+    }
+
+    LoadBalancerService(LoadBalancerProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+
+        Map<RouteConfig.Service, UpstreamPool> byService = new EnumMap<>(RouteConfig.Service.class);
+        for (RouteConfig.Service service : RouteConfig.Service.values()) {
+            byService.put(service, new UpstreamPool(service, properties));
+        }
+        this.pools = Collections.unmodifiableMap(byService);
+    }
+
+    /**
+     * Runs {@code call} against an instance of the route's service, tracking it
+     * as outstanding until the returned Mono terminates. Connection errors and
+     * 502/503/504 statuses (read from the result with {@code statusOf}) count
+     * towards passive ejection.
+     */
+    public <T> Mono<T> execute(
+        ResolvedRoute route,
+        Function<UpstreamInstance, Mono<T>> call,
+        Function<T, HttpStatusCode> statusOf
+    ) {
+        return execute(route, null, call, statusOf);
+    }
+
+    /**
+     * Variant that keeps away from {@code avoid} when the service has another
+     * instance.
+     */
+    public <T> Mono<T> execute(
+        ResolvedRoute route,
+        UpstreamInstance avoid,
+        Function<UpstreamInstance, Mono<T>> call,
+        Function<T, HttpStatusCode> statusOf
+    ) {
+        return Mono.defer(() -> {
+            UpstreamPool pool = getPool(route.service());
+            long now = nanoClock.getAsLong();
+
+            pool.sync(route.instanceUrls(), now);
+            UpstreamInstance instance = pool.choose(now, avoid);
+            instance.acquire();
+
+            return call.apply(instance)
+                .doOnSuccess(result -> recordOutcome(route, instance, result == null ? null : statusOf.apply(result)))
+                .doOnError(error -> {
+                    if (!(error instanceof DataBufferLimitException)) {
+                        recordFailure(route, instance);
+                    }
+                })
+                .doFinally(signal -> instance.release());
+        });
+    }
+
+    public UpstreamPool getPool(RouteConfig.Service service) {
+        return pools.get(service);
+    }
+
+    private void recordOutcome(ResolvedRoute route, UpstreamInstance instance, HttpStatusCode status) {
+        if (UpstreamResponse.isUpstreamFailure(status)) {
+            recordFailure(route, instance);
+        } else {
+            instance.onSuccess();
+        }
+    }
+
+    private void recordFailure(ResolvedRoute route, UpstreamInstance instance) {
+        long ejectionNanos = properties.ejectionDuration().toNanos();
+
+        if (instance.onFailure(nanoClock.getAsLong(), properties.failureThreshold(), ejectionNanos)) {
+            log.warn("Instância {} de {} removida por {} após {} falhas consecutivas",
+                instance.getBaseUrl(), route.service(), properties.ejectionDuration(), properties.failureThreshold());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.quickbite.api_gateway.loadbalancer;
+
+import com.quickbite.api_gateway.config.RouteConfig;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One backend instance of a service pool. Times are {@link System#nanoTime()}
+ * readings supplied by the pool.
+ */
+public final class UpstreamInstance {
+
+    private static final double MIN_WEIGHT = 0.1;
+
+    @Getter
+    private final RouteConfig.Service service;
+
+    @Getter
+    private final String baseUrl;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private volatile boolean ejected;
+    private volatile long ejectedUntil;
+    private volatile long availableSince;
+
+    public UpstreamInstance(RouteConfig.Service service, String baseUrl, long availableSince) {
+        this.service = service;
+        this.baseUrl = baseUrl;
+        this.availableSince = availableSince;
+    }
+
+    public String targetUrl(String requestPath, String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return baseUrl.concat(requestPath);
+        }
+
+        return new StringBuilder(baseUrl.length() + requestPath.length() + rawQuery.length() + 1)
+            .append(baseUrl)
+            .append(requestPath)
+            .append('?')
+            .append(rawQuery)
+            .toString();
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    void acquire() {
+        outstanding.incrementAndGet();
+    }
+
+    void release() {
+        outstanding.decrementAndGet();
+    }
+
+    boolean isEjected(long now) {
+        if (ejected && now - ejectedUntil >= 0) {
+            ejected = false;
+        }
+
+        return ejected;
+    }
+
+    /**
+     * Ramps from {@value #MIN_WEIGHT} to 1 over {@code slowStartNanos} after the
+     * instance joined the pool or came back from an ejection.
+     */
+    double weight(long now, long slowStartNanos) {
+        long elapsed = now - availableSince;
+
+        if (slowStartNanos <= 0 || elapsed >= slowStartNanos) {
+            return 1.0;
+        }
+
+        return Math.max(MIN_WEIGHT, (double) elapsed / slowStartNanos);
+    }
+
+    double score(long now, long slowStartNanos) {
+        return (outstanding.get() + 1) / weight(now, slowStartNanos);
+    }
+
+    void onSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    /**
+     * @return {@code true} when this failure ejected the instance
+     */
+    boolean onFailure(long now, int failureThreshold, long ejectionNanos) {
+        if (consecutiveFailures.incrementAndGet() < failureThreshold) {
+            return false;
+        }
+
+        consecutiveFailures.set(0);
+        ejectedUntil = now + ejectionNanos;
+        availableSince = ejectedUntil;
+        ejected = true;
+
+        return true;
+    }
+}
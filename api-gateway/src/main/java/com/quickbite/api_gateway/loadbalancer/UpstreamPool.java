@@ -0,0 +1,134 @@
+package com.quickbite.api_gateway.loadbalancer;
+
+import com.quickbite.api_gateway.config.RouteConfig;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Instances of one service, picked with power-of-two-choices on outstanding
+ * requests weighted by slow-start. Ejected instances are skipped; when every
+ * instance is ejected the least loaded one is used anyway.
+ */
+public class UpstreamPool {
+
+    private final RouteConfig.Service service;
+    private final LoadBalancerProperties properties;
+
+    private volatile List<String> instanceUrls = List.of();
+    private volatile UpstreamInstance[] instances = new UpstreamInstance[0];
+
+    public UpstreamPool(RouteConfig.Service service, LoadBalancerProperties properties) {
+        this.service = service;
+        this.properties = properties;
+    }
+
+    /**
+     * Aligns the pool with the URLs of the current route table. Instances that
+     * stay keep their counters; new ones start slow unless the pool was empty.
+     */
+    public void sync(List<String> urls, long now) {
+        if (urls == instanceUrls) {
+            return;
+        }
+
+        synchronized (this) {
+            if (urls == instanceUrls) {
+                return;
+            }
+
+            Map<String, UpstreamInstance> current = new HashMap<>();
+            for (UpstreamInstance instance : instances) {
+                current.put(instance.getBaseUrl(), instance);
+            }
+
+            long availableSince = instances.length == 0 ? now - properties.slowStart().toNanos() : now;
+            UpstreamInstance[] updated = new UpstreamInstance[urls.size()];
+
+            for (int i = 0; i < updated.length; i++) {
+                String url = urls.get(i);
+                UpstreamInstance existing = current.get(url);
+                updated[i] = existing != null ? existing : new UpstreamInstance(service, url, availableSince);
+            }
+
+            instances = updated;
+            instanceUrls = urls;
+        }
+    }
+
+    public UpstreamInstance choose(long now) {
+        return choose(now, null);
+    }
+
+    /**
+     * Same as {@link #choose(long)} but never returns {@code avoid} while
+     * another instance is configured; used to send a hedge elsewhere.
+     */
+    public UpstreamInstance choose(long now, UpstreamInstance avoid) {
+        UpstreamInstance[] candidates = instances;
+
+        if (avoid != null && candidates.length > 1) {
+            candidates = Arrays.stream(candidates)
+                .filter(candidate -> candidate != avoid)
+                .toArray(UpstreamInstance[]::new);
+        }
+
+        int size = candidates.length;
+
+        if (size == 0) {
+            throw new IllegalStateException("Nenhuma instância configurada");
+        }
+        if (size == 1) {
+            return candidates[0];
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int firstIndex = random.nextInt(size);
+        int secondIndex = random.nextInt(size - 1);
+        if (secondIndex >= firstIndex) {
+            secondIndex++;
+        }
+
+        UpstreamInstance first = candidates[firstIndex];
+        UpstreamInstance second = candidates[secondIndex];
+        boolean firstAvailable = !first.isEjected(now);
+        boolean secondAvailable = !second.isEjected(now);
+
+        if (firstAvailable && secondAvailable) {
+            long slowStart = properties.slowStart().toNanos();
+            return first.score(now, slowStart) <= second.score(now, slowStart) ? first : second;
+        }
+        if (firstAvailable) {
+            return first;
+        }
+        if (secondAvailable) {
+            return second;
+        }
+
+        return leastLoaded(candidates, now);
+    }
+
+    public UpstreamInstance[] getInstances() {
+        return instances.clone();
+    }
+
+    private UpstreamInstance leastLoaded(UpstreamInstance[] candidates, long now) {
+        UpstreamInstance best = null;
+        boolean bestAvailable = false;
+
+        for (UpstreamInstance candidate : candidates) {
+            boolean available = !candidate.isEjected(now);
+
+            if (best == null
+                || (available && !bestAvailable)
+                || (available == bestAvailable && candidate.getOutstanding() < best.getOutstanding())) {
+                best = candidate;
+                bestAvailable = available;
+            }
+        }
+
+        return best;
+    }
+}
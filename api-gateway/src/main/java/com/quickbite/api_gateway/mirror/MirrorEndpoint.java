@@ -0,0 +1,76 @@
+package com.quickbite.api_gateway.mirror;
+
+import com.quickbite.api_gateway.config.RouteConfig;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/mirror}: primary and shadow side by side for every
+ * mirrored service. Latencies are in milliseconds and only cover requests
+ * where both sides reached a backend.
+ */
+@Component
+@Endpoint(id = "mirror")
+@RequiredArgsConstructor
+public class MirrorEndpoint {
+
+    private final TrafficMirror trafficMirror;
+
+    public record Latency(long count, double mean, double p50, double p95, double p99) {
+    }
+
+    public record Report(
+        String shadowUrl,
+        double percentage,
+        Map<String, Double> results,
+        Latency primary,
+        Latency shadow,
+        List<TrafficMirror.Mismatch> recentMismatches
+    ) {
+    }
+
+    @ReadOperation
+    public Map<String, Report> services() {
+        Map<String, Report> services = new LinkedHashMap<>();
+
+        for (Map.Entry<RouteConfig.Service, TrafficMirror.Target> entry : trafficMirror.getTargets().entrySet()) {
+            TrafficMirror.Target target = entry.getValue();
+
+            Map<String, Double> results = new LinkedHashMap<>();
+            for (TrafficMirror.Result result : TrafficMirror.Result.values()) {
+                results.put(result.name(), target.getCount(result));
+            }
+
+            services.put(entry.getKey().name(), new Report(
+                target.getUrl(),
+                target.getPercentage(),
+                results,
+                latency(target.getPrimaryLatency()),
+                latency(target.getShadowLatency()),
+                target.getRecentMismatches()
+            ));
+        }
+
+        return services;
+    }
+
+    private static Latency latency(Timer timer) {
+        double[] percentiles = new double[3];
+        ValueAtPercentile[] values = timer.takeSnapshot().percentileValues();
+
+        for (int i = 0; i < values.length && i < percentiles.length; i++) {
+            percentiles[i] = values[i].value(TimeUnit.MILLISECONDS);
+        }
+
+        return new Latency(timer.count(), timer.mean(TimeUnit.MILLISECONDS), percentiles[0], percentiles[1], percentiles[2]);
+    }
+}
@@ -0,0 +1,310 @@
+package com.quickbite.api_gateway.mirror;
+
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.loadbalancer.UpstreamInstance;
+import com.quickbite.api_gateway.service.ProxyService;
+import com.quickbite.api_gateway.timing.RequestTiming;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Replays a sample of GETs against a shadow build of a service, to compare it
+ * with the primary on real traffic before a cutover. A service is mirrored
+ * when {@code gateway.mirror.service.<SERVICE>.url} is set; a
+ * {@code percentage} of its GETs (default {@code gateway.mirror.percentage})
+ * is then sent to that URL as well. The shadow call is fire-and-forget on its
+ * own connection pool: the client only ever sees the primary response, and
+ * mirrors beyond {@code gateway.mirror.max-in-flight} are dropped.
+ * <p>
+ * Once both sides finish, their statuses are compared and, when both reached a
+ * backend, their latencies go side by side into {@code gateway.mirror.latency}
+ * ({@code target=primary|shadow}). The outcome is counted in
+ * {@code gateway.mirror.requests} and the latest status mismatches are kept
+ * for {@code /actuator/mirror}.
+ */
+@Slf4j
+@Service
+public class TrafficMirror implements DisposableBean {
+
+    public enum Result {
+        MATCH, STATUS_MISMATCH, SHADOW_ERROR, PRIMARY_ERROR, DROPPED;
+
+        private final String tag = name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * Handle of one request's mirror, told when the primary response is done.
+     */
+    public interface Mirror {
+
+        Mirror NONE = (status, timing) -> {
+        };
+
+        /**
+         * @param status the primary status, or {@code null} when it failed
+         */
+        void primaryCompleted(HttpStatusCode status, RequestTiming timing);
+    }
+
+    public record Mismatch(String path, Integer primaryStatus, Integer shadowStatus) {
+    }
+
+    private static final String PREFIX = "gateway.mirror.";
+    private static final int RECENT_MISMATCHES = 20;
+
+    private final ProxyService proxyService;
+    private final Map<RouteConfig.Service, Target> targets = new EnumMap<>(RouteConfig.Service.class);
+    private final int maxInFlight;
+    private final Duration timeout;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final DoubleSupplier random;
+    private final LongSupplier clock;
+
+    @Autowired
+    public TrafficMirror(ProxyService proxyService, MeterRegistry meterRegistry, Environment environment) {
+        this(proxyService, meterRegistry, environment, () -> ThreadLocalRandom.current().nextDouble(), System::nanoTime);
+    }
+
+    TrafficMirror(
+        ProxyService proxyService,
+        MeterRegistry meterRegistry,
+        Environment environment,
+        DoubleSupplier random,
+        LongSupplier clock
+    ) {
+        this.proxyService = proxyService;
+        this.random = random;
+        this.clock = clock;
+        this.maxInFlight = environment.getProperty(PREFIX + "max-in-flight", Integer.class, 64);
+        this.timeout = environment.getProperty(PREFIX + "timeout", Duration.class, Duration.ofSeconds(10));
+
+        double defaultPercentage = environment.getProperty(PREFIX + "percentage", Double.class, 10.0);
+        for (RouteConfig.Service service : RouteConfig.Service.values()) {
+            String servicePrefix = PREFIX + "service." + service.name() + ".";
+            String url = environment.getProperty(servicePrefix + "url");
+
+            if (url != null && !url.isBlank()) {
+                double percentage = environment.getProperty(servicePrefix + "percentage", Double.class, defaultPercentage);
+                targets.put(service, new Target(service, url.strip(), percentage, meterRegistry));
+                log.info("Espelhando {}% dos GETs de {} para {}", percentage, service, url);
+            }
+        }
+
+        this.connectionProvider = ConnectionProvider.builder("mirror")
+            .maxConnections(Math.max(1, maxInFlight))
+            .pendingAcquireMaxCount(-1)
+            .build();
+        this.webClient = WebClient.builder()
+            .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider).responseTimeout(timeout)))
+            .build();
+    }
+
+    /**
+     * Sends the shadow copy of the exchange right away when it is a sampled
+     * GET of a mirrored service.
+     */
+    public Mirror start(ResolvedRoute route, ServerWebExchange exchange) {
+        Target target = targets.get(route.service());
+        ServerHttpRequest request = exchange.getRequest();
+
+        if (target == null || request.getMethod() != HttpMethod.GET || random.getAsDouble() * 100 >= target.percentage) {
+            return Mirror.NONE;
+        }
+
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            target.results.get(Result.DROPPED).increment();
+            return Mirror.NONE;
+        }
+
+        Comparison comparison = new Comparison(target, request.getPath().pathWithinApplication().value());
+        long start = clock.getAsLong();
+
+        proxyService.mirror(webClient, target.instance, request)
+            .timeout(timeout)
+            .doFinally(signal -> inFlight.decrementAndGet())
+            .subscribe(
+                status -> comparison.shadowCompleted(status, clock.getAsLong() - start),
+                error -> {
+                    log.debug("Falha no espelhamento para {}: {}", target.instance.getBaseUrl(), error.getMessage());
+                    comparison.shadowCompleted(null, -1);
+                }
+            );
+
+        return comparison;
+    }
+
+    public Map<RouteConfig.Service, Target> getTargets() {
+        return Collections.unmodifiableMap(targets);
+    }
+
+    @Override
+    public void destroy() {
+        connectionProvider.dispose();
+    }
+
+    /**
+     * Shadow of one service, with its side-by-side meters.
+     */
+    public static final class Target {
+
+        private final UpstreamInstance instance;
+        private final double percentage;
+        private final Timer primaryLatency;
+        private final Timer shadowLatency;
+        private final Map<Result, Counter> results = new EnumMap<>(Result.class);
+        private final Deque<Mismatch> mismatches = new ArrayDeque<>(RECENT_MISMATCHES);
+
+        private Target(RouteConfig.Service service, String url, double percentage, MeterRegistry meterRegistry) {
+            this.instance = new UpstreamInstance(service, url, 0);
+            this.percentage = percentage;
+            this.primaryLatency = latency(meterRegistry, service, "primary");
+            this.shadowLatency = latency(meterRegistry, service, "shadow");
+
+            for (Result result : Result.values()) {
+                results.put(result, Counter.builder("gateway.mirror.requests")
+                    .tag("service", service.name())
+                    .tag("result", result.tag)
+                    .register(meterRegistry));
+            }
+        }
+
+        private static Timer latency(MeterRegistry meterRegistry, RouteConfig.Service service, String target) {
+            return Timer.builder("gateway.mirror.latency")
+                .tag("service", service.name())
+                .tag("target", target)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        }
+
+        public String getUrl() {
+            return instance.getBaseUrl();
+        }
+
+        public double getPercentage() {
+            return percentage;
+        }
+
+        public Timer getPrimaryLatency() {
+            return primaryLatency;
+        }
+
+        public Timer getShadowLatency() {
+            return shadowLatency;
+        }
+
+        public double getCount(Result result) {
+            return results.get(result).count();
+        }
+
+        public synchronized List<Mismatch> getRecentMismatches() {
+            return List.copyOf(mismatches);
+        }
+
+        private synchronized void addMismatch(Mismatch mismatch) {
+            if (mismatches.size() == RECENT_MISMATCHES) {
+                mismatches.removeFirst();
+            }
+            mismatches.addLast(mismatch);
+        }
+    }
+
+    /**
+     * Joins the two sides of one mirrored request; whichever finishes last
+     * records the outcome.
+     */
+    private final class Comparison implements Mirror {
+
+        private final Target target;
+        private final String path;
+        private final AtomicInteger pending = new AtomicInteger(2);
+
+        private volatile HttpStatusCode primaryStatus;
+        private volatile long primaryNanos = -1;
+        private volatile HttpStatusCode shadowStatus;
+        private volatile long shadowNanos = -1;
+
+        private Comparison(Target target, String path) {
+            this.target = target;
+            this.path = path;
+        }
+
+        /**
+         * The primary latency is taken from the first upstream dispatch, so
+         * that gateway work and cache hits do not skew it against the shadow.
+         */
+        @Override
+        public void primaryCompleted(HttpStatusCode status, RequestTiming timing) {
+            long routeNanos = timing.routeNanos();
+
+            primaryStatus = status;
+            primaryNanos = routeNanos < 0 ? -1 : timing.totalNanos(clock.getAsLong()) - routeNanos;
+            complete();
+        }
+
+        void shadowCompleted(HttpStatusCode status, long nanos) {
+            shadowStatus = status;
+            shadowNanos = nanos;
+            complete();
+        }
+
+        private void complete() {
+            if (pending.decrementAndGet() != 0) {
+                return;
+            }
+
+            Result result;
+            if (primaryStatus == null) {
+                result = Result.PRIMARY_ERROR;
+            } else if (shadowStatus == null) {
+                result = Result.SHADOW_ERROR;
+            } else if (primaryStatus.value() != shadowStatus.value()) {
+                result = Result.STATUS_MISMATCH;
+            } else {
+                result = Result.MATCH;
+            }
+
+            target.results.get(result).increment();
+
+            if (result == Result.STATUS_MISMATCH) {
+                target.addMismatch(new Mismatch(path, primaryStatus.value(), shadowStatus.value()));
+            }
+
+            if (shadowStatus != null && primaryStatus != null && primaryNanos >= 0) {
+                target.primaryLatency.record(primaryNanos, TimeUnit.NANOSECONDS);
+                target.shadowLatency.record(shadowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
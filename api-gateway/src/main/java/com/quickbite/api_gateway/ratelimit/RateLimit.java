@@ -0,0 +1,46 @@
+package com.quickbite.api_gateway.ratelimit;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+
+/**
+ * {@code capacity} requests per {@code period}, written as
+ * {@code <requests>/<duration>} in the properties, e.g. {@code 10/1m}. The
+ * bucket starts full, so up to {@code capacity} requests may come in a burst.
+ */
+public record RateLimit(long capacity, Duration period) {
+
+    public static final String UNLIMITED = "none";
+
+    public RateLimit {
+        if (capacity <= 0 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Limite inválido: " + capacity + "/" + period);
+        }
+    }
+
+    /**
+     * @return the parsed limit, or {@code null} for {@value #UNLIMITED}
+     */
+    public static RateLimit parse(String value) {
+        String spec = value.trim();
+
+        if (UNLIMITED.equalsIgnoreCase(spec)) {
+            return null;
+        }
+
+        int slash = spec.indexOf('/');
+        if (slash <= 0) {
+            throw new IllegalArgumentException("Limite inválido, esperado <requisições>/<duração>: " + value);
+        }
+
+        return new RateLimit(
+            Long.parseLong(spec.substring(0, slash).trim()),
+            DurationStyle.detectAndParse(spec.substring(slash + 1).trim())
+        );
+    }
+
+    public long nanosPerToken() {
+        return Math.max(1, period.toNanos() / capacity);
+    }
+}
@@ -0,0 +1,255 @@
+package com.quickbite.api_gateway.ratelimit;
+
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.exception.RateLimitExceededException;
+import com.quickbite.api_gateway.security.EdgeAuthenticator;
+import com.quickbite.core.security.EdgeIdentity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets per client: the user id of a verified token, or the
+ * client IP for anonymous requests. The limit comes from the longest matching
+ * prefix of {@code gateway.rate-limit.paths}, then from
+ * {@code gateway.rate-limit.service.<SERVICE>}, then from
+ * {@code gateway.rate-limit.default}. Each scope has its own buckets, so a
+ * client hitting the login limit still has its service budget elsewhere.
+ */
+@Slf4j
+@Service
+public class RateLimiter {
+
+    enum Result {
+        ALLOWED, REJECTED;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final String PREFIX = "gateway.rate-limit.";
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+    private static final String UNKNOWN_CLIENT = "unknown";
+
+    private final boolean enabled;
+    private final boolean trustForwardedFor;
+    private final int trustedHops;
+    private final LongSupplier clock;
+    private final List<PathLimit> pathLimits;
+    private final Map<RouteConfig.Service, RateLimit> serviceLimits;
+    private final Map<RouteConfig.Service, Map<Result, Counter>> counters;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RateLimiter(MeterRegistry meterRegistry, Environment environment) {
+        this(meterRegistry, environment, System::nanoTime);
+    }
+
+    RateLimiter(MeterRegistry meterRegistry, Environment environment, LongSupplier clock) {
+        this.clock = clock;
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, true);
+        this.trustForwardedFor = environment.getProperty(PREFIX + "trust-forwarded-for", Boolean.class, false);
+        this.trustedHops = environment.getProperty(PREFIX + "trusted-hops", Integer.class, 1);
+        if (trustedHops < 1) {
+            throw new IllegalArgumentException("gateway.rate-limit.trusted-hops deve ser pelo menos 1: " + trustedHops);
+        }
+        this.pathLimits = parsePathLimits(environment.getProperty(PREFIX + "paths", "/api/auth/login=10/1m,/api/auth/register=10/1m"));
+
+        RateLimit defaultLimit = RateLimit.parse(environment.getProperty(PREFIX + "default", "100/1s"));
+        Map<RouteConfig.Service, RateLimit> limitsByService = new EnumMap<>(RouteConfig.Service.class);
+        Map<RouteConfig.Service, Map<Result, Counter>> countersByService = new EnumMap<>(RouteConfig.Service.class);
+
+        for (RouteConfig.Service service : RouteConfig.Service.values()) {
+            String limit = environment.getProperty(PREFIX + "service." + service.name());
+            RateLimit serviceLimit = limit == null ? defaultLimit : RateLimit.parse(limit);
+            if (serviceLimit != null) {
+                limitsByService.put(service, serviceLimit);
+            }
+
+            Map<Result, Counter> serviceCounters = new EnumMap<>(Result.class);
+            for (Result result : Result.values()) {
+                serviceCounters.put(result, Counter.builder("gateway.rate-limit.requests")
+                    .tag("service", service.name())
+                    .tag("result", result.tag)
+                    .register(meterRegistry));
+            }
+            countersByService.put(service, serviceCounters);
+        }
+
+        this.serviceLimits = Collections.unmodifiableMap(limitsByService);
+        this.counters = Collections.unmodifiableMap(countersByService);
+
+        Gauge.builder("gateway.rate-limit.buckets", buckets, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Takes one token for the caller of {@code exchange}.
+     *
+     * @throws RateLimitExceededException when the bucket is empty
+     */
+    public void check(ResolvedRoute route, ServerWebExchange exchange) {
+        if (!enabled) {
+            return;
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().pathWithinApplication().value();
+
+        String scope;
+        RateLimit limit;
+        PathLimit pathLimit = findPathLimit(path);
+
+        if (pathLimit != null) {
+            scope = pathLimit.prefix();
+            limit = pathLimit.limit();
+        } else {
+            scope = route.service().name();
+            limit = serviceLimits.get(route.service());
+        }
+
+        if (limit == null) {
+            return;
+        }
+
+        long now = clock.getAsLong();
+        String key = scope + '|' + clientKey(exchange);
+
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null || bucket.getLimit() != limit) {
+            bucket = buckets.compute(key, (ignored, current) ->
+                current == null || current.getLimit() != limit ? new TokenBucket(limit, now) : current);
+        }
+
+        long waitNanos = bucket.tryAcquire(now);
+        Map<Result, Counter> serviceCounters = counters.get(route.service());
+
+        if (waitNanos > 0) {
+            serviceCounters.get(Result.REJECTED).increment();
+            throw new RateLimitExceededException("Limite de requisições excedido", Duration.ofNanos(waitNanos));
+        }
+
+        serviceCounters.get(Result.ALLOWED).increment();
+    }
+
+    @Scheduled(
+        initialDelayString = "${gateway.rate-limit.eviction-interval:60s}",
+        fixedDelayString = "${gateway.rate-limit.eviction-interval:60s}"
+    )
+    public void evictIdleBuckets() {
+        long now = clock.getAsLong();
+        int before = buckets.size();
+
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+
+        log.debug("Rate limit: {} buckets ociosos removidos", before - buckets.size());
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private PathLimit findPathLimit(String path) {
+        for (PathLimit pathLimit : pathLimits) {
+            if (pathLimit.matches(path)) {
+                return pathLimit;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(ServerWebExchange exchange) {
+        Object identity = exchange.getAttribute(EdgeAuthenticator.IDENTITY_ATTRIBUTE);
+        if (identity instanceof EdgeIdentity edgeIdentity) {
+            return "user:" + edgeIdentity.userId();
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+
+        if (trustForwardedFor) {
+            String forwardedClient = forwardedClient(request.getHeaders().get(FORWARDED_FOR));
+            if (forwardedClient != null) {
+                return "ip:" + forwardedClient;
+            }
+        }
+
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null) {
+            return "ip:" + UNKNOWN_CLIENT;
+        }
+
+        return "ip:" + (remoteAddress.getAddress() != null
+            ? remoteAddress.getAddress().getHostAddress()
+            : remoteAddress.getHostString());
+    }
+
+    /**
+     * Each proxy appends the address it received the request from, so only
+     * the last {@code trustedHops} entries were written by our own proxies;
+     * anything left of them came from the client and may be forged. The
+     * entry {@code trustedHops} from the right is the address the outermost
+     * trusted proxy saw.
+     *
+     * @return that entry, or null when the header has fewer entries than
+     * trusted hops
+     */
+    private String forwardedClient(List<String> headerValues) {
+        if (headerValues == null || headerValues.isEmpty()) {
+            return null;
+        }
+
+        List<String> entries = headerValues.stream()
+            .flatMap(value -> Arrays.stream(value.split(",")))
+            .map(String::trim)
+            .filter(entry -> !entry.isEmpty())
+            .toList();
+
+        return entries.size() < trustedHops ? null : entries.get(entries.size() - trustedHops);
+    }
+
+    private static List<PathLimit> parsePathLimits(String value) {
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(entry -> !entry.isEmpty())
+            .map(entry -> {
+                int equals = entry.indexOf('=');
+                if (equals <= 0) {
+                    throw new IllegalArgumentException("Limite por caminho inválido: " + entry);
+                }
+                String prefix = entry.substring(0, equals).trim();
+                return new PathLimit(
+                    prefix.endsWith("/") ? prefix.substring(0, prefix.length() - 1) : prefix,
+                    RateLimit.parse(entry.substring(equals + 1))
+                );
+            })
+            .sorted(Comparator.comparingInt((PathLimit pathLimit) -> pathLimit.prefix().length()).reversed())
+            .toList();
+    }
+
+    private record PathLimit(String prefix, RateLimit limit) {
+
+        boolean matches(String path) {
+            return path.startsWith(prefix)
+                && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/');
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.quickbite.api_gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single timestamp (GCRA): the instant at
+ * which the bucket would be full again. Taking a token moves it one refill
+ * interval forward; a request is refused when that would put it more than
+ * {@code capacity} intervals ahead of now.
+ */
+public class TokenBucket {
+
+    private final RateLimit limit;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(RateLimit limit, long now) {
+        this.limit = limit;
+        this.nanosPerToken = limit.nanosPerToken();
+        this.burstNanos = nanosPerToken * limit.capacity();
+        this.fullAt = new AtomicLong(now);
+    }
+
+    public RateLimit getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return {@code 0} when a token was taken, otherwise the nanoseconds
+     * until the next one is available
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            long wait = next - now - burstNanos;
+
+            if (wait > 0) {
+                return wait;
+            }
+
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A full bucket behaves like a new one and can be dropped.
+     */
+    public boolean isIdle(long now) {
+        return fullAt.get() <= now;
+    }
+}
@@ -0,0 +1,70 @@
+package com.quickbite.api_gateway.resilience;
+
+import com.quickbite.api_gateway.config.RouteConfig;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/resilience}: breaker state, call counts and bulkhead usage
+ * per service. The same numbers are in {@code /actuator/metrics} under
+ * {@code resilience4j.*} and {@code gateway.resilience.rejections}.
+ */
+@Component
+@Endpoint(id = "resilience")
+@RequiredArgsConstructor
+public class ResilienceEndpoint {
+
+    private final ResilienceService resilienceService;
+
+    public record ServiceState(
+        String state,
+        boolean unavailable,
+        float failureRate,
+        float slowCallRate,
+        int bufferedCalls,
+        int failedCalls,
+        long notPermittedCalls,
+        int availableConcurrentCalls,
+        int maxConcurrentCalls,
+        Map<String, Double> rejections
+    ) {
+    }
+
+    @ReadOperation
+    public Map<String, ServiceState> services() {
+        Map<String, ServiceState> services = new LinkedHashMap<>();
+
+        for (RouteConfig.Service service : RouteConfig.Service.values()) {
+            CircuitBreaker circuitBreaker = resilienceService.getCircuitBreaker(service);
+            CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+            Bulkhead bulkhead = resilienceService.getBulkhead(service);
+
+            Map<String, Double> rejections = new LinkedHashMap<>();
+            for (ResilienceService.Rejection rejection : ResilienceService.Rejection.values()) {
+                rejections.put(rejection.name(), resilienceService.getRejections(service, rejection));
+            }
+
+            services.put(service.name(), new ServiceState(
+                circuitBreaker.getState().name(),
+                resilienceService.isUnavailable(service),
+                metrics.getFailureRate(),
+                metrics.getSlowCallRate(),
+                metrics.getNumberOfBufferedCalls(),
+                metrics.getNumberOfFailedCalls(),
+                metrics.getNumberOfNotPermittedCalls(),
+                bulkhead.getMetrics().getAvailableConcurrentCalls(),
+                bulkhead.getMetrics().getMaxAllowedConcurrentCalls(),
+                rejections
+            ));
+        }
+
+        return services;
+    }
+}
@@ -0,0 +1,195 @@
+package com.quickbite.api_gateway.resilience;
+
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.exception.ServiceUnavailableException;
+import com.quickbite.api_gateway.service.UpstreamResponse;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * One circuit breaker and one semaphore bulkhead per {@link RouteConfig.Service},
+ * so a slow or failing backend cannot take connections and event-loop time
+ * from the others. Rejections fail fast with {@link ServiceUnavailableException}.
+ */
+@Slf4j
+@Service
+public class ResilienceService {
+
+    public enum Rejection {
+        UNAVAILABLE, CIRCUIT_OPEN, BULKHEAD_FULL;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final String PREFIX = "gateway.resilience.";
+    private static final Duration BULKHEAD_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final Set<RouteConfig.Service> unavailableServices;
+    private final Duration waitInOpenState;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final Map<RouteConfig.Service, CircuitBreaker> circuitBreakers;
+    private final Map<RouteConfig.Service, Bulkhead> bulkheads;
+    private final Map<RouteConfig.Service, Map<Rejection, Counter>> rejections;
+
+    public ResilienceService(MeterRegistry meterRegistry, Environment environment) {
+        this.unavailableServices = parseServices(environment.getProperty(PREFIX + "unavailable-services", "PAYMENT,NOTIFICATION"));
+        this.waitInOpenState = environment.getProperty(PREFIX + "circuit-breaker.wait-in-open-state", Duration.class, Duration.ofSeconds(10));
+
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+            .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+            .slidingWindowSize(environment.getProperty(PREFIX + "circuit-breaker.sliding-window-size", Integer.class, 50))
+            .minimumNumberOfCalls(environment.getProperty(PREFIX + "circuit-breaker.minimum-calls", Integer.class, 20))
+            .failureRateThreshold(environment.getProperty(PREFIX + "circuit-breaker.failure-rate-threshold", Float.class, 50f))
+            .slowCallDurationThreshold(environment.getProperty(PREFIX + "circuit-breaker.slow-call-duration", Duration.class, Duration.ofSeconds(5)))
+            .slowCallRateThreshold(environment.getProperty(PREFIX + "circuit-breaker.slow-call-rate-threshold", Float.class, 80f))
+            .waitDurationInOpenState(waitInOpenState)
+            .permittedNumberOfCallsInHalfOpenState(environment.getProperty(PREFIX + "circuit-breaker.half-open-calls", Integer.class, 5))
+            .ignoreExceptions(DataBufferLimitException.class)
+            .build();
+
+        this.circuitBreakerRegistry = CircuitBreakerRegistry.of(circuitBreakerConfig);
+        this.bulkheadRegistry = BulkheadRegistry.ofDefaults();
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+
+        int defaultMaxConcurrentCalls = environment.getProperty(PREFIX + "bulkhead.max-concurrent-calls", Integer.class, 200);
+        Map<RouteConfig.Service, CircuitBreaker> breakersByService = new EnumMap<>(RouteConfig.Service.class);
+        Map<RouteConfig.Service, Bulkhead> bulkheadsByService = new EnumMap<>(RouteConfig.Service.class);
+        Map<RouteConfig.Service, Map<Rejection, Counter>> rejectionsByService = new EnumMap<>(RouteConfig.Service.class);
+
+        for (RouteConfig.Service service : RouteConfig.Service.values()) {
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(service.name());
+            circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Circuit breaker de {}: {}", service, event.getStateTransition())
+            );
+            breakersByService.put(service, circuitBreaker);
+
+            int maxConcurrentCalls = environment.getProperty(
+                PREFIX + "bulkhead." + service.name() + ".max-concurrent-calls", Integer.class, defaultMaxConcurrentCalls);
+            bulkheadsByService.put(service, bulkheadRegistry.bulkhead(service.name(), BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build()));
+
+            Map<Rejection, Counter> counters = new EnumMap<>(Rejection.class);
+            for (Rejection rejection : Rejection.values()) {
+                counters.put(rejection, Counter.builder("gateway.resilience.rejections")
+                    .tag("service", service.name())
+                    .tag("reason", rejection.tag)
+                    .register(meterRegistry));
+            }
+            rejectionsByService.put(service, counters);
+        }
+
+        this.circuitBreakers = Collections.unmodifiableMap(breakersByService);
+        this.bulkheads = Collections.unmodifiableMap(bulkheadsByService);
+        this.rejections = Collections.unmodifiableMap(rejectionsByService);
+    }
+
+    /**
+     * Runs {@code call} inside the service's circuit breaker and bulkhead.
+     * Errors and 502/503/504 statuses count as failures for the breaker.
+     */
+    public <T> Mono<T> execute(RouteConfig.Service service, Mono<T> call, Function<T, HttpStatusCode> statusOf) {
+        return Mono.defer(() -> {
+            if (unavailableServices.contains(service)) {
+                return reject(service, Rejection.UNAVAILABLE, "Serviço ainda não disponível", null);
+            }
+
+            CircuitBreaker circuitBreaker = circuitBreakers.get(service);
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return reject(service, Rejection.CIRCUIT_OPEN, "Serviço temporariamente indisponível", waitInOpenState);
+            }
+
+            Bulkhead bulkhead = bulkheads.get(service);
+            if (!bulkhead.tryAcquirePermission()) {
+                circuitBreaker.releasePermission();
+                return reject(service, Rejection.BULKHEAD_FULL, "Serviço sobrecarregado", BULKHEAD_RETRY_AFTER);
+            }
+
+            long start = circuitBreaker.getCurrentTimestamp();
+
+            return call
+                .doOnSuccess(result -> {
+                    long elapsed = circuitBreaker.getCurrentTimestamp() - start;
+                    HttpStatusCode status = result == null ? null : statusOf.apply(result);
+
+                    if (UpstreamResponse.isUpstreamFailure(status)) {
+                        circuitBreaker.onError(elapsed, circuitBreaker.getTimestampUnit(), new UpstreamStatusException(status));
+                    } else {
+                        circuitBreaker.onSuccess(elapsed, circuitBreaker.getTimestampUnit());
+                    }
+                })
+                .doOnError(error -> circuitBreaker.onError(
+                    circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), error))
+                .doOnCancel(circuitBreaker::releasePermission)
+                .doFinally(signal -> bulkhead.onComplete());
+        });
+    }
+
+    public CircuitBreaker getCircuitBreaker(RouteConfig.Service service) {
+        return circuitBreakers.get(service);
+    }
+
+    public Bulkhead getBulkhead(RouteConfig.Service service) {
+        return bulkheads.get(service);
+    }
+
+    public boolean isUnavailable(RouteConfig.Service service) {
+        return unavailableServices.contains(service);
+    }
+
+    public double getRejections(RouteConfig.Service service, Rejection rejection) {
+        return rejections.get(service).get(rejection).count();
+    }
+
+    private <T> Mono<T> reject(RouteConfig.Service service, Rejection rejection, String message, Duration retryAfter) {
+        rejections.get(service).get(rejection).increment();
+        return Mono.error(new ServiceUnavailableException(service, message, retryAfter));
+    }
+
+    private static Set<RouteConfig.Service> parseServices(String value) {
+        Set<RouteConfig.Service> services = EnumSet.noneOf(RouteConfig.Service.class);
+
+        Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .map(RouteConfig.Service::valueOf)
+            .forEach(services::add);
+
+        return Collections.unmodifiableSet(services);
+    }
+
+    private static final class UpstreamStatusException extends RuntimeException {
+
+        private UpstreamStatusException(HttpStatusCode status) {
+            super("Status " + status.value(), null, false, false);
+        }
+    }
+}
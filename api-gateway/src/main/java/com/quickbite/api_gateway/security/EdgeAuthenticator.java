@@ -0,0 +1,150 @@
+package com.quickbite.api_gateway.security;
+
+import com.quickbite.core.exception.InvalidTokenException;
+import com.quickbite.core.exception.JwtValidationException;
+import com.quickbite.core.security.EdgeIdentity;
+import com.quickbite.core.security.EdgeIdentityCodec;
+import com.quickbite.core.security.JwtClaims;
+import com.quickbite.core.security.JwtVerifier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Verifies bearer tokens once at the edge, with the same {@link JwtVerifier}
+ * and issuer the services use, so a token is accepted here exactly when a
+ * service would accept it directly. When {@code security.edge-identity.secret}
+ * is set, the claims are forwarded as a signed {@link EdgeIdentityCodec#HEADER}
+ * that the services accept in place of parsing the JWT again. Any identity
+ * header sent by the client is always dropped.
+ */
+@Slf4j
+@Service
+public class EdgeAuthenticator {
+
+    enum Result {
+        VERIFIED, REJECTED;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Exchange attribute holding the {@link EdgeIdentity} of a verified token.
+     */
+    public static final String IDENTITY_ATTRIBUTE = EdgeAuthenticator.class.getName() + ".identity";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtVerifier verifier;
+    private final EdgeIdentityCodec identityCodec;
+    private final Map<Result, Counter> counters = new EnumMap<>(Result.class);
+
+    @Autowired
+    public EdgeAuthenticator(
+        MeterRegistry meterRegistry,
+        @Value("${security.jwt.secret:}") String jwtSecret,
+        @Value("${jwt.issuer:auth-service}") String issuer,
+        @Value("${security.edge-identity.secret:}") String identitySecret,
+        @Value("${gateway.auth.token-cache.max-entries:10000}") int maxEntries
+    ) {
+        this(meterRegistry, jwtSecret, issuer, identitySecret, maxEntries, System::currentTimeMillis);
+    }
+
+    EdgeAuthenticator(
+        MeterRegistry meterRegistry,
+        String jwtSecret,
+        String issuer,
+        String identitySecret,
+        int maxEntries,
+        LongSupplier clock
+    ) {
+        this.identityCodec = new EdgeIdentityCodec(identitySecret);
+        this.verifier = jwtSecret.isBlank() ? null : new JwtVerifier(jwtSecret, issuer, maxEntries, clock);
+
+        if (verifier == null) {
+            log.warn("security.jwt.secret não configurado, tokens não serão verificados no gateway");
+        } else {
+            Gauge.builder("gateway.auth.token-cache.entries", verifier, JwtVerifier::cachedTokens)
+                .register(meterRegistry);
+        }
+
+        for (Result result : Result.values()) {
+            counters.put(result, Counter.builder("gateway.auth.tokens")
+                .tag("result", result.tag)
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * @return the exchange to proxy: without any client-supplied identity
+     * header and, for a valid bearer token, with the gateway's own signed one
+     * @throws InvalidTokenException when the bearer token is invalid, expired
+     * or from another issuer
+     */
+    public ServerWebExchange authenticate(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        boolean spoofed = request.getHeaders().containsHeader(EdgeIdentityCodec.HEADER);
+
+        String identityHeader = null;
+        if (verifier != null && authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
+            EdgeIdentity identity = verify(authHeader.substring(BEARER_PREFIX.length()));
+            exchange.getAttributes().put(IDENTITY_ATTRIBUTE, identity);
+            identityHeader = identityCodec.isEnabled() ? identityCodec.encode(identity) : null;
+        }
+
+        if (!spoofed && identityHeader == null) {
+            return exchange;
+        }
+
+        String forwarded = identityHeader;
+        return exchange.mutate()
+            .request(builder -> builder.headers(headers -> {
+                headers.remove(EdgeIdentityCodec.HEADER);
+                if (forwarded != null) {
+                    headers.set(EdgeIdentityCodec.HEADER, forwarded);
+                }
+            }))
+            .build();
+    }
+
+    /**
+     * @throws InvalidTokenException when the token is invalid, expired or
+     * from another issuer
+     */
+    public EdgeIdentity verify(String token) {
+        JwtClaims claims;
+        try {
+            claims = verifier.verify(token);
+        } catch (JwtValidationException e) {
+            counters.get(Result.REJECTED).increment();
+            throw new InvalidTokenException(e.getMessage());
+        } catch (InvalidTokenException e) {
+            counters.get(Result.REJECTED).increment();
+            throw e;
+        }
+
+        counters.get(Result.VERIFIED).increment();
+
+        return new EdgeIdentity(
+            claims.userId(),
+            claims.email(),
+            claims.role(),
+            claims.restaurantIds(),
+            claims.expiresAt(),
+            claims.tokenId()
+        );
+    }
+}
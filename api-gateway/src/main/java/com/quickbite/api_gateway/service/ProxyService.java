@@ -0,0 +1,198 @@
+package com.quickbite.api_gateway.service;
+
+import com.quickbite.api_gateway.config.UpstreamClients;
+import com.quickbite.api_gateway.loadbalancer.UpstreamInstance;
+import com.quickbite.core.deadline.RequestDeadline;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class ProxyService {
+
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+        HttpHeaders.CONNECTION.toLowerCase(),
+        "keep-alive",
+        HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+        HttpHeaders.TE.toLowerCase(),
+        HttpHeaders.TRAILER.toLowerCase(),
+        HttpHeaders.UPGRADE.toLowerCase(),
+        HttpHeaders.PROXY_AUTHORIZATION.toLowerCase(),
+        HttpHeaders.PROXY_AUTHENTICATE.toLowerCase(),
+        HttpHeaders.HOST.toLowerCase()
+    );
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private final UpstreamClients upstreamClients;
+    private final int maxBufferedBytes;
+
+    public ProxyService(UpstreamClients upstreamClients, @Value("${gateway.proxy.max-buffered-size:1MB}") DataSize maxBufferedSize) {
+        this.upstreamClients = upstreamClients;
+        this.maxBufferedBytes = (int) maxBufferedSize.toBytes();
+    }
+
+    /**
+     * Forwards the exchange to {@code instance} without buffering: the inbound
+     * body is handed to the WebClient as a {@code Flux<DataBuffer>} and the
+     * upstream body is written straight back, so demand flows end to end.
+     */
+    public Mono<Void> forward(ServerWebExchange exchange, UpstreamInstance instance) {
+        ServerHttpRequest request = exchange.getRequest();
+        ServerHttpResponse response = exchange.getResponse();
+
+        WebClient.RequestBodySpec requestSpec = upstreamClients.get(instance.getService())
+            .method(request.getMethod())
+            .uri(buildUri(instance, request))
+            .headers(headers -> copyHeaders(request.getHeaders(), headers));
+
+        if (hasBody(request)) {
+            requestSpec.body(BodyInserters.fromDataBuffers(request.getBody()));
+        }
+
+        return requestSpec.exchangeToMono(upstream -> {
+            response.setStatusCode(upstream.statusCode());
+            copyHeaders(upstream.headers().asHttpHeaders(), response.getHeaders());
+
+            return response.writeWith(upstream.bodyToFlux(DataBuffer.class));
+        });
+    }
+
+    /**
+     * Sends a GET for the exchange and buffers the whole response, up to
+     * {@code gateway.proxy.max-buffered-size}; larger bodies fail with
+     * {@link org.springframework.core.io.buffer.DataBufferLimitException}.
+     * The client's own conditional headers and {@code Accept-Encoding} are
+     * dropped since the response may be shared: it is kept uncompressed and
+     * compressed per client on the way out. {@code ifNoneMatch} is the
+     * gateway's own validator.
+     */
+    public Mono<UpstreamResponse> fetch(ServerWebExchange exchange, UpstreamInstance instance, String ifNoneMatch) {
+        ServerHttpRequest request = exchange.getRequest();
+
+        return upstreamClients.get(instance.getService())
+            .get()
+            .uri(buildUri(instance, request))
+            .headers(headers -> {
+                copyHeaders(request.getHeaders(), headers);
+                headers.remove(HttpHeaders.IF_NONE_MATCH);
+                headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                headers.remove(HttpHeaders.ACCEPT_ENCODING);
+                if (ifNoneMatch != null) {
+                    headers.setIfNoneMatch(ifNoneMatch);
+                }
+            })
+            .exchangeToMono(this::buffer);
+    }
+
+    /**
+     * GET of an arbitrary {@code path} on {@code instance} on behalf of the
+     * client, buffered like {@link #fetch}. Used to fan a request out to
+     * several backend resources. The body is requested as plain JSON so
+     * responses can be combined byte for byte.
+     */
+    public Mono<UpstreamResponse> get(UpstreamInstance instance, String path, String rawQuery, HttpHeaders clientHeaders) {
+        return upstreamClients.get(instance.getService())
+            .get()
+            .uri(URI.create(instance.targetUrl(path, rawQuery)))
+            .headers(headers -> {
+                copyHeaders(clientHeaders, headers);
+                headers.remove(HttpHeaders.IF_NONE_MATCH);
+                headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                headers.remove(HttpHeaders.ACCEPT_ENCODING);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+                headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+            })
+            .exchangeToMono(this::buffer);
+    }
+
+    /**
+     * Replays the exchange's GET against a shadow {@code instance} on
+     * {@code client} and drains the body without keeping it.
+     *
+     * @return the shadow's response status
+     */
+    public Mono<HttpStatusCode> mirror(WebClient client, UpstreamInstance instance, ServerHttpRequest request) {
+        return client.get()
+            .uri(buildUri(instance, request))
+            .headers(headers -> {
+                copyHeaders(request.getHeaders(), headers);
+                headers.remove(RequestDeadline.HEADER);
+            })
+            .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()));
+    }
+
+    public Mono<Void> write(ServerWebExchange exchange, UpstreamResponse upstream) {
+        ServerHttpResponse response = exchange.getResponse();
+
+        response.setStatusCode(upstream.status());
+        response.getHeaders().putAll(upstream.headers());
+
+        if (upstream.body().length == 0) {
+            return response.setComplete();
+        }
+
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(upstream.body())));
+    }
+
+    private Mono<UpstreamResponse> buffer(ClientResponse upstream) {
+        HttpHeaders headers = new HttpHeaders();
+        copyHeaders(upstream.headers().asHttpHeaders(), headers);
+
+        return DataBufferUtils.join(upstream.bodyToFlux(DataBuffer.class), maxBufferedBytes)
+            .map(ProxyService::toByteArray)
+            .defaultIfEmpty(EMPTY_BODY)
+            .map(body -> new UpstreamResponse(upstream.statusCode(), HttpHeaders.readOnlyHttpHeaders(headers), body));
+    }
+
+    private static byte[] toByteArray(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private URI buildUri(UpstreamInstance instance, ServerHttpRequest request) {
+        String requestPath = request.getPath().pathWithinApplication().value();
+
+        return URI.create(instance.targetUrl(requestPath, request.getURI().getRawQuery()));
+    }
+
+    private boolean hasBody(ServerHttpRequest request) {
+        HttpMethod method = request.getMethod();
+
+        if (method == HttpMethod.GET || method == HttpMethod.DELETE) {
+            return request.getHeaders().getContentLength() > 0;
+        }
+
+        return true;
+    }
+
+    private void copyHeaders(HttpHeaders source, HttpHeaders target) {
+        source.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                target.addAll(name, values);
+            }
+        });
+    }
+}
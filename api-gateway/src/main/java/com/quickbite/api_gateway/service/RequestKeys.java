@@ -0,0 +1,44 @@
+package com.quickbite.api_gateway.service;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Identity of a request for sharing its response: method, the exact path
+ * that is forwarded, and query parameters sorted by name. Parameters with
+ * the same name keep their order, since the backend binds them as a list.
+ */
+public final class RequestKeys {
+
+    private RequestKeys() {
+    }
+
+    public static String of(ServerHttpRequest request) {
+        String path = request.getPath().pathWithinApplication().value();
+        String query = request.getURI().getRawQuery();
+        StringBuilder key = new StringBuilder(path.length() + 64)
+            .append(request.getMethod().name())
+            .append(' ')
+            .append(path);
+
+        if (query != null && !query.isEmpty()) {
+            String[] params = Arrays.stream(query.split("&"))
+                .filter(param -> !param.isEmpty())
+                .sorted(Comparator.comparing(RequestKeys::parameterName))
+                .toArray(String[]::new);
+
+            if (params.length > 0) {
+                key.append('?').append(String.join("&", params));
+            }
+        }
+
+        return key.toString();
+    }
+
+    private static String parameterName(String param) {
+        int separator = param.indexOf('=');
+        return separator < 0 ? param : param.substring(0, separator);
+    }
+}
@@ -1,5 +1,6 @@
 package com.quickbite.api_gateway.service;
 
+import com.quickbite.api_gateway.config.ResolvedRoute;
 import com.quickbite.api_gateway.config.RouteConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,14 +13,11 @@ public class RoutingService {
 
     private final RouteConfig routeConfig;
 
-    public String determineTargetUrl(String requestPath) {
+    public ResolvedRoute resolveRoute(String requestPath) {
+        ResolvedRoute route = routeConfig.resolve(requestPath);
 
-        RouteConfig.Service service = routeConfig.findServiceByPath(requestPath).orElse(RouteConfig.Service.AUTH);
+        log.debug("Roteamento: {} -> {} {}", requestPath, route.service(), route.instanceUrls());
 
-        String targetUrl = "http://localhost:" + service.getPort() + requestPath;
-
-        log.info("Roteamento: {} -> {}", requestPath, targetUrl);
-
-        return targetUrl;
+        return route;
     }
 }
@@ -0,0 +1,74 @@
+package com.quickbite.api_gateway.service;
+
+import com.quickbite.api_gateway.concurrency.AdaptiveConcurrencyLimiter;
+import com.quickbite.api_gateway.concurrency.Priority;
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.hedging.HedgingService;
+import com.quickbite.api_gateway.loadbalancer.LoadBalancerService;
+import com.quickbite.api_gateway.loadbalancer.UpstreamInstance;
+import com.quickbite.api_gateway.resilience.ResilienceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Entry point for every backend call: the service's adaptive concurrency
+ * limit, then its circuit breaker and bulkhead, then instance selection
+ * (hedged for buffered GETs on routes that allow it).
+ */
+@Service
+@RequiredArgsConstructor
+public class UpstreamExecutor {
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ResilienceService resilienceService;
+    private final LoadBalancerService loadBalancerService;
+    private final HedgingService hedgingService;
+
+    /**
+     * Buffered, idempotent call: hedged when the route allows it.
+     */
+    public <T> Mono<T> execute(
+        ResolvedRoute route,
+        Priority priority,
+        Function<UpstreamInstance, Mono<T>> call,
+        Function<T, HttpStatusCode> statusOf
+    ) {
+        return guard(route, priority, hedgingService.execute(route, call, statusOf), statusOf);
+    }
+
+    /**
+     * Variant for calls that write straight to the exchange: the outcome is
+     * the response status once the body has been written.
+     */
+    public Mono<Void> forward(
+        ResolvedRoute route,
+        Priority priority,
+        ServerWebExchange exchange,
+        Function<UpstreamInstance, Mono<Void>> call
+    ) {
+        Function<UpstreamInstance, Mono<HttpStatusCode>> written =
+            instance -> call.apply(instance).then(Mono.fromSupplier(() -> exchange.getResponse().getStatusCode()));
+
+        return guard(route, priority, loadBalancerService.execute(route, written, Function.identity()), Function.identity())
+            .then();
+    }
+
+    private <T> Mono<T> guard(
+        ResolvedRoute route,
+        Priority priority,
+        Mono<T> upstream,
+        Function<T, HttpStatusCode> statusOf
+    ) {
+        return concurrencyLimiter.execute(
+            route.service(),
+            priority,
+            resilienceService.execute(route.service(), upstream, statusOf),
+            statusOf
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.quickbite.api_gateway.service;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Fetches the current request from a backend, buffered. {@code ifNoneMatch}
+ * is the gateway's own validator for revalidation, or {@code null}.
+ */
+@FunctionalInterface
+public interface UpstreamFetcher {
+
+    Mono<UpstreamResponse> fetch(String ifNoneMatch);
+}
@@ -0,0 +1,27 @@
+package com.quickbite.api_gateway.service;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * Fully buffered backend response, used where a response has to be kept or
+ * shared (cache, coalescing) instead of streamed through.
+ */
+public record UpstreamResponse(
+    HttpStatusCode status,
+    HttpHeaders headers,
+    byte[] body
+) {
+
+    /**
+     * Statuses that say the backend itself is unhealthy or unreachable, as
+     * opposed to an error in handling one particular request.
+     */
+    public static boolean isUpstreamFailure(HttpStatusCode status) {
+        return status != null
+            && (status.isSameCodeAs(HttpStatus.BAD_GATEWAY)
+                || status.isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE)
+                || status.isSameCodeAs(HttpStatus.GATEWAY_TIMEOUT));
+    }
+}
@@ -0,0 +1,143 @@
+package com.quickbite.api_gateway.timing;
+
+import com.quickbite.api_gateway.config.RouteConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Latency histograms per {@link RouteConfig.Service}, HTTP method and phase
+ * ({@code route}, {@code connect}, {@code ttfb}, {@code total}), published as
+ * {@code gateway.request.latency} with percentiles and histogram buckets on
+ * the actuator. With {@code gateway.timing.server-timing=true} the same
+ * phases are also sent to the client in a {@code Server-Timing} header.
+ */
+@Service
+public class LatencyRecorder {
+
+    enum Phase {
+        ROUTE, CONNECT, TTFB, TOTAL;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private static final String PREFIX = "gateway.timing.";
+    private static final List<HttpMethod> METHODS = List.of(HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT, HttpMethod.DELETE);
+
+    private final boolean enabled;
+    private final boolean serverTiming;
+    private final LongSupplier clock;
+    private final Map<RouteConfig.Service, Map<HttpMethod, Map<Phase, Timer>>> timers;
+
+    @Autowired
+    public LatencyRecorder(MeterRegistry meterRegistry, Environment environment) {
+        this(meterRegistry, environment, System::nanoTime);
+    }
+
+    LatencyRecorder(MeterRegistry meterRegistry, Environment environment, LongSupplier clock) {
+        this.clock = clock;
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, true);
+        this.serverTiming = environment.getProperty(PREFIX + "server-timing", Boolean.class, false);
+
+        Map<RouteConfig.Service, Map<HttpMethod, Map<Phase, Timer>>> byService = new EnumMap<>(RouteConfig.Service.class);
+        for (RouteConfig.Service service : RouteConfig.Service.values()) {
+            Map<HttpMethod, Map<Phase, Timer>> byMethod = new HashMap<>();
+            for (HttpMethod method : METHODS) {
+                Map<Phase, Timer> byPhase = new EnumMap<>(Phase.class);
+                for (Phase phase : Phase.values()) {
+                    byPhase.put(phase, Timer.builder("gateway.request.latency")
+                        .tag("service", service.name())
+                        .tag("method", method.name())
+                        .tag("phase", phase.tag)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(meterRegistry));
+                }
+                byMethod.put(method, Collections.unmodifiableMap(byPhase));
+            }
+            byService.put(service, Collections.unmodifiableMap(byMethod));
+        }
+        this.timers = Collections.unmodifiableMap(byService);
+    }
+
+    /**
+     * Starts timing a request. The returned timing must be put in the Reactor
+     * context of the upstream call with {@link RequestTiming#with}.
+     */
+    public RequestTiming start(ServerHttpResponse response) {
+        RequestTiming timing = new RequestTiming(clock.getAsLong());
+
+        if (enabled && serverTiming) {
+            response.beforeCommit(() -> Mono.fromRunnable(() ->
+                response.getHeaders().add(SERVER_TIMING, serverTimingHeader(timing, clock.getAsLong()))));
+        }
+
+        return timing;
+    }
+
+    public void record(RouteConfig.Service service, HttpMethod method, RequestTiming timing) {
+        if (!enabled) {
+            return;
+        }
+
+        Map<Phase, Timer> byPhase = timers.get(service).get(method);
+        if (byPhase == null) {
+            return;
+        }
+
+        record(byPhase.get(Phase.ROUTE), timing.routeNanos());
+        record(byPhase.get(Phase.CONNECT), timing.connectNanos());
+        record(byPhase.get(Phase.TTFB), timing.firstByteNanos());
+        record(byPhase.get(Phase.TOTAL), timing.totalNanos(clock.getAsLong()));
+    }
+
+    /**
+     * Phases known when the response headers are written; {@code total} is the
+     * time up to that point, since the body may still be streaming.
+     */
+    static String serverTimingHeader(RequestTiming timing, long now) {
+        StringBuilder header = new StringBuilder(96);
+        appendPhase(header, Phase.ROUTE, timing.routeNanos());
+        appendPhase(header, Phase.CONNECT, timing.connectNanos());
+        appendPhase(header, Phase.TTFB, timing.firstByteNanos());
+        appendPhase(header, Phase.TOTAL, timing.totalNanos(now));
+        return header.toString();
+    }
+
+    private static void appendPhase(StringBuilder header, Phase phase, long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(phase.tag)
+            .append(";dur=")
+            .append(String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0));
+    }
+
+    private static void record(Timer timer, long nanos) {
+        if (nanos >= 0) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
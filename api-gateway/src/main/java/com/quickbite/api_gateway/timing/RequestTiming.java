@@ -0,0 +1,79 @@
+package com.quickbite.api_gateway.timing;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.Optional;
+
+/**
+ * Timestamps ({@code System.nanoTime()}) of one gateway request, carried in
+ * the Reactor context so the WebClient filter and the Netty client hooks can
+ * mark them. Only the first upstream call of a request is marked; a hedge or
+ * a second BFF section does not overwrite it.
+ */
+public final class RequestTiming {
+
+    private static final Object CONTEXT_KEY = RequestTiming.class;
+
+    private final long start;
+
+    private volatile long dispatched;
+    private volatile long connected;
+    private volatile long firstByte;
+
+    public RequestTiming(long start) {
+        this.start = start;
+    }
+
+    public static Context with(Context context, RequestTiming timing) {
+        return context.put(CONTEXT_KEY, timing);
+    }
+
+    public static Optional<RequestTiming> from(ContextView context) {
+        return context.getOrEmpty(CONTEXT_KEY);
+    }
+
+    public synchronized void markDispatched(long now) {
+        if (dispatched == 0) {
+            dispatched = now;
+        }
+    }
+
+    public synchronized void markConnected(long now) {
+        if (dispatched != 0 && connected == 0) {
+            connected = now;
+        }
+    }
+
+    public synchronized void markFirstByte(long now) {
+        if (connected != 0 && firstByte == 0) {
+            firstByte = now;
+        }
+    }
+
+    /**
+     * Gateway work before the first upstream call was sent: authentication,
+     * rate limit, routing, cache lookup and instance selection.
+     */
+    public long routeNanos() {
+        return dispatched == 0 ? -1 : dispatched - start;
+    }
+
+    /**
+     * Waiting for a pooled connection, or opening a new one.
+     */
+    public long connectNanos() {
+        return connected == 0 ? -1 : connected - dispatched;
+    }
+
+    /**
+     * From the request being written to the backend's response headers.
+     */
+    public long firstByteNanos() {
+        return firstByte == 0 ? -1 : firstByte - connected;
+    }
+
+    public long totalNanos(long now) {
+        return now - start;
+    }
+}
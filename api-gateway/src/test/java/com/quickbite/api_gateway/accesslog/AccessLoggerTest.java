@@ -0,0 +1,143 @@
+package com.quickbite.api_gateway.accesslog;
+
+import com.quickbite.api_gateway.config.RouteConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AccessLoggerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> lines = new CopyOnWriteArrayList<>();
+
+    @Test
+    void record_shouldSampleSuccessesButKeepEveryFailure() {
+        AccessLogger accessLogger = accessLogger(new MockEnvironment()
+            .withProperty("gateway.access-log.sample-rate", "0.1"));
+
+        accessLogger.record(HttpMethod.GET, "/api/v1/products", RouteConfig.Service.PRODUCT, HttpStatus.OK, 1_000_000, null);
+        accessLogger.record(HttpMethod.GET, "/api/v1/products/9", RouteConfig.Service.PRODUCT, HttpStatus.NOT_FOUND, 1_000_000, null);
+        accessLogger.record(HttpMethod.POST, "/api/v1/orders", RouteConfig.Service.ORDERS, null, 1_000_000,
+            new IllegalStateException("connection refused"));
+
+        assertEquals(2, accessLogger.drain());
+        assertEquals(List.of("GET /api/v1/products/9 404", "POST /api/v1/orders 0 connection refused"), lines);
+        assertEquals(1.0, count("sampled-out"));
+        assertEquals(2.0, count("written"));
+    }
+
+    @Test
+    void record_shouldDropWhenBufferIsFull() {
+        AccessLogger accessLogger = accessLogger(new MockEnvironment()
+            .withProperty("gateway.access-log.buffer-size", "4"));
+
+        for (int i = 0; i < 6; i++) {
+            accessLogger.record(HttpMethod.GET, "/api/v1/products/" + i, RouteConfig.Service.PRODUCT, HttpStatus.OK, 0, null);
+        }
+
+        assertEquals(4, accessLogger.drain());
+        assertEquals(List.of(
+            "GET /api/v1/products/0 200",
+            "GET /api/v1/products/1 200",
+            "GET /api/v1/products/2 200",
+            "GET /api/v1/products/3 200"
+        ), lines);
+        assertEquals(2.0, count("dropped"));
+
+        accessLogger.record(HttpMethod.GET, "/api/v1/products/6", RouteConfig.Service.PRODUCT, HttpStatus.OK, 0, null);
+        assertEquals(1, accessLogger.drain());
+    }
+
+    @Test
+    void record_shouldKeepReservedSlotsForFailuresAndWriteOverflowInline() {
+        AccessLogger accessLogger = accessLogger(new MockEnvironment()
+            .withProperty("gateway.access-log.buffer-size", "4")
+            .withProperty("gateway.access-log.failure-reserve", "2"));
+
+        for (int i = 0; i < 3; i++) {
+            accessLogger.record(HttpMethod.GET, "/api/v1/products/" + i, RouteConfig.Service.PRODUCT, HttpStatus.OK, 0, null);
+        }
+        for (int i = 0; i < 3; i++) {
+            accessLogger.record(HttpMethod.GET, "/api/v1/orders/" + i, RouteConfig.Service.ORDERS,
+                HttpStatus.TOO_MANY_REQUESTS, 0, null);
+        }
+
+        assertEquals(List.of("GET /api/v1/orders/2 429"), lines);
+        assertEquals(4, accessLogger.drain());
+        assertEquals(List.of(
+            "GET /api/v1/orders/2 429",
+            "GET /api/v1/products/0 200",
+            "GET /api/v1/products/1 200",
+            "GET /api/v1/orders/0 429",
+            "GET /api/v1/orders/1 429"
+        ), lines);
+        assertEquals(1.0, count("dropped"));
+        assertEquals(1.0, count("overflow-written"));
+    }
+
+    @Test
+    void start_shouldWakeParkedWriterOnRecord() throws InterruptedException {
+        AccessLogger accessLogger = accessLogger(new MockEnvironment());
+        accessLogger.start();
+        try {
+            Thread.sleep(50);
+            accessLogger.record(HttpMethod.GET, "/api/v1/categories", RouteConfig.Service.PRODUCT, HttpStatus.OK, 0, null);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (lines.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+        } finally {
+            accessLogger.stop();
+        }
+
+        assertEquals(List.of("GET /api/v1/categories 200"), lines);
+    }
+
+    @Test
+    void start_shouldWriteEntriesOnBackgroundThread() throws InterruptedException {
+        AccessLogger accessLogger = accessLogger(new MockEnvironment());
+        accessLogger.start();
+        try {
+            for (int i = 0; i < 100; i++) {
+                accessLogger.record(HttpMethod.GET, "/api/v1/categories", RouteConfig.Service.PRODUCT, HttpStatus.OK, 0, null);
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (lines.size() < 100 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+        } finally {
+            accessLogger.stop();
+        }
+
+        assertEquals(100, lines.size());
+        assertFalse(accessLogger.isRunning());
+    }
+
+    @Test
+    void ringBuffer_shouldRequirePowerOfTwoCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new AccessLogRingBuffer(1000));
+    }
+
+    private AccessLogger accessLogger(MockEnvironment environment) {
+        return new AccessLogger(meterRegistry, environment, entry -> lines.add(
+            entry.getMethod() + " " + entry.getPath() + " " + entry.getStatus()
+                + (entry.getError() == null ? "" : " " + entry.getError().getMessage())
+        ), () -> 0.5);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("gateway.access-log.entries").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,94 @@
+package com.quickbite.api_gateway.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.quickbite.api_gateway.accesslog.AccessLogger;
+import com.quickbite.api_gateway.config.RouteConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time spent on the request thread per proxied request: the two synchronous
+ * {@code log.info} calls the controller used to make against handing the
+ * outcome to {@link AccessLogger}. Both go through the same Logback pattern
+ * appender writing to a discarding stream, so only formatting and appender
+ * cost is measured, not disk I/O. Run {@link #main} with {@code -t 1}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessLogBenchmark {
+
+    private static final org.slf4j.Logger LOG = LoggerFactory.getLogger("com.quickbite.api_gateway.controller.ApiGatewayController");
+    private static final String PATH = "/api/v1/products/42";
+
+    @Param({"1.0", "0.1"})
+    private String sampleRate;
+
+    private AccessLogger accessLogger;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.setLevel(Level.INFO);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        root.addAppender(appender);
+
+        accessLogger = new AccessLogger(new SimpleMeterRegistry(), new MockEnvironment()
+            .withProperty("gateway.access-log.sample-rate", sampleRate));
+        accessLogger.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        accessLogger.stop();
+    }
+
+    @Benchmark
+    public void synchronousInfo() {
+        LOG.info("Gateway roteando: {} {} -> {}", HttpMethod.GET, PATH, RouteConfig.Service.PRODUCT);
+        LOG.info("Resposta do serviço: {}", HttpStatus.OK);
+    }
+
+    @Benchmark
+    public void asyncAccessLog() {
+        accessLogger.record(HttpMethod.GET, PATH, RouteConfig.Service.PRODUCT, HttpStatus.OK, 1_250_000, null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(AccessLogBenchmark.class.getSimpleName())
+            .threads(1)
+            .build()
+        ).run();
+    }
+}
@@ -0,0 +1,135 @@
+package com.quickbite.api_gateway.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibWrapper;
+import io.netty.handler.codec.compression.ZstdEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost against bytes saved of the encoders the gateway negotiates, on
+ * the two payloads that dominate egress: a restaurant menu (100 products) and
+ * a customer's order history (20 orders with items). Each operation pushes
+ * one whole response through a fresh Netty encoder, as
+ * {@code HttpContentCompressor} does per response. The compressed size of
+ * every combination is printed once at setup. Run {@link #main} with
+ * {@code -t 1}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+
+    private static final int ZSTD_BLOCK_SIZE = 64 * 1024;
+    private static final int ZSTD_MAX_ENCODE_SIZE = 32 * 1024 * 1024;
+
+    @Param({"menu", "orders"})
+    private String payload;
+
+    @Param({"gzip-1", "gzip-6", "zstd-1", "zstd-3"})
+    private String encoding;
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        body = "menu".equals(payload) ? menu(100) : orders(20);
+
+        int compressed = compress();
+        System.out.printf("%n%s %s: %d -> %d bytes (%.1f%% saved)%n",
+            payload, encoding, body.length, compressed, 100.0 * (body.length - compressed) / body.length);
+    }
+
+    @Benchmark
+    public int compress() {
+        EmbeddedChannel channel = new EmbeddedChannel(encoder());
+        channel.writeOutbound(Unpooled.wrappedBuffer(body));
+        channel.finish();
+
+        int size = 0;
+        ByteBuf chunk;
+        while ((chunk = channel.readOutbound()) != null) {
+            size += chunk.readableBytes();
+            chunk.release();
+        }
+        return size;
+    }
+
+    private ChannelHandler encoder() {
+        int separator = encoding.indexOf('-');
+        int level = Integer.parseInt(encoding.substring(separator + 1));
+
+        return encoding.startsWith("gzip")
+            ? ZlibCodecFactory.newZlibEncoder(ZlibWrapper.GZIP, level)
+            : new ZstdEncoder(level, ZSTD_BLOCK_SIZE, ZSTD_MAX_ENCODE_SIZE);
+    }
+
+    static byte[] menu(int products) {
+        StringBuilder json = new StringBuilder("{\"content\":[");
+        for (int i = 1; i <= products; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                .append(",\"name\":\"Pizza ").append(i % 2 == 0 ? "Margherita" : "Calabresa").append(' ').append(i)
+                .append("\",\"description\":\"Molho de tomate artesanal, mussarela, orégano e azeite extra virgem\"")
+                .append(",\"price\":").append(29 + i % 30).append(".90")
+                .append(",\"imageUrl\":\"https://cdn.quickbite.com/products/").append(1000 + i).append(".jpg\"")
+                .append(",\"category\":{\"id\":").append(i % 6).append(",\"name\":\"Pizzas\"}")
+                .append(",\"restaurantId\":7,\"isAvailable\":").append(i % 9 != 0)
+                .append(",\"preparationTime\":").append(15 + i % 4 * 5)
+                .append(",\"createdAt\":\"2025-03-").append(10 + i % 18).append("T18:22:31\"}");
+        }
+        return json.append("],\"page\":0,\"size\":").append(products).append(",\"totalElements\":240}")
+            .toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] orders(int count) {
+        StringBuilder json = new StringBuilder("{\"content\":[");
+        for (int i = 1; i <= count; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(5000 + i)
+                .append(",\"userId\":42,\"restaurantId\":").append(i % 4 + 1)
+                .append(",\"status\":\"DELIVERED\",\"paymentMethod\":\"PIX\",\"paymentStatus\":\"PAID\"")
+                .append(",\"totalAmount\":").append(40 + i * 3).append(".50")
+                .append(",\"deliveryAddress\":{\"street\":\"Rua das Flores\",\"number\":\"123\",\"city\":\"Porto Alegre\",\"state\":\"RS\",\"zipCode\":\"90010-000\"}")
+                .append(",\"items\":[");
+            for (int item = 1; item <= 3; item++) {
+                if (item > 1) {
+                    json.append(',');
+                }
+                json.append("{\"productId\":").append(i * 10 + item)
+                    .append(",\"productName\":\"Hambúrguer Artesanal ").append(item)
+                    .append("\",\"quantity\":").append(item)
+                    .append(",\"unitPrice\":").append(20 + item).append(".00")
+                    .append(",\"totalPrice\":").append((20 + item) * item).append(".00}");
+            }
+            json.append("],\"createdAt\":\"2025-04-").append(10 + i % 18).append("T12:0").append(i % 10).append(":00\"")
+                .append(",\"updatedAt\":\"2025-04-").append(10 + i % 18).append("T12:4").append(i % 10).append(":00\"}");
+        }
+        return json.append("],\"page\":0,\"size\":").append(count).append(",\"totalElements\":87}")
+            .toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(CompressionBenchmark.class.getSimpleName())
+            .threads(1)
+            .build()
+        ).run();
+    }
+}
@@ -0,0 +1,119 @@
+package com.quickbite.api_gateway.benchmark;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.CharSequenceEncoder;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the body handling of the old {@code @RequestBody String} /
+ * {@code toEntity(String.class)} proxy path with the streaming
+ * {@code Flux<DataBuffer>} path. Run {@link #main} and read {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProxyBodyBenchmark {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final ResolvableType STRING_TYPE = ResolvableType.forClass(String.class);
+
+    @Param({"4096", "65536", "524288"})
+    private int payloadSize;
+
+    private final NettyDataBufferFactory bufferFactory =
+        new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    private final StringDecoder decoder = StringDecoder.allMimeTypes();
+    private final CharSequenceEncoder encoder = CharSequenceEncoder.allMimeTypes();
+
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        decoder.setMaxInMemorySize(-1);
+        payload = buildMenuPayload(payloadSize);
+    }
+
+    @Benchmark
+    public long stringPath() {
+        String body = decoder
+            .decodeToMono(inboundChunks(), STRING_TYPE, MediaType.APPLICATION_JSON, Map.of())
+            .block();
+
+        return encoder
+            .encode(Mono.justOrEmpty(body), bufferFactory, STRING_TYPE, MediaType.APPLICATION_JSON, Map.of())
+            .map(this::writeAndRelease)
+            .reduce(0L, Long::sum)
+            .block();
+    }
+
+    @Benchmark
+    public long streamingPath() {
+        return inboundChunks()
+            .map(this::writeAndRelease)
+            .reduce(0L, Long::sum)
+            .block();
+    }
+
+    private Flux<DataBuffer> inboundChunks() {
+        int chunks = (payload.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        return Flux.range(0, chunks).map(index -> {
+            int offset = index * CHUNK_SIZE;
+            int length = Math.min(CHUNK_SIZE, payload.length - offset);
+
+            DataBuffer buffer = bufferFactory.allocateBuffer(length);
+            buffer.write(payload, offset, length);
+            return buffer;
+        });
+    }
+
+    private long writeAndRelease(DataBuffer buffer) {
+        long written = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return written;
+    }
+
+    private static byte[] buildMenuPayload(int size) {
+        StringBuilder json = new StringBuilder(size + 256).append("{\"content\":[");
+        int id = 1;
+
+        while (json.length() < size) {
+            json.append("{\"id\":").append(id++)
+                .append(",\"name\":\"Prato do dia ").append(id)
+                .append("\",\"description\":\"Arroz, feijão, bife acebolado e salada\"")
+                .append(",\"price\":32.90,\"isAvailable\":true},");
+        }
+
+        json.setLength(json.length() - 1);
+        json.append("],\"totalElements\":").append(id).append('}');
+
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ProxyBodyBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()
+        ).run();
+    }
+}
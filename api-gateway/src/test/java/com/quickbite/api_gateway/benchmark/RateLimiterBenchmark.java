@@ -0,0 +1,67 @@
+package com.quickbite.api_gateway.benchmark;
+
+import com.quickbite.api_gateway.ratelimit.RateLimit;
+import com.quickbite.api_gateway.ratelimit.TokenBucket;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one limiter decision (bucket lookup by client key plus a token
+ * take) under contention, with clients spread over {@code clients} keys. At
+ * 50k requests/s the gateway has 20 us per request per core to spend; run
+ * {@link #main} and compare the average time with that budget.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    private int clients;
+
+    private final RateLimit limit = new RateLimit(1_000_000, Duration.ofSeconds(1));
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        keys = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            keys[i] = "10." + (i >> 16 & 0xff) + "." + (i >> 8 & 0xff) + "." + (i & 0xff);
+        }
+    }
+
+    @Benchmark
+    public long decide() {
+        String client = keys[ThreadLocalRandom.current().nextInt(clients)];
+        long now = System.nanoTime();
+        String key = "PRODUCT|ip:" + client;
+
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, ignored -> new TokenBucket(limit, now));
+        }
+
+        return bucket.tryAcquire(now);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(RateLimiterBenchmark.class.getSimpleName())
+            .build()
+        ).run();
+    }
+}
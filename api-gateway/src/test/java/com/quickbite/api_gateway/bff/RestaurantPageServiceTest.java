@@ -0,0 +1,136 @@
+package com.quickbite.api_gateway.bff;
+
+import com.quickbite.api_gateway.concurrency.AdaptiveConcurrencyLimiter;
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.config.UpstreamClients;
+import com.quickbite.api_gateway.hedging.HedgingService;
+import com.quickbite.api_gateway.loadbalancer.LoadBalancerService;
+import com.quickbite.api_gateway.resilience.ResilienceService;
+import com.quickbite.api_gateway.service.ProxyService;
+import com.quickbite.api_gateway.service.RoutingService;
+import com.quickbite.api_gateway.service.UpstreamExecutor;
+import com.quickbite.api_gateway.service.UpstreamResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RestaurantPageServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static DisposableServer backend;
+
+    private RestaurantPageService restaurantPageService;
+
+    @BeforeAll
+    static void startBackend() {
+        backend = HttpServer.create()
+            .port(0)
+            .route(routes -> routes
+                .get("/api/v1/restaurants/{id}", (request, response) -> "404".equals(request.param("id"))
+                    ? response.status(404).sendString(Mono.just("{\"status\":404}"))
+                    : response.status(200).sendString(Mono.just("{\"id\":" + request.param("id") + "}")))
+                .get("/api/v1/products", (request, response) -> response
+                    .status(200)
+                    .sendString(Mono.just("{\"query\":\"" + URI.create(request.uri()).getRawQuery() + "\"}")))
+                .get("/api/v1/categories", (request, response) -> response
+                    .status(500)
+                    .sendString(Mono.just("{\"status\":500}")))
+                .get("/api/v1/products/by-restaurant/{id}/count", (request, response) -> "2".equals(request.param("id"))
+                    ? response.status(200).sendString(Mono.delay(Duration.ofSeconds(10)).thenReturn("3"))
+                    : response.status(200).sendString(Mono.just("3")))
+            )
+            .bindNow();
+    }
+
+    @AfterAll
+    static void stopBackend() {
+        backend.disposeNow();
+    }
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("gateway.routes.service.PRODUCT.instances", "http://localhost:" + backend.port());
+
+        LoadBalancerService loadBalancerService = new LoadBalancerService(3, Duration.ofSeconds(30), Duration.ZERO);
+        UpstreamExecutor upstreamExecutor = new UpstreamExecutor(
+            new AdaptiveConcurrencyLimiter(meterRegistry, environment),
+            new ResilienceService(meterRegistry, environment),
+            loadBalancerService,
+            new HedgingService(loadBalancerService, meterRegistry, environment)
+        );
+
+        restaurantPageService = new RestaurantPageService(
+            new RoutingService(new RouteConfig("", environment)),
+            upstreamExecutor,
+            new ProxyService(UpstreamClients.of(WebClient.create()), DataSize.ofMegabytes(1)),
+            meterRegistry,
+            Duration.ofSeconds(2)
+        );
+    }
+
+    @Test
+    void load_shouldCombineSectionsAndListFailedOnes() {
+        UpstreamResponse page = load(1, "/api/v1/bff/restaurants/1/page?page=2&size=5&restaurantId=9");
+
+        assertEquals(HttpStatus.OK, page.status());
+        assertEquals(
+            "{\"restaurant\":{\"id\":1},"
+                + "\"products\":{\"query\":\"restaurantId=1&page=2&size=5\"},"
+                + "\"categories\":null,"
+                + "\"productCount\":3,"
+                + "\"unavailable\":[\"categories\"]}",
+            new String(page.body(), StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    void load_shouldReturnRestaurantErrorAsIs() {
+        UpstreamResponse page = load(404, "/api/v1/bff/restaurants/404/page");
+
+        assertEquals(HttpStatus.NOT_FOUND, page.status());
+        assertEquals("{\"status\":404}", new String(page.body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void load_shouldNotWaitForSlowSection() {
+        long start = System.nanoTime();
+        UpstreamResponse page = load(2, "/api/v1/bff/restaurants/2/page");
+
+        assertEquals(HttpStatus.OK, page.status());
+        assertEquals(
+            "{\"restaurant\":{\"id\":2},"
+                + "\"products\":{\"query\":\"restaurantId=2\"},"
+                + "\"categories\":null,"
+                + "\"productCount\":null,"
+                + "\"unavailable\":[\"categories\",\"productCount\"]}",
+            new String(page.body(), StandardCharsets.UTF_8)
+        );
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+    }
+
+    private UpstreamResponse load(long restaurantId, String uri) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+        return restaurantPageService.load(restaurantId, exchange).block(TIMEOUT);
+    }
+}
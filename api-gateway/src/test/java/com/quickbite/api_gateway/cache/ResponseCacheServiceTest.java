@@ -0,0 +1,191 @@
+package com.quickbite.api_gateway.cache;
+
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.config.RoutePolicy;
+import com.quickbite.api_gateway.config.UpstreamClients;
+import com.quickbite.api_gateway.service.ProxyService;
+import com.quickbite.api_gateway.service.RequestKeys;
+import com.quickbite.api_gateway.service.UpstreamResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheServiceTest {
+
+    private static final String CACHEABLE = "public, max-age=30, stale-while-revalidate=30, stale-if-error=300";
+    private static final String ETAG = "\"v1\"";
+
+    private static final ResolvedRoute CATALOGUE_ROUTE = new ResolvedRoute(
+        "/api/v1/products", RouteConfig.Service.PRODUCT, List.of("http://product"), RoutePolicy.PUBLIC_CATALOGUE);
+    private static final ResolvedRoute PRIVATE_ROUTE = new ResolvedRoute(
+        "/api/v1/products", RouteConfig.Service.PRODUCT, List.of("http://product"), new RoutePolicy(true, false, false));
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Deque<Mono<UpstreamResponse>> upstream = new ArrayDeque<>();
+    private final List<String> validatorsSent = new ArrayList<>();
+
+    private ResponseCacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        ProxyService proxyService = new ProxyService(UpstreamClients.of(WebClient.create()), DataSize.ofMegabytes(1));
+        cacheService = new ResponseCacheService(proxyService, meterRegistry, true, DataSize.ofMegabytes(1), clock::get);
+    }
+
+    @Test
+    void handle_shouldServeSecondRequestFromCache() {
+        upstream.add(ok("[1]", CACHEABLE));
+
+        MockServerWebExchange first = get("/api/v1/products?size=20&page=0");
+        MockServerWebExchange second = get("/api/v1/products?page=0&size=20");
+
+        assertEquals("[1]", handle(first));
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheService.CACHE_STATUS_HEADER));
+        assertEquals("[1]", handle(second));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheService.CACHE_STATUS_HEADER));
+        assertEquals(1, validatorsSent.size());
+        assertEquals(1.0, meterRegistry.get("gateway.cache.requests")
+            .tags("route", "/api/v1/products", "result", "hit").counter().count());
+    }
+
+    @Test
+    void handle_shouldServeStaleAndRevalidateInBackground() {
+        upstream.add(ok("[1]", CACHEABLE));
+        handle(get("/api/v1/products"));
+
+        clock.addAndGet(40_000);
+        upstream.add(ok("[2]", CACHEABLE));
+        MockServerWebExchange stale = get("/api/v1/products");
+
+        assertEquals("[1]", handle(stale));
+        assertEquals("STALE", stale.getResponse().getHeaders().getFirst(ResponseCacheService.CACHE_STATUS_HEADER));
+        assertEquals(ETAG, validatorsSent.get(1));
+        assertEquals("[2]", handle(get("/api/v1/products")));
+    }
+
+    @Test
+    void handle_shouldRevalidateExpiredEntryWithEtag() {
+        upstream.add(ok("[1]", CACHEABLE));
+        handle(get("/api/v1/products"));
+
+        clock.addAndGet(120_000);
+        upstream.add(Mono.just(new UpstreamResponse(HttpStatus.NOT_MODIFIED, new HttpHeaders(), new byte[0])));
+        MockServerWebExchange exchange = get("/api/v1/products");
+
+        assertEquals("[1]", handle(exchange));
+        assertEquals("REVALIDATED", exchange.getResponse().getHeaders().getFirst(ResponseCacheService.CACHE_STATUS_HEADER));
+        assertEquals(ETAG, validatorsSent.get(1));
+    }
+
+    @Test
+    void handle_shouldServeStaleWhenBackendFails() {
+        upstream.add(ok("[1]", CACHEABLE));
+        handle(get("/api/v1/products"));
+
+        clock.addAndGet(120_000);
+        upstream.add(Mono.error(new IllegalStateException("connection refused")));
+        MockServerWebExchange exchange = get("/api/v1/products");
+
+        assertEquals("[1]", handle(exchange));
+        assertEquals("STALE_IF_ERROR", exchange.getResponse().getHeaders().getFirst(ResponseCacheService.CACHE_STATUS_HEADER));
+    }
+
+    @Test
+    void handle_shouldNotStoreNoStoreResponses() {
+        upstream.add(ok("[1]", "no-cache, no-store, max-age=0, must-revalidate"));
+        upstream.add(ok("[2]", CACHEABLE));
+
+        handle(get("/api/v1/products"));
+
+        assertEquals("[2]", handle(get("/api/v1/products")));
+        assertNull(validatorsSent.get(1));
+    }
+
+    @Test
+    void handle_shouldAnswerNotModifiedWhenClientEtagMatches() {
+        upstream.add(ok("[1]", CACHEABLE));
+        handle(get("/api/v1/products"));
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/v1/products").header(HttpHeaders.IF_NONE_MATCH, ETAG));
+
+        assertEquals("", handle(exchange));
+        assertEquals(HttpStatus.NOT_MODIFIED, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void isCacheable_shouldBypassCredentialedRequestsEvenOnPublicRoutes() {
+        MockServerHttpRequest authorized = MockServerHttpRequest.get("/api/v1/products")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+            .build();
+        MockServerHttpRequest withCookie = MockServerHttpRequest.get("/api/v1/restaurants/owner/7")
+            .header(HttpHeaders.COOKIE, "session=abc")
+            .build();
+
+        assertFalse(cacheService.isCacheable(PRIVATE_ROUTE, authorized));
+        assertFalse(cacheService.isCacheable(CATALOGUE_ROUTE, authorized));
+        assertFalse(cacheService.isCacheable(CATALOGUE_ROUTE, withCookie));
+        assertTrue(cacheService.isCacheable(CATALOGUE_ROUTE, MockServerHttpRequest.get("/api/v1/products").build()));
+        assertFalse(cacheService.isCacheable(CATALOGUE_ROUTE, MockServerHttpRequest.post("/api/v1/products").build()));
+    }
+
+    @Test
+    void cacheKey_shouldSortQueryByNameAndKeepTheForwardedPath() {
+        assertEquals(
+            RequestKeys.of(MockServerHttpRequest.get("/api/v1/products?page=0&size=20").build()),
+            RequestKeys.of(MockServerHttpRequest.get("/api/v1/products?size=20&page=0").build())
+        );
+        assertNotEquals(
+            RequestKeys.of(MockServerHttpRequest.get("/api/v1/products?id=2&id=1").build()),
+            RequestKeys.of(MockServerHttpRequest.get("/api/v1/products?id=1&id=2").build())
+        );
+        assertNotEquals(
+            RequestKeys.of(MockServerHttpRequest.get("/api/v1/products").build()),
+            RequestKeys.of(MockServerHttpRequest.get("/api/v1//products/").build())
+        );
+    }
+
+    private String handle(MockServerWebExchange exchange) {
+        cacheService.handle(CATALOGUE_ROUTE, exchange, etag -> {
+            validatorsSent.add(etag);
+            return upstream.poll();
+        }).block();
+
+        String body = exchange.getResponse().getBodyAsString().block();
+        return body == null ? "" : body;
+    }
+
+    private static MockServerWebExchange get(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+    }
+
+    private static Mono<UpstreamResponse> ok(String body, String cacheControl) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CACHE_CONTROL, cacheControl);
+        headers.setETag(ETAG);
+
+        return Mono.just(new UpstreamResponse(HttpStatus.OK, headers, body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
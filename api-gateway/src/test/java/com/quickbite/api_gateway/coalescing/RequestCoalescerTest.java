@@ -0,0 +1,175 @@
+package com.quickbite.api_gateway.coalescing;
+
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.config.RoutePolicy;
+import com.quickbite.api_gateway.service.UpstreamFetcher;
+import com.quickbite.api_gateway.service.UpstreamResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestCoalescerTest {
+
+    private static final ResolvedRoute ROUTE = new ResolvedRoute(
+        "/api/v1/restaurants", RouteConfig.Service.PRODUCT, List.of("http://product"), RoutePolicy.PUBLIC_CATALOGUE);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final Sinks.One<UpstreamResponse> pending = Sinks.one();
+
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new RequestCoalescer(meterRegistry, true, Duration.ofMillis(200));
+    }
+
+    @Test
+    void coalesce_shouldShareOneUpstreamCallBetweenConcurrentRequests() {
+        UpstreamFetcher fetcher = etag -> {
+            upstreamCalls.incrementAndGet();
+            return pending.asMono();
+        };
+        List<UpstreamResponse> received = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            coalescer.coalesce(ROUTE, request("/api/v1/restaurants/7/page"), fetcher).fetch(null).subscribe(received::add);
+        }
+
+        UpstreamResponse response = response();
+        pending.tryEmitValue(response);
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(5, received.size());
+        received.forEach(value -> assertSame(response, value));
+        assertEquals(4.0, meterRegistry.get("gateway.coalescing.requests").tag("result", "joined").counter().count());
+    }
+
+    @Test
+    void coalesce_shouldCallUpstreamAgainOnceFlightCompletes() {
+        UpstreamFetcher fetcher = etag -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.just(response());
+        };
+
+        coalescer.coalesce(ROUTE, request("/api/v1/restaurants"), fetcher).fetch(null).block();
+        coalescer.coalesce(ROUTE, request("/api/v1/restaurants"), fetcher).fetch(null).block();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void coalesce_shouldLetFollowerFetchOnItsOwnAfterMaxWait() {
+        UpstreamResponse own = response();
+        UpstreamFetcher fetcher = etag -> upstreamCalls.incrementAndGet() == 1 ? pending.asMono() : Mono.just(own);
+
+        coalescer.coalesce(ROUTE, request("/api/v1/restaurants"), fetcher).fetch(null).subscribe();
+        UpstreamResponse followerResponse = coalescer.coalesce(ROUTE, request("/api/v1/restaurants"), fetcher)
+            .fetch(null)
+            .block(Duration.ofSeconds(2));
+
+        assertSame(own, followerResponse);
+        assertEquals(1.0, meterRegistry.get("gateway.coalescing.requests").tag("result", "timeout").counter().count());
+    }
+
+    @Test
+    void coalesce_shouldKeepRevalidationsSeparateFromPlainFetches() {
+        UpstreamFetcher fetcher = etag -> {
+            upstreamCalls.incrementAndGet();
+            return pending.asMono();
+        };
+
+        coalescer.coalesce(ROUTE, request("/api/v1/restaurants"), fetcher).fetch(null).subscribe();
+        coalescer.coalesce(ROUTE, request("/api/v1/restaurants"), fetcher).fetch("\"v1\"").subscribe();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void coalesce_shouldNotShareFlightBetweenDifferentIdentities() {
+        Sinks.One<UpstreamResponse> owner = Sinks.one();
+        Sinks.One<UpstreamResponse> anonymous = Sinks.one();
+        UpstreamFetcher ownerFetcher = etag -> {
+            upstreamCalls.incrementAndGet();
+            return owner.asMono();
+        };
+        UpstreamFetcher anonymousFetcher = etag -> {
+            upstreamCalls.incrementAndGet();
+            return anonymous.asMono();
+        };
+        ServerHttpRequest ownerRequest = MockServerHttpRequest.get("/api/v1/restaurants/owner/7")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer owner-token")
+            .build();
+        List<UpstreamResponse> ownerReceived = new CopyOnWriteArrayList<>();
+        List<UpstreamResponse> anonymousReceived = new CopyOnWriteArrayList<>();
+
+        coalescer.coalesce(ROUTE, ownerRequest, ownerFetcher).fetch(null).subscribe(ownerReceived::add);
+        coalescer.coalesce(ROUTE, request("/api/v1/restaurants/owner/7"), anonymousFetcher).fetch(null)
+            .subscribe(anonymousReceived::add);
+
+        UpstreamResponse ok = response();
+        UpstreamResponse unauthorized = new UpstreamResponse(HttpStatus.UNAUTHORIZED, new HttpHeaders(), new byte[0]);
+        owner.tryEmitValue(ok);
+        anonymous.tryEmitValue(unauthorized);
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(List.of(ok), ownerReceived);
+        assertEquals(List.of(unauthorized), anonymousReceived);
+    }
+
+    @Test
+    void coalesce_shouldKeyOnTheForwardedPath() {
+        UpstreamFetcher fetcher = etag -> {
+            upstreamCalls.incrementAndGet();
+            return pending.asMono();
+        };
+
+        coalescer.coalesce(ROUTE, request("/api/v1/restaurants"), fetcher).fetch(null).subscribe();
+        coalescer.coalesce(ROUTE, request("/api/v1//restaurants/"), fetcher).fetch(null).subscribe();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void isCoalescable_shouldRequireOptInAndShareableGet() {
+        ResolvedRoute privateRoute = new ResolvedRoute(
+            "/api/v1/orders", RouteConfig.Service.ORDERS, List.of("http://orders"), new RoutePolicy(false, false, true));
+        ServerHttpRequest authorized = MockServerHttpRequest.get("/api/v1/orders")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+            .build();
+
+        assertTrue(coalescer.isCoalescable(ROUTE, request("/api/v1/restaurants")));
+        assertTrue(coalescer.isCoalescable(privateRoute, request("/api/v1/orders")));
+        assertFalse(coalescer.isCoalescable(privateRoute, authorized));
+        assertFalse(coalescer.isCoalescable(ROUTE, authorized));
+        assertFalse(coalescer.isCoalescable(
+            new ResolvedRoute("/api/v1/orders", RouteConfig.Service.ORDERS, List.of("http://orders")),
+            request("/api/v1/orders")
+        ));
+    }
+
+    private static ServerHttpRequest request(String uri) {
+        return MockServerHttpRequest.get(uri).build();
+    }
+
+    private static UpstreamResponse response() {
+        return new UpstreamResponse(HttpStatus.OK, new HttpHeaders(), "{}".getBytes());
+    }
+}
@@ -0,0 +1,194 @@
+package com.quickbite.api_gateway.compression;
+
+import com.github.luben.zstd.Zstd;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCompressionTest {
+
+    private static final byte[] MENU = menu(40);
+    private static final byte[] SMALL = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PRECOMPRESSED = gzip(MENU);
+
+    private record Response(String encoding, String vary, byte[] body) {
+    }
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ResponseCompression compression;
+    private DisposableServer server;
+
+    @BeforeEach
+    void startServer() {
+        compression = new ResponseCompression(meterRegistry, new MockEnvironment()
+            .withProperty("gateway.compression.min-size", "512B"));
+
+        server = compression.apply(HttpServer.create().port(0))
+            .route(routes -> routes
+                .get("/menu", (request, response) -> response
+                    .header(HttpHeaderNames.CONTENT_TYPE, "application/json;charset=UTF-8")
+                    .header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(MENU.length))
+                    .sendByteArray(Mono.just(MENU)))
+                .get("/small", (request, response) -> response
+                    .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                    .header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(SMALL.length))
+                    .sendByteArray(Mono.just(SMALL)))
+                .get("/image", (request, response) -> response
+                    .header(HttpHeaderNames.CONTENT_TYPE, "image/png")
+                    .header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(MENU.length))
+                    .sendByteArray(Mono.just(MENU)))
+                .get("/precompressed", (request, response) -> response
+                    .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                    .header(HttpHeaderNames.CONTENT_ENCODING, "gzip")
+                    .header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(PRECOMPRESSED.length))
+                    .sendByteArray(Mono.just(PRECOMPRESSED))))
+            .bindNow();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    void shouldGzipLargeJson() {
+        Response response = get("/menu", "gzip, deflate");
+
+        assertEquals("gzip", response.encoding());
+        assertTrue(response.body().length < MENU.length / 2);
+        assertArrayEquals(MENU, gunzip(response.body()));
+        assertEquals("Accept-Encoding", response.vary());
+        assertEquals(1.0, counter("eligible"));
+    }
+
+    @Test
+    void shouldNegotiateZstdWhenAvailable() {
+        assertTrue(compression.encodings().contains("zstd"));
+
+        Response response = get("/menu", "zstd, gzip");
+
+        assertEquals("zstd", response.encoding());
+        assertArrayEquals(MENU, Zstd.decompress(response.body(), MENU.length));
+    }
+
+    @Test
+    void shouldSkipSmallAndExcludedResponses() {
+        Response small = get("/small", "gzip");
+        Response image = get("/image", "gzip");
+        Response noAccept = get("/menu", null);
+
+        assertNull(small.encoding());
+        assertArrayEquals(SMALL, small.body());
+        assertNull(image.encoding());
+        assertArrayEquals(MENU, image.body());
+        assertNull(noAccept.encoding());
+        assertArrayEquals(MENU, noAccept.body());
+        assertEquals("Accept-Encoding", small.vary());
+        assertEquals("Accept-Encoding", image.vary());
+        assertEquals("Accept-Encoding", noAccept.vary());
+        assertEquals(1.0, counter("below-min-size"));
+        assertEquals(1.0, counter("excluded-type"));
+        assertEquals(1.0, counter("not-accepted"));
+    }
+
+    @Test
+    void shouldNotCompressWhenOnlyIdentityIsAccepted() {
+        Response identity = get("/menu", "identity");
+        Response refused = get("/menu", "gzip;q=0, identity");
+
+        assertNull(identity.encoding());
+        assertArrayEquals(MENU, identity.body());
+        assertNull(refused.encoding());
+        assertArrayEquals(MENU, refused.body());
+        assertEquals("Accept-Encoding", identity.vary());
+        assertEquals(2.0, counter("not-accepted"));
+    }
+
+    @Test
+    void shouldPassThroughBackendCompressedResponse() {
+        Response response = get("/precompressed", "gzip, zstd");
+
+        assertEquals("gzip", response.encoding());
+        assertArrayEquals(PRECOMPRESSED, response.body());
+        assertEquals("Accept-Encoding", response.vary());
+        assertEquals(1.0, counter("passthrough"));
+    }
+
+    private Response get(String path, String acceptEncoding) {
+        return HttpClient.create()
+            .headers(headers -> {
+                if (acceptEncoding != null) {
+                    headers.set(HttpHeaderNames.ACCEPT_ENCODING, acceptEncoding);
+                }
+            })
+            .get()
+            .uri("http://localhost:" + server.port() + path)
+            .responseSingle((response, body) -> body.asByteArray()
+                .defaultIfEmpty(new byte[0])
+                .map(bytes -> new Response(
+                    response.responseHeaders().get(HttpHeaderNames.CONTENT_ENCODING),
+                    response.responseHeaders().get(HttpHeaderNames.VARY),
+                    bytes
+                )))
+            .block(Duration.ofSeconds(5));
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("gateway.compression.responses").tag("result", result).counter().count();
+    }
+
+    static byte[] menu(int products) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= products; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                .append(",\"name\":\"Pizza Margherita ").append(i)
+                .append("\",\"description\":\"Molho de tomate, mussarela de búfala e manjericão fresco\"")
+                .append(",\"price\":").append(30 + i % 20).append(".90")
+                .append(",\"categoryId\":").append(i % 5)
+                .append(",\"restaurantId\":7,\"isAvailable\":true,\"preparationTime\":25}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] bytes) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.quickbite.api_gateway.concurrency;
+
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final GradientLimitProperties PROPERTIES = new GradientLimitProperties(20, 5, 200, 0.2, 1.5, 100);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_shouldShedLowerPrioritiesFirst() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("gateway.concurrency.initial-limit", "10");
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, environment);
+
+        List<Sinks.One<HttpStatusCode>> pending = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            pending.add(hold(limiter, Priority.NORMAL));
+        }
+
+        assertThrows(ServiceUnavailableException.class, () -> call(limiter, Priority.SHEDDABLE));
+
+        pending.add(hold(limiter, Priority.NORMAL));
+        pending.add(hold(limiter, Priority.NORMAL));
+        assertThrows(ServiceUnavailableException.class, () -> call(limiter, Priority.NORMAL));
+
+        pending.add(hold(limiter, Priority.CRITICAL));
+        assertThrows(ServiceUnavailableException.class, () -> call(limiter, Priority.CRITICAL));
+
+        assertEquals(10, limiter.getLimit(RouteConfig.Service.ORDERS).getInFlight());
+        assertEquals(1.0, meterRegistry.get("gateway.concurrency.rejections")
+            .tag("service", "ORDERS").tag("priority", "sheddable").counter().count());
+
+        pending.forEach(sink -> sink.tryEmitValue(HttpStatus.OK));
+        assertEquals(0, limiter.getLimit(RouteConfig.Service.ORDERS).getInFlight());
+    }
+
+    @Test
+    void gradientLimit_shouldShrinkWhenLatencyRises() {
+        GradientLimit limit = new GradientLimit(PROPERTIES);
+
+        for (int i = 0; i < 50; i++) {
+            sample(limit, 10, (int) limit.getLimit());
+        }
+        double steady = limit.getLimit();
+
+        for (int i = 0; i < 10; i++) {
+            sample(limit, 40, (int) limit.getLimit());
+        }
+
+        assertTrue(steady > PROPERTIES.initialLimit(), "limite deveria crescer com latência estável: " + steady);
+        assertTrue(limit.getLimit() < steady * 0.75, "limite deveria cair com latência alta: " + limit.getLimit());
+    }
+
+    @Test
+    void gradientLimit_shouldNotGrowWhileMostlyIdle() {
+        GradientLimit limit = new GradientLimit(PROPERTIES);
+
+        for (int i = 0; i < 50; i++) {
+            sample(limit, 10, 1);
+        }
+
+        assertEquals(PROPERTIES.initialLimit(), limit.getLimit());
+    }
+
+    @Test
+    void execute_shouldNotSampleCallsRejectedByResilience() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, new MockEnvironment());
+        GradientLimit limit = limiter.getLimit(RouteConfig.Service.PRODUCT);
+        double before = limit.getLimit();
+
+        Mono<HttpStatusCode> rejected = Mono.error(
+            new ServiceUnavailableException(RouteConfig.Service.PRODUCT, "Circuito aberto", Duration.ofSeconds(10)));
+        assertThrows(ServiceUnavailableException.class, () -> limiter
+            .execute(RouteConfig.Service.PRODUCT, Priority.NORMAL, rejected, Function.identity())
+            .block());
+        assertEquals(before, limit.getLimit());
+
+        limiter.execute(RouteConfig.Service.PRODUCT, Priority.NORMAL, Mono.just(HttpStatus.BAD_GATEWAY), Function.identity())
+            .block();
+        assertTrue(limit.getLimit() < before);
+        assertEquals(0, limit.getInFlight());
+    }
+
+    private static void sample(GradientLimit limit, long rttMillis, int inFlight) {
+        limit.tryAcquire(Priority.CRITICAL);
+        limit.onSample(TimeUnit.MILLISECONDS.toNanos(rttMillis), inFlight, false);
+    }
+
+    private static Sinks.One<HttpStatusCode> hold(AdaptiveConcurrencyLimiter limiter, Priority priority) {
+        Sinks.One<HttpStatusCode> sink = Sinks.one();
+        limiter.execute(RouteConfig.Service.ORDERS, priority, sink.asMono(), Function.identity()).subscribe();
+        return sink;
+    }
+
+    private static HttpStatusCode call(AdaptiveConcurrencyLimiter limiter, Priority priority) {
+        return limiter.execute(RouteConfig.Service.ORDERS, priority, Mono.<HttpStatusCode>just(HttpStatus.OK), Function.identity())
+            .block();
+    }
+}
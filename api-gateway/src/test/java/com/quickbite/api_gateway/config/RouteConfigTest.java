@@ -0,0 +1,98 @@
+package com.quickbite.api_gateway.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteConfigTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void findServiceByPath_shouldMatchDefaultRoutes() {
+        RouteConfig routeConfig = new RouteConfig("", new MockEnvironment());
+
+        assertEquals(RouteConfig.Service.PRODUCT, routeConfig.findServiceByPath("/api/v1/restaurants/1/products").orElseThrow());
+        assertEquals(RouteConfig.Service.ORDERS, routeConfig.findServiceByPath("/api/v1/orders").orElseThrow());
+        assertTrue(routeConfig.findServiceByPath("/api/v1/productsx").isEmpty());
+        assertTrue(routeConfig.findServiceByPath("/api/auth/login").isEmpty());
+    }
+
+    @Test
+    void resolve_shouldFallBackToAuth() {
+        RouteConfig routeConfig = new RouteConfig("", new MockEnvironment());
+
+        ResolvedRoute route = routeConfig.resolve("/api/auth/login");
+
+        assertEquals(RouteConfig.Service.AUTH, route.service());
+        assertEquals(List.of("http://localhost:8082"), route.instanceUrls());
+    }
+
+    @Test
+    void routeTable_shouldPreferLongestPrefix() {
+        RouteTable table = RouteTable.of(List.of(
+            new ResolvedRoute("/api/v1/orders", RouteConfig.Service.ORDERS, List.of("http://orders")),
+            new ResolvedRoute("/api/v1/orders/payments", RouteConfig.Service.PAYMENT, List.of("http://payment"))
+        ));
+
+        assertEquals(RouteConfig.Service.PAYMENT, table.match("/api/v1/orders/payments/10").orElseThrow().service());
+        assertEquals(RouteConfig.Service.ORDERS, table.match("/api/v1/orders/10").orElseThrow().service());
+        assertEquals(RouteConfig.Service.ORDERS, table.match("/api/v1/orders/").orElseThrow().service());
+        assertTrue(table.match("/api/v1").isEmpty());
+    }
+
+    @Test
+    void reloadIfChanged_shouldApplyRoutesFromFile() throws IOException {
+        Path routesFile = tempDir.resolve("routes.properties");
+        Files.writeString(routesFile, "service.PRODUCT.url=http://product-service:9000/\n");
+
+        RouteConfig routeConfig = new RouteConfig(routesFile.toString(), new MockEnvironment());
+
+        assertEquals(List.of("http://product-service:9000"), routeConfig.resolve("/api/v1/products").instanceUrls());
+
+        Files.writeString(routesFile, "route./api/v1/products/search=ORDERS\n");
+        Files.setLastModifiedTime(routesFile, FileTime.from(Instant.now().plusSeconds(5)));
+        routeConfig.reloadIfChanged();
+
+        assertEquals(RouteConfig.Service.ORDERS, routeConfig.resolve("/api/v1/products/search").service());
+        assertEquals(List.of("http://localhost:8083"), routeConfig.resolve("/api/v1/products/1").instanceUrls());
+    }
+
+    @Test
+    void instances_shouldComeFromStaticConfigAndBeOverriddenByFile() throws IOException {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("gateway.routes.service.PRODUCT.instances", "http://p1:8083, http://p2:8083/");
+        Path routesFile = tempDir.resolve("routes.properties");
+        Files.writeString(routesFile, "service.ORDERS.instances=http://o1:8084,http://o2:8084\n");
+
+        RouteConfig routeConfig = new RouteConfig(routesFile.toString(), environment);
+
+        assertEquals(List.of("http://p1:8083", "http://p2:8083"), routeConfig.resolve("/api/v1/categories").instanceUrls());
+        assertEquals(List.of("http://o1:8084", "http://o2:8084"), routeConfig.resolve("/api/v1/orders").instanceUrls());
+    }
+
+    @Test
+    void reloadIfChanged_shouldKeepCurrentTableWhenFileIsInvalid() throws IOException {
+        Path routesFile = tempDir.resolve("routes.properties");
+        Files.writeString(routesFile, "route./api/v1/menu=PRODUCT\n");
+
+        RouteConfig routeConfig = new RouteConfig(routesFile.toString(), new MockEnvironment());
+
+        Files.writeString(routesFile, "route./api/v1/menu=UNKNOWN\n");
+        Files.setLastModifiedTime(routesFile, FileTime.from(Instant.now().plusSeconds(5)));
+        routeConfig.reloadIfChanged();
+
+        assertEquals(RouteConfig.Service.PRODUCT, routeConfig.resolve("/api/v1/menu").service());
+    }
+}
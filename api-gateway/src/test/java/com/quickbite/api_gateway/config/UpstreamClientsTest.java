@@ -0,0 +1,128 @@
+package com.quickbite.api_gateway.config;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UpstreamClientsTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static DisposableServer backend;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UpstreamClients upstreamClients;
+
+    @BeforeAll
+    static void startBackend() {
+        backend = HttpServer.create()
+            .port(0)
+            .route(routes -> routes
+                .get("/slow", (request, response) -> response.sendString(Mono.delay(Duration.ofMillis(300)).thenReturn("ok")))
+                .get("/actuator/health", (request, response) -> response.sendString(Mono.just("{\"status\":\"UP\"}"))))
+            .bindNow();
+    }
+
+    @AfterAll
+    static void stopBackend() {
+        backend.disposeNow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (upstreamClients != null) {
+            upstreamClients.destroy();
+        }
+        Metrics.globalRegistry.remove(meterRegistry);
+    }
+
+    @Test
+    void properties_shouldPreferServiceOverride() {
+        MockEnvironment environment = environment()
+            .withProperty("gateway.upstream.max-connections", "50")
+            .withProperty("gateway.upstream.service.ORDERS.max-connections", "20")
+            .withProperty("gateway.upstream.service.ORDERS.protocols", "http11,h2c")
+            .withProperty("gateway.upstream.service.ORDERS.max-idle-time", "10s");
+
+        UpstreamPoolProperties orders = UpstreamPoolProperties.of(environment, RouteConfig.Service.ORDERS);
+        UpstreamPoolProperties product = UpstreamPoolProperties.of(environment, RouteConfig.Service.PRODUCT);
+
+        assertEquals(20, orders.maxConnections());
+        assertEquals(Duration.ofSeconds(10), orders.maxIdleTime());
+        assertArrayEquals(new HttpProtocol[] {HttpProtocol.HTTP11, HttpProtocol.H2C}, orders.protocols());
+        assertEquals(50, product.maxConnections());
+        assertEquals(Duration.ofSeconds(30), product.maxIdleTime());
+    }
+
+    @Test
+    void get_shouldRejectBeyondPendingAcquireLimit() {
+        upstreamClients = clients(environment()
+            .withProperty("gateway.upstream.service.PRODUCT.max-connections", "1")
+            .withProperty("gateway.upstream.service.PRODUCT.pending-acquire-max-count", "1"));
+        WebClient product = upstreamClients.get(RouteConfig.Service.PRODUCT);
+
+        List<String> results = Flux.range(0, 3)
+            .flatMap(i -> product.get()
+                .uri("http://localhost:" + backend.port() + "/slow")
+                .retrieve()
+                .bodyToMono(String.class)
+                .onErrorReturn("rejected"))
+            .collectList()
+            .block(TIMEOUT);
+
+        assertEquals(2, results.stream().filter("ok"::equals).count());
+        assertEquals(1, results.stream().filter("rejected"::equals).count());
+    }
+
+    @Test
+    void warmUp_shouldOpenConnectionsToEveryInstance() {
+        Metrics.globalRegistry.add(meterRegistry);
+        MockEnvironment environment = environment()
+            .withProperty("gateway.upstream.warmup-connections", "3")
+            .withProperty("gateway.routes.service.PRODUCT.instances", "http://localhost:" + backend.port());
+        for (RouteConfig.Service service : RouteConfig.Service.values()) {
+            if (service != RouteConfig.Service.PRODUCT) {
+                environment.setProperty("gateway.upstream.service." + service.name() + ".warmup-connections", "0");
+            }
+        }
+        upstreamClients = clients(environment);
+
+        UpstreamWarmup warmup = new UpstreamWarmup(
+            new RouteConfig("", environment), upstreamClients, true, "/actuator/health", Duration.ofSeconds(5));
+
+        assertEquals(3, warmup.warmUp().block(TIMEOUT));
+        assertEquals(3.0, meterRegistry.get("reactor.netty.connection.provider.total.connections")
+            .tag("name", "upstream-product")
+            .gauge()
+            .value());
+    }
+
+    private static UpstreamClients clients(MockEnvironment environment) {
+        WebClientConfig config = new WebClientConfig();
+        return config.upstreamClients(config.webClientBuilder(), environment);
+    }
+
+    private static MockEnvironment environment() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setConversionService((ConfigurableConversionService) ApplicationConversionService.getSharedInstance());
+        return environment;
+    }
+}
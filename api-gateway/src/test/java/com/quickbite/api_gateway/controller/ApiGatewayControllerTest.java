@@ -0,0 +1,83 @@
+package com.quickbite.api_gateway.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "security.jwt.secret=test-secret-key-for-jwt-signing-0123456789")
+class ApiGatewayControllerTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToApplicationContext(context).build();
+    }
+
+    @Test
+    void routeAllRequests_shouldFailFastForServicesWithoutBackend() {
+        webTestClient.get()
+            .uri("/api/v1/payment/123")
+            .exchange()
+            .expectStatus().isEqualTo(503)
+            .expectBody()
+            .jsonPath("$.status").isEqualTo(503)
+            .jsonPath("$.details.service").isEqualTo("PAYMENT");
+    }
+
+    @Test
+    void routeAllRequests_shouldTimeRejectedTokens() {
+        long before = totalLatencyCount("PAYMENT");
+
+        webTestClient.get()
+            .uri("/api/v1/payment/7")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token")
+            .exchange()
+            .expectStatus().isUnauthorized();
+
+        assertEquals(before + 1, totalLatencyCount("PAYMENT"));
+    }
+
+    @Test
+    void routeAllRequests_shouldChargeRejectedTokensToTheAddressBucket() {
+        double before = allowedRequests("PAYMENT");
+
+        webTestClient.get()
+            .uri("/api/v1/payment/8")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token")
+            .exchange()
+            .expectStatus().isUnauthorized();
+
+        assertEquals(before + 1, allowedRequests("PAYMENT"));
+    }
+
+    private double allowedRequests(String service) {
+        return meterRegistry.get("gateway.rate-limit.requests")
+            .tag("service", service)
+            .tag("result", "allowed")
+            .counter()
+            .count();
+    }
+
+    private long totalLatencyCount(String service) {
+        return meterRegistry.get("gateway.request.latency")
+            .tag("service", service)
+            .tag("method", "GET")
+            .tag("phase", "total")
+            .timer()
+            .count();
+    }
+}
@@ -0,0 +1,117 @@
+package com.quickbite.api_gateway.deadline;
+
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.config.WebClientConfig;
+import com.quickbite.api_gateway.exception.GatewayTimeoutException;
+import com.quickbite.core.deadline.RequestDeadline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadlinePolicyTest {
+
+    private static final ResolvedRoute ROUTE = new ResolvedRoute("/api/v1/orders", RouteConfig.Service.ORDERS, List.of());
+
+    private static DisposableServer backend;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WebClient webClient = new WebClientConfig().webClientBuilder().build();
+
+    @BeforeAll
+    static void startBackend() {
+        backend = HttpServer.create()
+            .port(0)
+            .route(routes -> routes
+                .get("/echo", (request, response) -> response.sendString(Mono.just(
+                    String.valueOf(request.requestHeaders().get(RequestDeadline.HEADER)))))
+                .get("/slow", (request, response) -> response.sendString(Mono.delay(Duration.ofSeconds(2)).thenReturn("late"))))
+            .bindNow();
+    }
+
+    @AfterAll
+    static void stopBackend() {
+        backend.disposeNow();
+    }
+
+    @Test
+    void bound_shouldForwardRemainingBudget() {
+        DeadlinePolicy policy = new DeadlinePolicy(meterRegistry, environment()
+            .withProperty("gateway.deadline.timeout", "5s")
+            .withProperty("gateway.deadline.service.ORDERS.timeout", "800ms"));
+
+        long forwarded = Long.parseLong(policy.bound(ROUTE, request(null), call("/echo")).block());
+
+        assertTrue(forwarded > 0 && forwarded <= 800, "forwarded " + forwarded);
+    }
+
+    @Test
+    void bound_shouldOnlyLetClientShortenBudget() {
+        DeadlinePolicy policy = new DeadlinePolicy(meterRegistry, environment()
+            .withProperty("gateway.deadline.timeout", "800ms"));
+
+        long shortened = Long.parseLong(policy.bound(ROUTE, request("300"), call("/echo")).block());
+        long capped = Long.parseLong(policy.bound(ROUTE, request("60000"), call("/echo")).block());
+
+        assertTrue(shortened <= 300, "shortened " + shortened);
+        assertTrue(capped <= 800, "capped " + capped);
+    }
+
+    @Test
+    void bound_shouldFailWithGatewayTimeoutOnceDeadlinePasses() {
+        DeadlinePolicy policy = new DeadlinePolicy(meterRegistry, environment()
+            .withProperty("gateway.deadline.timeout", "100ms"));
+
+        assertThrows(GatewayTimeoutException.class, () -> policy.bound(ROUTE, request(null), call("/slow")).block());
+        assertEquals(1.0, meterRegistry.get("gateway.deadline.exceeded").tag("service", "ORDERS").counter().count());
+    }
+
+    @Test
+    void webClient_shouldDropClientHeaderWithoutDeadline() {
+        String forwarded = webClient.get()
+            .uri("http://localhost:" + backend.port() + "/echo")
+            .header(RequestDeadline.HEADER, "60000")
+            .retrieve()
+            .bodyToMono(String.class)
+            .block();
+
+        assertEquals("null", forwarded);
+    }
+
+    private Mono<String> call(String path) {
+        return webClient.get()
+            .uri("http://localhost:" + backend.port() + path)
+            .retrieve()
+            .bodyToMono(String.class);
+    }
+
+    private static MockServerHttpRequest request(String deadlineHeader) {
+        MockServerHttpRequest.BaseBuilder<?> builder = MockServerHttpRequest.get("/api/v1/orders");
+        if (deadlineHeader != null) {
+            builder.header(RequestDeadline.HEADER, deadlineHeader);
+        }
+        return builder.build();
+    }
+
+    private static MockEnvironment environment() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setConversionService((ConfigurableConversionService) ApplicationConversionService.getSharedInstance());
+        return environment;
+    }
+}
@@ -0,0 +1,134 @@
+package com.quickbite.api_gateway.hedging;
+
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.config.RoutePolicy;
+import com.quickbite.api_gateway.loadbalancer.LoadBalancerService;
+import com.quickbite.api_gateway.loadbalancer.UpstreamInstance;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgingServiceTest {
+
+    private static final String FIRST = "http://product-1:8083";
+    private static final String SECOND = "http://product-2:8083";
+    private static final ResolvedRoute ROUTE = new ResolvedRoute(
+        "/api/v1/products",
+        RouteConfig.Service.PRODUCT,
+        List.of(FIRST, SECOND),
+        new RoutePolicy(true, true, true, true)
+    );
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_shouldHedgeToAnotherInstanceAfterP95() {
+        HedgingService hedgingService = hedgingService("100", "10");
+        warmUp(hedgingService);
+
+        AtomicInteger attempts = new AtomicInteger();
+        String winner = hedgingService.execute(ROUTE, instance -> attempts.getAndIncrement() == 0
+            ? Mono.<String>never()
+            : Mono.just(instance.getBaseUrl()), status -> HttpStatus.OK)
+            .block(Duration.ofSeconds(5));
+
+        assertEquals(2, attempts.get());
+        assertTrue(List.of(FIRST, SECOND).contains(winner));
+        assertEquals(1.0, count("fired"));
+        assertEquals(1.0, count("won"));
+    }
+
+    @Test
+    void execute_shouldNotHedgeWithoutBudget() {
+        HedgingService hedgingService = hedgingService("100", "0");
+        warmUp(hedgingService);
+
+        AtomicInteger attempts = new AtomicInteger();
+
+        Integer result = hedgingService.execute(ROUTE, instance -> attempts.getAndIncrement() == 0
+            ? Mono.delay(Duration.ofMillis(200)).thenReturn(1)
+            : Mono.just(2), status -> HttpStatus.OK)
+            .block(Duration.ofSeconds(5));
+
+        assertEquals(1, result);
+        assertEquals(1, attempts.get());
+        assertEquals(1.0, count("denied"));
+        assertEquals(0.0, count("fired"));
+    }
+
+    @Test
+    void execute_shouldRetryFailedFirstAttemptOnAnotherInstance() {
+        HedgingService hedgingService = hedgingService("100", "10");
+
+        AtomicInteger attempts = new AtomicInteger();
+        String[] tried = new String[2];
+        String result = hedgingService.execute(ROUTE, (UpstreamInstance instance) -> {
+            int attempt = attempts.getAndIncrement();
+            tried[attempt] = instance.getBaseUrl();
+            return attempt == 0
+                ? Mono.<String>error(new IllegalStateException("connection refused"))
+                : Mono.just("ok");
+        }, status -> HttpStatus.OK).block(Duration.ofSeconds(5));
+
+        assertEquals("ok", result);
+        assertNotEquals(tried[0], tried[1]);
+        assertEquals(1.0, count("fired"));
+    }
+
+    @Test
+    void latencyTracker_shouldReportP95OnceWarm() {
+        LatencyTracker tracker = new LatencyTracker(20, 10);
+
+        for (int i = 1; i <= 9; i++) {
+            tracker.record(i);
+        }
+        assertEquals(-1, tracker.p95Nanos());
+
+        for (int i = 10; i <= 20; i++) {
+            tracker.record(i);
+        }
+        assertEquals(19, tracker.p95Nanos());
+
+        for (int i = 0; i < 20; i++) {
+            tracker.record(100);
+        }
+        assertEquals(100, tracker.p95Nanos());
+    }
+
+    private HedgingService hedgingService(String budgetPercent, String budgetMaxTokens) {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("gateway.hedging.window", "16")
+            .withProperty("gateway.hedging.min-samples", "1")
+            .withProperty("gateway.hedging.budget-percent", budgetPercent)
+            .withProperty("gateway.hedging.budget-max-tokens", budgetMaxTokens);
+        LoadBalancerService loadBalancerService = new LoadBalancerService(3, Duration.ofSeconds(30), Duration.ZERO);
+        return new HedgingService(loadBalancerService, meterRegistry, environment);
+    }
+
+    private static void warmUp(HedgingService hedgingService) {
+        Function<UpstreamInstance, Mono<String>> fast = instance -> Mono.just(instance.getBaseUrl());
+        for (int i = 0; i < 16; i++) {
+            hedgingService.execute(ROUTE, fast, status -> HttpStatus.OK).block();
+        }
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("gateway.hedging.requests")
+            .tag("route", ROUTE.pathPrefix())
+            .tag("result", result)
+            .counter()
+            .count();
+    }
+}
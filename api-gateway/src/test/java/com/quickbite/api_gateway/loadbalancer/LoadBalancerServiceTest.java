@@ -0,0 +1,138 @@
+package com.quickbite.api_gateway.loadbalancer;
+
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.config.RouteConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadBalancerServiceTest {
+
+    private static final String FIRST = "http://product-1:8083";
+    private static final String SECOND = "http://product-2:8083";
+    private static final List<String> INSTANCES = List.of(FIRST, SECOND);
+    private static final ResolvedRoute ROUTE =
+        new ResolvedRoute("/api/v1/products", RouteConfig.Service.PRODUCT, INSTANCES);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private LoadBalancerService loadBalancerService;
+
+    @BeforeEach
+    void setUp() {
+        LoadBalancerProperties properties =
+            new LoadBalancerProperties(3, Duration.ofSeconds(30), Duration.ofSeconds(10));
+        loadBalancerService = new LoadBalancerService(properties, clock::get);
+    }
+
+    @Test
+    void execute_shouldPreferInstanceWithFewerOutstandingRequests() {
+        UpstreamPool pool = loadBalancerService.getPool(RouteConfig.Service.PRODUCT);
+        pool.sync(INSTANCES, clock.get());
+        UpstreamInstance busy = instance(pool, FIRST);
+        busy.acquire();
+        busy.acquire();
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(SECOND, call(HttpStatus.OK));
+        }
+        assertEquals(2, busy.getOutstanding());
+    }
+
+    @Test
+    void execute_shouldEjectInstanceAfterConsecutiveFailures() {
+        UpstreamPool pool = loadBalancerService.getPool(RouteConfig.Service.PRODUCT);
+        pool.sync(INSTANCES, clock.get());
+        UpstreamInstance failing = instance(pool, FIRST);
+
+        for (int i = 0; i < 3; i++) {
+            failing.onFailure(clock.get(), 3, Duration.ofSeconds(30).toNanos());
+        }
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(SECOND, call(HttpStatus.OK));
+        }
+
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertFalse(failing.isEjected(clock.get()));
+        assertTrue(failing.weight(clock.get(), Duration.ofSeconds(10).toNanos()) < 0.2);
+    }
+
+    @Test
+    void execute_shouldCountGatewayErrorsAndConnectionFailures() {
+        ResolvedRoute single = new ResolvedRoute("/api/v1/orders", RouteConfig.Service.ORDERS, List.of(FIRST));
+
+        call(single, HttpStatus.SERVICE_UNAVAILABLE);
+        call(single, HttpStatus.BAD_GATEWAY);
+        assertThrows(IllegalStateException.class, () -> loadBalancerService
+            .execute(single, instance -> Mono.<HttpStatus>error(new IllegalStateException("connection refused")), status -> status)
+            .block());
+
+        UpstreamInstance instance = loadBalancerService.getPool(RouteConfig.Service.ORDERS).getInstances()[0];
+        assertTrue(instance.isEjected(clock.get()));
+        assertEquals(0, instance.getOutstanding());
+    }
+
+    @Test
+    void choose_shouldFallBackToLeastLoadedWhenAllInstancesAreEjected() {
+        UpstreamPool pool = loadBalancerService.getPool(RouteConfig.Service.PRODUCT);
+        pool.sync(INSTANCES, clock.get());
+
+        for (UpstreamInstance instance : pool.getInstances()) {
+            instance.onFailure(clock.get(), 1, Duration.ofSeconds(30).toNanos());
+        }
+        instance(pool, FIRST).acquire();
+
+        assertSame(instance(pool, SECOND), pool.choose(clock.get()));
+    }
+
+    @Test
+    void sync_shouldKeepStateOfInstancesThatRemain() {
+        UpstreamPool pool = loadBalancerService.getPool(RouteConfig.Service.PRODUCT);
+        pool.sync(INSTANCES, clock.get());
+        UpstreamInstance kept = instance(pool, SECOND);
+        kept.acquire();
+
+        pool.sync(new ArrayList<>(List.of(SECOND, "http://product-3:8083")), clock.get());
+
+        assertSame(kept, instance(pool, SECOND));
+        assertEquals(1, kept.getOutstanding());
+        assertTrue(instance(pool, "http://product-3:8083").weight(clock.get(), Duration.ofSeconds(10).toNanos()) < 1.0);
+    }
+
+    private String call(HttpStatus status) {
+        return call(ROUTE, status);
+    }
+
+    private String call(ResolvedRoute route, HttpStatus status) {
+        List<String> chosen = new ArrayList<>();
+
+        loadBalancerService.execute(route, instance -> {
+            chosen.add(instance.getBaseUrl());
+            return Mono.just(status);
+        }, response -> response).block();
+
+        return chosen.getFirst();
+    }
+
+    private static UpstreamInstance instance(UpstreamPool pool, String baseUrl) {
+        for (UpstreamInstance instance : pool.getInstances()) {
+            if (instance.getBaseUrl().equals(baseUrl)) {
+                return instance;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,147 @@
+package com.quickbite.api_gateway.mirror;
+
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.config.UpstreamClients;
+import com.quickbite.api_gateway.service.ProxyService;
+import com.quickbite.api_gateway.timing.RequestTiming;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrafficMirrorTest {
+
+    private static final ResolvedRoute ROUTE = new ResolvedRoute("/api/v1/products", RouteConfig.Service.PRODUCT, List.of());
+    private static final List<String> SHADOW_REQUESTS = new CopyOnWriteArrayList<>();
+
+    private static DisposableServer shadow;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProxyService proxyService = new ProxyService(UpstreamClients.of(WebClient.create()), DataSize.ofMegabytes(1));
+    private TrafficMirror trafficMirror;
+
+    @BeforeAll
+    static void startShadow() {
+        shadow = HttpServer.create()
+            .port(0)
+            .route(routes -> routes
+                .get("/api/v1/products/1", (request, response) -> {
+                    SHADOW_REQUESTS.add(request.uri());
+                    return response.sendString(Mono.delay(Duration.ofMillis(20)).thenReturn("{}"));
+                })
+                .get("/api/v1/products/2", (request, response) -> {
+                    SHADOW_REQUESTS.add(request.uri());
+                    return response.status(500).send();
+                }))
+            .bindNow();
+    }
+
+    @AfterAll
+    static void stopShadow() {
+        shadow.disposeNow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SHADOW_REQUESTS.clear();
+        if (trafficMirror != null) {
+            trafficMirror.destroy();
+        }
+    }
+
+    @Test
+    void start_shouldCompareStatusAndLatencyOfBothSides() {
+        trafficMirror = mirror(environment().withProperty("gateway.mirror.percentage", "100"), 0.5);
+
+        TrafficMirror.Mirror matching = trafficMirror.start(ROUTE, get("/api/v1/products/1?lang=pt"));
+        matching.primaryCompleted(HttpStatus.OK, timing(5));
+
+        TrafficMirror.Mirror mismatching = trafficMirror.start(ROUTE, get("/api/v1/products/2"));
+        mismatching.primaryCompleted(HttpStatus.OK, timing(5));
+
+        awaitResults(2);
+        TrafficMirror.Target target = trafficMirror.getTargets().get(RouteConfig.Service.PRODUCT);
+
+        assertEquals(Set.of("/api/v1/products/1?lang=pt", "/api/v1/products/2"), Set.copyOf(SHADOW_REQUESTS));
+        assertEquals(1.0, target.getCount(TrafficMirror.Result.MATCH));
+        assertEquals(1.0, target.getCount(TrafficMirror.Result.STATUS_MISMATCH));
+        assertEquals(List.of(new TrafficMirror.Mismatch("/api/v1/products/2", 200, 500)), target.getRecentMismatches());
+        assertEquals(2, target.getShadowLatency().count());
+        assertEquals(2, target.getPrimaryLatency().count());
+        assertTrue(target.getShadowLatency().max(TimeUnit.MILLISECONDS) >= 20);
+    }
+
+    @Test
+    void start_shouldOnlyMirrorSampledGets() {
+        trafficMirror = mirror(environment().withProperty("gateway.mirror.service.PRODUCT.percentage", "10"), 0.5);
+
+        assertSame(TrafficMirror.Mirror.NONE, trafficMirror.start(ROUTE, get("/api/v1/products/1")));
+        assertSame(TrafficMirror.Mirror.NONE, trafficMirror.start(ROUTE,
+            MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/products").build())));
+        assertSame(TrafficMirror.Mirror.NONE, trafficMirror.start(
+            new ResolvedRoute("/api/v1/orders", RouteConfig.Service.ORDERS, List.of()),
+            get("/api/v1/orders")));
+        assertTrue(SHADOW_REQUESTS.isEmpty());
+    }
+
+    @Test
+    void start_shouldDropBeyondMaxInFlight() {
+        trafficMirror = mirror(environment()
+            .withProperty("gateway.mirror.percentage", "100")
+            .withProperty("gateway.mirror.max-in-flight", "0"), 0.5);
+
+        assertSame(TrafficMirror.Mirror.NONE, trafficMirror.start(ROUTE, get("/api/v1/products/1")));
+        assertEquals(1.0, trafficMirror.getTargets().get(RouteConfig.Service.PRODUCT).getCount(TrafficMirror.Result.DROPPED));
+    }
+
+    private TrafficMirror mirror(MockEnvironment environment, double random) {
+        return new TrafficMirror(proxyService, meterRegistry, environment, () -> random, System::nanoTime);
+    }
+
+    private void awaitResults(int expected) {
+        TrafficMirror.Target target = trafficMirror.getTargets().get(RouteConfig.Service.PRODUCT);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        // latencies are recorded last, after the result count and mismatches
+        while (target.getShadowLatency().count() < expected && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static RequestTiming timing(long upstreamMillis) {
+        long now = System.nanoTime();
+        RequestTiming timing = new RequestTiming(now - TimeUnit.MILLISECONDS.toNanos(upstreamMillis + 1));
+        timing.markDispatched(now - TimeUnit.MILLISECONDS.toNanos(upstreamMillis));
+        return timing;
+    }
+
+    private static MockServerWebExchange get(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri).build());
+    }
+
+    private static MockEnvironment environment() {
+        return new MockEnvironment()
+            .withProperty("gateway.mirror.service.PRODUCT.url", "http://localhost:" + shadow.port());
+    }
+}
@@ -0,0 +1,149 @@
+package com.quickbite.api_gateway.ratelimit;
+
+import com.quickbite.api_gateway.config.ResolvedRoute;
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.exception.RateLimitExceededException;
+import com.quickbite.api_gateway.security.EdgeAuthenticator;
+import com.quickbite.core.security.EdgeIdentity;
+import com.quickbite.core.security.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RateLimiterTest {
+
+    private static final ResolvedRoute AUTH_ROUTE =
+        new ResolvedRoute("/", RouteConfig.Service.AUTH, List.of("http://auth"));
+    private static final ResolvedRoute PRODUCT_ROUTE =
+        new ResolvedRoute("/api/v1/products", RouteConfig.Service.PRODUCT, List.of("http://product"));
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(1_000));
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("gateway.rate-limit.default", "5/1s")
+            .withProperty("gateway.rate-limit.service.ORDERS", "none")
+            .withProperty("gateway.rate-limit.paths", "/api/auth/login=2/1m");
+
+        rateLimiter = new RateLimiter(meterRegistry, environment, now::get);
+    }
+
+    @Test
+    void check_shouldRejectWithRetryAfterOnceBurstIsSpent() {
+        for (int i = 0; i < 2; i++) {
+            rateLimiter.check(AUTH_ROUTE, anonymous("/api/auth/login", "10.0.0.1"));
+        }
+
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+            () -> rateLimiter.check(AUTH_ROUTE, anonymous("/api/auth/login", "10.0.0.1")));
+
+        assertEquals(Duration.ofSeconds(30), exception.getRetryAfter());
+        assertDoesNotThrow(() -> rateLimiter.check(AUTH_ROUTE, anonymous("/api/auth/login", "10.0.0.2")));
+        assertDoesNotThrow(() -> rateLimiter.check(AUTH_ROUTE, anonymous("/api/auth/refresh-token", "10.0.0.1")));
+        assertEquals(1.0, meterRegistry.get("gateway.rate-limit.requests")
+            .tag("service", "AUTH").tag("result", "rejected").counter().count());
+    }
+
+    @Test
+    void check_shouldRefillOverTime() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.check(PRODUCT_ROUTE, anonymous("/api/v1/products", "10.0.0.1"));
+        }
+        assertThrows(RateLimitExceededException.class,
+            () -> rateLimiter.check(PRODUCT_ROUTE, anonymous("/api/v1/products", "10.0.0.1")));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+
+        assertDoesNotThrow(() -> rateLimiter.check(PRODUCT_ROUTE, anonymous("/api/v1/products", "10.0.0.1")));
+    }
+
+    @Test
+    void check_shouldKeyVerifiedUsersByIdInsteadOfAddress() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.check(PRODUCT_ROUTE, authenticated(42L, "10.0.0." + i));
+        }
+
+        assertThrows(RateLimitExceededException.class,
+            () -> rateLimiter.check(PRODUCT_ROUTE, authenticated(42L, "10.0.0.99")));
+        assertDoesNotThrow(() -> rateLimiter.check(PRODUCT_ROUTE, anonymous("/api/v1/products", "10.0.0.99")));
+    }
+
+    @Test
+    void check_shouldKeyForwardedClientsByTrustedProxyEntry() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("gateway.rate-limit.default", "2/1m")
+            .withProperty("gateway.rate-limit.trust-forwarded-for", "true")
+            .withProperty("gateway.rate-limit.trusted-hops", "2");
+        RateLimiter forwardedLimiter = new RateLimiter(new SimpleMeterRegistry(), environment, now::get);
+
+        for (int i = 0; i < 2; i++) {
+            forwardedLimiter.check(PRODUCT_ROUTE, forwarded("spoofed-" + i + ", 203.0.113.7, 10.0.0.2"));
+        }
+
+        assertThrows(RateLimitExceededException.class,
+            () -> forwardedLimiter.check(PRODUCT_ROUTE, forwarded("198.51.100.1, 203.0.113.7, 10.0.0.2")));
+        assertDoesNotThrow(() -> forwardedLimiter.check(PRODUCT_ROUTE, forwarded("203.0.113.8, 10.0.0.2")));
+    }
+
+    @Test
+    void check_shouldSkipUnlimitedServices() {
+        ResolvedRoute ordersRoute = new ResolvedRoute("/api/v1/orders", RouteConfig.Service.ORDERS, List.of("http://orders"));
+
+        for (int i = 0; i < 20; i++) {
+            rateLimiter.check(ordersRoute, anonymous("/api/v1/orders", "10.0.0.1"));
+        }
+
+        assertEquals(0, rateLimiter.bucketCount());
+    }
+
+    @Test
+    void evictIdleBuckets_shouldDropRefilledBuckets() {
+        rateLimiter.check(PRODUCT_ROUTE, anonymous("/api/v1/products", "10.0.0.1"));
+        rateLimiter.check(AUTH_ROUTE, anonymous("/api/auth/login", "10.0.0.1"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        rateLimiter.evictIdleBuckets();
+
+        assertEquals(1, rateLimiter.bucketCount());
+    }
+
+    private static MockServerWebExchange anonymous(String path, String address) {
+        return MockServerWebExchange.from(
+            MockServerHttpRequest.get(path).remoteAddress(new InetSocketAddress(address, 40000))
+        );
+    }
+
+    private static MockServerWebExchange forwarded(String forwardedFor) {
+        return MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/v1/products")
+                .header("X-Forwarded-For", forwardedFor)
+                .remoteAddress(new InetSocketAddress("10.0.0.3", 40000))
+        );
+    }
+
+    private static MockServerWebExchange authenticated(Long userId, String address) {
+        MockServerWebExchange exchange = anonymous("/api/v1/products", address);
+        exchange.getAttributes().put(EdgeAuthenticator.IDENTITY_ATTRIBUTE,
+            new EdgeIdentity(userId, "user@quickbite.com", UserRole.CUSTOMER, Set.of(), Long.MAX_VALUE, null));
+        return exchange;
+    }
+}
@@ -0,0 +1,78 @@
+package com.quickbite.api_gateway.resilience;
+
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.exception.ServiceUnavailableException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResilienceServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_shouldFailFastForServicesWithoutBackend() {
+        ResilienceService resilienceService = new ResilienceService(meterRegistry, new MockEnvironment());
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class, () -> resilienceService
+            .execute(RouteConfig.Service.PAYMENT, Mono.just(HttpStatus.OK), Function.identity())
+            .block());
+
+        assertEquals(RouteConfig.Service.PAYMENT, ex.getService());
+        assertEquals(1.0, resilienceService.getRejections(RouteConfig.Service.PAYMENT, ResilienceService.Rejection.UNAVAILABLE));
+    }
+
+    @Test
+    void execute_shouldOpenCircuitAfterGatewayErrors() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("gateway.resilience.circuit-breaker.sliding-window-size", "4")
+            .withProperty("gateway.resilience.circuit-breaker.minimum-calls", "4");
+        ResilienceService resilienceService = new ResilienceService(meterRegistry, environment);
+
+        for (int i = 0; i < 4; i++) {
+            resilienceService.execute(RouteConfig.Service.ORDERS, Mono.just(HttpStatus.SERVICE_UNAVAILABLE), Function.identity())
+                .block();
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, resilienceService.getCircuitBreaker(RouteConfig.Service.ORDERS).getState());
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class, () -> resilienceService
+            .execute(RouteConfig.Service.ORDERS, Mono.just(HttpStatus.OK), Function.identity())
+            .block());
+
+        assertEquals(Duration.ofSeconds(10), ex.getRetryAfter());
+        assertEquals(CircuitBreaker.State.CLOSED, resilienceService.getCircuitBreaker(RouteConfig.Service.PRODUCT).getState());
+    }
+
+    @Test
+    void execute_shouldRejectWhenBulkheadIsFull() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("gateway.resilience.bulkhead.ORDERS.max-concurrent-calls", "1");
+        ResilienceService resilienceService = new ResilienceService(meterRegistry, environment);
+        Sinks.One<HttpStatusCode> slowCall = Sinks.one();
+
+        resilienceService.execute(RouteConfig.Service.ORDERS, slowCall.asMono(), Function.identity()).subscribe();
+
+        assertThrows(ServiceUnavailableException.class, () -> resilienceService
+            .execute(RouteConfig.Service.ORDERS, Mono.just(HttpStatus.OK), Function.identity())
+            .block());
+        assertEquals(1.0, resilienceService.getRejections(RouteConfig.Service.ORDERS, ResilienceService.Rejection.BULKHEAD_FULL));
+
+        slowCall.tryEmitValue(HttpStatus.OK);
+
+        assertEquals(HttpStatus.OK, resilienceService
+            .execute(RouteConfig.Service.ORDERS, Mono.just(HttpStatus.OK), Function.identity())
+            .block());
+    }
+}
@@ -0,0 +1,129 @@
+package com.quickbite.api_gateway.security;
+
+import com.quickbite.core.exception.InvalidTokenException;
+import com.quickbite.core.security.EdgeIdentity;
+import com.quickbite.core.security.EdgeIdentityCodec;
+import com.quickbite.core.security.UserRole;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EdgeAuthenticatorTest {
+
+    private static final String JWT_SECRET = "gateway-test-secret-0123456789012345";
+    private static final String IDENTITY_SECRET = "internal-channel-secret";
+    private static final String ISSUER = "auth-service";
+    private static final long START = 1_700_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong(START);
+
+    private SimpleMeterRegistry meterRegistry;
+    private EdgeAuthenticator authenticator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        authenticator = new EdgeAuthenticator(meterRegistry, JWT_SECRET, ISSUER, IDENTITY_SECRET, 100, now::get);
+    }
+
+    @Test
+    void authenticate_shouldForwardSignedIdentityForValidToken() {
+        String token = token(JWT_SECRET, ISSUER, START + 60_000);
+
+        ServerWebExchange exchange = authenticator.authenticate(exchangeWith(token));
+
+        String header = exchange.getRequest().getHeaders().getFirst(EdgeIdentityCodec.HEADER);
+        Optional<EdgeIdentity> identity = new EdgeIdentityCodec(IDENTITY_SECRET).decode(header, START / 1000);
+
+        assertEquals(42L, identity.orElseThrow().userId());
+        assertEquals("ana@quickbite.com", identity.get().email());
+        assertEquals(UserRole.CUSTOMER, identity.get().role());
+    }
+
+    @Test
+    void verify_shouldCacheRepeatedToken() {
+        String token = token(JWT_SECRET, ISSUER, START + 60_000);
+
+        authenticator.verify(token);
+        authenticator.verify(token);
+
+        assertEquals(2.0, count("verified"));
+        assertEquals(1.0, meterRegistry.get("gateway.auth.token-cache.entries").gauge().value());
+    }
+
+    @Test
+    void verify_shouldRejectCachedTokenOnceItExpires() {
+        String token = token(JWT_SECRET, ISSUER, START + 60_000);
+        authenticator.verify(token);
+
+        now.set(START + 61_000);
+
+        assertThrows(InvalidTokenException.class, () -> authenticator.verify(token));
+        assertEquals(1.0, count("rejected"));
+    }
+
+    @Test
+    void authenticate_shouldRejectTokenSignedWithAnotherKey() {
+        String token = token("another-secret-0123456789012345678901", ISSUER, START + 60_000);
+
+        assertThrows(InvalidTokenException.class, () -> authenticator.authenticate(exchangeWith(token)));
+    }
+
+    @Test
+    void authenticate_shouldRejectTokenFromAnotherIssuer() {
+        String token = token(JWT_SECRET, "another-issuer", START + 60_000);
+
+        assertThrows(InvalidTokenException.class, () -> authenticator.authenticate(exchangeWith(token)));
+        assertEquals(1.0, count("rejected"));
+    }
+
+    @Test
+    void authenticate_shouldDropClientSuppliedIdentity() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/v1/orders")
+                .header(EdgeIdentityCodec.HEADER, "forged")
+        );
+
+        ServerWebExchange authenticated = authenticator.authenticate(exchange);
+
+        assertNull(authenticated.getRequest().getHeaders().getFirst(EdgeIdentityCodec.HEADER));
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("gateway.auth.tokens").tag("result", result).counter().count();
+    }
+
+    private static MockServerWebExchange exchangeWith(String token) {
+        return MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/v1/orders")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+        );
+    }
+
+    private static String token(String secret, String issuer, long expiresAt) {
+        return Jwts.builder()
+            .issuer(issuer)
+            .subject("ana@quickbite.com")
+            .claim("userId", 42L)
+            .claim("role", UserRole.CUSTOMER.name())
+            .issuedAt(new Date(START))
+            .expiration(new Date(expiresAt))
+            .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+    }
+}
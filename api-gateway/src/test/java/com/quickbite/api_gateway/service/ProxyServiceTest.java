@@ -0,0 +1,127 @@
+package com.quickbite.api_gateway.service;
+
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.config.UpstreamClients;
+import com.quickbite.api_gateway.loadbalancer.UpstreamInstance;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProxyServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static DisposableServer backend;
+    private static UpstreamInstance instance;
+
+    private ProxyService proxyService;
+
+    @BeforeAll
+    static void startBackend() {
+        backend = HttpServer.create()
+            .port(0)
+            .route(routes -> routes
+                .get("/api/v1/products", (request, response) -> response
+                    .status(200)
+                    .header("X-Query", String.valueOf(URI.create(request.uri()).getRawQuery()))
+                    .header("X-Request-Id", String.valueOf(request.requestHeaders().get("X-Request-Id")))
+                    .header("X-If-None-Match", String.valueOf(request.requestHeaders().get("If-None-Match")))
+                    .sendString(Mono.just("[]")))
+                .post("/api/v1/orders", (request, response) -> response
+                    .status(201)
+                    .send(request.receive().retain()))
+                .get("/api/v1/orders/404", (request, response) -> response
+                    .status(404)
+                    .sendString(Mono.just("{\"status\":404}")))
+            )
+            .bindNow();
+
+        instance = new UpstreamInstance(RouteConfig.Service.PRODUCT, "http://localhost:" + backend.port(), 0);
+    }
+
+    @AfterAll
+    static void stopBackend() {
+        backend.disposeNow();
+    }
+
+    @BeforeEach
+    void setUp() {
+        proxyService = new ProxyService(UpstreamClients.of(WebClient.create()), DataSize.ofMegabytes(1));
+    }
+
+    @Test
+    void forward_shouldKeepQueryStringAndHeaders() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/v1/products?page=2&size=10")
+                .header("X-Request-Id", "abc-123")
+        );
+
+        proxyService.forward(exchange, instance).block(TIMEOUT);
+
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("page=2&size=10", exchange.getResponse().getHeaders().getFirst("X-Query"));
+        assertEquals("abc-123", exchange.getResponse().getHeaders().getFirst("X-Request-Id"));
+        assertEquals("[]", exchange.getResponse().getBodyAsString().block(TIMEOUT));
+    }
+
+    @Test
+    void forward_shouldStreamRequestBodyToBackend() {
+        String body = "{\"restaurantId\":1,\"items\":[]}";
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.post("/api/v1/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)
+        );
+
+        proxyService.forward(exchange, instance).block(TIMEOUT);
+
+        assertEquals(HttpStatus.CREATED, exchange.getResponse().getStatusCode());
+        assertEquals(body, exchange.getResponse().getBodyAsString().block(TIMEOUT));
+    }
+
+    @Test
+    void fetch_shouldBufferResponseAndDropClientValidators() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/v1/products?page=1")
+                .header("X-Request-Id", "abc-123")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"client\"")
+        );
+
+        UpstreamResponse response = proxyService.fetch(exchange, instance, null).block(TIMEOUT);
+
+        assertEquals(HttpStatus.OK, response.status());
+        assertEquals("page=1", response.headers().getFirst("X-Query"));
+        assertEquals("null", response.headers().getFirst("X-If-None-Match"));
+        assertEquals("[]", new String(response.body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void forward_shouldPassBackendErrorsThrough() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/v1/orders/404")
+        );
+
+        proxyService.forward(exchange, instance).block(TIMEOUT);
+
+        assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+        assertEquals("{\"status\":404}", exchange.getResponse().getBodyAsString().block(TIMEOUT));
+    }
+}
@@ -0,0 +1,123 @@
+package com.quickbite.api_gateway.timing;
+
+import com.quickbite.api_gateway.config.RouteConfig;
+import com.quickbite.api_gateway.config.UpstreamClients;
+import com.quickbite.api_gateway.config.WebClientConfig;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyRecorderTest {
+
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong(1_000 * MILLI);
+
+    @Test
+    void record_shouldSplitRequestIntoPhases() {
+        LatencyRecorder recorder = new LatencyRecorder(meterRegistry, new MockEnvironment(), clock::get);
+        RequestTiming timing = recorder.start(new MockServerHttpResponse());
+
+        timing.markDispatched(clock.addAndGet(2 * MILLI));
+        timing.markConnected(clock.addAndGet(3 * MILLI));
+        timing.markFirstByte(clock.addAndGet(40 * MILLI));
+        clock.addAndGet(5 * MILLI);
+
+        recorder.record(RouteConfig.Service.PRODUCT, HttpMethod.GET, timing);
+
+        assertEquals(2.0, timer("route").totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(3.0, timer("connect").totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(40.0, timer("ttfb").totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(50.0, timer("total").totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void record_shouldOnlyCountTotalWithoutUpstreamCall() {
+        LatencyRecorder recorder = new LatencyRecorder(meterRegistry, new MockEnvironment(), clock::get);
+        RequestTiming timing = recorder.start(new MockServerHttpResponse());
+        clock.addAndGet(MILLI);
+
+        recorder.record(RouteConfig.Service.PRODUCT, HttpMethod.GET, timing);
+
+        assertEquals(0, timer("route").count());
+        assertEquals(0, timer("connect").count());
+        assertEquals(1, timer("total").count());
+    }
+
+    @Test
+    void start_shouldAddServerTimingHeaderWhenEnabled() {
+        MockServerHttpResponse withHeader = new MockServerHttpResponse();
+        LatencyRecorder recorder = new LatencyRecorder(meterRegistry, new MockEnvironment()
+            .withProperty("gateway.timing.server-timing", "true"), clock::get);
+
+        RequestTiming timing = recorder.start(withHeader);
+        timing.markDispatched(clock.addAndGet(MILLI));
+        timing.markConnected(clock.addAndGet(MILLI / 2));
+        timing.markFirstByte(clock.addAndGet(12 * MILLI));
+        withHeader.setComplete().block();
+
+        assertEquals("route;dur=1.0, connect;dur=0.5, ttfb;dur=12.0, total;dur=13.5",
+            withHeader.getHeaders().getFirst(LatencyRecorder.SERVER_TIMING));
+
+        MockServerHttpResponse withoutHeader = new MockServerHttpResponse();
+        new LatencyRecorder(meterRegistry, new MockEnvironment(), clock::get).start(withoutHeader);
+        withoutHeader.setComplete().block();
+
+        assertNull(withoutHeader.getHeaders().getFirst(LatencyRecorder.SERVER_TIMING));
+    }
+
+    @Test
+    void webClient_shouldMarkTimingOfCallingRequest() {
+        DisposableServer backend = HttpServer.create()
+            .port(0)
+            .route(routes -> routes.get("/api/v1/products", (request, response) -> response
+                .sendString(Mono.delay(Duration.ofMillis(20)).thenReturn("[]"))))
+            .bindNow();
+
+        WebClientConfig config = new WebClientConfig();
+        UpstreamClients upstreamClients = config.upstreamClients(config.webClientBuilder(), new MockEnvironment());
+
+        try {
+            WebClient webClient = upstreamClients.get(RouteConfig.Service.PRODUCT);
+            RequestTiming timing = new RequestTiming(System.nanoTime());
+
+            webClient.get()
+                .uri("http://localhost:" + backend.port() + "/api/v1/products")
+                .retrieve()
+                .bodyToMono(String.class)
+                .contextWrite(context -> RequestTiming.with(context, timing))
+                .block(Duration.ofSeconds(5));
+
+            assertTrue(timing.routeNanos() >= 0);
+            assertTrue(timing.connectNanos() >= 0);
+            assertTrue(timing.firstByteNanos() >= 0);
+        } finally {
+            upstreamClients.destroy();
+            backend.disposeNow();
+        }
+    }
+
+    private Timer timer(String phase) {
+        return meterRegistry.get("gateway.request.latency")
+            .tag("service", "PRODUCT")
+            .tag("method", "GET")
+            .tag("phase", phase)
+            .timer();
+    }
+}
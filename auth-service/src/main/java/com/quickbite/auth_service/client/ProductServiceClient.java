@@ -0,0 +1,50 @@
+package com.quickbite.auth_service.client;
+
+import com.quickbite.core.security.InternalSecret;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+
+@Component
+public class ProductServiceClient {
+
+    private static final String OWNED_RESTAURANTS = "/internal/restaurants/owned?ownerId={ownerId}";
+
+    private final RestClient restClient;
+
+    public ProductServiceClient(
+        @Value("${auth.product-service.url:http://localhost:8083}") String baseUrl,
+        @Value("${auth.product-service.timeout:2s}") Duration timeout,
+        @Value("${security.internal.secret:}") String internalSecret
+    ) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+
+        InternalSecret secret = new InternalSecret(internalSecret);
+
+        this.restClient = RestClient.builder()
+            .baseUrl(baseUrl)
+            .requestFactory(requestFactory)
+            .defaultHeaders(headers -> {
+                if (secret.isEnabled()) {
+                    headers.set(InternalSecret.HEADER, secret.value());
+                }
+            })
+            .build();
+    }
+
+    public List<Long> getOwnedRestaurantIds(Long ownerId) {
+        List<Long> ids = restClient.get()
+            .uri(OWNED_RESTAURANTS, ownerId)
+            .retrieve()
+            .body(new ParameterizedTypeReference<>() {});
+
+        return ids == null ? List.of() : ids;
+    }
+}
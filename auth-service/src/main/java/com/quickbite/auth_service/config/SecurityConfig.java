@@ -1,10 +1,13 @@
 package com.quickbite.auth_service.config;
 
+import com.quickbite.auth_service.security.BoundedPasswordEncoder;
 import com.quickbite.auth_service.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -26,8 +29,8 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry, Environment environment) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry, environment);
     }
 
     @Bean
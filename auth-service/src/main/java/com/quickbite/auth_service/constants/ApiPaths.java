@@ -13,4 +13,7 @@ public final class  ApiPaths {
     public static final String LOGOUT = "/logout";
 
     public static final String USERS =  API + "/users";
+
+    public static final String INTERNAL = "/internal";
+    public static final String REVOKED_TOKENS = "/revoked-tokens";
 }
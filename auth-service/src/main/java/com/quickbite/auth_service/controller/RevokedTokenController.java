@@ -0,0 +1,29 @@
+package com.quickbite.auth_service.controller;
+
+import com.quickbite.auth_service.constants.ApiPaths;
+import com.quickbite.auth_service.service.AccessTokenDenylistService;
+import com.quickbite.core.security.denylist.RevokedTokens;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Revoked access tokens for the other services' denylists. Served outside
+ * {@code /api}, so the gateway never routes it; the list only holds token
+ * ids, which grant nothing on their own.
+ */
+@RestController
+@RequestMapping(ApiPaths.INTERNAL)
+@RequiredArgsConstructor
+public class RevokedTokenController {
+
+    private final AccessTokenDenylistService accessTokenDenylistService;
+
+    @GetMapping(ApiPaths.REVOKED_TOKENS)
+    @PreAuthorize("permitAll()")
+    public RevokedTokens revokedTokens(
+        @RequestParam(defaultValue = "0") long after
+    ) {
+        return accessTokenDenylistService.changesSince(after);
+    }
+}
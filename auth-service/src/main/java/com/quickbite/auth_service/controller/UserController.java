@@ -2,13 +2,13 @@ package com.quickbite.auth_service.controller;
 
 import com.quickbite.auth_service.constants.ApiPaths;
 import com.quickbite.auth_service.dto.UpdateUserRequest;
+import com.quickbite.auth_service.dto.UpdateUserStatusRequest;
+import com.quickbite.auth_service.dto.UserPageResponse;
 import com.quickbite.auth_service.dto.UserResponse;
 import com.quickbite.auth_service.dto.filter.UserFilter;
 import com.quickbite.auth_service.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -34,12 +34,23 @@ public class UserController {
         return service.updateUser(id, request);
     }
 
+    @PatchMapping("/{id}/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserResponse updateUserStatus(
+        @PathVariable Long id,
+        @Valid @RequestBody UpdateUserStatusRequest request
+    ) {
+        return service.updateStatus(id, request.status());
+    }
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public Page<UserResponse> listUsers(
+    public UserPageResponse listUsers(
         UserFilter filter,
-        Pageable pageable
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(defaultValue = "false") boolean includeTotal
     ) {
-        return service.findUsers(filter, pageable);
+        return service.findUsers(filter, cursor, size, includeTotal);
     }
 }
@@ -0,0 +1,9 @@
+package com.quickbite.auth_service.dto;
+
+import com.quickbite.auth_service.entity.User;
+import jakarta.validation.constraints.NotNull;
+
+public record UpdateUserStatusRequest(
+    @NotNull(message = "Status is required")
+    User.UserStatus status
+) {}
@@ -0,0 +1,18 @@
+package com.quickbite.auth_service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class UserPageResponse {
+    private List<UserResponse> content;
+
+    /** Cursor of the next page; null on the last one. */
+    private String nextCursor;
+
+    /** Users matching the filter; only counted when asked for. */
+    private Long totalElements;
+}
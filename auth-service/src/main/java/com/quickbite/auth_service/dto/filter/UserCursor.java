@@ -0,0 +1,43 @@
+package com.quickbite.auth_service.dto.filter;
+
+import com.quickbite.auth_service.entity.User;
+import com.quickbite.core.exception.DataValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the user list, newest first: the {@code (createdAt, id)} of the
+ * last user of a page. Clients get it as an opaque base64url string.
+ */
+public record UserCursor(LocalDateTime createdAt, Long id) {
+
+    public static UserCursor of(User user) {
+        return new UserCursor(user.getCreatedAt(), user.getId());
+    }
+
+    /**
+     * @throws DataValidationException when {@code value} is not a cursor
+     * issued by {@link #encode}
+     */
+    public static UserCursor decode(String value) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+
+            return new UserCursor(
+                LocalDateTime.parse(decoded.substring(0, separator)),
+                Long.valueOf(decoded.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new DataValidationException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String value = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -3,8 +3,18 @@ package com.quickbite.auth_service.dto.filter;
 import com.quickbite.auth_service.entity.User;
 import com.quickbite.core.security.UserRole;
 
+/**
+ * @param email matched against the start of the email unless
+ * {@code emailMatch} is {@link EmailMatch#CONTAINS}
+ */
 public record UserFilter(
     String email,
+    EmailMatch emailMatch,
     UserRole role,
     User.UserStatus status
-) {}
+) {
+
+    public enum EmailMatch {
+        PREFIX, CONTAINS
+    }
+}
@@ -10,7 +10,14 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "refresh_tokens")
+@Table(
+    name = "refresh_tokens",
+    indexes = {
+        @Index(name = "idx_refresh_tokens_user_revoked", columnList = "user_id, revoked"),
+        @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+    }
+)
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder(toBuilder = true)
@@ -26,8 +33,19 @@ public class RefreshToken extends BaseEntity {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(name = "token_value", nullable = false, unique = true, length = 500)
-    private String token;
+    /**
+     * SHA-256 of the token, hex encoded. The token itself is only ever
+     * handed to the client.
+     */
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    /**
+     * Shared by every token rotated from the same login. Replaying a rotated
+     * token revokes the whole family.
+     */
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
 
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
@@ -36,6 +54,15 @@ public class RefreshToken extends BaseEntity {
     @Builder.Default
     private boolean revoked = false;
 
+    /**
+     * Set only when the token was revoked by its own rotation, so presenting
+     * it again is a replay. Tokens revoked by logout, by a suspension or with
+     * their family keep it false.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean rotated = false;
+
     public boolean isExpired() {
         return expiresAt.isBefore(LocalDateTime.now());
     }
@@ -0,0 +1,39 @@
+package com.quickbite.auth_service.entity;
+
+import com.quickbite.core.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * An access token revoked before it expired, identified by its {@code jti}.
+ * The id only grows, and the other services page through the table with it.
+ */
+@Getter
+@Setter
+@Entity
+@Table(
+    name = "revoked_access_tokens",
+    indexes = {
+        @Index(name = "idx_revoked_access_tokens_expires_at", columnList = "expires_at")
+    }
+)
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder(toBuilder = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
+public class RevokedAccessToken extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
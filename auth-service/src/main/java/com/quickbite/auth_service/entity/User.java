@@ -11,11 +11,18 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "users")
+@Table(
+    name = "users",
+    indexes = {
+        @Index(name = "idx_users_email_normalized", columnList = "email_normalized"),
+        @Index(name = "idx_users_created_at_id", columnList = "created_at, id")
+    }
+)
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder(toBuilder = true)
@@ -30,6 +37,14 @@ public class User extends BaseEntity implements UserDetails {
     @Column(unique = true, nullable = false)
     private String email;
 
+    /**
+     * {@link #email} trimmed and lowercased, kept in sync on every write.
+     * Email search runs against it so it can use an index.
+     */
+    @Column(name = "email_normalized")
+    @Setter(AccessLevel.NONE)
+    private String emailNormalized;
+
     @Column(name = "password_hash", nullable = false)
     private String passwordHash;
 
@@ -50,6 +65,16 @@ public class User extends BaseEntity implements UserDetails {
         ACTIVE, INACTIVE, SUSPENDED
     }
 
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void syncEmailNormalized() {
+        emailNormalized = normalizeEmail(email);
+    }
+
     @Override
     public String getPassword() {
         return passwordHash;
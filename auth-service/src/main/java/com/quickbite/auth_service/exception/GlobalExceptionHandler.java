@@ -3,7 +3,9 @@ package com.quickbite.auth_service.exception;
 import com.quickbite.core.api.ApiError;
 import com.quickbite.core.dto.ErrorResponse;
 import com.quickbite.core.exception.BaseBusinessException;
+import com.quickbite.core.exception.ServiceOverloadedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -62,6 +64,17 @@ public class GlobalExceptionHandler {
         return build(ex.getApiError(), status, null);
     }
 
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(
+        ServiceOverloadedException ex
+    ) {
+        log.warn("Request shed: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(build(ex.getApiError(), HttpStatus.SERVICE_UNAVAILABLE, null).getBody());
+    }
+
     @ExceptionHandler(org.springframework.security.core.AuthenticationException.class)
     public ResponseEntity<ErrorResponse> handleAuthenticationException(AuthenticationException ex) {
         ApiError apiError = new ApiError(
@@ -121,6 +134,7 @@ public class GlobalExceptionHandler {
             case "BUSINESS_RULE_VIOLATION" -> HttpStatus.UNPROCESSABLE_CONTENT;
             case "RESOURCE_NOT_FOUND" -> HttpStatus.NOT_FOUND;
             case "DATABASE_ERROR" -> HttpStatus.INTERNAL_SERVER_ERROR;
+            case "SERVICE_OVERLOADED" -> HttpStatus.SERVICE_UNAVAILABLE;
             default -> HttpStatus.INTERNAL_SERVER_ERROR;
         };
     }
@@ -1,16 +1,75 @@
 package com.quickbite.auth_service.repository;
 
 import com.quickbite.auth_service.entity.RefreshToken;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
 
-    List<RefreshToken> findAllByUser_IdAndRevokedFalse(Long userId);
+    @Query("""
+        SELECT rt
+        FROM RefreshToken rt
+        JOIN FETCH rt.user
+        WHERE rt.tokenHash = :tokenHash
+    """)
+    Optional<RefreshToken> findWithUserByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Revokes the token for its rotation, only if it still is active, and
+     * marks it as rotated.
+     *
+     * @return 1 for the caller that revoked it, 0 when it already was
+     */
+    @Modifying
+    @Query("""
+        UPDATE RefreshToken rt
+        SET rt.revoked = true, rt.rotated = true, rt.updatedAt = :now
+        WHERE rt.id = :id
+            AND rt.revoked = false
+    """)
+    int revokeIfActive(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("""
+        SELECT rt.rotated
+        FROM RefreshToken rt
+        WHERE rt.id = :id
+    """)
+    boolean isRotated(@Param("id") Long id);
+
+    @Modifying
+    @Query("""
+        UPDATE RefreshToken rt
+        SET rt.revoked = true, rt.updatedAt = :now
+        WHERE rt.familyId = :familyId
+            AND rt.revoked = false
+    """)
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE RefreshToken rt
+        SET rt.revoked = true, rt.updatedAt = :now
+        WHERE rt.user.id = :userId
+            AND rt.revoked = false
+    """)
+    int revokeAllByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query("""
+        SELECT rt.id
+        FROM RefreshToken rt
+        WHERE rt.expiresAt < :expiredBefore
+        ORDER BY rt.id
+    """)
+    List<Long> findPurgeableIds(@Param("expiredBefore") LocalDateTime expiredBefore, Limit limit);
 }
@@ -0,0 +1,35 @@
+package com.quickbite.auth_service.repository;
+
+import com.quickbite.auth_service.entity.RevokedAccessToken;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedAccessTokenRepository extends JpaRepository<RevokedAccessToken, Long> {
+
+    boolean existsByJti(String jti);
+
+    @Query("""
+        SELECT rt
+        FROM RevokedAccessToken rt
+        WHERE rt.id > :after
+            AND rt.expiresAt > :now
+        ORDER BY rt.id
+    """)
+    List<RevokedAccessToken> findRevokedAfter(
+        @Param("after") long after,
+        @Param("now") LocalDateTime now,
+        Limit limit
+    );
+
+    @Modifying
+    @Query("DELETE FROM RevokedAccessToken rt WHERE rt.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,15 +1,19 @@
 package com.quickbite.auth_service.repository.specification;
 
+import com.quickbite.auth_service.dto.filter.UserCursor;
 import com.quickbite.auth_service.dto.filter.UserFilter;
 import com.quickbite.auth_service.entity.User;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 public final class UserSpecification {
 
+    private static final char LIKE_ESCAPE = '\\';
+
     private UserSpecification() {}
 
     public static Specification<User> withFilters(UserFilter filter) {
@@ -23,12 +27,12 @@ public final class UserSpecification {
             }
 
             if (filter.email() != null && !filter.email().isBlank()) {
-                predicates.add(
-                    cb.like(
-                        cb.lower(root.get("email")),
-                        "%%%s%%".formatted(filter.email().toLowerCase())
-                    )
-                );
+                String email = escapeLike(User.normalizeEmail(filter.email()));
+                String pattern = filter.emailMatch() == UserFilter.EmailMatch.CONTAINS
+                    ? "%" + email + "%"
+                    : email + "%";
+
+                predicates.add(cb.like(root.get("emailNormalized"), pattern, LIKE_ESCAPE));
             }
 
             if (filter.role() != null) {
@@ -42,4 +46,36 @@ public final class UserSpecification {
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Users after {@code cursor} in {@code (createdAt, id)} descending order.
+     * The redundant {@code createdAt <= cursor} bound lets the database seek
+     * the {@code (created_at, id)} index instead of filtering every newer row.
+     */
+    public static Specification<User> after(UserCursor cursor) {
+
+        return (root, query, cb) -> {
+
+            if (cursor == null) {
+                return cb.conjunction();
+            }
+
+            var createdAt = root.<LocalDateTime>get("createdAt");
+
+            return cb.and(
+                cb.lessThanOrEqualTo(createdAt, cursor.createdAt()),
+                cb.or(
+                    cb.lessThan(createdAt, cursor.createdAt()),
+                    cb.lessThan(root.get("id"), cursor.id())
+                )
+            );
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+    }
 }
@@ -9,4 +9,15 @@ public class AuthenticatedUser {
 
     private Long id;
     private String email;
+
+    /**
+     * {@code jti} of the access token the request came with, {@code null}
+     * for tokens issued without one.
+     */
+    private String tokenId;
+
+    /**
+     * Expiration of that token in epoch seconds.
+     */
+    private long tokenExpiresAt;
 }
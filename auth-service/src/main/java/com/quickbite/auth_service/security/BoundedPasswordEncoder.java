@@ -0,0 +1,158 @@
+package com.quickbite.auth_service.security;
+
+import com.quickbite.core.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the hashing and verification of another {@link PasswordEncoder} on a
+ * pool of {@code auth.password-hashing.threads} (the core count by default),
+ * so a burst of logins or registrations can only take that many cores and
+ * the rest of the service keeps answering. Up to
+ * {@code auth.password-hashing.queue-capacity} calls wait for a thread. A
+ * call that finds the queue full, or is not done within
+ * {@code auth.password-hashing.max-wait}, is shed with a
+ * {@link ServiceOverloadedException} (503 with {@code Retry-After}) rather
+ * than holding a request thread.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final String PREFIX = "auth.password-hashing.";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final long retryAfterSeconds;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry, Environment environment) {
+        this.delegate = delegate;
+
+        int threads = environment.getProperty(PREFIX + "threads", Integer.class,
+            Runtime.getRuntime().availableProcessors());
+        int queueCapacity = environment.getProperty(PREFIX + "queue-capacity", Integer.class, 64);
+
+        this.maxWait = environment.getProperty(PREFIX + "max-wait", Duration.class, Duration.ofSeconds(2));
+        this.retryAfterSeconds = Math.max(1,
+            environment.getProperty(PREFIX + "retry-after", Duration.class, Duration.ofSeconds(1)).toSeconds());
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.waitTimer = Timer.builder("auth.password.hashing.wait")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.hashing.rejected").register(meterRegistry);
+
+        Gauge.builder("auth.password.hashing.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+            .register(meterRegistry);
+
+        log.info("Password hashing limited to {} threads, queue of {}", threads, queueCapacity);
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hashing")
+            .tag("operation", operation)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Timer timer, Callable<T> hashing) {
+        long submitted = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(hashing);
+            });
+        } catch (RejectedExecutionException e) {
+            throw overloaded();
+        }
+
+        try {
+            return future.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            abandon(future);
+            throw overloaded();
+        } catch (InterruptedException e) {
+            abandon(future);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * A call still queued is dropped so it frees its slot; one already
+     * hashing runs to completion, since hashing cannot be interrupted.
+     */
+    private void abandon(Future<?> future) {
+        future.cancel(false);
+        executor.remove((Runnable) future);
+    }
+
+    private ServiceOverloadedException overloaded() {
+        rejected.increment();
+        return new ServiceOverloadedException("Too many authentication requests, try again later", retryAfterSeconds);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -12,14 +12,23 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
     public UserDetails loadUserByUsername(String email)
         throws UsernameNotFoundException {
 
-            return userRepository.findByEmail(email)
-                .orElseThrow(() ->
-                    new UsernameNotFoundException("User not found"));
+        UserCredentials cached = userDetailsCache.get(email).orElse(null);
+        if (cached != null) {
+            return cached;
+        }
 
+        UserCredentials credentials = userRepository.findByEmail(email)
+            .map(UserCredentials::of)
+            .orElseThrow(() ->
+                new UsernameNotFoundException("User not found"));
+
+        userDetailsCache.put(credentials);
+        return credentials;
     }
 }
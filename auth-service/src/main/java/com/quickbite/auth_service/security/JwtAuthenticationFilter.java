@@ -1,14 +1,19 @@
 package com.quickbite.auth_service.security;
 
+import com.quickbite.auth_service.service.AccessTokenDenylistService;
 import com.quickbite.auth_service.service.JwtService;
 import com.quickbite.core.exception.BaseBusinessException;
+import com.quickbite.core.exception.InvalidTokenException;
+import com.quickbite.core.security.EdgeIdentity;
+import com.quickbite.core.security.EdgeIdentityCodec;
+import com.quickbite.core.security.JwtClaims;
 import com.quickbite.core.security.UserRole;
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
@@ -19,21 +24,29 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final AccessTokenDenylistService accessTokenDenylistService;
     private final HandlerExceptionResolver resolver;
+    private final EdgeIdentityCodec identityCodec;
 
     public JwtAuthenticationFilter(
         JwtService jwtService,
+        AccessTokenDenylistService accessTokenDenylistService,
         @Qualifier("handlerExceptionResolver")
-        HandlerExceptionResolver resolver
+        HandlerExceptionResolver resolver,
+        @Value("${security.edge-identity.secret:}") String identitySecret
     ) {
         this.jwtService = jwtService;
+        this.accessTokenDenylistService = accessTokenDenylistService;
         this.resolver = resolver;
+        this.identityCodec = new EdgeIdentityCodec(identitySecret);
     }
 
     @Override
@@ -43,17 +56,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         FilterChain filterChain
     ) throws ServletException, IOException {
 
+        Optional<EdgeIdentity> edgeIdentity = identityCodec.decode(
+            request.getHeader(EdgeIdentityCodec.HEADER),
+            Instant.now().getEpochSecond()
+        );
+
         String authHeader = request.getHeader("Authorization");
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (edgeIdentity.isEmpty() && (authHeader == null || !authHeader.startsWith("Bearer "))) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String token = authHeader.substring(7);
-
         try {
-            Authentication auth = buildAuthentication(token);
+            Authentication auth = edgeIdentity.isPresent()
+                ? buildAuthentication(edgeIdentity.get())
+                : buildAuthentication(authHeader.substring(7));
 
             if (auth != null &&
                 SecurityContextHolder.getContext().getAuthentication() == null) {
@@ -71,16 +89,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private UsernamePasswordAuthenticationToken buildAuthentication(String token) {
 
-        Claims claims = jwtService.validateAndExtractClaims(token);
+        JwtClaims claims = jwtService.validateAndExtractClaims(token);
+
+        return buildAuthentication(
+            claims.userId(), claims.email(), claims.role(), claims.tokenId(), claims.expiresAt()
+        );
+    }
 
-        String email = claims.getSubject();
-        Long userId = claims.get("userId", Long.class);
-        UserRole userRole = UserRole.valueOf(
-            claims.get("role", String.class)
+    private UsernamePasswordAuthenticationToken buildAuthentication(EdgeIdentity identity) {
+        return buildAuthentication(
+            identity.userId(), identity.email(), identity.role(), identity.tokenId(), identity.expiresAt()
         );
+    }
+
+    private UsernamePasswordAuthenticationToken buildAuthentication(
+        Long userId,
+        String email,
+        UserRole userRole,
+        String tokenId,
+        long expiresAt
+    ) {
+        if (accessTokenDenylistService.isRevoked(tokenId)) {
+            throw new InvalidTokenException("Token revoked");
+        }
 
         AuthenticatedUser principal =
-            new AuthenticatedUser(userId, email);
+            new AuthenticatedUser(userId, email, tokenId, expiresAt);
 
         var authorities = List.of(
             new SimpleGrantedAuthority(userRole.getAuthority())
@@ -0,0 +1,69 @@
+package com.quickbite.auth_service.security;
+
+import com.quickbite.auth_service.entity.User;
+import com.quickbite.core.security.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The part of a {@link User} that login needs, detached from JPA so it can be
+ * cached: enough to check the password and status, and to issue the tokens.
+ */
+public record UserCredentials(
+    Long id,
+    String email,
+    String passwordHash,
+    String fullName,
+    UserRole role,
+    User.UserStatus status
+) implements UserDetails {
+
+    public static UserCredentials of(User user) {
+        return new UserCredentials(
+            user.getId(),
+            user.getEmail(),
+            user.getPasswordHash(),
+            user.getFullName(),
+            user.getRole(),
+            user.getStatus()
+        );
+    }
+
+    /**
+     * @return a detached {@link User} carrying these fields
+     */
+    public User toUser() {
+        return User.builder()
+            .id(id)
+            .email(email)
+            .passwordHash(passwordHash)
+            .fullName(fullName)
+            .role(role)
+            .status(status)
+            .build();
+    }
+
+    @Override
+    public String getPassword() {
+        return passwordHash;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return status == User.UserStatus.ACTIVE;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.getAuthority()));
+    }
+}
@@ -0,0 +1,103 @@
+package com.quickbite.auth_service.security;
+
+import com.quickbite.core.cache.BoundedTtlCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link BoundedTtlCache} of {@link UserCredentials} by email, bounded by
+ * {@code auth.user-cache.max-entries}, where each entry lives at most
+ * {@code auth.user-cache.ttl}. Writes that change a user's credentials,
+ * role or status must {@link #evict} it; eviction is local, so the TTL bounds
+ * how long another instance of the service can keep serving the old state.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final BoundedTtlCache<String, UserCredentials> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public UserDetailsCache(
+        MeterRegistry meterRegistry,
+        @Value("${auth.user-cache.max-entries:10000}") int maxEntries,
+        @Value("${auth.user-cache.ttl:5m}") Duration ttl
+    ) {
+        this(meterRegistry, maxEntries, ttl, System::nanoTime);
+    }
+
+    UserDetailsCache(MeterRegistry meterRegistry, int maxEntries, Duration ttl, LongSupplier clock) {
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+
+        Map<BoundedTtlCache.Removal, Counter> evictions = Map.of(
+            BoundedTtlCache.Removal.SIZE, evictions(meterRegistry, "size"),
+            BoundedTtlCache.Removal.EXPIRED, evictions(meterRegistry, "expired"),
+            BoundedTtlCache.Removal.EXPLICIT, evictions(meterRegistry, "explicit")
+        );
+        this.entries = new BoundedTtlCache<>(maxEntries, clock, removal -> evictions.get(removal).increment());
+
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        Gauge.builder("auth.user-cache.entries", this, UserDetailsCache::size).register(meterRegistry);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.user-cache.requests").tag("result", result).register(meterRegistry);
+    }
+
+    private static Counter evictions(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("auth.user-cache.evictions").tag("cause", cause).register(meterRegistry);
+    }
+
+    public Optional<UserCredentials> get(String email) {
+        UserCredentials credentials = entries.get(email);
+
+        if (credentials == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        return Optional.of(credentials);
+    }
+
+    public void put(UserCredentials credentials) {
+        entries.put(credentials.email(), credentials, clock.getAsLong() + ttlNanos);
+    }
+
+    /**
+     * Evicts now and, inside a transaction, again after it commits, so a
+     * login racing the write cannot cache the state it is replacing.
+     */
+    public void evict(String email) {
+        entries.remove(email);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.remove(email);
+                }
+            });
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
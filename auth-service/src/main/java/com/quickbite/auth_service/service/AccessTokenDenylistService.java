@@ -0,0 +1,143 @@
+package com.quickbite.auth_service.service;
+
+import com.quickbite.auth_service.entity.RevokedAccessToken;
+import com.quickbite.auth_service.repository.RevokedAccessTokenRepository;
+import com.quickbite.core.security.denylist.RevokedToken;
+import com.quickbite.core.security.denylist.RevokedTokens;
+import com.quickbite.core.security.denylist.TokenDenylist;
+import com.quickbite.core.security.denylist.TokenDenylistSync;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Access tokens revoked before they expire. Each revocation is stored by its
+ * {@code jti} with the token's expiration, and kept only until then. Product
+ * and order service pull the list through {@link #changesSince} into their
+ * own {@link TokenDenylist}; this service keeps one too, fed the same way
+ * from the table, so revocations made on another instance are seen here
+ * within {@code refresh-interval}.
+ */
+@Slf4j
+@Service
+public class AccessTokenDenylistService implements InitializingBean, DisposableBean {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final RevokedAccessTokenRepository repository;
+    private final TokenDenylist denylist;
+    private final TokenDenylistSync sync;
+    private final int pageSize;
+    private final Counter revoked;
+
+    public AccessTokenDenylistService(
+        RevokedAccessTokenRepository repository,
+        MeterRegistry meterRegistry,
+        @Value("${auth.access-token-denylist.expected-entries:100000}") int expectedEntries,
+        @Value("${auth.access-token-denylist.page-size:1000}") int pageSize,
+        @Value("${auth.access-token-denylist.refresh-interval:5s}") Duration refreshInterval,
+        @Value("${auth.access-token-denylist.rebuild-interval:10m}") Duration rebuildInterval,
+        @Value("${auth.access-token-denylist.cursor-overlap:100}") long cursorOverlap
+    ) {
+        this.repository = repository;
+        this.denylist = new TokenDenylist(expectedEntries);
+        this.sync = new TokenDenylistSync(
+            denylist, this::changesSince, refreshInterval, rebuildInterval, cursorOverlap
+        );
+        this.pageSize = pageSize;
+        this.revoked = Counter.builder("auth.access-tokens.revoked").register(meterRegistry);
+
+        Gauge.builder("auth.access-token-denylist.entries", denylist, TokenDenylist::size).register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        sync.start();
+    }
+
+    @Override
+    public void destroy() {
+        sync.close();
+    }
+
+    public boolean isRevoked(String jti) {
+        return denylist.isRevoked(jti);
+    }
+
+    /**
+     * Revokes the access token {@code jti} until {@code expiresAt} (epoch
+     * seconds). Tokens without an id, issued before ids were added, cannot
+     * be revoked and are left to expire.
+     */
+    @Transactional
+    public void revoke(String jti, long expiresAt) {
+        if (jti == null || denylist.isRevoked(jti) || repository.existsByJti(jti)) {
+            return;
+        }
+
+        repository.save(
+            RevokedAccessToken.builder()
+                .jti(jti)
+                .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochSecond(expiresAt), ZONE))
+                .build()
+        );
+        revoked.increment();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    denylist.add(jti, expiresAt);
+                }
+            });
+        } else {
+            denylist.add(jti, expiresAt);
+        }
+    }
+
+    /**
+     * @return up to {@code page-size} unexpired revocations with an id
+     * greater than {@code after}, in id order
+     */
+    @Transactional(readOnly = true)
+    public RevokedTokens changesSince(long after) {
+        List<RevokedAccessToken> rows = repository.findRevokedAfter(after, LocalDateTime.now(), Limit.of(pageSize));
+
+        List<RevokedToken> tokens = rows.stream()
+            .map(row -> new RevokedToken(row.getJti(), row.getExpiresAt().atZone(ZONE).toEpochSecond()))
+            .toList();
+
+        long cursor = rows.isEmpty() ? after : rows.getLast().getId();
+
+        return new RevokedTokens(cursor, tokens, rows.size() == pageSize);
+    }
+
+    @Scheduled(
+        initialDelayString = "${auth.access-token-denylist.purge-interval:1h}",
+        fixedDelayString = "${auth.access-token-denylist.purge-interval:1h}"
+    )
+    @Transactional
+    public void purgeExpired() {
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+
+        if (deleted > 0) {
+            log.info("Purged {} expired access token revocations", deleted);
+        }
+    }
+}
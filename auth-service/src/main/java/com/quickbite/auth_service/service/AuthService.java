@@ -11,6 +11,10 @@ import com.quickbite.auth_service.mapper.UserResponseMapper;
 import com.quickbite.auth_service.repository.RefreshTokenRepository;
 import com.quickbite.auth_service.repository.UserProfileRepository;
 import com.quickbite.auth_service.repository.UserRepository;
+import com.quickbite.auth_service.security.AuthenticatedUser;
+import com.quickbite.auth_service.security.UserCredentials;
+import com.quickbite.auth_service.utils.SecurityUtils;
+import com.quickbite.auth_service.utils.TokenHashUtils;
 import com.quickbite.core.exception.InvalidUserStatusException;
 import com.quickbite.core.exception.TokenException;
 import com.quickbite.core.exception.UserAlreadyExistsException;
@@ -18,22 +22,32 @@ import com.quickbite.core.security.UserRole;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.validation.annotation.Validated;
 
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Set;
 import java.util.UUID;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Validated
 public class AuthService {
 
+    private static final int REFRESH_TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     @Value("${auth.refresh-token.expiration-days}")
     private int refreshTokenExpirationDays;
 
@@ -42,6 +56,9 @@ public class AuthService {
     private final RefreshTokenRepository refreshTokenRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final AccessTokenDenylistService accessTokenDenylistService;
+    private final RestaurantOwnershipService restaurantOwnershipService;
+    private final RefreshTokenReuseDetector refreshTokenReuseDetector;
     private final AuthenticationManager authenticationManager;
     private final UserCreateMapper userCreateMapper;
     private final UserResponseMapper userResponseMapper;
@@ -53,33 +70,86 @@ public class AuthService {
         User user = createUser(request);
         createUserProfile(user, request);
 
-        return generateLoginResponse(user);
+        return generateLoginResponse(user, false, newFamilyId());
     }
 
     public LoginResponse login(@Valid LoginRequest request) {
         Authentication authentication = authenticate(request);
-        User user = (User) authentication.getPrincipal();
+        User user = ((UserCredentials) authentication.getPrincipal()).toUser();
 
         validateUserActive(user);
 
-        return generateLoginResponse(user);
+        return generateLoginResponse(user, false, newFamilyId());
     }
 
-    @Transactional
-    public  LoginResponse refreshToken(String token) {
+    /**
+     * Rotates a refresh token: one lookup by hash, with the user, and one
+     * conditional revoke. A token that was already rotated is a replay, so
+     * its whole family is revoked; one revoked otherwise, by logout or a
+     * suspension, is just refused. Recent rotations are caught in memory,
+     * before the lookup.
+     */
+    @Transactional(dontRollbackOn = TokenException.class)
+    public LoginResponse refreshToken(String token) {
         validateRequiredToken(token);
 
-        RefreshToken storedToken = refreshTokenRepository.findByToken(token)
+        String tokenHash = TokenHashUtils.sha256(token);
+
+        String rotatedFamilyId = refreshTokenReuseDetector.rotatedFamily(tokenHash);
+        if (rotatedFamilyId != null) {
+            throw reuseDetected(rotatedFamilyId, RefreshTokenReuseDetector.Source.MEMORY);
+        }
+
+        RefreshToken storedToken = refreshTokenRepository.findWithUserByTokenHash(tokenHash)
             .orElseThrow(() -> new TokenException("Invalid refresh token"));
 
-        validateRefreshToken(storedToken);
+        if (storedToken.isExpired()) {
+            throw new TokenException("Refresh token expired");
+        }
 
         User user = storedToken.getUser();
         validateUserActive(user);
 
-        revokeRefreshToken(storedToken);
+        if (storedToken.isRevoked()) {
+            throw revoked(storedToken.isRotated(), storedToken.getFamilyId());
+        }
+
+        if (refreshTokenRepository.revokeIfActive(storedToken.getId(), LocalDateTime.now()) == 0) {
+            // Revogado entre a busca e o UPDATE: o banco diz se foi outra rotação
+            throw revoked(refreshTokenRepository.isRotated(storedToken.getId()), storedToken.getFamilyId());
+        }
+
+        afterCommit(() -> refreshTokenReuseDetector.recordRotation(tokenHash, storedToken.getFamilyId()));
 
-        return generateLoginResponse(user);
+        return generateLoginResponse(user, true, storedToken.getFamilyId());
+    }
+
+    private TokenException revoked(boolean rotated, String familyId) {
+        return rotated
+            ? reuseDetected(familyId, RefreshTokenReuseDetector.Source.DATABASE)
+            : new TokenException("Refresh token revoked");
+    }
+
+    private TokenException reuseDetected(String familyId, RefreshTokenReuseDetector.Source source) {
+        int revoked = refreshTokenRepository.revokeFamily(familyId, LocalDateTime.now());
+        refreshTokenReuseDetector.recordReuse(source);
+
+        log.warn("Refresh token reuse detected, revoked {} tokens of family {}", revoked, familyId);
+
+        return new TokenException("Refresh token revoked");
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     private void validateEmailNotExists(String email) {
@@ -94,17 +164,6 @@ public class AuthService {
         }
     }
 
-    private void validateRefreshToken(RefreshToken refreshToken) {
-        if (refreshToken.isRevoked()) {
-            throw new TokenException("Revoked token revoked");
-        }
-
-        if (refreshToken.isExpired()) {
-            revokeRefreshToken(refreshToken);
-            throw new TokenException("Refresh token expired");
-        }
-    }
-
     private void validateRequiredToken(String token) {
         if (token == null || token.isBlank()) {
             throw new TokenException("Refresh token must not be blank");
@@ -140,9 +199,10 @@ public class AuthService {
         userProfileRepository.save(profile);
     }
 
-    private LoginResponse generateLoginResponse(User user) {
-        String accessToken = jwtService.generateToken(user);
-        String refreshToken = createRefreshToken(user);
+    private LoginResponse generateLoginResponse(User user, boolean reloadRestaurants, String familyId) {
+        Set<Long> restaurantIds = restaurantOwnershipService.restaurantIds(user, reloadRestaurants);
+        String accessToken = jwtService.generateToken(user, restaurantIds);
+        String refreshToken = createRefreshToken(user, familyId);
 
         return LoginResponse.builder()
             .accessToken(accessToken)
@@ -153,10 +213,19 @@ public class AuthService {
             .build();
     }
 
-    private String createRefreshToken(User user) {
+    private static String newFamilyId() {
+        return UUID.randomUUID().toString();
+    }
+
+    private String createRefreshToken(User user, String familyId) {
+        byte[] bytes = new byte[REFRESH_TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
         RefreshToken refreshToken = RefreshToken.builder()
             .user(user)
-            .token(UUID.randomUUID().toString())
+            .tokenHash(TokenHashUtils.sha256(token))
+            .familyId(familyId)
             .expiresAt(
                 LocalDateTime.now()
                     .plusDays(refreshTokenExpirationDays)
@@ -165,30 +234,22 @@ public class AuthService {
             .build();
 
         refreshTokenRepository.save(refreshToken);
-        return refreshToken.getToken();
+        return token;
     }
 
+    @Transactional
     public void logout(String token) {
 
         if (token == null || token.isBlank()) {
             throw new TokenException("Refresh token must not be blank");
         }
 
-        RefreshToken storedToken =  refreshTokenRepository.findByToken(token)
+        RefreshToken storedToken =  refreshTokenRepository.findByTokenHash(TokenHashUtils.sha256(token))
             .orElseThrow(() -> new TokenException("Invalid refresh token"));
 
-        Long userId = storedToken.getUser().getId();
+        refreshTokenRepository.revokeAllByUserId(storedToken.getUser().getId(), LocalDateTime.now());
 
-        refreshTokenRepository.
-            findAllByUser_IdAndRevokedFalse(userId)
-            .forEach(rt -> {
-                rt.setRevoked(true);
-                refreshTokenRepository.save(rt);
-            });
-    }
-
-    private void revokeRefreshToken(RefreshToken refreshToken) {
-        refreshToken.setRevoked(true);
-        refreshTokenRepository.save(refreshToken);
+        AuthenticatedUser currentUser = SecurityUtils.getCurrentUser();
+        accessTokenDenylistService.revoke(currentUser.getTokenId(), currentUser.getTokenExpiresAt());
     }
 }
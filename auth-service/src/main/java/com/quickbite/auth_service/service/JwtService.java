@@ -3,18 +3,21 @@ package com.quickbite.auth_service.service;
 import com.quickbite.auth_service.entity.User;
 import com.quickbite.core.exception.InvalidTokenException;
 import com.quickbite.core.exception.JwtValidationException;
+import com.quickbite.core.security.JwtClaims;
+import com.quickbite.core.security.JwtVerifier;
+import com.quickbite.core.security.RestaurantIds;
 import com.quickbite.core.security.UserRole;
-import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import io.jsonwebtoken.JwtException;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -22,68 +25,67 @@ public class JwtService {
 
     private static final int MILLISECONDS_TO_SECONDS = 1000;
 
-    @Value("${security.jwt.secret}")
-    private String secret;
+    private final SecretKey signingKey;
+    private final Long expiration;
+    private final String issuer;
+    private final JwtVerifier verifier;
 
-    @Value("${jwt.expiration:3600000}")
-    private Long expiration;
-
-    @Value("${jwt.issuer:auth-service}")
-    private String issuer;
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtService(
+        @Value("${security.jwt.secret}") String secret,
+        @Value("${jwt.expiration:3600000}") Long expiration,
+        @Value("${jwt.issuer:auth-service}") String issuer,
+        @Value("${security.jwt.token-cache.max-entries:10000}") int maxCachedTokens
+    ) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.expiration = expiration;
+        this.issuer = issuer;
+        this.verifier = new JwtVerifier(secret, issuer, maxCachedTokens);
     }
 
     public String generateToken(User user) {
+        return generateToken(user, Set.of());
+    }
+
+    /**
+     * @param restaurantIds restaurants the user owns, issued as the
+     * {@value RestaurantIds#CLAIM} claim when not empty
+     */
+    public String generateToken(User user, Set<Long> restaurantIds) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+            .id(UUID.randomUUID().toString())
             .subject(user.getEmail())
             .claim("userId", user.getId())
             .claim("role", user.getRole().name())
             .claim("fullName", user.getFullName())
             .issuer(issuer)
             .issuedAt(now)
-            .expiration(expiryDate)
-            .signWith(getSigningKey())
-            .compact();
+            .expiration(expiryDate);
+
+        if (!restaurantIds.isEmpty()) {
+            builder.claim(RestaurantIds.CLAIM, restaurantIds.stream().sorted().toList());
+        }
+
+        return builder.signWith(signingKey).compact();
     }
 
     /**
-     * @throws JwtException when token is invalid
-     * @throws JwtValidationException when token is expired or issuer is invalid
+     * @throws JwtValidationException when the token is invalid, expired or
+     * from another issuer
+     * @throws InvalidTokenException when a claim is missing or invalid
      */
-    public Claims validateAndExtractClaims(String token) {
-        try {
-            Claims claims = extractAllClaims(token);
-
-            if (isTokenExpired(claims)) {
-                throw new JwtValidationException("Token has expired");
-            }
-
-            if (!issuer.equals(claims.getIssuer())) {
-                throw new JwtValidationException("Invalid token issuer");
-            }
-
-            return claims;
-        } catch (JwtException | IllegalArgumentException e) {
-            throw new JwtValidationException("Invalid token");
-        }
+    public JwtClaims validateAndExtractClaims(String token) {
+        return verifier.verify(token);
     }
 
     public String getEmailFromToken(String token) {
-        Claims claims = validateAndExtractClaims(token);
-        return extractClaim(claims, Claims::getSubject);
+        return validateAndExtractClaims(token).email();
     }
 
     public Long getUserIdFromToken(String token) {
-        Claims claims = validateAndExtractClaims(token);
-        return extractClaim(claims,
-            c -> c.get("userId", Long.class)
-        );
+        return validateAndExtractClaims(token).userId();
     }
 
     public Long getTokenExpirationInSeconds() {
@@ -91,39 +93,6 @@ public class JwtService {
     }
 
     public UserRole getUserRoleFromToken(String token) {
-        Claims claims = validateAndExtractClaims(token);
-
-        String role = extractClaim(claims,
-            c -> c.get("role", String.class)
-        );
-
-        if (role == null || role.isBlank()) {
-            throw new InvalidTokenException("Role not found in token");
-        }
-
-        try {
-            return UserRole.valueOf(role.toUpperCase());
-        } catch (IllegalArgumentException ex) {
-            throw new InvalidTokenException("Invalid role in token");
-        }
-    }
-
-    private <T> T extractClaim(
-        Claims claims,
-        Function<Claims, T> resolver
-    ) {
-        return resolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-            .verifyWith(getSigningKey())
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-    }
-
-    private boolean isTokenExpired(Claims claims) {
-        return claims.getExpiration().before(new Date());
+        return validateAndExtractClaims(token).role();
     }
 }
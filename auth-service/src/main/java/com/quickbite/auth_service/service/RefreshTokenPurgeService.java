@@ -0,0 +1,100 @@
+package com.quickbite.auth_service.service;
+
+import com.quickbite.auth_service.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes expired refresh tokens. Revoked tokens stay until they expire too:
+ * a rotated token's row is what recognises its replay and revokes its
+ * family, and the in-memory detector only covers recent rotations on this
+ * instance. Rows go in batches of
+ * {@code batch-size} ids, each deleted by primary key in its own short
+ * transaction, so a run never holds many row locks nor a long transaction
+ * against logins. A run stops after {@code max-batches}; the rest is left
+ * for the next one.
+ */
+@Slf4j
+@Service
+public class RefreshTokenPurgeService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Counter purged;
+    private final Counter batches;
+    private final Timer runs;
+
+    public RefreshTokenPurgeService(
+        RefreshTokenRepository refreshTokenRepository,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${auth.refresh-token.purge.batch-size:500}") int batchSize,
+        @Value("${auth.refresh-token.purge.max-batches:100}") int maxBatches
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.purged = Counter.builder("auth.refresh-tokens.purged").register(meterRegistry);
+        this.batches = Counter.builder("auth.refresh-tokens.purge.batches").register(meterRegistry);
+        this.runs = Timer.builder("auth.refresh-tokens.purge").register(meterRegistry);
+    }
+
+    @Scheduled(
+        initialDelayString = "${auth.refresh-token.purge.interval:1h}",
+        fixedDelayString = "${auth.refresh-token.purge.interval:1h}"
+    )
+    public void purgeScheduled() {
+        int deleted = runs.record(() -> purge(LocalDateTime.now()));
+
+        if (deleted > 0) {
+            log.info("Purged {} refresh tokens", deleted);
+        }
+    }
+
+    /**
+     * @return how many tokens were deleted
+     */
+    public int purge(LocalDateTime now) {
+        int deleted = 0;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer count = transactionTemplate.execute(status -> {
+                List<Long> ids = refreshTokenRepository.findPurgeableIds(now, Limit.of(batchSize));
+
+                if (!ids.isEmpty()) {
+                    refreshTokenRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids.size();
+            });
+
+            int size = count == null ? 0 : count;
+            if (size == 0) {
+                break;
+            }
+
+            deleted += size;
+            purged.increment(size);
+            batches.increment();
+
+            if (size < batchSize) {
+                break;
+            }
+        }
+
+        return deleted;
+    }
+}
@@ -0,0 +1,86 @@
+package com.quickbite.auth_service.service;
+
+import com.quickbite.core.cache.BoundedTtlCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Hashes of refresh tokens this instance rotated recently, with their family.
+ * A replayed token is recognised here before any query, and the caller then
+ * revokes its family. Entries last at most {@code ttl}, and only the newest
+ * {@code max-entries} are kept; older rotated tokens are still caught by the
+ * revoked row in the database, which is kept until the token expires.
+ */
+@Component
+public class RefreshTokenReuseDetector {
+
+    public enum Source {
+        MEMORY,
+        DATABASE
+    }
+
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final BoundedTtlCache<String, String> rotations;
+    private final Counter rotated;
+    private final Map<Source, Counter> reused;
+
+    @Autowired
+    public RefreshTokenReuseDetector(
+        MeterRegistry meterRegistry,
+        @Value("${auth.refresh-token.reuse-detector.max-entries:100000}") int maxEntries,
+        @Value("${auth.refresh-token.reuse-detector.ttl:1d}") Duration ttl
+    ) {
+        this(meterRegistry, maxEntries, ttl, System::nanoTime);
+    }
+
+    RefreshTokenReuseDetector(MeterRegistry meterRegistry, int maxEntries, Duration ttl, LongSupplier clock) {
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        this.rotations = new BoundedTtlCache<>(maxEntries, clock);
+
+        this.rotated = Counter.builder("auth.refresh-tokens.rotated").register(meterRegistry);
+        this.reused = Map.of(
+            Source.MEMORY, reused(meterRegistry, Source.MEMORY),
+            Source.DATABASE, reused(meterRegistry, Source.DATABASE)
+        );
+
+        Gauge.builder("auth.refresh-tokens.reuse-detector.entries", this, RefreshTokenReuseDetector::size)
+            .register(meterRegistry);
+    }
+
+    private static Counter reused(MeterRegistry meterRegistry, Source source) {
+        return Counter.builder("auth.refresh-tokens.reused")
+            .tag("source", source.name().toLowerCase())
+            .register(meterRegistry);
+    }
+
+    /**
+     * @return the family of {@code tokenHash} if it was rotated recently,
+     * otherwise null
+     */
+    public String rotatedFamily(String tokenHash) {
+        return rotations.get(tokenHash);
+    }
+
+    public void recordRotation(String tokenHash, String familyId) {
+        rotated.increment();
+        rotations.put(tokenHash, familyId, clock.getAsLong() + ttlNanos);
+    }
+
+    public void recordReuse(Source source) {
+        reused.get(source).increment();
+    }
+
+    public int size() {
+        return rotations.size();
+    }
+}
@@ -0,0 +1,101 @@
+package com.quickbite.auth_service.service;
+
+import com.quickbite.auth_service.client.ProductServiceClient;
+import com.quickbite.auth_service.entity.User;
+import com.quickbite.core.cache.BoundedTtlCache;
+import com.quickbite.core.security.UserRole;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Restaurants each restaurant owner owns, for the {@code restaurantIds}
+ * claim of their tokens. Sets come from product-service and are kept in a
+ * {@link BoundedTtlCache} of {@code auth.restaurant-ownership.max-entries}
+ * owners for at most {@code auth.restaurant-ownership.ttl}; a refresh-token
+ * rotation always reloads, so a restaurant created since login shows up in
+ * the next access token. When product-service cannot be reached, the last
+ * known set is used, or an empty one, and the services fall back to their own
+ * lookup.
+ */
+@Slf4j
+@Service
+public class RestaurantOwnershipService {
+
+    private final ProductServiceClient productServiceClient;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final BoundedTtlCache<Long, Set<Long>> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter errors;
+
+    @Autowired
+    public RestaurantOwnershipService(
+        ProductServiceClient productServiceClient,
+        MeterRegistry meterRegistry,
+        @Value("${auth.restaurant-ownership.max-entries:10000}") int maxEntries,
+        @Value("${auth.restaurant-ownership.ttl:5m}") Duration ttl
+    ) {
+        this(productServiceClient, meterRegistry, maxEntries, ttl, System::nanoTime);
+    }
+
+    RestaurantOwnershipService(
+        ProductServiceClient productServiceClient,
+        MeterRegistry meterRegistry,
+        int maxEntries,
+        Duration ttl,
+        LongSupplier clock
+    ) {
+        this.productServiceClient = productServiceClient;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        this.entries = new BoundedTtlCache<>(maxEntries, clock);
+
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.errors = requests(meterRegistry, "error");
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.restaurant-ownership.requests").tag("result", result).register(meterRegistry);
+    }
+
+    /**
+     * @param reload skip the cache and ask product-service
+     * @return the restaurants {@code user} owns; empty unless they are a
+     * restaurant owner
+     */
+    public Set<Long> restaurantIds(User user, boolean reload) {
+        if (user.getRole() != UserRole.RESTAURANT_OWNER) {
+            return Set.of();
+        }
+
+        Set<Long> lastKnown = entries.peek(user.getId());
+        Set<Long> cached = reload ? null : entries.get(user.getId());
+
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+
+        try {
+            Set<Long> restaurantIds = Set.copyOf(productServiceClient.getOwnedRestaurantIds(user.getId()));
+            entries.put(user.getId(), restaurantIds, clock.getAsLong() + ttlNanos);
+            return restaurantIds;
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.warn("Could not load restaurants of owner {}: {}", user.getId(), e.toString());
+            return lastKnown == null ? Set.of() : lastKnown;
+        }
+    }
+}
@@ -1,26 +1,44 @@
 package com.quickbite.auth_service.service;
 
 import com.quickbite.auth_service.dto.UpdateUserRequest;
+import com.quickbite.auth_service.dto.UserPageResponse;
 import com.quickbite.auth_service.dto.UserResponse;
+import com.quickbite.auth_service.dto.filter.UserCursor;
 import com.quickbite.auth_service.dto.filter.UserFilter;
 import com.quickbite.auth_service.entity.User;
 import com.quickbite.auth_service.mapper.UserPatchMapper;
 import com.quickbite.auth_service.mapper.UserResponseMapper;
+import com.quickbite.auth_service.repository.RefreshTokenRepository;
 import com.quickbite.auth_service.repository.UserRepository;
 import com.quickbite.auth_service.repository.specification.UserSpecification;
+import com.quickbite.auth_service.security.UserDetailsCache;
+import com.quickbite.core.exception.DataValidationException;
 import com.quickbite.core.exception.ResourceNotFoundException;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    @Value("${auth.users.email-contains-search:false}")
+    private boolean emailContainsSearch;
+
     private final UserRepository repository;
+    private final RefreshTokenRepository refreshTokenRepository;
     private final UserResponseMapper responseMapper;
     private final UserPatchMapper patchMapper;
+    private final UserDetailsCache userDetailsCache;
 
     public UserResponse getById(Long id) {
         User user = repository.findById(id)
@@ -35,14 +53,74 @@ public class UserService {
 
         patchMapper.updateUserFromRequest(request, user);
 
-        return responseMapper.toResponse(repository.save(user));
+        User saved = repository.save(user);
+        userDetailsCache.evict(saved.getEmail());
+
+        return responseMapper.toResponse(saved);
+    }
+
+    /**
+     * Also revokes the user's refresh tokens when the user stops being
+     * active, so a suspended user can neither log in nor renew a session.
+     */
+    @Transactional
+    public UserResponse updateStatus(Long id, User.UserStatus status) {
+        User user = repository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        user.setStatus(status);
+        User saved = repository.save(user);
+        userDetailsCache.evict(saved.getEmail());
+
+        if (status != User.UserStatus.ACTIVE) {
+            refreshTokenRepository.revokeAllByUserId(id, LocalDateTime.now());
+        }
+
+        return responseMapper.toResponse(saved);
     }
 
-    public Page<UserResponse> findUsers(UserFilter filter, Pageable pageable) {
+    /**
+     * One page of users, newest first, starting after {@code cursor}. Each
+     * page is an index seek on {@code (created_at, id)}, so its cost does not
+     * grow with how deep the page is. The total is a separate count over the
+     * whole filter and only runs when {@code includeTotal} is set.
+     */
+    public UserPageResponse findUsers(UserFilter filter, String cursor, int size, boolean includeTotal) {
+        validatePageSize(size);
+        validateEmailMatch(filter);
+
+        Specification<User> filters = UserSpecification.withFilters(filter);
+        Specification<User> page = filters.and(
+            UserSpecification.after(cursor == null ? null : UserCursor.decode(cursor))
+        );
+
+        List<User> users = repository.findBy(page, query -> query.sortBy(NEWEST_FIRST).limit(size + 1).all());
+
+        boolean hasNext = users.size() > size;
+        List<User> content = hasNext ? users.subList(0, size) : users;
+
+        return UserPageResponse.builder()
+            .content(responseMapper.toResponseList(content))
+            .nextCursor(hasNext ? UserCursor.of(content.getLast()).encode() : null)
+            .totalElements(includeTotal ? repository.count(filters) : null)
+            .build();
+    }
+
+    private void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new DataValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
 
-        return repository.findAll(
-            UserSpecification.withFilters(filter),
-            pageable
-        ).map(responseMapper::toResponse);
+    /**
+     * Contains-matching can't use the prefix index; it is only fast with a
+     * trigram index, so it stays off unless one was created.
+     */
+    private void validateEmailMatch(UserFilter filter) {
+        if (filter != null
+            && filter.emailMatch() == UserFilter.EmailMatch.CONTAINS
+            && !emailContainsSearch) {
+            throw new DataValidationException("Email contains search is disabled");
+        }
     }
 }
@@ -0,0 +1,79 @@
+package com.quickbite.auth_service.benchmark;
+
+import com.quickbite.auth_service.AuthServiceApplication;
+import com.quickbite.auth_service.dto.RegisterRequest;
+import com.quickbite.auth_service.service.AuthService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of refresh-token rotation through {@link AuthService}, on the
+ * in-memory H2 database of the {@code test} profile. Each thread registers
+ * its own user and keeps rotating the token it last received, so every
+ * call is one lookup, one conditional revoke and one insert. Hibernate
+ * takes a while to warm up, hence the long warmup. Run {@link #main} and
+ * compare {@code -t} values for the throughput under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RefreshTokenBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private AuthService authService;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(AuthServiceApplication.class)
+            .profiles("test")
+            .properties("server.port=0", "logging.level.root=WARN")
+            .run();
+        authService = context.getBean(AuthService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        private String refreshToken;
+
+        @Setup(Level.Trial)
+        public void register(RefreshTokenBenchmark benchmark) {
+            refreshToken = benchmark.authService.register(
+                RegisterRequest.builder()
+                    .fullName("Load Test")
+                    .email(UUID.randomUUID() + "@quickbite.com")
+                    .password("Password123")
+                    .build()
+            ).getRefreshToken();
+        }
+    }
+
+    @Benchmark
+    public String refresh(Session session) {
+        session.refreshToken = authService.refreshToken(session.refreshToken).getRefreshToken();
+        return session.refreshToken;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(RefreshTokenBenchmark.class.getSimpleName())
+            .threads(4)
+            .build()
+        ).run();
+    }
+}
@@ -7,24 +7,32 @@ import com.quickbite.core.security.UserRole;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 public class RefreshTokenRepositoryTest {
 
+    private static final String FAMILY_ID = "family-1";
+
     @Autowired
     private RefreshTokenRepository refreshTokenRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
-    void findAllByUserIdAndRevokedFalse_shouldReturnOnlyActiveTokens() {
+    void findByTokenHash_shouldReturnTheRevokedFlagOfEachToken() {
         User user = userRepository.save(
             User.builder()
                 .email(TestConstants.VALID_EMAIL)
@@ -35,9 +43,10 @@ public class RefreshTokenRepositoryTest {
                 .build()
         );
 
-        RefreshToken validToken = refreshTokenRepository.save(
+        refreshTokenRepository.save(
             RefreshToken.builder()
-                .token(TestConstants.VALID_REFRESH_TOKEN)
+                .tokenHash(TestConstants.VALID_REFRESH_TOKEN)
+                .familyId(FAMILY_ID)
                 .user(user)
                 .expiresAt(LocalDateTime.now().plusDays(1))
                 .revoked(false)
@@ -46,18 +55,16 @@ public class RefreshTokenRepositoryTest {
 
         refreshTokenRepository.save(
             RefreshToken.builder()
-                .token(TestConstants.INVALID_REFRESH_TOKEN)
+                .tokenHash(TestConstants.INVALID_REFRESH_TOKEN)
+                .familyId(FAMILY_ID)
                 .user(user)
                 .expiresAt(LocalDateTime.now().plusDays(1))
                 .revoked(true)
                 .build()
         );
 
-        var result =
-            refreshTokenRepository.findAllByUser_IdAndRevokedFalse(user.getId());
-
-        assertEquals(1, result.size());
-        assertEquals(TestConstants.VALID_REFRESH_TOKEN, result.getFirst().getToken());
+        assertFalse(refreshTokenRepository.findByTokenHash(TestConstants.VALID_REFRESH_TOKEN).orElseThrow().isRevoked());
+        assertTrue(refreshTokenRepository.findByTokenHash(TestConstants.INVALID_REFRESH_TOKEN).orElseThrow().isRevoked());
     }
 
     @Test
@@ -73,7 +80,8 @@ public class RefreshTokenRepositoryTest {
         );
 
         RefreshToken token = RefreshToken.builder()
-            .token(TestConstants.VALID_REFRESH_TOKEN)
+            .tokenHash(TestConstants.VALID_REFRESH_TOKEN)
+            .familyId(FAMILY_ID)
             .user(user)
             .expiresAt(LocalDateTime.now().plusDays(1))
             .revoked(false)
@@ -82,9 +90,110 @@ public class RefreshTokenRepositoryTest {
         refreshTokenRepository.save(token);
 
         Optional<RefreshToken> result =
-            refreshTokenRepository.findByToken(TestConstants.VALID_REFRESH_TOKEN);
+            refreshTokenRepository.findByTokenHash(TestConstants.VALID_REFRESH_TOKEN);
 
         assertTrue(result.isPresent());
-        assertEquals(TestConstants.VALID_REFRESH_TOKEN, result.get().getToken());
+        assertEquals(TestConstants.VALID_REFRESH_TOKEN, result.get().getTokenHash());
+    }
+
+    @Test
+    void revokeAllByUserId_shouldRevokeEveryActiveTokenOfTheUserOnly() {
+        User user = userRepository.save(
+            User.builder()
+                .email(TestConstants.VALID_EMAIL)
+                .fullName(TestConstants.VALID_FULL_NAME)
+                .status(User.UserStatus.ACTIVE)
+                .role(UserRole.CUSTOMER)
+                .passwordHash("hashed")
+                .build()
+        );
+
+        User other = userRepository.save(
+            User.builder()
+                .email("other@quickbite.com")
+                .fullName(TestConstants.VALID_FULL_NAME)
+                .status(User.UserStatus.ACTIVE)
+                .role(UserRole.CUSTOMER)
+                .passwordHash("hashed")
+                .build()
+        );
+
+        for (String token : List.of("token-1", "token-2")) {
+            refreshTokenRepository.save(
+                RefreshToken.builder()
+                    .tokenHash(token)
+                    .familyId(FAMILY_ID)
+                    .user(user)
+                    .expiresAt(LocalDateTime.now().plusDays(1))
+                    .build()
+            );
+        }
+
+        refreshTokenRepository.save(
+            RefreshToken.builder()
+                .tokenHash("token-other")
+                .familyId("family-other")
+                .user(other)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build()
+        );
+
+        int revoked = refreshTokenRepository.revokeAllByUserId(user.getId(), LocalDateTime.now());
+
+        assertEquals(2, revoked);
+        assertTrue(refreshTokenRepository.findByTokenHash("token-1").orElseThrow().isRevoked());
+        assertTrue(refreshTokenRepository.findByTokenHash("token-2").orElseThrow().isRevoked());
+        assertFalse(refreshTokenRepository.findByTokenHash("token-other").orElseThrow().isRevoked());
+    }
+
+    @Test
+    void revokeIfActive_shouldRevokeOnlyOnceAndRevokeFamilyOnlyThatFamily() {
+        User user = userRepository.save(
+            User.builder()
+                .email(TestConstants.VALID_EMAIL)
+                .fullName(TestConstants.VALID_FULL_NAME)
+                .status(User.UserStatus.ACTIVE)
+                .role(UserRole.CUSTOMER)
+                .passwordHash("hashed")
+                .build()
+        );
+
+        RefreshToken rotated = refreshTokenRepository.save(
+            RefreshToken.builder()
+                .tokenHash("hash-1")
+                .familyId(FAMILY_ID)
+                .user(user)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build()
+        );
+
+        for (String[] token : new String[][] {{"hash-2", FAMILY_ID}, {"hash-3", "family-other"}}) {
+            refreshTokenRepository.save(
+                RefreshToken.builder()
+                    .tokenHash(token[0])
+                    .familyId(token[1])
+                    .user(user)
+                    .expiresAt(LocalDateTime.now().plusDays(1))
+                    .build()
+            );
+        }
+
+        assertEquals(1, refreshTokenRepository.revokeIfActive(rotated.getId(), LocalDateTime.now()));
+        assertEquals(0, refreshTokenRepository.revokeIfActive(rotated.getId(), LocalDateTime.now()));
+        assertEquals(1, refreshTokenRepository.revokeFamily(FAMILY_ID, LocalDateTime.now()));
+        assertTrue(refreshTokenRepository.isRotated(rotated.getId()));
+        assertFalse(refreshTokenRepository.isRotated(refreshTokenRepository.findByTokenHash("hash-2").orElseThrow().getId()));
+
+        entityManager.clear();
+        var active = refreshTokenRepository.findAll().stream()
+            .filter(token -> !token.isRevoked())
+            .toList();
+
+        assertEquals(1, active.size());
+        assertEquals("hash-3", active.getFirst().getTokenHash());
+        assertEquals(
+            user.getEmail(),
+            refreshTokenRepository.findWithUserByTokenHash("hash-3").orElseThrow().getUser().getEmail()
+        );
     }
 }
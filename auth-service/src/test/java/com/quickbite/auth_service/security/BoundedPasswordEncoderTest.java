@@ -0,0 +1,132 @@
+package com.quickbite.auth_service.security;
+
+import com.quickbite.core.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch hashing = new CountDownLatch(1);
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    void encodeAndMatches_shouldRunOnThePoolAndBeTimed() {
+        encoder = encoder(new PrefixEncoder(false), "2s");
+
+        assertEquals("hashed:secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hashed:secret"));
+
+        assertEquals(1, meterRegistry.get("auth.password.hashing").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("auth.password.hashing").tag("operation", "matches").timer().count());
+        assertEquals(2, meterRegistry.get("auth.password.hashing.wait").timer().count());
+    }
+
+    @Test
+    void encode_shouldShedCallsBeyondTheQueueRightAway() throws Exception {
+        encoder = encoder(new PrefixEncoder(true), "10s");
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(hashing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        awaitQueued();
+
+        ServiceOverloadedException rejected = assertThrows(ServiceOverloadedException.class,
+            () -> encoder.encode("third"));
+
+        assertEquals(3, rejected.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("auth.password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hashed:first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed:second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void matches_shouldGiveUpAfterMaxWait() throws Exception {
+        encoder = encoder(new PrefixEncoder(true), "100ms");
+
+        CompletableFuture.runAsync(() -> encoder.matches("first", "hashed:first"));
+        assertTrue(hashing.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ServiceOverloadedException.class, () -> encoder.matches("second", "hashed:second"));
+        assertEquals(0.0, meterRegistry.get("auth.password.hashing.queue").gauge().value());
+    }
+
+    private void awaitQueued() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.hashing.queue").gauge().value() < 1) {
+            assertTrue(System.nanoTime() < deadline, "second call never queued");
+            Thread.sleep(5);
+        }
+    }
+
+    private BoundedPasswordEncoder encoder(PasswordEncoder delegate, String maxWait) {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("auth.password-hashing.threads", "1")
+            .withProperty("auth.password-hashing.queue-capacity", "1")
+            .withProperty("auth.password-hashing.max-wait", maxWait)
+            .withProperty("auth.password-hashing.retry-after", "3s");
+        environment.setConversionService((ConfigurableConversionService) ApplicationConversionService.getSharedInstance());
+
+        return new BoundedPasswordEncoder(delegate, meterRegistry, environment);
+    }
+
+    /**
+     * Stand-in for BCrypt that can be held mid-hash until the test releases it.
+     */
+    private class PrefixEncoder implements PasswordEncoder {
+
+        private final boolean blocking;
+
+        PrefixEncoder(boolean blocking) {
+            this.blocking = blocking;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hold();
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            hold();
+            return ("hashed:" + rawPassword).equals(encodedPassword);
+        }
+
+        private void hold() {
+            if (!blocking) {
+                return;
+            }
+
+            hashing.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
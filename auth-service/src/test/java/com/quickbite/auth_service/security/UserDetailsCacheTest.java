@@ -0,0 +1,65 @@
+package com.quickbite.auth_service.security;
+
+import com.quickbite.auth_service.entity.User;
+import com.quickbite.core.security.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserDetailsCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+    private final UserDetailsCache cache = new UserDetailsCache(meterRegistry, 2, Duration.ofMinutes(5), clock::get);
+
+    @Test
+    void get_shouldServeCachedCredentialsUntilTheTtlPasses() {
+        UserCredentials ana = credentials(1L, "ana@quickbite.com");
+        cache.put(ana);
+
+        assertEquals(Optional.of(ana), cache.get("ana@quickbite.com"));
+
+        clock.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        assertTrue(cache.get("ana@quickbite.com").isEmpty());
+        assertEquals(1, count("auth.user-cache.requests", "result", "hit"));
+        assertEquals(1, count("auth.user-cache.requests", "result", "miss"));
+        assertEquals(1, count("auth.user-cache.evictions", "cause", "expired"));
+    }
+
+    @Test
+    void put_shouldDropTheLeastRecentlyUsedEntryBeyondMaxEntries() {
+        cache.put(credentials(1L, "ana@quickbite.com"));
+        cache.put(credentials(2L, "bia@quickbite.com"));
+        cache.get("ana@quickbite.com");
+        cache.put(credentials(3L, "caio@quickbite.com"));
+
+        assertTrue(cache.get("bia@quickbite.com").isEmpty());
+        assertTrue(cache.get("ana@quickbite.com").isPresent());
+        assertEquals(1, count("auth.user-cache.evictions", "cause", "size"));
+    }
+
+    @Test
+    void evict_shouldRemoveTheUserRightAway() {
+        cache.put(credentials(1L, "ana@quickbite.com"));
+
+        cache.evict("ana@quickbite.com");
+
+        assertTrue(cache.get("ana@quickbite.com").isEmpty());
+        assertEquals(1, count("auth.user-cache.evictions", "cause", "explicit"));
+    }
+
+    private double count(String name, String tag, String value) {
+        return meterRegistry.get(name).tag(tag, value).counter().count();
+    }
+
+    private static UserCredentials credentials(Long id, String email) {
+        return new UserCredentials(id, email, "hashed", "Ana Silva", UserRole.CUSTOMER, User.UserStatus.ACTIVE);
+    }
+}
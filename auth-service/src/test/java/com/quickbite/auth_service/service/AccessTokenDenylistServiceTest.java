@@ -0,0 +1,76 @@
+package com.quickbite.auth_service.service;
+
+import com.quickbite.auth_service.repository.RevokedAccessTokenRepository;
+import com.quickbite.core.security.denylist.RevokedToken;
+import com.quickbite.core.security.denylist.RevokedTokens;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+public class AccessTokenDenylistServiceTest {
+
+    private static final long NOW = Instant.now().getEpochSecond();
+
+    @Autowired
+    private RevokedAccessTokenRepository repository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AccessTokenDenylistService denylistService;
+
+    @BeforeEach
+    void setUp() {
+        denylistService = new AccessTokenDenylistService(
+            repository,
+            meterRegistry,
+            100,
+            2,
+            Duration.ofSeconds(5),
+            Duration.ofMinutes(10),
+            100
+        );
+    }
+
+    @Test
+    void changesSince_shouldPageThroughUnexpiredRevocationsInOrder() {
+        denylistService.revoke("jti-1", NOW + 3600);
+        denylistService.revoke("jti-2", NOW - 60);
+        denylistService.revoke("jti-3", NOW + 3600);
+        denylistService.revoke("jti-4", NOW + 3600);
+        denylistService.revoke("jti-1", NOW + 3600);
+
+        RevokedTokens first = denylistService.changesSince(0);
+        RevokedTokens second = denylistService.changesSince(first.cursor());
+        RevokedTokens last = denylistService.changesSince(second.cursor());
+
+        assertEquals(List.of("jti-1", "jti-3"), first.tokens().stream().map(RevokedToken::jti).toList());
+        assertTrue(first.hasMore());
+        assertEquals(List.of(new RevokedToken("jti-4", NOW + 3600)), second.tokens());
+        assertFalse(second.hasMore());
+        assertEquals(List.of(), last.tokens());
+        assertEquals(second.cursor(), last.cursor());
+        assertEquals(4, meterRegistry.get("auth.access-tokens.revoked").counter().count());
+    }
+
+    @Test
+    void purgeExpired_shouldDeleteOnlyExpiredRevocations() {
+        denylistService.revoke("expired", NOW - 60);
+        denylistService.revoke("live", NOW + 3600);
+
+        denylistService.purgeExpired();
+
+        assertEquals(1, repository.count());
+        assertTrue(repository.existsByJti("live"));
+    }
+}
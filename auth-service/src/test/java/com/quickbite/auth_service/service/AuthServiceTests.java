@@ -12,6 +12,8 @@ import com.quickbite.auth_service.mapper.UserResponseMapper;
 import com.quickbite.auth_service.repository.RefreshTokenRepository;
 import com.quickbite.auth_service.repository.UserProfileRepository;
 import com.quickbite.auth_service.repository.UserRepository;
+import com.quickbite.auth_service.security.UserCredentials;
+import com.quickbite.auth_service.utils.TokenHashUtils;
 import com.quickbite.core.exception.InvalidUserStatusException;
 import com.quickbite.core.exception.TokenException;
 import com.quickbite.core.exception.UserAlreadyExistsException;
@@ -19,6 +21,7 @@ import com.quickbite.core.security.UserRole;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -29,15 +32,21 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AuthServiceTests {
 
+    private static final String REFRESH_TOKEN_HASH = TokenHashUtils.sha256(TestConstants.VALID_REFRESH_TOKEN);
+    private static final String FAMILY_ID = "family-1";
+
     @Mock
     private UserRepository userRepository;
 
@@ -53,6 +62,12 @@ class AuthServiceTests {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private RestaurantOwnershipService restaurantOwnershipService;
+
+    @Mock
+    private RefreshTokenReuseDetector refreshTokenReuseDetector;
+
     @Mock
     private AuthenticationManager authenticationManager;
 
@@ -92,7 +107,9 @@ class AuthServiceTests {
             .build();
 
         validRefreshToken = RefreshToken.builder()
-            .token(TestConstants.VALID_REFRESH_TOKEN)
+            .id(1L)
+            .tokenHash(REFRESH_TOKEN_HASH)
+            .familyId(FAMILY_ID)
             .user(activeUser)
             .expiresAt(LocalDateTime.now().plusDays(1))
             .revoked(false)
@@ -109,7 +126,7 @@ class AuthServiceTests {
             .thenReturn("hashed");
         when(userRepository.save(any(User.class)))
             .thenReturn(activeUser);
-        when(jwtService.generateToken(activeUser))
+        when(jwtService.generateToken(activeUser, Set.of()))
             .thenReturn(TestConstants.VALID_ACCESS_TOKEN);
         when(jwtService.getTokenExpirationInSeconds())
             .thenReturn(TestConstants.TOKEN_EXPIRATION_SECONDS);
@@ -144,8 +161,8 @@ class AuthServiceTests {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
             .thenReturn(authentication);
         when(authentication.getPrincipal())
-            .thenReturn(activeUser);
-        when(jwtService.generateToken(activeUser))
+            .thenReturn(UserCredentials.of(activeUser));
+        when(jwtService.generateToken(activeUser, Set.of()))
             .thenReturn(TestConstants.VALID_ACCESS_TOKEN);
         when(jwtService.getTokenExpirationInSeconds())
             .thenReturn(TestConstants.TOKEN_EXPIRATION_SECONDS);
@@ -168,7 +185,7 @@ class AuthServiceTests {
         when(authenticationManager.authenticate(any()))
             .thenReturn(authentication);
         when(authentication.getPrincipal())
-            .thenReturn(activeUser);
+            .thenReturn(UserCredentials.of(activeUser));
 
         assertThrows(
             InvalidUserStatusException.class,
@@ -178,9 +195,11 @@ class AuthServiceTests {
 
     @Test
     void refreshToken_shouldReturnNewTokens_whenTokenIsValid() {
-        when(refreshTokenRepository.findByToken(TestConstants.VALID_REFRESH_TOKEN))
+        when(refreshTokenRepository.findWithUserByTokenHash(REFRESH_TOKEN_HASH))
             .thenReturn(Optional.of(validRefreshToken));
-        when(jwtService.generateToken(activeUser))
+        when(refreshTokenRepository.revokeIfActive(eq(1L), any(LocalDateTime.class)))
+            .thenReturn(1);
+        when(jwtService.generateToken(activeUser, Set.of()))
             .thenReturn(TestConstants.VALID_ACCESS_TOKEN);
         when(jwtService.getTokenExpirationInSeconds())
             .thenReturn(TestConstants.TOKEN_EXPIRATION_SECONDS);
@@ -192,13 +211,17 @@ class AuthServiceTests {
 
         assertNotNull(response);
 
-        verify(refreshTokenRepository, times(2))
-            .save(any(RefreshToken.class));
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(FAMILY_ID, saved.getValue().getFamilyId());
+        assertEquals(TokenHashUtils.sha256(response.getRefreshToken()), saved.getValue().getTokenHash());
+        verify(refreshTokenReuseDetector).recordRotation(REFRESH_TOKEN_HASH, FAMILY_ID);
+        verify(restaurantOwnershipService).restaurantIds(activeUser, true);
     }
 
     @Test
     void refreshToken_shouldThrow_whenTokenDoesNotExist() {
-        when(refreshTokenRepository.findByToken(TestConstants.VALID_REFRESH_TOKEN))
+        when(refreshTokenRepository.findWithUserByTokenHash(REFRESH_TOKEN_HASH))
             .thenReturn(Optional.empty());
 
         assertThrows(
@@ -208,10 +231,11 @@ class AuthServiceTests {
     }
 
     @Test
-    void refreshToken_shouldThrow_whenTokenIsRevoked() {
+    void refreshToken_shouldRevokeTheFamily_whenTokenWasRotated() {
         validRefreshToken.setRevoked(true);
+        validRefreshToken.setRotated(true);
 
-        when(refreshTokenRepository.findByToken(TestConstants.VALID_REFRESH_TOKEN))
+        when(refreshTokenRepository.findWithUserByTokenHash(REFRESH_TOKEN_HASH))
             .thenReturn(Optional.of(validRefreshToken));
 
         assertThrows(
@@ -219,6 +243,77 @@ class AuthServiceTests {
             () -> authService.refreshToken(TestConstants.VALID_REFRESH_TOKEN)
         );
 
+        verify(refreshTokenRepository).revokeFamily(eq(FAMILY_ID), any(LocalDateTime.class));
+        verify(refreshTokenReuseDetector).recordReuse(RefreshTokenReuseDetector.Source.DATABASE);
         verify(refreshTokenRepository,  never()).save(any());
     }
+
+    @Test
+    void refreshToken_shouldRefuseWithoutRevokingTheFamily_whenTokenWasRevokedByLogout() {
+        validRefreshToken.setRevoked(true);
+
+        when(refreshTokenRepository.findWithUserByTokenHash(REFRESH_TOKEN_HASH))
+            .thenReturn(Optional.of(validRefreshToken));
+
+        TokenException exception = assertThrows(
+            TokenException.class,
+            () -> authService.refreshToken(TestConstants.VALID_REFRESH_TOKEN)
+        );
+
+        assertEquals("Refresh token revoked", exception.getMessage());
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+        verify(refreshTokenReuseDetector, never()).recordReuse(any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void refreshToken_shouldRefuseWithoutRevokingTheFamily_whenALogoutRevokedTheTokenFirst() {
+        when(refreshTokenRepository.findWithUserByTokenHash(REFRESH_TOKEN_HASH))
+            .thenReturn(Optional.of(validRefreshToken));
+        when(refreshTokenRepository.revokeIfActive(eq(1L), any(LocalDateTime.class)))
+            .thenReturn(0);
+        when(refreshTokenRepository.isRotated(1L))
+            .thenReturn(false);
+
+        assertThrows(
+            TokenException.class,
+            () -> authService.refreshToken(TestConstants.VALID_REFRESH_TOKEN)
+        );
+
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void refreshToken_shouldRevokeTheFamily_whenAConcurrentRefreshRotatedTheTokenFirst() {
+        when(refreshTokenRepository.findWithUserByTokenHash(REFRESH_TOKEN_HASH))
+            .thenReturn(Optional.of(validRefreshToken));
+        when(refreshTokenRepository.revokeIfActive(eq(1L), any(LocalDateTime.class)))
+            .thenReturn(0);
+        when(refreshTokenRepository.isRotated(1L))
+            .thenReturn(true);
+
+        assertThrows(
+            TokenException.class,
+            () -> authService.refreshToken(TestConstants.VALID_REFRESH_TOKEN)
+        );
+
+        verify(refreshTokenRepository).revokeFamily(eq(FAMILY_ID), any(LocalDateTime.class));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void refreshToken_shouldRevokeTheFamilyWithoutALookup_whenTokenWasRotatedRecently() {
+        when(refreshTokenReuseDetector.rotatedFamily(REFRESH_TOKEN_HASH))
+            .thenReturn(FAMILY_ID);
+
+        assertThrows(
+            TokenException.class,
+            () -> authService.refreshToken(TestConstants.VALID_REFRESH_TOKEN)
+        );
+
+        verify(refreshTokenRepository).revokeFamily(eq(FAMILY_ID), any(LocalDateTime.class));
+        verify(refreshTokenReuseDetector).recordReuse(RefreshTokenReuseDetector.Source.MEMORY);
+        verify(refreshTokenRepository, never()).findWithUserByTokenHash(any());
+    }
 }
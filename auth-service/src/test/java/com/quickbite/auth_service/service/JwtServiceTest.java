@@ -9,39 +9,23 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class JwtServiceTest {
 
+    private static final String SECRET = "testSecretKeytestSecretKeytestSecretKey";
+
     private JwtService jwtService;
     private User user;
 
     @BeforeEach
     public void setUp() {
-        jwtService = new JwtService();
-
-        ReflectionTestUtils.setField(
-            jwtService,
-            "secret",
-            "testSecretKeytestSecretKeytestSecretKey"
-        );
-
-        ReflectionTestUtils.setField(
-            jwtService,
-            "expiration",
-            3600000L
-        );
-
-        ReflectionTestUtils.setField(
-            jwtService,
-            "issuer",
-            "auth-service"
-        );
+        jwtService = new JwtService(SECRET, 3600000L, "auth-service", 100);
 
         user = User.builder()
             .id(TestConstants.VALID_USER_ID)
@@ -70,6 +54,23 @@ public class JwtServiceTest {
             user.getRole(),
             jwtService.getUserRoleFromToken(token)
         );
+
+        assertNotNull(jwtService.validateAndExtractClaims(token).tokenId());
+        assertNotEquals(
+            jwtService.validateAndExtractClaims(token).tokenId(),
+            jwtService.validateAndExtractClaims(jwtService.generateToken(user)).tokenId()
+        );
+    }
+
+    @Test
+    void generateToken_shouldIssueOwnedRestaurantIds() {
+        user.setRole(UserRole.RESTAURANT_OWNER);
+
+        String ownerToken = jwtService.generateToken(user, Set.of(12L, 7L));
+        String customerToken = jwtService.generateToken(user);
+
+        assertEquals(Set.of(7L, 12L), jwtService.validateAndExtractClaims(ownerToken).restaurantIds());
+        assertEquals(Set.of(), jwtService.validateAndExtractClaims(customerToken).restaurantIds());
     }
 
     @Test
@@ -82,8 +83,7 @@ public class JwtServiceTest {
 
     @Test
     void validateAndExtractClaims_shouldThrow_whenTokenIsExpired() {
-
-        ReflectionTestUtils.setField(jwtService, "expiration", -1L);
+        jwtService = new JwtService(SECRET, -1L, "auth-service", 100);
 
         String token = jwtService.generateToken(user);
 
@@ -96,11 +96,9 @@ public class JwtServiceTest {
 
     @Test
     void validateAndExtractClaims_shouldThrow_whenIssuerIsInvalid() {
-        ReflectionTestUtils.setField(jwtService, "issuer", "auth-service");
-
         String token = jwtService.generateToken(user);
 
-        ReflectionTestUtils.setField(jwtService, "issuer", "another-issuer");
+        jwtService = new JwtService(SECRET, 3600000L, "another-issuer", 100);
 
         assertThrows(
             JwtValidationException.class,
@@ -110,9 +108,6 @@ public class JwtServiceTest {
 
     @Test
     void getUserRoleFromToken_shouldThrow_whenRoleIsInvalid() {
-
-        ReflectionTestUtils.setField(jwtService, "issuer", "auth-service");
-
         String token = Jwts.builder()
             .subject(user.getEmail())
             .claim("userId", user.getId())
@@ -122,8 +117,7 @@ public class JwtServiceTest {
             .expiration(new Date(System.currentTimeMillis() + 3600000))
             .signWith(
                 Keys.hmacShaKeyFor(
-                    "testSecretKeytestSecretKeytestSecretKey"
-                        .getBytes(StandardCharsets.UTF_8)
+                    SECRET.getBytes(StandardCharsets.UTF_8)
                 )
             )
             .compact();
@@ -0,0 +1,117 @@
+package com.quickbite.auth_service.service;
+
+import com.quickbite.auth_service.constants.TestConstants;
+import com.quickbite.auth_service.entity.RefreshToken;
+import com.quickbite.auth_service.entity.User;
+import com.quickbite.auth_service.repository.RefreshTokenRepository;
+import com.quickbite.auth_service.repository.UserRepository;
+import com.quickbite.core.security.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+public class RefreshTokenPurgeServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RefreshTokenPurgeService purgeService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        purgeService = new RefreshTokenPurgeService(
+            refreshTokenRepository,
+            transactionManager,
+            meterRegistry,
+            2,
+            10
+        );
+
+        user = userRepository.save(
+            User.builder()
+                .email(TestConstants.VALID_EMAIL)
+                .fullName(TestConstants.VALID_FULL_NAME)
+                .status(User.UserStatus.ACTIVE)
+                .role(UserRole.CUSTOMER)
+                .passwordHash("hashed")
+                .build()
+        );
+    }
+
+    @Test
+    void purge_shouldDeleteExpiredTokensInBatchesAndKeepActiveOnes() {
+        for (int i = 0; i < 5; i++) {
+            save("expired-" + i, NOW.minusMinutes(1), false);
+        }
+        save("active", NOW.plusDays(1), false);
+
+        int deleted = purgeService.purge(NOW);
+
+        assertEquals(5, deleted);
+        assertEquals(1, refreshTokenRepository.count());
+        assertTrue(refreshTokenRepository.findByTokenHash("active").isPresent());
+        assertEquals(5, meterRegistry.get("auth.refresh-tokens.purged").counter().count());
+        assertEquals(3, meterRegistry.get("auth.refresh-tokens.purge.batches").counter().count());
+    }
+
+    @Test
+    void purge_shouldKeepRevokedTokensUntilTheyExpire() {
+        save("revoked", NOW.plusDays(7), true);
+
+        assertEquals(0, purgeService.purge(NOW.plusDays(2)));
+        assertEquals(1, purgeService.purge(NOW.plusDays(8)));
+        assertEquals(0, refreshTokenRepository.count());
+    }
+
+    @Test
+    void purge_shouldKeepRotatedTokenSoItsReplayRevokesTheFamily() {
+        save("rotated", NOW.plusDays(7), false);
+        save("successor", NOW.plusDays(7), false);
+        Long rotatedId = refreshTokenRepository.findByTokenHash("rotated").orElseThrow().getId();
+        refreshTokenRepository.revokeIfActive(rotatedId, NOW);
+
+        purgeService.purge(NOW.plusDays(2));
+
+        assertTrue(refreshTokenRepository.existsById(rotatedId));
+        assertTrue(refreshTokenRepository.isRotated(rotatedId));
+        assertEquals(1, refreshTokenRepository.revokeFamily("family-1", NOW.plusDays(2)));
+        entityManager.clear();
+        assertTrue(refreshTokenRepository.findAll().stream().allMatch(RefreshToken::isRevoked));
+    }
+
+    private void save(String token, LocalDateTime expiresAt, boolean revoked) {
+        refreshTokenRepository.save(
+            RefreshToken.builder()
+                .tokenHash(token)
+                .familyId("family-1")
+                .user(user)
+                .expiresAt(expiresAt)
+                .revoked(revoked)
+                .build()
+        );
+    }
+}
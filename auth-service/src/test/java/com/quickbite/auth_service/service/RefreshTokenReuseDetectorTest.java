@@ -0,0 +1,42 @@
+package com.quickbite.auth_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RefreshTokenReuseDetectorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+    private final RefreshTokenReuseDetector detector =
+        new RefreshTokenReuseDetector(meterRegistry, 2, Duration.ofHours(1), clock::get);
+
+    @Test
+    void rotatedFamily_shouldRememberRotationsUntilTheTtlPasses() {
+        detector.recordRotation("hash-1", "family-1");
+
+        assertEquals("family-1", detector.rotatedFamily("hash-1"));
+        assertNull(detector.rotatedFamily("hash-2"));
+
+        clock.addAndGet(Duration.ofHours(1).toNanos());
+
+        assertNull(detector.rotatedFamily("hash-1"));
+        assertEquals(0, detector.size());
+    }
+
+    @Test
+    void recordRotation_shouldKeepOnlyTheNewestMaxEntries() {
+        detector.recordRotation("hash-1", "family-1");
+        detector.recordRotation("hash-2", "family-1");
+        detector.recordRotation("hash-3", "family-1");
+
+        assertNull(detector.rotatedFamily("hash-1"));
+        assertEquals("family-1", detector.rotatedFamily("hash-3"));
+        assertEquals(3, meterRegistry.get("auth.refresh-tokens.rotated").counter().count());
+    }
+}
@@ -0,0 +1,73 @@
+package com.quickbite.auth_service.service;
+
+import com.quickbite.auth_service.client.ProductServiceClient;
+import com.quickbite.auth_service.constants.TestConstants;
+import com.quickbite.auth_service.entity.User;
+import com.quickbite.core.security.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class RestaurantOwnershipServiceTest {
+
+    private final ProductServiceClient productServiceClient = mock(ProductServiceClient.class);
+    private final AtomicLong clock = new AtomicLong();
+
+    private RestaurantOwnershipService ownershipService;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        ownershipService = new RestaurantOwnershipService(
+            productServiceClient, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5), clock::get
+        );
+
+        owner = User.builder()
+            .id(TestConstants.VALID_USER_ID)
+            .email(TestConstants.VALID_EMAIL)
+            .role(UserRole.RESTAURANT_OWNER)
+            .build();
+    }
+
+    @Test
+    void restaurantIds_shouldCacheUntilExpiredOrReloaded() {
+        when(productServiceClient.getOwnedRestaurantIds(owner.getId()))
+            .thenReturn(List.of(7L), List.of(7L, 12L), List.of(7L, 12L, 15L));
+
+        assertEquals(Set.of(7L), ownershipService.restaurantIds(owner, false));
+        assertEquals(Set.of(7L), ownershipService.restaurantIds(owner, false));
+        assertEquals(Set.of(7L, 12L), ownershipService.restaurantIds(owner, true));
+
+        clock.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        assertEquals(Set.of(7L, 12L, 15L), ownershipService.restaurantIds(owner, false));
+        verify(productServiceClient, times(3)).getOwnedRestaurantIds(owner.getId());
+    }
+
+    @Test
+    void restaurantIds_shouldKeepTheLastKnownSetWhenProductServiceFails() {
+        when(productServiceClient.getOwnedRestaurantIds(owner.getId()))
+            .thenReturn(List.of(7L))
+            .thenThrow(new IllegalStateException("product-service unavailable"));
+
+        ownershipService.restaurantIds(owner, false);
+
+        assertEquals(Set.of(7L), ownershipService.restaurantIds(owner, true));
+    }
+
+    @Test
+    void restaurantIds_shouldBeEmptyForOtherRoles() {
+        owner.setRole(UserRole.CUSTOMER);
+
+        assertEquals(Set.of(), ownershipService.restaurantIds(owner, false));
+        verifyNoInteractions(productServiceClient);
+    }
+}
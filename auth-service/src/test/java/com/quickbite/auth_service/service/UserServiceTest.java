@@ -0,0 +1,126 @@
+package com.quickbite.auth_service.service;
+
+import com.quickbite.auth_service.dto.UserPageResponse;
+import com.quickbite.auth_service.dto.UserResponse;
+import com.quickbite.auth_service.dto.filter.UserFilter;
+import com.quickbite.auth_service.entity.User;
+import com.quickbite.auth_service.mapper.UserResponseMapperImpl;
+import com.quickbite.auth_service.repository.RefreshTokenRepository;
+import com.quickbite.auth_service.repository.UserRepository;
+import com.quickbite.core.exception.DataValidationException;
+import com.quickbite.core.security.UserRole;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class UserServiceTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 1, 10, 12, 0);
+
+    @Autowired
+    private UserRepository repository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserService(repository, refreshTokenRepository, new UserResponseMapperImpl(), null, null);
+    }
+
+    @Test
+    void findUsers_shouldPageNewestFirstAcrossEqualCreationTimes() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(save("user" + i + "@quickbite.com", CREATED_AT).getId());
+        }
+        Long oldest = save("old@quickbite.com", CREATED_AT.minusDays(1)).getId();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            UserPageResponse page = userService.findUsers(null, cursor, 2, false);
+            page.getContent().stream().map(UserResponse::getId).forEach(seen::add);
+            assertNull(page.getTotalElements());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of(ids.get(4), ids.get(3), ids.get(2), ids.get(1), ids.get(0), oldest), seen);
+    }
+
+    @Test
+    void findUsers_shouldMatchEmailPrefixCaseInsensitivelyAndCountOnlyWhenAsked() {
+        save("Ana.Souza@quickbite.com", CREATED_AT);
+        save("ana_maria@quickbite.com", CREATED_AT);
+        save("anabela@quickbite.com", CREATED_AT);
+        save("mariana@quickbite.com", CREATED_AT);
+
+        UserPageResponse page = userService.findUsers(filter("ANA", UserFilter.EmailMatch.PREFIX), null, 20, true);
+        UserPageResponse literal = userService.findUsers(filter("ana_", null), null, 20, false);
+
+        assertEquals(3, page.getContent().size());
+        assertEquals(3L, page.getTotalElements());
+        assertEquals(List.of("ana_maria@quickbite.com"), literal.getContent().stream().map(UserResponse::getEmail).toList());
+    }
+
+    @Test
+    void findUsers_shouldOnlyMatchContainedEmailsWhenEnabled() {
+        save("mariana@quickbite.com", CREATED_AT);
+        UserFilter contains = filter("ana", UserFilter.EmailMatch.CONTAINS);
+
+        assertThrows(DataValidationException.class, () -> userService.findUsers(contains, null, 20, false));
+
+        ReflectionTestUtils.setField(userService, "emailContainsSearch", true);
+
+        assertEquals(1, userService.findUsers(contains, null, 20, false).getContent().size());
+    }
+
+    @Test
+    void findUsers_shouldRejectInvalidCursorsAndPageSizes() {
+        assertThrows(DataValidationException.class, () -> userService.findUsers(null, "not-a-cursor", 20, false));
+        assertThrows(DataValidationException.class, () -> userService.findUsers(null, null, 0, false));
+        assertThrows(DataValidationException.class, () -> userService.findUsers(null, null, 101, false));
+    }
+
+    private static UserFilter filter(String email, UserFilter.EmailMatch emailMatch) {
+        return new UserFilter(email, emailMatch, null, null);
+    }
+
+    private User save(String email, LocalDateTime createdAt) {
+        User user = repository.saveAndFlush(
+            User.builder()
+                .email(email)
+                .fullName("Test User")
+                .passwordHash("hashed")
+                .status(User.UserStatus.ACTIVE)
+                .role(UserRole.CUSTOMER)
+                .build()
+        );
+
+        entityManager.createNativeQuery("UPDATE users SET created_at = :createdAt WHERE id = :id")
+            .setParameter("createdAt", createdAt)
+            .setParameter("id", user.getId())
+            .executeUpdate();
+        entityManager.clear();
+
+        return user;
+    }
+}
@@ -0,0 +1,64 @@
+package com.quickbite.order_service.client;
+
+import com.quickbite.core.deadline.RequestDeadline;
+import com.quickbite.core.exception.DeadlineExceededException;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds each Feign call by the current {@link RequestDeadline}: connect and
+ * read timeouts are cut to the remaining budget, which is also forwarded in
+ * {@link RequestDeadline#HEADER}. A call is not started once the budget is
+ * spent, and a timeout caused by the deadline surfaces as
+ * {@link DeadlineExceededException} rather than a product-service error.
+ */
+public class DeadlineFeignClient implements Client {
+
+    private final Client delegate;
+
+    public DeadlineFeignClient(Client delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Optional<RequestDeadline> current = RequestDeadline.current();
+
+        if (current.isEmpty()) {
+            return delegate.execute(request, options);
+        }
+
+        RequestDeadline deadline = current.get();
+        long now = System.nanoTime();
+        deadline.check(now);
+
+        long remainingMillis = Math.max(1, deadline.remainingMillis(now));
+        Request.Options bounded = new Request.Options(
+            Math.min(options.connectTimeoutMillis(), remainingMillis), TimeUnit.MILLISECONDS,
+            Math.min(options.readTimeoutMillis(), remainingMillis), TimeUnit.MILLISECONDS,
+            options.isFollowRedirects()
+        );
+
+        Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+        headers.put(RequestDeadline.HEADER, List.of(Long.toString(remainingMillis)));
+
+        try {
+            return delegate.execute(
+                Request.create(request.httpMethod(), request.url(), headers, request.body(), request.charset(), request.requestTemplate()),
+                bounded
+            );
+        } catch (IOException e) {
+            deadline.check(System.nanoTime());
+            throw e;
+        }
+    }
+}
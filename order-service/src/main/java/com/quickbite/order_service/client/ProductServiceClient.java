@@ -4,6 +4,9 @@ import com.quickbite.order_service.dto.ProductResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 @FeignClient(name = "product-service", url = "${app.services.product-service-url}")
 public interface ProductServiceClient {
@@ -13,4 +16,7 @@ public interface ProductServiceClient {
 
     @GetMapping("/api/v1/restaurants/{id}/exists")
     boolean validateRestaurant(@PathVariable("id") Long id);
+
+    @GetMapping("/internal/restaurants/owned")
+    List<Long> getOwnedRestaurantIds(@RequestParam("ownerId") Long ownerId);
 }
@@ -0,0 +1,33 @@
+package com.quickbite.order_service.config;
+
+import com.quickbite.order_service.client.DeadlineFeignClient;
+import com.quickbite.core.security.InternalSecret;
+import feign.Client;
+import feign.RequestInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FeignConfig {
+
+    @Bean
+    public Client feignClient() {
+        return new DeadlineFeignClient(new Client.Default(null, null));
+    }
+
+    /**
+     * Sends the internal secret product-service requires on its
+     * {@code /internal} endpoints; without it those calls are refused.
+     */
+    @Bean
+    public RequestInterceptor internalSecretInterceptor(@Value("${security.internal.secret:}") String internalSecret) {
+        InternalSecret secret = new InternalSecret(internalSecret);
+
+        return template -> {
+            if (secret.isEnabled() && template.path().startsWith("/internal/")) {
+                template.header(InternalSecret.HEADER, secret.value());
+            }
+        };
+    }
+}
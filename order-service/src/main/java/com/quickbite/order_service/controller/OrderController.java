@@ -48,7 +48,7 @@ public class OrderController {
     }
 
     @GetMapping(ApiPaths.BY_RESTAURANT)
-    @PreAuthorize("hasRole('RESTAURANT_OWNER')")
+    @PreAuthorize("hasRole('RESTAURANT_OWNER') and @restaurantOwnershipService.owns(principal, #restaurantId)")
     public Page<OrderResponse> getRestaurantOrders(
         @PathVariable("restaurantId") @Positive Long restaurantId,
         @PageableDefault(size = 20, sort = "createdAt") Pageable pageable
@@ -66,7 +66,7 @@ public class OrderController {
     }
 
     @GetMapping(ApiPaths.BY_RESTAURANT + "/stats")
-    @PreAuthorize("hasRole('RESTAURANT_OWNER')")
+    @PreAuthorize("hasRole('RESTAURANT_OWNER') and @restaurantOwnershipService.owns(principal, #restaurantId)")
     public OrderStatusResponse getRestaurantStats(
         @PathVariable("restaurantId") @Positive Long restaurantId
     ) {
@@ -94,7 +94,7 @@ public class OrderController {
             id,
             request,
             user.id(),
-            user.restaurantId(),
+            user.restaurantIds(),
             user.role()
         );
     }
@@ -107,7 +107,7 @@ public class OrderController {
         return orderService.cancelOrder(
             id,
             user.id(),
-            user.restaurantId(),
+            user.restaurantIds(),
             user.role()
         );
     }
@@ -4,6 +4,7 @@ import com.quickbite.core.api.ApiError;
 import com.quickbite.core.dto.ErrorResponse;
 import com.quickbite.core.exception.BaseBusinessException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -45,13 +46,25 @@ public class GlobalExceptionHandler {
     ) {
         HttpStatus status = resolveStatus(ex);
 
-        if (status.is5xxServerError()) {
+        if (status.is5xxServerError() && status != HttpStatus.GATEWAY_TIMEOUT) {
             log.error("Business exception", ex);
         }
 
         return build(ex.getApiError(), status, null);
     }
 
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleQueryTimeoutException(QueryTimeoutException ex) {
+        log.warn("Query cancelled by timeout: {}", ex.getMessage());
+
+        ApiError apiError = new ApiError(
+            "DEADLINE_EXCEEDED",
+            "Request deadline exceeded"
+        );
+
+        return build(apiError, HttpStatus.GATEWAY_TIMEOUT, null);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneric(Exception ex) {
         log.error("Unexpected error", ex);
@@ -87,6 +100,7 @@ public class GlobalExceptionHandler {
             case "DATA_VALIDATION_ERROR", "VALIDATION_ERROR" -> HttpStatus.BAD_REQUEST;
             case "BUSINESS_RULE_VIOLATION" -> HttpStatus.UNPROCESSABLE_CONTENT;
             case "DATABASE_ERROR" -> HttpStatus.INTERNAL_SERVER_ERROR;
+            case "DEADLINE_EXCEEDED" -> HttpStatus.GATEWAY_TIMEOUT;
             case "JWT_VALIDATION_ERROR", "TOKEN_ERROR", "INVALID_USER_STATUS" ->
                 HttpStatus.UNAUTHORIZED;
             default -> HttpStatus.INTERNAL_SERVER_ERROR;
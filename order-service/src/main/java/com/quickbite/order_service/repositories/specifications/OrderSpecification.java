@@ -7,6 +7,7 @@ import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public final class OrderSpecification {
 
@@ -53,4 +54,13 @@ public final class OrderSpecification {
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Orders of any of {@code restaurantIds}; none when the set is empty.
+     */
+    public static Specification<Order> restaurantIn(Set<Long> restaurantIds) {
+        return (root, query, cb) -> restaurantIds.isEmpty()
+            ? cb.disjunction()
+            : root.get("restaurantId").in(restaurantIds);
+    }
 }
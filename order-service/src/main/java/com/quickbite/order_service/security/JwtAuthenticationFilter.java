@@ -2,13 +2,17 @@ package com.quickbite.order_service.security;
 
 import com.quickbite.core.exception.BaseBusinessException;
 import com.quickbite.core.exception.InvalidTokenException;
-import com.quickbite.core.security.UserRole;
+import com.quickbite.core.security.EdgeIdentity;
+import com.quickbite.core.security.EdgeIdentityCodec;
+import com.quickbite.core.security.JwtClaims;
+import com.quickbite.core.security.denylist.TokenDenylist;
 import com.quickbite.order_service.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -18,21 +22,29 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final TokenDenylist tokenDenylist;
     private final HandlerExceptionResolver resolver;
+    private final EdgeIdentityCodec identityCodec;
 
     public JwtAuthenticationFilter(
         JwtService jwtService,
+        TokenDenylist tokenDenylist,
         @Qualifier("handlerExceptionResolver")
-        HandlerExceptionResolver resolver
+        HandlerExceptionResolver resolver,
+        @Value("${security.edge-identity.secret:}") String identitySecret
     ) {
         this.jwtService = jwtService;
+        this.tokenDenylist = tokenDenylist;
         this.resolver = resolver;
+        this.identityCodec = new EdgeIdentityCodec(identitySecret);
     }
 
     @Override
@@ -42,46 +54,54 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         FilterChain filterChain
     ) throws ServletException, IOException {
 
+        Optional<EdgeIdentity> edgeIdentity = identityCodec.decode(
+            request.getHeader(EdgeIdentityCodec.HEADER),
+            Instant.now().getEpochSecond()
+        );
+
         String authHeader = request.getHeader("Authorization");
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (edgeIdentity.isEmpty() && (authHeader == null || !authHeader.startsWith("Bearer "))) {
             filterChain.doFilter(request, response);
             return;
         }
 
         try {
-            String token = authHeader.substring(7);
-
-            jwtService.validateToken(token);
-
-            String role =  jwtService.getRoleFromToken(token);
-            Long userId = jwtService.getUserIdFromToken(token);
-            Long restaurantId = jwtService.getRestaurantIdFromToken(token);
-            UserRole userRole;
-
-            try {
-                userRole = UserRole.valueOf(role);
-            } catch (IllegalArgumentException ex) {
-                throw new InvalidTokenException("Invalid role in token");
+            if (edgeIdentity.isPresent()) {
+                EdgeIdentity identity = edgeIdentity.get();
+                rejectIfRevoked(identity.tokenId());
+                authenticate(new JwtUser(identity.userId(), identity.restaurantIds(), identity.role()));
+            } else {
+                JwtClaims claims = jwtService.verify(authHeader.substring(7));
+                rejectIfRevoked(claims.tokenId());
+
+                authenticate(new JwtUser(
+                    claims.userId(),
+                    claims.restaurantIds(),
+                    claims.role()
+                ));
             }
 
-            var jwtUser = new JwtUser(
-                userId,
-                restaurantId,
-                userRole
-            );
-
-            var auth = new UsernamePasswordAuthenticationToken(
-                jwtUser,
-                null,
-                List.of(new SimpleGrantedAuthority(userRole.getAuthority()))
-            );
-
-            SecurityContextHolder.getContext().setAuthentication(auth);
-
             filterChain.doFilter(request, response);
         } catch (AuthenticationException | BaseBusinessException ex) {
+            SecurityContextHolder.clearContext();
             resolver.resolveException(request, response, null, ex);
         }
     }
+
+    private void rejectIfRevoked(String tokenId) {
+        if (tokenDenylist.isRevoked(tokenId)) {
+            throw new InvalidTokenException("Token revoked");
+        }
+    }
+
+    private void authenticate(JwtUser jwtUser) {
+        var auth = new UsernamePasswordAuthenticationToken(
+            jwtUser,
+            null,
+            List.of(new SimpleGrantedAuthority(jwtUser.role().getAuthority()))
+        );
+
+        SecurityContextHolder.getContext().setAuthentication(auth);
+    }
 }
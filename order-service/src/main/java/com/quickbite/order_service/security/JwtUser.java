@@ -2,8 +2,21 @@ package com.quickbite.order_service.security;
 
 import com.quickbite.core.security.UserRole;
 
+import java.util.Set;
+
+/**
+ * {@code restaurantIds} are the restaurants a restaurant owner owned when
+ * the token was issued, empty for everyone else. Ownership checks go through
+ * {@code RestaurantOwnershipService}, which also finds restaurants created
+ * since.
+ */
 public record JwtUser(
     Long id,
-    Long restaurantId,
+    Set<Long> restaurantIds,
     UserRole role
-) {}
+) {
+
+    public JwtUser {
+        restaurantIds = restaurantIds == null ? Set.of() : Set.copyOf(restaurantIds);
+    }
+}
@@ -1,52 +1,24 @@
 package com.quickbite.order_service.service;
 
-import com.quickbite.core.exception.InvalidTokenException;
-import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import com.quickbite.core.security.JwtClaims;
+import com.quickbite.core.security.JwtVerifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
-
 @Service
 public class JwtService {
 
-    private final SecretKey secretKey;
-
-    public JwtService(@Value("${security.jwt.secret}") String secret) {
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
-    }
-
-    public void validateToken(String token) {
-        try {
-            Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token);
-        } catch (ExpiredJwtException ex) {
-            throw new InvalidTokenException("Token expired");
-        } catch (JwtException ex) {
-            throw new InvalidTokenException("Invalid token");
-        }
-    }
-
-    public String getRoleFromToken(String token) {
-        return getClaims(token).get("role", String.class);
-    }
-
-    public Long getUserIdFromToken(String token) {
-        return getClaims(token).get("userId", Long.class);
-    }
+    private final JwtVerifier verifier;
 
-    public Long getRestaurantIdFromToken(String token) {
-        return getClaims(token).get("restaurantId", Long.class);
+    public JwtService(
+        @Value("${security.jwt.secret}") String secret,
+        @Value("${jwt.issuer:auth-service}") String issuer,
+        @Value("${security.jwt.token-cache.max-entries:10000}") int maxCachedTokens
+    ) {
+        this.verifier = new JwtVerifier(secret, issuer, maxCachedTokens);
     }
 
-    private Claims getClaims(String token) {
-        return Jwts.parser()
-            .verifyWith(secretKey)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+    public JwtClaims verify(String token) {
+        return verifier.verify(token);
     }
 }
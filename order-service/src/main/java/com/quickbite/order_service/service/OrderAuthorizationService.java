@@ -8,16 +8,19 @@ import com.quickbite.order_service.repositories.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 public class OrderAuthorizationService {
 
     private final OrderRepository orderRepository;
+    private final RestaurantOwnershipService restaurantOwnershipService;
 
     public Order authorizeUserAccess(
         Long orderId,
         Long userId,
-        Long restaurantId,
+        Set<Long> restaurantIds,
         UserRole role
     ) {
 
@@ -36,7 +39,7 @@ public class OrderAuthorizationService {
         }
 
         if (role == UserRole.RESTAURANT_OWNER
-            && order.getRestaurantId().equals(restaurantId)) {
+            && restaurantOwnershipService.owns(userId, restaurantIds, order.getRestaurantId())) {
             return order;
         }
 
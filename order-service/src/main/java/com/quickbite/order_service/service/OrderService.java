@@ -4,6 +4,7 @@ import com.quickbite.core.exception.BusinessRuleViolationException;
 import com.quickbite.core.security.UserRole;
 import com.quickbite.order_service.dto.*;
 import com.quickbite.order_service.dto.filter.OrderFilter;
+import com.quickbite.order_service.entity.Order;
 import com.quickbite.order_service.mappers.*;
 import com.quickbite.order_service.repositories.OrderRepository;
 import com.quickbite.order_service.repositories.specifications.OrderSpecification;
@@ -12,10 +13,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -28,6 +31,7 @@ public class OrderService {
     private final OrderStatusService statusService;
     private final OrderRepository orderRepository;
     private final OrderResponseMapper responseMapper;
+    private final RestaurantOwnershipService restaurantOwnershipService;
 
     public List<OrderResponse> getUserOrders(Long userId)  {
         return queryService.getUserOrders(userId);
@@ -61,9 +65,13 @@ public class OrderService {
                 filter.endDate()
             );
         } else if (user.role() == UserRole.RESTAURANT_OWNER) {
+            if (filter.restaurantId() != null && !restaurantOwnershipService.owns(user, filter.restaurantId())) {
+                throw new BusinessRuleViolationException("Access denied");
+            }
+
             securedFilter = new OrderFilter(
                 null,
-                user.restaurantId(),
+                filter.restaurantId(),
                 filter.status(),
                 filter.startDate(),
                 filter.endDate()
@@ -72,10 +80,14 @@ public class OrderService {
             throw new BusinessRuleViolationException("Invalid role for search");
         }
 
-        return orderRepository.findAll(
-            OrderSpecification.withFilters(securedFilter),
-            pageable
-        ).map(responseMapper::toResponse);
+        Specification<Order> spec = OrderSpecification.withFilters(securedFilter);
+
+        if (user.role() == UserRole.RESTAURANT_OWNER && filter.restaurantId() == null) {
+            spec = spec.and(OrderSpecification.restaurantIn(restaurantOwnershipService.restaurantIds(user)));
+        }
+
+        return orderRepository.findAll(spec, pageable)
+            .map(responseMapper::toResponse);
     }
 
     public OrderResponse createOrder(OrderRequest request, Long userId) {
@@ -86,18 +98,18 @@ public class OrderService {
         Long id,
         OrderStatusUpdateRequest request,
         Long userId,
-        Long restaurantId,
+        Set<Long> restaurantIds,
         UserRole role
     ) {
-        return statusService.updateStatus(id, request, userId, restaurantId, role);
+        return statusService.updateStatus(id, request, userId, restaurantIds, role);
     }
 
     public OrderResponse cancelOrder(
         Long id,
         Long userId,
-        Long restaurantId,
+        Set<Long> restaurantIds,
         UserRole role
     ) {
-        return statusService.cancelOrder(id, userId, restaurantId, role);
+        return statusService.cancelOrder(id, userId, restaurantIds, role);
     }
 }
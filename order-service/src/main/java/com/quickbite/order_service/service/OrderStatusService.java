@@ -10,6 +10,8 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 public class OrderStatusService {
@@ -23,14 +25,14 @@ public class OrderStatusService {
         Long id,
         OrderStatusUpdateRequest request,
         Long userId,
-        Long restaurantId,
+        Set<Long> restaurantIds,
         UserRole role
     ) {
         Order order =
             authorizationService.authorizeUserAccess(
                 id,
                 userId,
-                restaurantId,
+                restaurantIds,
                 role
             );
 
@@ -46,14 +48,14 @@ public class OrderStatusService {
     public OrderResponse cancelOrder(
         Long id,
         Long userId,
-        Long restaurantId,
+        Set<Long> restaurantIds,
         UserRole role
     ) {
         Order order =
             authorizationService.authorizeUserAccess(
                 id,
                 userId,
-                restaurantId,
+                restaurantIds,
                 role
             );
 
@@ -0,0 +1,105 @@
+package com.quickbite.order_service.service;
+
+import com.quickbite.core.cache.BoundedTtlCache;
+import com.quickbite.order_service.client.ProductServiceClient;
+import com.quickbite.order_service.security.JwtUser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Restaurants a restaurant owner owns. The {@code restaurantIds} claim of
+ * the token answers without a call; only a restaurant missing from it, such
+ * as one created after the token was issued, or a token without the claim,
+ * asks product-service. Those answers are kept in a {@link BoundedTtlCache}
+ * of {@code app.restaurant-ownership.max-entries} owners for at most
+ * {@code app.restaurant-ownership.ttl}. When product-service cannot be
+ * reached, the last known set is used, or none, and access is denied.
+ */
+@Slf4j
+@Service
+public class RestaurantOwnershipService {
+
+    private final ProductServiceClient productServiceClient;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final BoundedTtlCache<Long, Set<Long>> owned;
+
+    @Autowired
+    public RestaurantOwnershipService(
+        ProductServiceClient productServiceClient,
+        @Value("${app.restaurant-ownership.max-entries:10000}") int maxEntries,
+        @Value("${app.restaurant-ownership.ttl:1m}") Duration ttl
+    ) {
+        this(productServiceClient, maxEntries, ttl, System::nanoTime);
+    }
+
+    RestaurantOwnershipService(
+        ProductServiceClient productServiceClient,
+        int maxEntries,
+        Duration ttl,
+        LongSupplier clock
+    ) {
+        this.productServiceClient = productServiceClient;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        this.owned = new BoundedTtlCache<>(maxEntries, clock);
+    }
+
+    public boolean owns(JwtUser user, Long restaurantId) {
+        return owns(user.id(), user.restaurantIds(), restaurantId);
+    }
+
+    /**
+     * @param tokenRestaurantIds the {@code restaurantIds} claim of the
+     * owner's token
+     */
+    public boolean owns(Long ownerId, Set<Long> tokenRestaurantIds, Long restaurantId) {
+        return tokenRestaurantIds.contains(restaurantId) || lookup(ownerId).contains(restaurantId);
+    }
+
+    /**
+     * @return the restaurants of the token, together with those a previous
+     * miss loaded from product-service; a token without any asks
+     * product-service
+     */
+    public Set<Long> restaurantIds(JwtUser user) {
+        if (user.restaurantIds().isEmpty()) {
+            return lookup(user.id());
+        }
+
+        Set<Long> loaded = owned.get(user.id());
+
+        if (loaded == null) {
+            return user.restaurantIds();
+        }
+
+        Set<Long> restaurantIds = new HashSet<>(user.restaurantIds());
+        restaurantIds.addAll(loaded);
+        return restaurantIds;
+    }
+
+    private Set<Long> lookup(Long ownerId) {
+        Set<Long> lastKnown = owned.peek(ownerId);
+        Set<Long> cached = owned.get(ownerId);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            Set<Long> restaurantIds = Set.copyOf(productServiceClient.getOwnedRestaurantIds(ownerId));
+            owned.put(ownerId, restaurantIds, clock.getAsLong() + ttlNanos);
+            return restaurantIds;
+        } catch (RuntimeException e) {
+            log.warn("Could not load restaurants of owner {}: {}", ownerId, e.toString());
+            return lastKnown == null ? Set.of() : lastKnown;
+        }
+    }
+}
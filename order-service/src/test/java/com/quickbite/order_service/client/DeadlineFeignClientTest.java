@@ -0,0 +1,98 @@
+package com.quickbite.order_service.client;
+
+import com.quickbite.core.deadline.RequestDeadline;
+import com.quickbite.core.exception.DeadlineExceededException;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeadlineFeignClientTest {
+
+    private static final Request.Options DEFAULT_OPTIONS =
+        new Request.Options(10, TimeUnit.SECONDS, 60, TimeUnit.SECONDS, true);
+
+    private final AtomicReference<Request> sentRequest = new AtomicReference<>();
+    private final AtomicReference<Request.Options> sentOptions = new AtomicReference<>();
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void execute_shouldPassThroughWithoutDeadline() throws IOException {
+        new DeadlineFeignClient(recording()).execute(request(), DEFAULT_OPTIONS);
+
+        assertSame(DEFAULT_OPTIONS, sentOptions.get());
+        assertFalse(sentRequest.get().headers().containsKey(RequestDeadline.HEADER));
+    }
+
+    @Test
+    void execute_shouldBoundTimeoutsAndForwardRemainingBudget() throws IOException {
+        RequestDeadline.set(RequestDeadline.after(500, System.nanoTime()));
+
+        new DeadlineFeignClient(recording()).execute(request(), DEFAULT_OPTIONS);
+
+        assertTrue(sentOptions.get().readTimeoutMillis() <= 500);
+        assertTrue(sentOptions.get().connectTimeoutMillis() <= 500);
+
+        long forwarded = Long.parseLong(sentRequest.get().headers().get(RequestDeadline.HEADER).iterator().next());
+        assertTrue(forwarded > 0 && forwarded <= 500);
+    }
+
+    @Test
+    void execute_shouldNotCallOnceDeadlinePassed() {
+        RequestDeadline.set(RequestDeadline.after(0, System.nanoTime()));
+
+        assertThrows(DeadlineExceededException.class,
+            () -> new DeadlineFeignClient(recording()).execute(request(), DEFAULT_OPTIONS));
+        assertNull(sentRequest.get());
+    }
+
+    @Test
+    void execute_shouldReportTimeoutCausedByDeadline() {
+        RequestDeadline.set(RequestDeadline.after(20, System.nanoTime()));
+
+        Client slow = (request, options) -> {
+            try {
+                Thread.sleep(options.readTimeoutMillis() + 10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new SocketTimeoutException("Read timed out");
+        };
+
+        assertThrows(DeadlineExceededException.class,
+            () -> new DeadlineFeignClient(slow).execute(request(), DEFAULT_OPTIONS));
+    }
+
+    private Client recording() {
+        return (request, options) -> {
+            sentRequest.set(request);
+            sentOptions.set(options);
+            return Response.builder().status(200).request(request).headers(Map.of()).build();
+        };
+    }
+
+    private static Request request() {
+        return Request.create(
+            Request.HttpMethod.GET,
+            "http://localhost/api/v1/products/1",
+            Map.of(),
+            null,
+            StandardCharsets.UTF_8,
+            null
+        );
+    }
+}
@@ -2,6 +2,7 @@
 
     import com.fasterxml.jackson.databind.ObjectMapper;
     import com.quickbite.core.security.UserRole;
+    import com.quickbite.core.security.denylist.TokenDenylist;
     import com.quickbite.order_service.client.ProductServiceClient;
     import com.quickbite.order_service.constants.ApiPaths;
     import com.quickbite.order_service.dto.DeliveryAddressRequest;
@@ -33,6 +34,7 @@
     import org.springframework.test.web.servlet.MockMvc;
 
     import java.util.List;
+    import java.util.Set;
 
     import static com.quickbite.order_service.constants.TestConstants.*;
     import static org.mockito.ArgumentMatchers.*;
@@ -59,6 +61,9 @@
         @MockitoBean
         private JwtService jwtService;
 
+        @MockitoBean
+        private TokenDenylist tokenDenylist;
+
         @MockitoBean
         private ProductServiceClient productServiceClient;
 
@@ -99,7 +104,7 @@
 
             JwtUser user = new JwtUser(
                 VALID_USER_ID,
-                VALID_RESTAURANT_ID,
+                Set.of(),
                 UserRole.CUSTOMER
             );
 
@@ -130,7 +135,7 @@
 
             JwtUser user = new JwtUser(
                 VALID_USER_ID,
-                VALID_RESTAURANT_ID,
+                Set.of(),
                 UserRole.CUSTOMER
             );
 
@@ -151,7 +156,7 @@
         void shouldGetUserOrders() throws Exception {
             JwtUser user = new JwtUser(
                 VALID_USER_ID,
-                INVALID_ID,
+                Set.of(),
                 UserRole.CUSTOMER
             );
 
@@ -3,19 +3,25 @@ package com.quickbite.order_service.service;
 import com.quickbite.core.exception.BusinessRuleViolationException;
 import com.quickbite.core.exception.ResourceNotFoundException;
 import com.quickbite.core.security.UserRole;
+import com.quickbite.order_service.client.ProductServiceClient;
 import com.quickbite.order_service.entity.Order;
 import com.quickbite.order_service.repositories.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.quickbite.order_service.constants.TestConstants.*;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,9 +30,19 @@ public class OrderAuthorizationServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
-    @InjectMocks
+    @Mock
+    private ProductServiceClient productServiceClient;
+
     private OrderAuthorizationService service;
 
+    @BeforeEach
+    void setUp() {
+        service = new OrderAuthorizationService(
+            orderRepository,
+            new RestaurantOwnershipService(productServiceClient, 100, Duration.ofMinutes(1), System::nanoTime)
+        );
+    }
+
     @Test
     void shouldAllowAdminAccess() {
         Order order = Order.builder()
@@ -41,7 +57,7 @@ public class OrderAuthorizationServiceTest {
         Order result = service.authorizeUserAccess(
             VALID_ORDER_ID,
             NON_EXISTENT_ID,
-            OTHER_RESTAURANT_ID,
+            Set.of(OTHER_RESTAURANT_ID),
             UserRole.ADMIN
         );
 
@@ -61,13 +77,71 @@ public class OrderAuthorizationServiceTest {
         Order result = service.authorizeUserAccess(
             VALID_ORDER_ID,
             VALID_USER_ID,
-            null,
+            Set.of(),
             UserRole.CUSTOMER
         );
 
         assertNotNull(result);
     }
 
+    @Test
+    void shouldAllowOwnerAccessToOrdersOfOwnedRestaurants() {
+        Order order = Order.builder()
+            .id(VALID_ORDER_ID)
+            .userId(NON_EXISTENT_ID)
+            .restaurantId(OTHER_RESTAURANT_ID)
+            .build();
+
+        when(orderRepository.findById(VALID_ORDER_ID))
+            .thenReturn(Optional.of(order));
+
+        Order result = service.authorizeUserAccess(
+            VALID_ORDER_ID,
+            VALID_USER_ID,
+            Set.of(VALID_RESTAURANT_ID, OTHER_RESTAURANT_ID),
+            UserRole.RESTAURANT_OWNER
+        );
+
+        assertNotNull(result);
+        verify(productServiceClient, never()).getOwnedRestaurantIds(VALID_USER_ID);
+
+        when(productServiceClient.getOwnedRestaurantIds(VALID_USER_ID))
+            .thenReturn(List.of(VALID_RESTAURANT_ID));
+
+        assertThrows(
+            BusinessRuleViolationException.class,
+            () -> service.authorizeUserAccess(
+                VALID_ORDER_ID,
+                VALID_USER_ID,
+                Set.of(VALID_RESTAURANT_ID),
+                UserRole.RESTAURANT_OWNER
+            )
+        );
+    }
+
+    @Test
+    void shouldAskProductServiceWhenRestaurantIsMissingFromToken() {
+        Order order = Order.builder()
+            .id(VALID_ORDER_ID)
+            .userId(NON_EXISTENT_ID)
+            .restaurantId(OTHER_RESTAURANT_ID)
+            .build();
+
+        when(orderRepository.findById(VALID_ORDER_ID))
+            .thenReturn(Optional.of(order));
+        when(productServiceClient.getOwnedRestaurantIds(VALID_USER_ID))
+            .thenReturn(List.of(VALID_RESTAURANT_ID, OTHER_RESTAURANT_ID));
+
+        Order result = service.authorizeUserAccess(
+            VALID_ORDER_ID,
+            VALID_USER_ID,
+            Set.of(VALID_RESTAURANT_ID),
+            UserRole.RESTAURANT_OWNER
+        );
+
+        assertNotNull(result);
+    }
+
     @Test
     void shouldThrowWhenOrderNotFound() {
         when(orderRepository.findById(1L))
@@ -78,7 +152,7 @@ public class OrderAuthorizationServiceTest {
             () -> service.authorizeUserAccess(
                 VALID_ORDER_ID,
                 VALID_USER_ID,
-                VALID_RESTAURANT_ID,
+                Set.of(VALID_RESTAURANT_ID),
                 UserRole.ADMIN
             )
         );
@@ -99,7 +173,7 @@ public class OrderAuthorizationServiceTest {
             () -> service.authorizeUserAccess(
                 VALID_ORDER_ID,
                 VALID_USER_ID,
-                VALID_RESTAURANT_ID,
+                Set.of(VALID_RESTAURANT_ID),
                 UserRole.CUSTOMER
             )
         );
@@ -12,6 +12,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Set;
+
 import static com.quickbite.order_service.constants.TestConstants.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -80,7 +82,7 @@ public class OrderStatusServiceTest {
             VALID_ORDER_ID,
             request,
             VALID_USER_ID,
-            VALID_RESTAURANT_ID,
+            Set.of(VALID_RESTAURANT_ID),
             UserRole.RESTAURANT_OWNER
         );
 
@@ -115,7 +117,7 @@ public class OrderStatusServiceTest {
         OrderResponse response = service.cancelOrder(
             VALID_ORDER_ID,
             VALID_USER_ID,
-            VALID_RESTAURANT_ID,
+            Set.of(VALID_RESTAURANT_ID),
             UserRole.CUSTOMER
         );
 
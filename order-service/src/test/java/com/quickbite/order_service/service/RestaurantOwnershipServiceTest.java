@@ -0,0 +1,59 @@
+package com.quickbite.order_service.service;
+
+import com.quickbite.core.security.UserRole;
+import com.quickbite.order_service.client.ProductServiceClient;
+import com.quickbite.order_service.security.JwtUser;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.quickbite.order_service.constants.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class RestaurantOwnershipServiceTest {
+
+    private final ProductServiceClient productServiceClient = mock(ProductServiceClient.class);
+    private final AtomicLong clock = new AtomicLong();
+    private final RestaurantOwnershipService ownershipService =
+        new RestaurantOwnershipService(productServiceClient, 100, Duration.ofMinutes(1), clock::get);
+
+    @Test
+    void owns_shouldTrustTokenAndCacheLookupsOnMiss() {
+        JwtUser owner = new JwtUser(VALID_USER_ID, Set.of(VALID_RESTAURANT_ID), UserRole.RESTAURANT_OWNER);
+        when(productServiceClient.getOwnedRestaurantIds(VALID_USER_ID))
+            .thenReturn(List.of(VALID_RESTAURANT_ID, OTHER_RESTAURANT_ID));
+
+        assertTrue(ownershipService.owns(owner, VALID_RESTAURANT_ID));
+        verify(productServiceClient, never()).getOwnedRestaurantIds(VALID_USER_ID);
+
+        assertTrue(ownershipService.owns(owner, OTHER_RESTAURANT_ID));
+        assertFalse(ownershipService.owns(owner, NON_EXISTENT_ID));
+        assertEquals(Set.of(VALID_RESTAURANT_ID, OTHER_RESTAURANT_ID), ownershipService.restaurantIds(owner));
+        verify(productServiceClient, times(1)).getOwnedRestaurantIds(VALID_USER_ID);
+
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        assertFalse(ownershipService.owns(owner, NON_EXISTENT_ID));
+        verify(productServiceClient, times(2)).getOwnedRestaurantIds(VALID_USER_ID);
+    }
+
+    @Test
+    void restaurantIds_shouldAskProductServiceForTokenWithoutRestaurants() {
+        JwtUser owner = new JwtUser(VALID_USER_ID, Set.of(), UserRole.RESTAURANT_OWNER);
+        when(productServiceClient.getOwnedRestaurantIds(VALID_USER_ID))
+            .thenReturn(List.of(VALID_RESTAURANT_ID))
+            .thenThrow(new IllegalStateException("product-service unavailable"));
+
+        assertEquals(Set.of(VALID_RESTAURANT_ID), ownershipService.restaurantIds(owner));
+
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        assertEquals(Set.of(VALID_RESTAURANT_ID), ownershipService.restaurantIds(owner));
+    }
+}
@@ -0,0 +1,65 @@
+package com.quickbite.product_service.config;
+
+import com.quickbite.product_service.constants.ApiPaths;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Public catalogue GETs are the same for every caller, so they are marked
+ * cacheable for shared caches (the api-gateway) and get an ETag for cheap
+ * revalidation. Without this Spring Security sends {@code no-store}.
+ */
+@Configuration
+public class CacheControlConfig implements WebMvcConfigurer {
+
+    @Value("${catalog.cache.max-age:30s}")
+    private Duration maxAge;
+
+    @Value("${catalog.cache.stale-while-revalidate:30s}")
+    private Duration staleWhileRevalidate;
+
+    @Value("${catalog.cache.stale-if-error:5m}")
+    private Duration staleIfError;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        String cacheControl = CacheControl.maxAge(maxAge)
+            .cachePublic()
+            .staleWhileRevalidate(staleWhileRevalidate)
+            .staleIfError(staleIfError)
+            .getHeaderValue();
+
+        registry.addInterceptor(new HandlerInterceptor() {
+                @Override
+                public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                    if (HttpMethod.GET.matches(request.getMethod())) {
+                        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+                    }
+                    return true;
+                }
+            })
+            .addPathPatterns(ApiPaths.PRODUCTS + "/**", ApiPaths.RESTAURANTS + "/**", ApiPaths.CATEGORIES + "/**")
+            .excludePathPatterns(ApiPaths.RESTAURANTS + "/owner/**");
+    }
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> catalogEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+            new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns(ApiPaths.PRODUCTS + "/*", ApiPaths.RESTAURANTS + "/*", ApiPaths.CATEGORIES + "/*");
+        return registration;
+    }
+}
@@ -0,0 +1,26 @@
+package com.quickbite.product_service.config;
+
+import com.quickbite.core.deadline.DeadlineDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Bounds JDBC statements by the current request's remaining budget, see
+ * {@link DeadlineDataSource}.
+ */
+@Configuration
+public class DeadlineConfig {
+
+    @Bean
+    public static BeanPostProcessor deadlineDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? DeadlineDataSource.wrap(dataSource) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package com.quickbite.product_service.config;
+
+import com.quickbite.core.deadline.RequestDeadline;
+import com.quickbite.core.exception.DeadlineExceededException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Turns the caller's {@link RequestDeadline#HEADER} into the current
+ * {@link RequestDeadline} for the rest of the request. Requests that arrive
+ * with no budget left get a 504 before any other work is done. Without the
+ * header, {@code app.deadline.default-timeout} applies when set.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final HandlerExceptionResolver resolver;
+    private final long defaultBudgetMillis;
+
+    public DeadlineFilter(
+        @Qualifier("handlerExceptionResolver")
+        HandlerExceptionResolver resolver,
+        @Value("${app.deadline.default-timeout:0ms}") Duration defaultTimeout
+    ) {
+        this.resolver = resolver;
+        this.defaultBudgetMillis = defaultTimeout.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        long now = System.nanoTime();
+        OptionalLong budget = RequestDeadline.parseBudget(request.getHeader(RequestDeadline.HEADER));
+
+        if (budget.isEmpty() && defaultBudgetMillis <= 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestDeadline deadline = RequestDeadline.after(budget.orElse(defaultBudgetMillis), now);
+
+        if (deadline.isExpired(now)) {
+            resolver.resolveException(request, response, null,
+                new DeadlineExceededException("Request deadline exceeded before processing"));
+            return;
+        }
+
+        RequestDeadline.set(deadline);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+}
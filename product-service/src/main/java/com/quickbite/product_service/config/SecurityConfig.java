@@ -1,10 +1,13 @@
 package com.quickbite.product_service.config;
 
+import com.quickbite.core.security.InternalSecret;
+import com.quickbite.product_service.constants.ApiPaths;
 import com.quickbite.product_service.constants.PublicEndPoints;
 import com.quickbite.product_service.security.JwtAuthenticationFilter;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -13,13 +16,21 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
-@RequiredArgsConstructor
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final InternalSecret internalSecret;
+
+    public SecurityConfig(
+        JwtAuthenticationFilter jwtAuthenticationFilter,
+        @Value("${security.internal.secret:}") String internalSecret
+    ) {
+        this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.internalSecret = new InternalSecret(internalSecret);
+    }
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -30,6 +41,9 @@ public class SecurityConfig {
             )
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(PublicEndPoints.PUBLIC).permitAll()
+                // Chamadas entre serviços: só com o segredo interno, nunca com token de usuário
+                .requestMatchers(ApiPaths.INTERNAL + "/**").access((authentication, context) ->
+                    new AuthorizationDecision(internalSecret.matches(context.getRequest().getHeader(InternalSecret.HEADER))))
                 .anyRequest().authenticated()
             )
             .addFilterBefore(
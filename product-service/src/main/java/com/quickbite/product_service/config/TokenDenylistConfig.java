@@ -0,0 +1,53 @@
+package com.quickbite.product_service.config;
+
+import com.quickbite.core.security.denylist.HttpRevokedTokenSource;
+import com.quickbite.core.security.denylist.TokenDenylist;
+import com.quickbite.core.security.denylist.TokenDenylistSync;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Access tokens revoked at auth-service before they expire, checked by
+ * {@code JwtAuthenticationFilter} on every request. The list is pulled from
+ * {@code security.token-denylist.url} in the background, see
+ * {@link TokenDenylistSync}; without the url it stays empty and revoked
+ * tokens are accepted until they expire.
+ */
+@Configuration
+public class TokenDenylistConfig {
+
+    @Bean
+    public TokenDenylist tokenDenylist(
+        MeterRegistry meterRegistry,
+        @Value("${security.token-denylist.expected-entries:100000}") int expectedEntries
+    ) {
+        TokenDenylist denylist = new TokenDenylist(expectedEntries);
+        Gauge.builder("security.token-denylist.entries", denylist, TokenDenylist::size).register(meterRegistry);
+        return denylist;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty("security.token-denylist.url")
+    public TokenDenylistSync tokenDenylistSync(
+        TokenDenylist tokenDenylist,
+        @Value("${security.token-denylist.url}") String url,
+        @Value("${security.token-denylist.timeout:2s}") Duration timeout,
+        @Value("${security.token-denylist.refresh-interval:5s}") Duration refreshInterval,
+        @Value("${security.token-denylist.rebuild-interval:10m}") Duration rebuildInterval,
+        @Value("${security.token-denylist.cursor-overlap:100}") long cursorOverlap
+    ) {
+        return new TokenDenylistSync(
+            tokenDenylist,
+            new HttpRevokedTokenSource(url, timeout),
+            refreshInterval,
+            rebuildInterval,
+            cursorOverlap
+        ).start();
+    }
+}
@@ -11,4 +11,7 @@ public final class ApiPaths {
 	public static final String CATEGORIES  = API_V1 + "/categories";
 
 	public static final String BY_ID = "/{id}";
+
+	public static final String INTERNAL = "/internal";
+	public static final String OWNED_RESTAURANTS = "/restaurants/owned";
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.quickbite.product_service.controller;
+
+import com.quickbite.product_service.constants.ApiPaths;
+import com.quickbite.product_service.service.RestaurantService;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Ids of the restaurants an owner owns, read by auth-service when it issues
+ * a restaurant owner's token, and by order-service for a restaurant missing
+ * from it. Served outside {@code /api}, so the gateway never routes it.
+ */
+@RestController
+@RequestMapping(ApiPaths.INTERNAL)
+@RequiredArgsConstructor
+@Validated
+public class RestaurantOwnershipController {
+
+    private final RestaurantService service;
+
+    @GetMapping(ApiPaths.OWNED_RESTAURANTS)
+    public List<Long> getOwnedRestaurantIds(
+        @RequestParam("ownerId") @Positive Long ownerId
+    ) {
+        return service.getOwnedRestaurantIds(ownerId);
+    }
+}
@@ -13,7 +13,12 @@ import java.util.Map;
 @Getter
 @Setter
 @Entity
-@Table(name = "restaurants")
+@Table(
+    name = "restaurants",
+    indexes = {
+        @Index(name = "idx_restaurants_owner_id", columnList = "owner_id")
+    }
+)
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder(toBuilder = true)
@@ -3,7 +3,10 @@ package com.quickbite.product_service.repository;
 import com.quickbite.product_service.entity.Restaurant;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface RestaurantRepository extends
@@ -14,6 +17,9 @@ public interface RestaurantRepository extends
 
     boolean existsByIdAndOwnerId(Long id, Long ownerId);
 
+    @Query("SELECT r.id FROM Restaurant r WHERE r.ownerId = :ownerId ORDER BY r.id")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId);
+
     boolean existsByNameAndOwnerId(String name, Long ownerId);
 
     boolean existsByNameAndOwnerIdAndIdNot(
@@ -3,10 +3,22 @@ package com.quickbite.product_service.security;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.Set;
+
 @Getter
 @AllArgsConstructor
 public class AuthenticatedUser {
 
     private Long id;
     private String email;
+
+    /**
+     * Restaurants the user owned when the token was issued, from its
+     * {@code restaurantIds} claim.
+     */
+    private Set<Long> restaurantIds;
+
+    public boolean ownsRestaurant(Long restaurantId) {
+        return restaurantIds.contains(restaurantId);
+    }
 }
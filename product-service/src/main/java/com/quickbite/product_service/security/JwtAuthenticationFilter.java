@@ -1,13 +1,19 @@
 package com.quickbite.product_service.security;
 
 import com.quickbite.core.exception.BaseBusinessException;
+import com.quickbite.core.exception.InvalidTokenException;
+import com.quickbite.core.security.EdgeIdentity;
+import com.quickbite.core.security.EdgeIdentityCodec;
+import com.quickbite.core.security.JwtClaims;
 import com.quickbite.core.security.UserRole;
+import com.quickbite.core.security.denylist.TokenDenylist;
 import com.quickbite.product_service.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -17,21 +23,30 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final TokenDenylist tokenDenylist;
     private final HandlerExceptionResolver resolver;
+    private final EdgeIdentityCodec identityCodec;
 
     public JwtAuthenticationFilter(
         JwtService jwtService,
+        TokenDenylist tokenDenylist,
         @Qualifier("handlerExceptionResolver")
-        HandlerExceptionResolver resolver
+        HandlerExceptionResolver resolver,
+        @Value("${security.edge-identity.secret:}") String identitySecret
     ) {
         this.jwtService = jwtService;
+        this.tokenDenylist = tokenDenylist;
         this.resolver = resolver;
+        this.identityCodec = new EdgeIdentityCodec(identitySecret);
     }
 
     @Override
@@ -41,36 +56,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         FilterChain filterChain
     ) throws ServletException, IOException {
 
+        Optional<EdgeIdentity> edgeIdentity = identityCodec.decode(
+            request.getHeader(EdgeIdentityCodec.HEADER),
+            Instant.now().getEpochSecond()
+        );
+
         String authHeader = request.getHeader("Authorization");
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (edgeIdentity.isEmpty() && (authHeader == null || !authHeader.startsWith("Bearer "))) {
             filterChain.doFilter(request, response);
             return;
         }
 
         try {
-            String token = authHeader.substring(7);
-
-            jwtService.validateToken(token);
-
-            String email = jwtService.getEmailFromToken(token);
-            UserRole userRole = jwtService.getUserRoleFromToken(token);
-            Long userId = jwtService.getUserIdFromToken(token);
-
-            AuthenticatedUser user =
-                new AuthenticatedUser(userId, email);
-
-            var authorities = List.of(
-                new SimpleGrantedAuthority(userRole.getAuthority())
-            );
-
-            var auth = new UsernamePasswordAuthenticationToken(
-                user,
-                null,
-                authorities
-            );
-
-            SecurityContextHolder.getContext().setAuthentication(auth);
+            if (edgeIdentity.isPresent()) {
+                EdgeIdentity identity = edgeIdentity.get();
+                rejectIfRevoked(identity.tokenId());
+                authenticate(identity.userId(), identity.email(), identity.role(), identity.restaurantIds());
+            } else {
+                JwtClaims claims = jwtService.verify(authHeader.substring(7));
+                rejectIfRevoked(claims.tokenId());
+                authenticate(claims.userId(), claims.email(), claims.role(), claims.restaurantIds());
+            }
 
             filterChain.doFilter(request, response);
 
@@ -79,4 +86,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             resolver.resolveException(request, response, null, ex);
         }
     }
+
+    private void rejectIfRevoked(String tokenId) {
+        if (tokenDenylist.isRevoked(tokenId)) {
+            throw new InvalidTokenException("Token revoked");
+        }
+    }
+
+    private void authenticate(Long userId, String email, UserRole userRole, Set<Long> restaurantIds) {
+        AuthenticatedUser user =
+            new AuthenticatedUser(userId, email, restaurantIds);
+
+        var authorities = List.of(
+            new SimpleGrantedAuthority(userRole.getAuthority())
+        );
+
+        var auth = new UsernamePasswordAuthenticationToken(
+            user,
+            null,
+            authorities
+        );
+
+        SecurityContextHolder.getContext().setAuthentication(auth);
+    }
 }
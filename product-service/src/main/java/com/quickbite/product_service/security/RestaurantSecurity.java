@@ -6,6 +6,12 @@ import com.quickbite.product_service.utils.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+/**
+ * Ownership checks for restaurant writes. Owners are matched against the
+ * restaurant ids in their token, without a query; only an id missing from
+ * the token, such as a restaurant created after it was issued, is looked up
+ * in the database.
+ */
 @Component
 @RequiredArgsConstructor
 public class RestaurantSecurity {
@@ -18,8 +24,12 @@ public class RestaurantSecurity {
             return true;
         }
 
-        Long userId = SecurityUtils.getCurrentUserId();
+        AuthenticatedUser user = SecurityUtils.getCurrentUser();
 
-        return repository.existsByIdAndOwnerId(restaurantId, userId);
+        if (user.ownsRestaurant(restaurantId)) {
+            return true;
+        }
+
+        return repository.existsByIdAndOwnerId(restaurantId, user.getId());
     }
 }
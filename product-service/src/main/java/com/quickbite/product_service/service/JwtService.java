@@ -1,83 +1,24 @@
 package com.quickbite.product_service.service;
 
-import com.quickbite.core.exception.InvalidTokenException;
-import com.quickbite.core.security.UserRole;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
+import com.quickbite.core.security.JwtClaims;
+import com.quickbite.core.security.JwtVerifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import io.jsonwebtoken.security.Keys;
-import javax.crypto.SecretKey;
-
 
 @Service
 public class JwtService {
 
-    private final SecretKey secretKey;
+    private final JwtVerifier verifier;
 
     public JwtService(
-        @Value("${security.jwt.secret}") String secret
+        @Value("${security.jwt.secret}") String secret,
+        @Value("${jwt.issuer:auth-service}") String issuer,
+        @Value("${security.jwt.token-cache.max-entries:10000}") int maxCachedTokens
     ) {
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
-    }
-
-    public void validateToken(String token) {
-        try {
-            Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token);
-        } catch (ExpiredJwtException ex) {
-            throw new InvalidTokenException("Token expired");
-        } catch (JwtException ex) {
-            throw new InvalidTokenException("Token invalid");
-        }
-    }
-
-    public String getRoleFromToken(String token) {
-        Claims claims = getClaims(token);
-        return claims.get("role", String.class);
-    }
-
-    public String getEmailFromToken(String token) {
-        return getClaims(token).getSubject();
-    }
-
-    public Long getUserIdFromToken(String token) {
-        Object value = getClaims(token).get("userId");
-
-        if (value == null) {
-            throw new InvalidTokenException("Token missing userId");
-        }
-
-        try {
-            return Long.valueOf(value.toString());
-        } catch (NumberFormatException ex) {
-            throw new InvalidTokenException("Token has invalid userId");
-        }
-    }
-
-    public UserRole getUserRoleFromToken(String token) {
-        String role = getRoleFromToken(token);
-
-        if (role == null || role.isBlank()) {
-            throw new InvalidTokenException("Role not found in token");
-        }
-
-        try {
-            return UserRole.valueOf(role.toUpperCase());
-        } catch (IllegalArgumentException ex) {
-            throw new InvalidTokenException("Invalid role in token");
-        }
+        this.verifier = new JwtVerifier(secret, issuer, maxCachedTokens);
     }
 
-    private Claims getClaims(String token) {
-        return Jwts.parser()
-            .verifyWith(secretKey)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+    public JwtClaims verify(String token) {
+        return verifier.verify(token);
     }
 }
@@ -19,6 +19,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Validated
@@ -175,6 +177,12 @@ public class RestaurantService {
         return repository.existsById(id);
     }
 
+    public List<Long> getOwnedRestaurantIds(Long ownerId) {
+        validateId(ownerId, "owner");
+
+        return repository.findIdsByOwnerId(ownerId);
+    }
+
     private void validateUniqueRestaurantName(String name, Long ownerId, Long currentRestaurantId) {
         boolean exists = repository.existsByNameAndOwnerIdAndIdNot(name, ownerId, currentRestaurantId);
 
@@ -14,6 +14,7 @@ import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -26,6 +27,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -98,6 +100,18 @@ public class ProductControllerTest {
         verify(service).getProductById(TestConstants.VALID_PRODUCT_ID);
     }
 
+    @Test
+    void getById_shouldBeCacheableByPublicCaches() throws Exception {
+        when(service.getProductById(TestConstants.VALID_PRODUCT_ID))
+            .thenReturn(ProductResponse.builder().id(TestConstants.VALID_PRODUCT_ID).build());
+
+        mockMvc.perform(get(ApiPaths.PRODUCTS + ApiPaths.BY_ID,
+                TestConstants.VALID_PRODUCT_ID))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL,
+                "max-age=30, public, stale-if-error=300, stale-while-revalidate=30"));
+    }
+
     @WithMockUser(roles = {"ADMIN", "RESTAURANT_OWNER"})
     @Test
     void create_shouldReturn201_whenRequestIsValid() throws Exception {
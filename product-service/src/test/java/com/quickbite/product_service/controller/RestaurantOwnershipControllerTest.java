@@ -0,0 +1,88 @@
+package com.quickbite.product_service.controller;
+
+import com.quickbite.core.security.InternalSecret;
+import com.quickbite.product_service.config.SecurityConfig;
+import com.quickbite.product_service.constants.TestConstants;
+import com.quickbite.product_service.security.JwtAuthenticationFilter;
+import com.quickbite.product_service.service.RestaurantService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RestaurantOwnershipController.class)
+@Import(SecurityConfig.class)
+@TestPropertySource(properties = "security.internal.secret=internal-secret-for-tests")
+class RestaurantOwnershipControllerTest {
+
+    private static final String OWNED_RESTAURANTS = "/internal/restaurants/owned";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @MockitoBean
+    private RestaurantService restaurantService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<FilterChain>getArgument(2)
+                .doFilter(invocation.<ServletRequest>getArgument(0), invocation.<ServletResponse>getArgument(1));
+            return null;
+        }).when(jwtAuthenticationFilter).doFilter(any(), any(), any());
+    }
+
+    @Test
+    void getOwnedRestaurantIds_shouldAnswerCallersWithTheInternalSecret() throws Exception {
+        when(restaurantService.getOwnedRestaurantIds(TestConstants.VALID_OWNER_ID))
+            .thenReturn(List.of(TestConstants.VALID_RESTAURANT_ID));
+
+        mockMvc.perform(get(OWNED_RESTAURANTS)
+                .param("ownerId", String.valueOf(TestConstants.VALID_OWNER_ID))
+                .header(InternalSecret.HEADER, "internal-secret-for-tests"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0]").value(TestConstants.VALID_RESTAURANT_ID));
+    }
+
+    @Test
+    void getOwnedRestaurantIds_shouldRefuseCallersWithoutTheSecret() throws Exception {
+        mockMvc.perform(get(OWNED_RESTAURANTS)
+                .param("ownerId", String.valueOf(TestConstants.VALID_OWNER_ID)))
+            .andExpect(status().isForbidden());
+
+        mockMvc.perform(get(OWNED_RESTAURANTS)
+                .param("ownerId", String.valueOf(TestConstants.VALID_OWNER_ID))
+                .header(InternalSecret.HEADER, "guessed"))
+            .andExpect(status().isForbidden());
+
+        verifyNoInteractions(restaurantService);
+    }
+
+    @WithMockUser(roles = "ADMIN")
+    @Test
+    void getOwnedRestaurantIds_shouldRefuseUserTokensWithoutTheSecret() throws Exception {
+        mockMvc.perform(get(OWNED_RESTAURANTS)
+                .param("ownerId", String.valueOf(TestConstants.VALID_OWNER_ID)))
+            .andExpect(status().isForbidden());
+
+        verifyNoInteractions(restaurantService);
+    }
+}
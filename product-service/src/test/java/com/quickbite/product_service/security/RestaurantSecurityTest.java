@@ -0,0 +1,67 @@
+package com.quickbite.product_service.security;
+
+import com.quickbite.core.security.UserRole;
+import com.quickbite.product_service.repository.RestaurantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RestaurantSecurityTest {
+
+    private static final Long OWNER_ID = 3L;
+
+    @Mock
+    private RestaurantRepository repository;
+
+    @InjectMocks
+    private RestaurantSecurity restaurantSecurity;
+
+    @BeforeEach
+    void setUp() {
+        AuthenticatedUser owner = new AuthenticatedUser(OWNER_ID, "owner@quickbite.com", Set.of(7L, 12L));
+
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(
+                owner,
+                null,
+                List.of(new SimpleGrantedAuthority(UserRole.RESTAURANT_OWNER.getAuthority()))
+            )
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void canManageRestaurant_shouldAnswerFromTheTokenWithoutAQuery() {
+        assertTrue(restaurantSecurity.canManageRestaurant(12L));
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void canManageRestaurant_shouldFallBackToTheDatabaseForIdsMissingFromTheToken() {
+        when(repository.existsByIdAndOwnerId(20L, OWNER_ID)).thenReturn(true);
+        when(repository.existsByIdAndOwnerId(21L, OWNER_ID)).thenReturn(false);
+
+        assertTrue(restaurantSecurity.canManageRestaurant(20L));
+        assertFalse(restaurantSecurity.canManageRestaurant(21L));
+    }
+}
@@ -0,0 +1,109 @@
+package com.quickbite.core.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe LRU of at most {@code maxEntries} values, where each value has
+ * its own expiry in the units of {@code clock}. An expired value is removed
+ * when it is next read, and the least recently read value is dropped when
+ * the cache is full. A {@code maxEntries} of zero disables the cache: nothing
+ * is stored and every read misses.
+ * <p>
+ * Removals are reported to the listener with their {@link Removal} cause,
+ * while the cache lock is held, so the listener must not call back into the
+ * cache.
+ */
+public final class BoundedTtlCache<K, V> {
+
+    public enum Removal {
+        SIZE,
+        EXPIRED,
+        EXPLICIT
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final Consumer<Removal> listener;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    public BoundedTtlCache(int maxEntries, LongSupplier clock) {
+        this(maxEntries, clock, removal -> {
+        });
+    }
+
+    public BoundedTtlCache(int maxEntries, LongSupplier clock, Consumer<Removal> listener) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.listener = listener;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedTtlCache.this.maxEntries) {
+                    BoundedTtlCache.this.listener.accept(Removal.SIZE);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * @return the value of {@code key} if it has not expired, otherwise null
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.expiresAt() - clock.getAsLong() <= 0) {
+            entries.remove(key);
+            listener.accept(Removal.EXPIRED);
+            return null;
+        }
+
+        return entry.value();
+    }
+
+    /**
+     * @return the value of {@code key} even if it has expired, as long as it
+     * is still held, otherwise null; an expired entry is not removed
+     */
+    public synchronized V peek(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry == null ? null : entry.value();
+    }
+
+    /**
+     * @param expiresAt when {@code value} expires, in the units of the clock
+     */
+    public synchronized void put(K key, V value, long expiresAt) {
+        if (maxEntries > 0) {
+            entries.put(key, new Entry<>(value, expiresAt));
+        }
+    }
+
+    public synchronized boolean remove(K key) {
+        if (entries.remove(key) == null) {
+            return false;
+        }
+
+        listener.accept(Removal.EXPLICIT);
+        return true;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
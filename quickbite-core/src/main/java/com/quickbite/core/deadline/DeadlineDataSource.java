@@ -0,0 +1,71 @@
+package com.quickbite.core.deadline;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps a {@link DataSource} so every statement created while a
+ * {@link RequestDeadline} is current gets the remaining budget as its query
+ * timeout, and no statement is created at all once the budget is spent. JDBC
+ * timeouts are whole seconds, so the remaining time is rounded up to at least
+ * one second. Outside a request nothing changes.
+ */
+public final class DeadlineDataSource {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    private DeadlineDataSource() {
+    }
+
+    public static DataSource wrap(DataSource dataSource) {
+        return (DataSource) Proxy.newProxyInstance(
+            DataSource.class.getClassLoader(),
+            new Class<?>[] {DataSource.class},
+            (proxy, method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                return result instanceof Connection connection ? wrap(connection) : result;
+            }
+        );
+    }
+
+    private static Connection wrap(Connection connection) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (!STATEMENT_FACTORIES.contains(method.getName())) {
+                return invoke(connection, method, args);
+            }
+
+            RequestDeadline deadline = RequestDeadline.current().orElse(null);
+            if (deadline == null) {
+                return invoke(connection, method, args);
+            }
+
+            deadline.check(System.nanoTime());
+            Statement statement = (Statement) invoke(connection, method, args);
+
+            long remainingMillis = deadline.remainingMillis(System.nanoTime());
+            statement.setQueryTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(remainingMillis + 999)));
+            return statement;
+        };
+
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            handler
+        );
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.quickbite.core.deadline;
+
+import com.quickbite.core.exception.DeadlineExceededException;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end time budget of a request. It travels between services as the
+ * number of milliseconds left in {@value #HEADER}, so hosts never compare
+ * wall clocks: each hop turns the value back into a local
+ * {@code System.nanoTime()} deadline on arrival. Servlet services keep the
+ * deadline of the request being handled in a thread-local ({@link #current()}).
+ */
+public final class RequestDeadline {
+
+    public static final String HEADER = "X-QuickBite-Deadline-Ms";
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private RequestDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static RequestDeadline after(long budgetMillis, long nowNanos) {
+        return new RequestDeadline(nowNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, budgetMillis)));
+    }
+
+    /**
+     * @return the budget in a {@value #HEADER} value; empty when missing or
+     * not a number. Negative values count as an exhausted budget.
+     */
+    public static OptionalLong parseBudget(String value) {
+        if (value == null || value.isBlank()) {
+            return OptionalLong.empty();
+        }
+
+        try {
+            return OptionalLong.of(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    public static Optional<RequestDeadline> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static void set(RequestDeadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public long remainingMillis(long nowNanos) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - nowNanos));
+    }
+
+    public boolean isExpired(long nowNanos) {
+        return deadlineNanos - nowNanos <= 0;
+    }
+
+    /**
+     * Fails fast once the budget is spent, so no more work is started for a
+     * response the caller has already given up on.
+     */
+    public void check(long nowNanos) {
+        if (isExpired(nowNanos)) {
+            throw new DeadlineExceededException("Request deadline exceeded");
+        }
+    }
+}
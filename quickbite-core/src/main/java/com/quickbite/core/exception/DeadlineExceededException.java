@@ -0,0 +1,10 @@
+package com.quickbite.core.exception;
+
+import com.quickbite.core.api.ApiError;
+
+public class DeadlineExceededException extends BaseBusinessException {
+
+    public DeadlineExceededException(String message) {
+        super(new ApiError("DEADLINE_EXCEEDED", message));
+    }
+}
@@ -0,0 +1,19 @@
+package com.quickbite.core.exception;
+
+import com.quickbite.core.api.ApiError;
+import lombok.Getter;
+
+/**
+ * The service shed this request instead of queueing it; the client may try
+ * again after {@code retryAfterSeconds}.
+ */
+@Getter
+public class ServiceOverloadedException extends BaseBusinessException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(new ApiError("SERVICE_OVERLOADED", message));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
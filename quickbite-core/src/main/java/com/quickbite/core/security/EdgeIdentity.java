@@ -0,0 +1,29 @@
+package com.quickbite.core.security;
+
+import java.util.Set;
+
+/**
+ * Identity of a caller whose bearer token was already verified at the edge.
+ * {@code restaurantIds} are the restaurants a restaurant owner owns, empty
+ * for everyone else; {@code expiresAt} is the token expiration in epoch
+ * seconds and
+ * {@code tokenId} its {@code jti}, or {@code null} for tokens issued without
+ * one.
+ */
+public record EdgeIdentity(
+    Long userId,
+    String email,
+    UserRole role,
+    Set<Long> restaurantIds,
+    long expiresAt,
+    String tokenId
+) {
+
+    public EdgeIdentity {
+        restaurantIds = restaurantIds == null ? Set.of() : Set.copyOf(restaurantIds);
+    }
+
+    public boolean isExpired(long nowSeconds) {
+        return expiresAt <= nowSeconds;
+    }
+}
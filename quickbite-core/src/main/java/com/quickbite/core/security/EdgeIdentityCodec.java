@@ -0,0 +1,109 @@
+package com.quickbite.core.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Encodes an {@link EdgeIdentity} into the compact {@value #HEADER} value the
+ * gateway forwards to the services, and reads it back. The value is
+ * {@code base64url(userId|role|exp|restaurantIds|tokenId|email).base64url(hmac)},
+ * signed with a secret shared only between the gateway and the services, so a
+ * header that did not come from the gateway is ignored. A codec built with a
+ * blank secret is disabled and never encodes nor accepts anything.
+ */
+public final class EdgeIdentityCodec {
+
+    public static final String HEADER = "X-QuickBite-Identity";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final char SEPARATOR = '|';
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+
+    public EdgeIdentityCodec(String secret) {
+        this.key = secret == null || secret.isBlank()
+            ? null
+            : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    public boolean isEnabled() {
+        return key != null;
+    }
+
+    public String encode(EdgeIdentity identity) {
+        if (key == null) {
+            throw new IllegalStateException("Edge identity secret not configured");
+        }
+
+        String payload = String.valueOf(identity.userId()) + SEPARATOR
+            + identity.role().name() + SEPARATOR
+            + identity.expiresAt() + SEPARATOR
+            + RestaurantIds.format(identity.restaurantIds()) + SEPARATOR
+            + (identity.tokenId() == null ? "" : identity.tokenId()) + SEPARATOR
+            + (identity.email() == null ? "" : identity.email());
+
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+
+        return ENCODER.encodeToString(payloadBytes) + '.' + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * @return the identity when the signature matches and it has not expired;
+     * empty for a missing, forged, malformed or expired value
+     */
+    public Optional<EdgeIdentity> decode(String value, long nowSeconds) {
+        if (key == null || value == null) {
+            return Optional.empty();
+        }
+
+        int dot = value.indexOf('.');
+        if (dot <= 0) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] payloadBytes = DECODER.decode(value.substring(0, dot));
+            byte[] signature = DECODER.decode(value.substring(dot + 1));
+
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                return Optional.empty();
+            }
+
+            String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", 6);
+            if (fields.length != 6) {
+                return Optional.empty();
+            }
+
+            EdgeIdentity identity = new EdgeIdentity(
+                Long.valueOf(fields[0]),
+                fields[5].isEmpty() ? null : fields[5],
+                UserRole.valueOf(fields[1]),
+                RestaurantIds.parse(fields[3]),
+                Long.parseLong(fields[2]),
+                fields[4].isEmpty() ? null : fields[4]
+            );
+
+            return identity.isExpired(nowSeconds) ? Optional.empty() : Optional.of(identity);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC not available", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.quickbite.core.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Shared secret a service sends in {@value #HEADER} when it calls another
+ * service's {@code /internal} endpoints, which the gateway never routes. An
+ * instance built with a blank secret is disabled: it matches nothing, so the
+ * endpoints stay closed until the secret is configured on both sides.
+ */
+public final class InternalSecret {
+
+    public static final String HEADER = "X-QuickBite-Internal-Secret";
+
+    private final String secret;
+
+    public InternalSecret(String secret) {
+        this.secret = secret == null || secret.isBlank() ? null : secret;
+    }
+
+    public boolean isEnabled() {
+        return secret != null;
+    }
+
+    /**
+     * @return the value to send in {@value #HEADER}
+     */
+    public String value() {
+        if (secret == null) {
+            throw new IllegalStateException("Internal secret not configured");
+        }
+        return secret;
+    }
+
+    /**
+     * @return true when {@code presented} equals the configured secret,
+     * compared in constant time; false when disabled
+     */
+    public boolean matches(String presented) {
+        if (secret == null || presented == null) {
+            return false;
+        }
+
+        return MessageDigest.isEqual(
+            secret.getBytes(StandardCharsets.UTF_8),
+            presented.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+}
@@ -0,0 +1,30 @@
+package com.quickbite.core.security;
+
+import java.util.Set;
+
+/**
+ * Claims of a bearer token that passed signature, issuer and expiry checks,
+ * the JWT counterpart of {@link EdgeIdentity}.
+ * {@code restaurantIds} are the restaurants a restaurant owner owns, empty
+ * for everyone else;
+ * {@code expiresAt} is the token expiration in epoch seconds;
+ * {@code tokenId} is the {@code jti}, {@code null} for tokens issued without
+ * one.
+ */
+public record JwtClaims(
+    Long userId,
+    String email,
+    UserRole role,
+    Set<Long> restaurantIds,
+    long expiresAt,
+    String tokenId
+) {
+
+    public JwtClaims {
+        restaurantIds = restaurantIds == null ? Set.of() : Set.copyOf(restaurantIds);
+    }
+
+    public boolean isExpired(long nowSeconds) {
+        return expiresAt <= nowSeconds;
+    }
+}
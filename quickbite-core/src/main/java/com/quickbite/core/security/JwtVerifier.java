@@ -0,0 +1,157 @@
+package com.quickbite.core.security;
+
+import com.quickbite.core.cache.BoundedTtlCache;
+import com.quickbite.core.exception.InvalidTokenException;
+import com.quickbite.core.exception.JwtValidationException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.IncorrectClaimException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.JwtParserBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MissingClaimException;
+import io.jsonwebtoken.security.Keys;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Verifies HMAC-signed bearer tokens into {@link JwtClaims}. The key and the
+ * parser are built once; a token is verified and read in a single pass, and
+ * the result is kept in a {@link BoundedTtlCache} of {@code maxEntries}
+ * tokens, keyed by the SHA-256 of the token, until the token expires. Repeated requests with the
+ * same token then skip the HMAC check and the JSON parsing. A
+ * {@code maxEntries} of zero disables the cache.
+ * <p>
+ * Signature, expiry and issuer failures raise {@link JwtValidationException};
+ * a well-signed token with missing or unusable claims raises
+ * {@link InvalidTokenException}. Both map to the same 401.
+ */
+public final class JwtVerifier {
+
+    private static final int MILLISECONDS_TO_SECONDS = 1000;
+
+    private final JwtParser parser;
+    private final BoundedTtlCache<String, JwtClaims> verified;
+
+    /**
+     * @param issuer the required {@code iss}, or {@code null} to accept any
+     */
+    public JwtVerifier(String secret, String issuer, int maxEntries) {
+        this(secret, issuer, maxEntries, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock current time in epoch milliseconds
+     */
+    public JwtVerifier(String secret, String issuer, int maxEntries, LongSupplier clock) {
+        JwtParserBuilder builder = Jwts.parser()
+            .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+            .clock(() -> new Date(clock.getAsLong()));
+
+        if (issuer != null) {
+            builder.requireIssuer(issuer);
+        }
+
+        this.parser = builder.build();
+        this.verified = new BoundedTtlCache<>(maxEntries, clock);
+    }
+
+    public JwtClaims verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new JwtValidationException("Invalid token");
+        }
+
+        if (!verified.isEnabled()) {
+            return parse(token);
+        }
+
+        String key = hash(token);
+        JwtClaims cached = verified.get(key);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        JwtClaims claims = parse(token);
+        verified.put(key, claims, claims.expiresAt() * MILLISECONDS_TO_SECONDS);
+
+        return claims;
+    }
+
+    public int cachedTokens() {
+        return verified.size();
+    }
+
+    private JwtClaims parse(String token) {
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (ExpiredJwtException e) {
+            throw new JwtValidationException("Token has expired");
+        } catch (IncorrectClaimException | MissingClaimException e) {
+            throw new JwtValidationException("Invalid token issuer");
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new JwtValidationException("Invalid token");
+        }
+
+        if (claims.getExpiration() == null) {
+            throw new InvalidTokenException("Token missing expiration");
+        }
+
+        Long userId = longClaim(claims, "userId");
+        if (userId == null) {
+            throw new InvalidTokenException("Token missing userId");
+        }
+
+        return new JwtClaims(
+            userId,
+            claims.getSubject(),
+            roleOf(claims.get("role")),
+            RestaurantIds.fromClaim(claims.get(RestaurantIds.CLAIM)),
+            claims.getExpiration().getTime() / MILLISECONDS_TO_SECONDS,
+            claims.getId()
+        );
+    }
+
+    private static Long longClaim(Claims claims, String name) {
+        Object value = claims.get(name);
+
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return Long.valueOf(value.toString());
+        } catch (NumberFormatException e) {
+            throw new InvalidTokenException("Token has invalid " + name);
+        }
+    }
+
+    private static UserRole roleOf(Object role) {
+        if (role == null || role.toString().isBlank()) {
+            throw new InvalidTokenException("Role not found in token");
+        }
+
+        try {
+            return UserRole.valueOf(role.toString().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException("Invalid role in token");
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
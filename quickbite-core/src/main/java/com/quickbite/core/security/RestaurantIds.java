@@ -0,0 +1,64 @@
+package com.quickbite.core.security;
+
+import com.quickbite.core.exception.InvalidTokenException;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The {@value #CLAIM} claim: ids of the restaurants a restaurant owner owns,
+ * issued by auth-service as a JSON array of numbers so services can check
+ * ownership without a query. In the edge identity the same set travels as
+ * comma-separated ids.
+ */
+public final class RestaurantIds {
+
+    public static final String CLAIM = "restaurantIds";
+
+    private RestaurantIds() {}
+
+    /**
+     * @return the ids in a claim value; empty when absent
+     * @throws InvalidTokenException when the value is not a list of ids
+     */
+    public static Set<Long> fromClaim(Object value) {
+        if (value == null) {
+            return Set.of();
+        }
+
+        if (!(value instanceof Collection<?> values)) {
+            throw new InvalidTokenException("Token has invalid " + CLAIM);
+        }
+
+        Set<Long> ids = new HashSet<>(values.size() * 2);
+        try {
+            for (Object id : values) {
+                ids.add(Long.valueOf(String.valueOf(id)));
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidTokenException("Token has invalid " + CLAIM);
+        }
+        return Set.copyOf(ids);
+    }
+
+    static String format(Set<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    /**
+     * @throws NumberFormatException when an id is not a number
+     */
+    static Set<Long> parse(String value) {
+        if (value.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<Long> ids = new HashSet<>();
+        for (String id : value.split(",")) {
+            ids.add(Long.valueOf(id));
+        }
+        return Set.copyOf(ids);
+    }
+}
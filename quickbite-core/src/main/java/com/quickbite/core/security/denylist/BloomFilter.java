@@ -0,0 +1,74 @@
+package com.quickbite.core.security.denylist;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings, sized for {@code expectedEntries} at
+ * a 1% false-positive rate. Bits are only ever set, so lookups need no lock
+ * and see an entry as soon as {@link #add} returns. The positions come from
+ * one 64-bit FNV-1a hash split in two and combined by double hashing.
+ */
+final class BloomFilter {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray words;
+    private final int bits;
+    private final int hashes;
+
+    BloomFilter(int expectedEntries) {
+        int entries = Math.max(expectedEntries, 1);
+        double ln2 = Math.log(2);
+        long size = (long) Math.ceil(-entries * Math.log(FALSE_POSITIVE_RATE) / (ln2 * ln2));
+
+        this.words = new AtomicLongArray((int) Math.min((size + 63) / 64, Integer.MAX_VALUE / 64));
+        this.bits = words.length() * 64;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / entries * ln2));
+    }
+
+    void add(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 0; i < hashes; i++) {
+            int bit = index(h1 + i * h2);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+
+            long current;
+            do {
+                current = words.get(word);
+            } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 0; i < hashes; i++) {
+            int bit = index(h1 + i * h2);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int index(int combined) {
+        return (combined & Integer.MAX_VALUE) % bits;
+    }
+
+    private static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
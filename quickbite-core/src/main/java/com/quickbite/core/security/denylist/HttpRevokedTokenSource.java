@@ -0,0 +1,51 @@
+package com.quickbite.core.security.denylist;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Reads revocations from auth-service's
+ * {@code GET {baseUrl}/internal/revoked-tokens?after={cursor}}.
+ */
+public final class HttpRevokedTokenSource implements RevokedTokenSource {
+
+    public static final String PATH = "/internal/revoked-tokens";
+
+    private final String baseUrl;
+    private final Duration timeout;
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    public HttpRevokedTokenSource(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(timeout)
+            .build();
+    }
+
+    @Override
+    public RevokedTokens fetch(long after) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + PATH + "?after=" + after))
+            .timeout(timeout)
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        if (response.statusCode() != 200) {
+            throw new IOException("Revoked tokens request failed with status " + response.statusCode());
+        }
+
+        return mapper.readValue(response.body(), RevokedTokens.class);
+    }
+}
@@ -0,0 +1,10 @@
+package com.quickbite.core.security.denylist;
+
+/**
+ * A revoked access token: its {@code jti} and its expiration in epoch
+ * seconds, after which it no longer needs to be denied.
+ */
+public record RevokedToken(
+    String jti,
+    long expiresAt
+) {}
@@ -0,0 +1,11 @@
+package com.quickbite.core.security.denylist;
+
+/**
+ * Where a {@link TokenDenylistSync} reads revocations from. {@code after} is
+ * a cursor from a previous page, or {@code 0} for the beginning.
+ */
+@FunctionalInterface
+public interface RevokedTokenSource {
+
+    RevokedTokens fetch(long after) throws Exception;
+}
@@ -0,0 +1,14 @@
+package com.quickbite.core.security.denylist;
+
+import java.util.List;
+
+/**
+ * One page of the revocations made after a cursor. {@code cursor} is the
+ * value to ask for the next page with, unchanged when {@code tokens} is
+ * empty; {@code hasMore} tells whether that page is already waiting.
+ */
+public record RevokedTokens(
+    long cursor,
+    List<RevokedToken> tokens,
+    boolean hasMore
+) {}
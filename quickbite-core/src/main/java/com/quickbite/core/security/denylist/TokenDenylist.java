@@ -0,0 +1,80 @@
+package com.quickbite.core.security.denylist;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of revoked access-token ids ({@code jti}) checked on every
+ * authenticated request. A {@link BloomFilter} answers the common case, a
+ * token that was never revoked, without touching the exact set; only its
+ * rare positives go on to the exact lookup, so a false positive never
+ * rejects a valid token. Reads take no lock.
+ * <p>
+ * Entries are kept until {@link #replace} rebuilds the set from the
+ * authoritative list, dropping the ones whose token has expired by then.
+ */
+public final class TokenDenylist {
+
+    private record Snapshot(BloomFilter bloom, ConcurrentHashMap<String, Long> exact) {}
+
+    private final int expectedEntries;
+    private volatile Snapshot snapshot;
+
+    public TokenDenylist(int expectedEntries) {
+        this.expectedEntries = expectedEntries;
+        this.snapshot = new Snapshot(new BloomFilter(expectedEntries), new ConcurrentHashMap<>());
+    }
+
+    /**
+     * @return whether the token was revoked; always {@code false} for a token
+     * without an id
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+
+        Snapshot current = snapshot;
+        return current.bloom().mightContain(tokenId) && current.exact().containsKey(tokenId);
+    }
+
+    /**
+     * @param expiresAt expiration of the revoked token in epoch seconds
+     */
+    public synchronized void add(String tokenId, long expiresAt) {
+        Snapshot current = snapshot;
+        current.exact().put(tokenId, expiresAt);
+        current.bloom().add(tokenId);
+    }
+
+    public synchronized void addAll(Collection<RevokedToken> tokens) {
+        Snapshot current = snapshot;
+        for (RevokedToken token : tokens) {
+            current.exact().put(token.jti(), token.expiresAt());
+            current.bloom().add(token.jti());
+        }
+    }
+
+    /**
+     * Swaps the whole set for {@code tokens}, leaving out those already
+     * expired at {@code nowSeconds}. The Bloom filter is resized when the
+     * set has outgrown {@code expectedEntries}.
+     */
+    public synchronized void replace(Collection<RevokedToken> tokens, long nowSeconds) {
+        ConcurrentHashMap<String, Long> exact = new ConcurrentHashMap<>(Math.max(16, tokens.size() * 2));
+        BloomFilter bloom = new BloomFilter(Math.max(expectedEntries, tokens.size() * 2));
+
+        for (RevokedToken token : tokens) {
+            if (token.expiresAt() > nowSeconds) {
+                exact.put(token.jti(), token.expiresAt());
+                bloom.add(token.jti());
+            }
+        }
+
+        snapshot = new Snapshot(bloom, exact);
+    }
+
+    public int size() {
+        return snapshot.exact().size();
+    }
+}
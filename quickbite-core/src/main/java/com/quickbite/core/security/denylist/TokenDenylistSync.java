@@ -0,0 +1,149 @@
+package com.quickbite.core.security.denylist;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps a {@link TokenDenylist} in step with a {@link RevokedTokenSource} on
+ * one daemon thread. Every {@code refreshInterval} only the revocations past
+ * the last cursor are fetched and added. The fetch starts
+ * {@code cursorOverlap} below the cursor: ids are handed out when a row is
+ * inserted, not when it commits, so a revocation whose transaction commits
+ * after a higher id has been seen would otherwise wait for the next rebuild.
+ * Every {@code rebuildInterval} the
+ * whole list is read again from the beginning and replaces the set, which
+ * drops expired entries and picks up anything a delta missed. A failed sync
+ * is logged and the previous set is kept, so an unreachable source leaves
+ * recent revocations unseen instead of rejecting every request.
+ */
+@Slf4j
+public final class TokenDenylistSync implements AutoCloseable {
+
+    private static final int MAX_PAGES = 1000;
+
+    private final TokenDenylist denylist;
+    private final RevokedTokenSource source;
+    private final Duration refreshInterval;
+    private final Duration rebuildInterval;
+    private final long cursorOverlap;
+    private final LongSupplier clock;
+
+    private volatile ScheduledExecutorService executor;
+    private long cursor;
+    private long lastRebuildAt = Long.MIN_VALUE;
+
+    public TokenDenylistSync(
+        TokenDenylist denylist,
+        RevokedTokenSource source,
+        Duration refreshInterval,
+        Duration rebuildInterval,
+        long cursorOverlap
+    ) {
+        this(denylist, source, refreshInterval, rebuildInterval, cursorOverlap, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock current time in epoch milliseconds
+     */
+    TokenDenylistSync(
+        TokenDenylist denylist,
+        RevokedTokenSource source,
+        Duration refreshInterval,
+        Duration rebuildInterval,
+        long cursorOverlap,
+        LongSupplier clock
+    ) {
+        this.denylist = denylist;
+        this.source = source;
+        this.refreshInterval = refreshInterval;
+        this.rebuildInterval = rebuildInterval;
+        this.cursorOverlap = cursorOverlap;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts syncing in the background, with a full load right away.
+     */
+    public synchronized TokenDenylistSync start() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "token-denylist-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(this::sync, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return this;
+    }
+
+    /**
+     * Runs a delta, or a full rebuild when one is due. Never throws. Only
+     * called from the sync thread, which owns the cursor.
+     */
+    void sync() {
+        long now = clock.getAsLong();
+
+        try {
+            if (lastRebuildAt == Long.MIN_VALUE || now - lastRebuildAt >= rebuildInterval.toMillis()) {
+                rebuild(now);
+            } else {
+                refresh();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Token denylist sync failed, keeping {} entries: {}", denylist.size(), e.toString());
+        }
+    }
+
+    private void refresh() throws Exception {
+        long after = Math.max(0, cursor - cursorOverlap);
+
+        for (int page = 0; page < MAX_PAGES; page++) {
+            RevokedTokens tokens = source.fetch(after);
+            denylist.addAll(tokens.tokens());
+            after = tokens.cursor();
+            cursor = Math.max(cursor, after);
+
+            if (!tokens.hasMore()) {
+                return;
+            }
+        }
+    }
+
+    private void rebuild(long now) throws Exception {
+        List<RevokedToken> all = new ArrayList<>();
+        long after = 0;
+
+        for (int page = 0; page < MAX_PAGES; page++) {
+            RevokedTokens tokens = source.fetch(after);
+            all.addAll(tokens.tokens());
+            after = tokens.cursor();
+
+            if (!tokens.hasMore()) {
+                break;
+            }
+        }
+
+        denylist.replace(all, now / 1000);
+        cursor = after;
+        lastRebuildAt = now;
+
+        log.debug("Token denylist rebuilt with {} entries", denylist.size());
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
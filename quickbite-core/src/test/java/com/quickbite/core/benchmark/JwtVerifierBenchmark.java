@@ -0,0 +1,95 @@
+package com.quickbite.core.benchmark;
+
+import com.quickbite.core.security.JwtClaims;
+import com.quickbite.core.security.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request from its bearer token. {@code perClaim}
+ * is what order-service did before {@link JwtVerifier}: a new parser and a
+ * full HMAC check for the validation and for each of the three claims read.
+ * {@code singlePass} verifies once into {@link JwtClaims} without the cache,
+ * as for a token seen for the first time; {@code cached} is every later
+ * request with the same token. Run {@link #main} with {@code -t 1}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerifierBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeybenchmarkSecretKey1234";
+
+    private SecretKey key;
+    private String token;
+    private JwtVerifier uncached;
+    private JwtVerifier cached;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        token = Jwts.builder()
+            .subject("ana@quickbite.com")
+            .claim("userId", 42L)
+            .claim("role", "RESTAURANT_OWNER")
+            .claim("fullName", "Ana Silva")
+            .claim("restaurantIds", List.of(7L))
+            .issuer("auth-service")
+            .issuedAt(new Date())
+            .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+            .signWith(key)
+            .compact();
+
+        uncached = new JwtVerifier(SECRET, "auth-service", 0);
+        cached = new JwtVerifier(SECRET, "auth-service", 10_000);
+    }
+
+    @Benchmark
+    public void perClaim(Blackhole blackhole) {
+        blackhole.consume(parse());
+        blackhole.consume(parse().get("role", String.class));
+        blackhole.consume(parse().get("userId", Long.class));
+        blackhole.consume(parse().get("restaurantIds", List.class));
+    }
+
+    @Benchmark
+    public JwtClaims singlePass() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public JwtClaims cached() {
+        return cached.verify(token);
+    }
+
+    private Claims parse() {
+        return Jwts.parser()
+            .verifyWith(key)
+            .build()
+            .parseSignedClaims(token)
+            .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(JwtVerifierBenchmark.class.getSimpleName())
+            .threads(1)
+            .build()
+        ).run();
+    }
+}
@@ -0,0 +1,61 @@
+package com.quickbite.core.benchmark;
+
+import com.quickbite.core.security.denylist.TokenDenylist;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost the denylist adds to each authenticated request, with 100k revoked
+ * tokens loaded. {@code notRevoked} is the common case, answered by the
+ * Bloom filter alone; {@code revoked} also goes through the exact set. Run
+ * {@link #main} with {@code -t 1}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenDenylistBenchmark {
+
+    private static final int REVOKED = 100_000;
+
+    private TokenDenylist denylist;
+    private String revokedId;
+    private String validId;
+
+    @Setup
+    public void setUp() {
+        denylist = new TokenDenylist(REVOKED);
+        long expiresAt = System.currentTimeMillis() / 1000 + 3600;
+
+        for (int i = 0; i < REVOKED; i++) {
+            revokedId = UUID.randomUUID().toString();
+            denylist.add(revokedId, expiresAt);
+        }
+        validId = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        return denylist.isRevoked(validId);
+    }
+
+    @Benchmark
+    public boolean revoked() {
+        return denylist.isRevoked(revokedId);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(TokenDenylistBenchmark.class.getSimpleName())
+            .threads(1)
+            .build()
+        ).run();
+    }
+}
@@ -0,0 +1,66 @@
+package com.quickbite.core.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedTtlCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final List<BoundedTtlCache.Removal> removals = new ArrayList<>();
+
+    @Test
+    void get_shouldDropLeastRecentlyReadWhenFull() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(2, now::get, removals::add);
+
+        cache.put("a", 1, 2_000);
+        cache.put("b", 2, 2_000);
+        cache.get("a");
+        cache.put("c", 3, 2_000);
+
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(List.of(BoundedTtlCache.Removal.SIZE), removals);
+    }
+
+    @Test
+    void get_shouldRemoveExpiredEntryButPeekShouldStillSeeItUntilThen() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, now::get, removals::add);
+        cache.put("a", 1, 1_500);
+
+        now.set(1_500);
+
+        assertEquals(1, cache.peek("a"));
+        assertNull(cache.get("a"));
+        assertNull(cache.peek("a"));
+        assertEquals(List.of(BoundedTtlCache.Removal.EXPIRED), removals);
+    }
+
+    @Test
+    void remove_shouldReportOnlyHeldKeys() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, now::get, removals::add);
+        cache.put("a", 1, 2_000);
+
+        assertTrue(cache.remove("a"));
+        assertFalse(cache.remove("a"));
+        assertEquals(List.of(BoundedTtlCache.Removal.EXPLICIT), removals);
+    }
+
+    @Test
+    void put_shouldStoreNothingWhenDisabled() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(0, now::get);
+        cache.put("a", 1, 2_000);
+
+        assertFalse(cache.isEnabled());
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,92 @@
+package com.quickbite.core.deadline;
+
+import com.quickbite.core.exception.DeadlineExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestDeadlineTest {
+
+    private static final long NOW = 1_000_000_000L;
+
+    private final List<Integer> queryTimeouts = new ArrayList<>();
+
+    @AfterEach
+    void clearDeadline() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void parseBudget_shouldAcceptMillisAndIgnoreGarbage() {
+        assertEquals(OptionalLong.of(250), RequestDeadline.parseBudget(" 250 "));
+        assertEquals(OptionalLong.of(0), RequestDeadline.parseBudget("-5"));
+        assertTrue(RequestDeadline.parseBudget("soon").isEmpty());
+        assertTrue(RequestDeadline.parseBudget(null).isEmpty());
+    }
+
+    @Test
+    void remainingMillis_shouldCountDownToExpiry() {
+        RequestDeadline deadline = RequestDeadline.after(100, NOW);
+
+        assertEquals(60, deadline.remainingMillis(NOW + TimeUnit.MILLISECONDS.toNanos(40)));
+        assertFalse(deadline.isExpired(NOW + TimeUnit.MILLISECONDS.toNanos(99)));
+        assertTrue(deadline.isExpired(NOW + TimeUnit.MILLISECONDS.toNanos(100)));
+        assertEquals(0, deadline.remainingMillis(NOW + TimeUnit.SECONDS.toNanos(1)));
+        assertThrows(DeadlineExceededException.class, () -> deadline.check(NOW + TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    @Test
+    void dataSource_shouldBoundStatementsByRemainingBudget() throws Exception {
+        DataSource dataSource = DeadlineDataSource.wrap(fakeDataSource());
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("select 1");
+
+            RequestDeadline.set(RequestDeadline.after(2_500, System.nanoTime()));
+            connection.prepareStatement("select 1");
+
+            RequestDeadline.set(RequestDeadline.after(0, System.nanoTime()));
+            assertThrows(DeadlineExceededException.class, () -> connection.prepareStatement("select 1"));
+        }
+
+        assertEquals(List.of(3), queryTimeouts);
+    }
+
+    private DataSource fakeDataSource() {
+        PreparedStatement statement = proxy(PreparedStatement.class, (method, args) -> {
+            if (method.equals("setQueryTimeout")) {
+                queryTimeouts.add((Integer) args[0]);
+            }
+            return null;
+        });
+        Connection connection = proxy(Connection.class, (method, args) ->
+            method.equals("prepareStatement") ? statement : null);
+
+        return proxy(DataSource.class, (method, args) -> method.equals("getConnection") ? connection : null);
+    }
+
+    private interface Handler {
+        Object handle(String method, Object[] args);
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> handler.handle(method.getName(), args)
+        ));
+    }
+}
@@ -0,0 +1,54 @@
+package com.quickbite.core.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EdgeIdentityCodecTest {
+
+    private static final String SECRET = "internal-secret-1234567890";
+    private static final long NOW = 1_700_000_000L;
+
+    private final EdgeIdentityCodec codec = new EdgeIdentityCodec(SECRET);
+
+    @Test
+    void encode_shouldRoundTrip() {
+        EdgeIdentity identity = new EdgeIdentity(42L, "ana|silva@quickbite.com", UserRole.RESTAURANT_OWNER, Set.of(7L, 12L), NOW + 60, "jti-1");
+
+        Optional<EdgeIdentity> decoded = codec.decode(codec.encode(identity), NOW);
+
+        assertEquals(Optional.of(identity), decoded);
+        assertEquals(Set.of(7L, 12L), decoded.get().restaurantIds());
+    }
+
+    @Test
+    void decode_shouldRejectValueSignedWithAnotherSecret() {
+        EdgeIdentity identity = new EdgeIdentity(42L, "ana@quickbite.com", UserRole.ADMIN, Set.of(), NOW + 60, null);
+        String forged = new EdgeIdentityCodec("another-secret").encode(identity);
+
+        assertTrue(codec.decode(forged, NOW).isEmpty());
+    }
+
+    @Test
+    void decode_shouldRejectExpiredAndMalformedValues() {
+        EdgeIdentity identity = new EdgeIdentity(42L, "ana@quickbite.com", UserRole.CUSTOMER, Set.of(), NOW, null);
+
+        assertTrue(codec.decode(codec.encode(identity), NOW).isEmpty());
+        assertTrue(codec.decode("not-a-header", NOW).isEmpty());
+        assertTrue(codec.decode("%%%.%%%", NOW).isEmpty());
+    }
+
+    @Test
+    void disabledCodec_shouldIgnoreHeader() {
+        EdgeIdentity identity = new EdgeIdentity(42L, "ana@quickbite.com", UserRole.CUSTOMER, Set.of(), NOW + 60, null);
+        EdgeIdentityCodec disabled = new EdgeIdentityCodec("");
+
+        assertFalse(disabled.isEnabled());
+        assertTrue(disabled.decode(codec.encode(identity), NOW).isEmpty());
+    }
+}
@@ -0,0 +1,31 @@
+package com.quickbite.core.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InternalSecretTest {
+
+    @Test
+    void matches_shouldAcceptOnlyTheConfiguredSecret() {
+        InternalSecret secret = new InternalSecret("internal-secret-1234567890");
+
+        assertTrue(secret.matches("internal-secret-1234567890"));
+        assertFalse(secret.matches("internal-secret-123456789"));
+        assertFalse(secret.matches(null));
+        assertEquals("internal-secret-1234567890", secret.value());
+    }
+
+    @Test
+    void matches_shouldRejectEverythingWhenDisabled() {
+        InternalSecret secret = new InternalSecret(" ");
+
+        assertFalse(secret.isEnabled());
+        assertFalse(secret.matches(" "));
+        assertFalse(secret.matches(""));
+        assertThrows(IllegalStateException.class, secret::value);
+    }
+}
@@ -0,0 +1,82 @@
+package com.quickbite.core.security;
+
+import com.quickbite.core.exception.InvalidTokenException;
+import com.quickbite.core.exception.JwtValidationException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtVerifierTest {
+
+    private static final String SECRET = "testSecretKeytestSecretKeytestSecretKey";
+    private static final String ISSUER = "auth-service";
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private final JwtVerifier verifier = new JwtVerifier(SECRET, ISSUER, 2, clock::get);
+
+    @Test
+    void verify_shouldReadAllClaimsOnceAndServeRepeatsFromCache() {
+        String token = token(SECRET, ISSUER, "restaurant_owner", NOW + 60_000);
+
+        JwtClaims claims = verifier.verify(token);
+
+        assertEquals(new JwtClaims(42L, "ana@quickbite.com", UserRole.RESTAURANT_OWNER, Set.of(7L, 12L), NOW / 1000 + 60, "jti-1"), claims);
+        assertSame(claims, verifier.verify(token));
+        assertEquals(1, verifier.cachedTokens());
+    }
+
+    @Test
+    void verify_shouldKeepOnlyTheMostRecentTokensAndDropExpiredOnes() {
+        String first = token(SECRET, ISSUER, "CUSTOMER", NOW + 10_000);
+        verifier.verify(first);
+        verifier.verify(token(SECRET, ISSUER, "CUSTOMER", NOW + 20_000));
+        verifier.verify(token(SECRET, ISSUER, "CUSTOMER", NOW + 30_000));
+
+        assertEquals(2, verifier.cachedTokens());
+
+        clock.set(NOW + 25_000);
+
+        assertThrows(JwtValidationException.class, () -> verifier.verify(token(SECRET, ISSUER, "CUSTOMER", NOW + 20_000)));
+        assertThrows(JwtValidationException.class, () -> verifier.verify(first));
+    }
+
+    @Test
+    void verify_shouldRejectForgedExpiredForeignAndMalformedTokens() {
+        assertThrows(JwtValidationException.class,
+            () -> verifier.verify(token("anotherSecretanotherSecretanotherSecret", ISSUER, "CUSTOMER", NOW + 60_000)));
+        assertThrows(JwtValidationException.class,
+            () -> verifier.verify(token(SECRET, ISSUER, "CUSTOMER", NOW - 1_000)));
+        assertThrows(JwtValidationException.class,
+            () -> verifier.verify(token(SECRET, "another-issuer", "CUSTOMER", NOW + 60_000)));
+        assertThrows(JwtValidationException.class, () -> verifier.verify("not-a-token"));
+        assertThrows(InvalidTokenException.class,
+            () -> verifier.verify(token(SECRET, ISSUER, "INVALID_ROLE", NOW + 60_000)));
+
+        assertEquals(0, verifier.cachedTokens());
+    }
+
+    private static String token(String secret, String issuer, String role, long expiresAt) {
+        return Jwts.builder()
+            .id("jti-1")
+            .subject("ana@quickbite.com")
+            .claim("userId", 42L)
+            .claim("role", role)
+            .claim("restaurantIds", List.of(7L, 12L))
+            .issuer(issuer)
+            .issuedAt(new Date(NOW))
+            .expiration(new Date(expiresAt))
+            .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+    }
+}
@@ -0,0 +1,130 @@
+package com.quickbite.core.security.denylist;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenDenylistTest {
+
+    private static final long NOW = 1_700_000_000L;
+
+    @Test
+    void isRevoked_shouldFindEveryRevokedIdAndNoOther() {
+        TokenDenylist denylist = new TokenDenylist(100);
+        List<String> revoked = new ArrayList<>();
+
+        for (int i = 0; i < 1_000; i++) {
+            String jti = UUID.randomUUID().toString();
+            revoked.add(jti);
+            denylist.add(jti, NOW + 60);
+        }
+
+        for (String jti : revoked) {
+            assertTrue(denylist.isRevoked(jti));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(denylist.isRevoked(UUID.randomUUID().toString()));
+        }
+        assertFalse(denylist.isRevoked(null));
+    }
+
+    @Test
+    void replace_shouldDropExpiredTokens() {
+        TokenDenylist denylist = new TokenDenylist(100);
+        denylist.add("stale", NOW + 60);
+
+        denylist.replace(List.of(new RevokedToken("expired", NOW), new RevokedToken("live", NOW + 1)), NOW);
+
+        assertEquals(1, denylist.size());
+        assertTrue(denylist.isRevoked("live"));
+        assertFalse(denylist.isRevoked("expired"));
+        assertFalse(denylist.isRevoked("stale"));
+    }
+
+    @Test
+    void sync_shouldFetchDeltasPastTheCursorAndRebuildPeriodically() {
+        List<RevokedToken> log = new ArrayList<>(List.of(
+            new RevokedToken("a", NOW + 60),
+            new RevokedToken("b", NOW + 60),
+            new RevokedToken("c", NOW + 60)
+        ));
+        List<Long> requested = new ArrayList<>();
+        RevokedTokenSource source = after -> {
+            requested.add(after);
+            int from = (int) after;
+            int to = Math.min(from + 2, log.size());
+            return new RevokedTokens(to, List.copyOf(log.subList(from, to)), to < log.size());
+        };
+        AtomicLong clock = new AtomicLong(NOW * 1000);
+        TokenDenylist denylist = new TokenDenylist(100);
+        TokenDenylistSync sync = new TokenDenylistSync(
+            denylist, source, Duration.ofSeconds(5), Duration.ofMinutes(10), 0, clock::get
+        );
+
+        sync.sync();
+
+        assertEquals(List.of(0L, 2L), requested);
+        assertEquals(3, denylist.size());
+
+        log.add(new RevokedToken("d", NOW + 60));
+        clock.addAndGet(5_000);
+        sync.sync();
+
+        assertEquals(List.of(0L, 2L, 3L), requested);
+        assertTrue(denylist.isRevoked("d"));
+
+        clock.set((NOW + 600) * 1000);
+        sync.sync();
+
+        assertEquals(List.of(0L, 2L, 3L, 0L, 2L), requested);
+        assertEquals(0, denylist.size());
+    }
+
+    @Test
+    void sync_shouldPickUpRevocationCommittedBehindTheCursor() {
+        TreeMap<Long, RevokedToken> committed = new TreeMap<>();
+        committed.put(1L, new RevokedToken("a", NOW + 60));
+        committed.put(3L, new RevokedToken("c", NOW + 60));
+        RevokedTokenSource source = after -> {
+            NavigableMap<Long, RevokedToken> page = committed.tailMap(after, false);
+            long cursor = page.isEmpty() ? after : page.lastKey();
+            return new RevokedTokens(cursor, List.copyOf(page.values()), false);
+        };
+        AtomicLong clock = new AtomicLong(NOW * 1000);
+        TokenDenylist denylist = new TokenDenylist(100);
+        TokenDenylistSync sync = new TokenDenylistSync(
+            denylist, source, Duration.ofSeconds(5), Duration.ofMinutes(10), 10, clock::get
+        );
+
+        sync.sync();
+        committed.put(2L, new RevokedToken("b", NOW + 60));
+        clock.addAndGet(5_000);
+        sync.sync();
+
+        assertTrue(denylist.isRevoked("b"));
+        assertEquals(3, denylist.size());
+    }
+
+    @Test
+    void sync_shouldKeepTheCurrentSetWhenTheSourceFails() {
+        TokenDenylist denylist = new TokenDenylist(100);
+        denylist.add("a", NOW + 60);
+        TokenDenylistSync sync = new TokenDenylistSync(denylist, after -> {
+            throw new IllegalStateException("auth-service unavailable");
+        }, Duration.ofSeconds(5), Duration.ofMinutes(10), 0, () -> NOW * 1000);
+
+        sync.sync();
+
+        assertTrue(denylist.isRevoked("a"));
+    }
+}